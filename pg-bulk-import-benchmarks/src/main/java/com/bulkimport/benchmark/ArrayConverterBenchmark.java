@@ -0,0 +1,70 @@
+package com.bulkimport.benchmark;
+
+import com.bulkimport.config.NullHandling;
+import com.bulkimport.converter.builtin.ArrayConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ArrayConverter} for string and integer arrays and for lists.
+ * Some strings contain characters that need quoting in the array literal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayConverterBenchmark {
+
+    @Param({"4", "64"})
+    private int size;
+
+    private final ArrayConverter converter = new ArrayConverter();
+    private final ArrayConverter.ListConverter listConverter = new ArrayConverter.ListConverter();
+    private String[] strings;
+    private Integer[] integers;
+    private List<String> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        strings = new String[size];
+        integers = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            strings[i] = i % 4 == 0 ? "value, \"" + i + "\"" : "value" + i;
+            integers[i] = i * 7919;
+        }
+        list = new ArrayList<>(Arrays.asList(strings));
+    }
+
+    @Benchmark
+    public String stringArray() {
+        return converter.toCsvValue(strings, NullHandling.EMPTY_STRING);
+    }
+
+    @Benchmark
+    public String integerArray() {
+        return converter.toCsvValue(integers, NullHandling.EMPTY_STRING);
+    }
+
+    @Benchmark
+    public String stringList() {
+        return listConverter.toCsvValue(list, NullHandling.EMPTY_STRING);
+    }
+}
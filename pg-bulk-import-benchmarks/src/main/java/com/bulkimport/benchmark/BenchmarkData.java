@@ -0,0 +1,330 @@
+package com.bulkimport.benchmark;
+
+import com.bulkimport.mapping.TableMapping;
+import com.bulkimport.mapping.annotation.AnnotationEntityMapper;
+import com.bulkimport.mapping.annotation.BulkId;
+import com.bulkimport.mapping.annotation.BulkTable;
+import com.bulkimport.mapping.jpa.JpaEntityMapper;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Entities and generated rows shared by the benchmarks.
+ *
+ * <p>The same row shape is available as a fluent mapping, a {@code @BulkTable} entity and
+ * a JPA entity, so the mapping approaches can be compared on identical data.
+ * Rows are generated from a fixed seed.</p>
+ */
+public final class BenchmarkData {
+
+    public static final String TABLE_NAME = "bench_rows";
+
+    public static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS " + TABLE_NAME + " (" +
+        "id BIGINT PRIMARY KEY, " +
+        "name TEXT, " +
+        "email TEXT, " +
+        "quantity INTEGER, " +
+        "priority INTEGER NOT NULL, " +
+        "counter BIGINT NOT NULL, " +
+        "score DOUBLE PRECISION NOT NULL, " +
+        "active BOOLEAN, " +
+        "amount NUMERIC(12,2), " +
+        "external_id UUID, " +
+        "day DATE, " +
+        "created_at TIMESTAMP, " +
+        "updated_at TIMESTAMPTZ, " +
+        "status TEXT, " +
+        "tags TEXT[])";
+
+    public enum Status { NEW, ACTIVE, SUSPENDED, CLOSED }
+
+    /**
+     * The mapping approaches that can be benchmarked.
+     */
+    public enum MappingKind { FLUENT, ANNOTATION, JPA }
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates the mapping and rows for a mapping approach.
+     */
+    public static Fixture fixture(MappingKind kind, int rowCount) {
+        List<Row> rows = rows(rowCount);
+        switch (kind) {
+            case FLUENT:
+                return new Fixture(fluentMapping(), rows);
+            case ANNOTATION:
+                List<AnnotatedRow> annotated = new ArrayList<>(rowCount);
+                rows.forEach(row -> annotated.add(new AnnotatedRow(row)));
+                return new Fixture(AnnotationEntityMapper.<AnnotatedRow>getInstance().map(AnnotatedRow.class),
+                    annotated);
+            case JPA:
+                List<JpaRow> jpa = new ArrayList<>(rowCount);
+                rows.forEach(row -> jpa.add(new JpaRow(row)));
+                return new Fixture(JpaEntityMapper.<JpaRow>getInstance().map(JpaRow.class), jpa);
+            default:
+                throw new IllegalArgumentException("Unknown mapping kind: " + kind);
+        }
+    }
+
+    /**
+     * Creates the fluent mapping for {@link Row}, using primitive extractors where possible.
+     */
+    public static TableMapping<Row> fluentMapping() {
+        return TableMapping.<Row>builder(TABLE_NAME)
+            .id("id", Row::getId)
+            .column("name", Row::getName)
+            .column("email", Row::getEmail)
+            .column("quantity", Row::getQuantity)
+            .intColumn("priority", Row::getPriority)
+            .longColumn("counter", Row::getCounter)
+            .doubleColumn("score", Row::getScore)
+            .column("active", Row::getActive)
+            .column("amount", Row::getAmount)
+            .column("external_id", Row::getExternalId)
+            .column("day", Row::getDay)
+            .column("created_at", Row::getCreatedAt)
+            .column("updated_at", Row::getUpdatedAt)
+            .column("status", Row::getStatus)
+            .column("tags", Row::getTags)
+            .build();
+    }
+
+    /**
+     * Generates rows with realistic value sizes and about 5% nulls in nullable columns.
+     */
+    public static List<Row> rows(int count) {
+        Random random = new Random(42);
+        Status[] statuses = Status.values();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Row> rows = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Row row = new Row();
+            row.id = i + 1L;
+            row.name = "Customer " + random.nextInt(1_000_000);
+            row.email = random.nextInt(20) == 0 ? null : "customer" + i + "@example.com";
+            row.quantity = random.nextInt(20) == 0 ? null : random.nextInt(1_000);
+            row.priority = random.nextInt(10);
+            row.counter = random.nextLong();
+            row.score = random.nextDouble() * 100;
+            row.active = random.nextBoolean();
+            row.amount = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+            row.externalId = new UUID(random.nextLong(), random.nextLong());
+            row.day = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365));
+            row.createdAt = base.plusSeconds(random.nextInt(31_536_000)).withNano(random.nextInt(1_000_000) * 1_000);
+            row.updatedAt = Instant.ofEpochSecond(1_700_000_000L + random.nextInt(31_536_000));
+            row.status = statuses[random.nextInt(statuses.length)];
+            row.tags = new String[]{"tag" + random.nextInt(50), "tag" + random.nextInt(50)};
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * A mapping together with rows for it.
+     */
+    public static final class Fixture {
+        private final TableMapping<Object> mapping;
+        private final List<Object> rows;
+
+        Fixture(TableMapping<?> mapping, List<?> rows) {
+            this.mapping = castMapping(mapping);
+            this.rows = castRows(rows);
+        }
+
+        public TableMapping<Object> getMapping() {
+            return mapping;
+        }
+
+        public List<Object> getRows() {
+            return rows;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static TableMapping<Object> castMapping(TableMapping<?> mapping) {
+            return (TableMapping<Object>) mapping;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Object> castRows(List<?> rows) {
+            return (List<Object>) rows;
+        }
+    }
+
+    /**
+     * Plain row for the fluent mapping.
+     */
+    public static class Row {
+        Long id;
+        String name;
+        String email;
+        Integer quantity;
+        int priority;
+        long counter;
+        double score;
+        Boolean active;
+        BigDecimal amount;
+        UUID externalId;
+        LocalDate day;
+        LocalDateTime createdAt;
+        Instant updatedAt;
+        Status status;
+        String[] tags;
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public long getCounter() {
+            return counter;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public Boolean getActive() {
+            return active;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public UUID getExternalId() {
+            return externalId;
+        }
+
+        public LocalDate getDay() {
+            return day;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public Instant getUpdatedAt() {
+            return updatedAt;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String[] getTags() {
+            return tags;
+        }
+    }
+
+    /**
+     * The row as a {@code @BulkTable} entity.
+     */
+    @BulkTable(name = TABLE_NAME)
+    public static class AnnotatedRow {
+        @BulkId
+        private Long id;
+        private String name;
+        private String email;
+        private Integer quantity;
+        private int priority;
+        private long counter;
+        private double score;
+        private Boolean active;
+        private BigDecimal amount;
+        private UUID externalId;
+        private LocalDate day;
+        private LocalDateTime createdAt;
+        private Instant updatedAt;
+        private Status status;
+        private String[] tags;
+
+        AnnotatedRow(Row row) {
+            this.id = row.id;
+            this.name = row.name;
+            this.email = row.email;
+            this.quantity = row.quantity;
+            this.priority = row.priority;
+            this.counter = row.counter;
+            this.score = row.score;
+            this.active = row.active;
+            this.amount = row.amount;
+            this.externalId = row.externalId;
+            this.day = row.day;
+            this.createdAt = row.createdAt;
+            this.updatedAt = row.updatedAt;
+            this.status = row.status;
+            this.tags = row.tags;
+        }
+    }
+
+    /**
+     * The row as a JPA entity.
+     */
+    @Entity
+    @Table(name = TABLE_NAME)
+    public static class JpaRow {
+        @Id
+        private Long id;
+        private String name;
+        private String email;
+        private Integer quantity;
+        private int priority;
+        private long counter;
+        private double score;
+        private Boolean active;
+        private BigDecimal amount;
+        private UUID externalId;
+        private LocalDate day;
+        private LocalDateTime createdAt;
+        private Instant updatedAt;
+        private Status status;
+        private String[] tags;
+
+        JpaRow(Row row) {
+            this.id = row.id;
+            this.name = row.name;
+            this.email = row.email;
+            this.quantity = row.quantity;
+            this.priority = row.priority;
+            this.counter = row.counter;
+            this.score = row.score;
+            this.active = row.active;
+            this.amount = row.amount;
+            this.externalId = row.externalId;
+            this.day = row.day;
+            this.createdAt = row.createdAt;
+            this.updatedAt = row.updatedAt;
+            this.status = row.status;
+            this.tags = row.tags;
+        }
+    }
+}
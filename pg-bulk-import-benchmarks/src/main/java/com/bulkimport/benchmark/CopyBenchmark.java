@@ -0,0 +1,92 @@
+package com.bulkimport.benchmark;
+
+import com.bulkimport.BulkImporter;
+import com.bulkimport.benchmark.BenchmarkData.Fixture;
+import com.bulkimport.benchmark.BenchmarkData.MappingKind;
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.CopyFormat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures an end-to-end {@link BulkImporter#insert} against a running PostgreSQL server.
+ *
+ * <p>The server is configured with the system properties {@code bench.jdbc.url},
+ * {@code bench.jdbc.user} and {@code bench.jdbc.password}. The benchmark table is
+ * created if missing and truncated before each invocation.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CopyBenchmark {
+
+    @Param({"CSV", "BINARY"})
+    private CopyFormat format;
+
+    @Param({"FLUENT", "JPA"})
+    private MappingKind mapping;
+
+    @Param({"100000"})
+    private int rows;
+
+    private Connection connection;
+    private BulkImporter importer;
+    private Fixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+            System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/postgres"),
+            System.getProperty("bench.jdbc.user", "postgres"),
+            System.getProperty("bench.jdbc.password", ""));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(BenchmarkData.CREATE_TABLE_SQL);
+        }
+        importer = BulkImporter.create(connection)
+            .withConfig(BulkImportConfig.builder().copyFormat(format).build());
+        fixture = BenchmarkData.fixture(mapping, rows);
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE " + BenchmarkData.TABLE_NAME);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + BenchmarkData.TABLE_NAME);
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int insert() {
+        List<Object> entities = fixture.getRows();
+        return importer.insert(fixture.getMapping(), entities);
+    }
+}
@@ -0,0 +1,58 @@
+package com.bulkimport.benchmark;
+
+import com.bulkimport.benchmark.BenchmarkData.Fixture;
+import com.bulkimport.benchmark.BenchmarkData.MappingKind;
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.csv.CsvStreamWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures CSV encoding of whole rows with {@link CsvStreamWriter}, without a database.
+ * The output is discarded, so the score is the client-side cost of a CSV COPY.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvStreamWriterBenchmark {
+
+    @Param({"FLUENT", "ANNOTATION", "JPA"})
+    private MappingKind mapping;
+
+    @Param({"10000"})
+    private int rows;
+
+    private CsvStreamWriter<Object> writer;
+    private List<Object> entities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Fixture fixture = BenchmarkData.fixture(mapping, rows);
+        writer = new CsvStreamWriter<>(fixture.getMapping(), BulkImportConfig.defaults());
+        entities = fixture.getRows();
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        return writer.write(entities, OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,84 @@
+package com.bulkimport.benchmark;
+
+import com.bulkimport.benchmark.BenchmarkData.Fixture;
+import com.bulkimport.benchmark.BenchmarkData.MappingKind;
+import com.bulkimport.mapping.ColumnMapping;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading every column of a row through {@link ColumnMapping#extractValue},
+ * comparing fluent getters with the field accessors of the annotation and JPA mappers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtractValueBenchmark {
+
+    private static final int ROW_COUNT = 1024;
+
+    @Param({"FLUENT", "ANNOTATION", "JPA"})
+    private MappingKind mapping;
+
+    private List<ColumnMapping<Object, ?>> columns;
+    private List<Object> rows;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Fixture fixture = BenchmarkData.fixture(mapping, ROW_COUNT);
+        columns = fixture.getMapping().getColumns();
+        rows = fixture.getRows();
+    }
+
+    /**
+     * Reads all columns as boxed values.
+     */
+    @Benchmark
+    public void extractValues(Blackhole blackhole) {
+        Object row = rows.get(next++ & (ROW_COUNT - 1));
+        for (int i = 0; i < columns.size(); i++) {
+            blackhole.consume(columns.get(i).extractValue(row));
+        }
+    }
+
+    /**
+     * Reads all columns, using the primitive extractors where a column has one.
+     */
+    @Benchmark
+    public void extractPrimitives(Blackhole blackhole) {
+        Object row = rows.get(next++ & (ROW_COUNT - 1));
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnMapping<Object, ?> column = columns.get(i);
+            if (column.getIntExtractor() != null) {
+                blackhole.consume(column.getIntExtractor().applyAsInt(row));
+            } else if (column.getLongExtractor() != null) {
+                blackhole.consume(column.getLongExtractor().applyAsLong(row));
+            } else if (column.getDoubleExtractor() != null) {
+                blackhole.consume(column.getDoubleExtractor().applyAsDouble(row));
+            } else if (column.getBooleanExtractor() != null) {
+                blackhole.consume(column.getBooleanExtractor().test(row));
+            } else {
+                blackhole.consume(column.extractValue(row));
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.bulkimport.benchmark;
+
+import com.bulkimport.config.NullHandling;
+import com.bulkimport.converter.TypeConverterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Measures {@link TypeConverterRegistry#convert} for a single value of each built-in type,
+ * including the converter lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeConverterBenchmark {
+
+    private static final int VALUE_COUNT = 1024;
+
+    @Param({"STRING", "INTEGER", "LONG", "DOUBLE", "BIG_DECIMAL", "BOOLEAN", "UUID",
+            "LOCAL_DATE", "LOCAL_DATE_TIME", "INSTANT", "OFFSET_DATE_TIME", "ENUM"})
+    private ValueType type;
+
+    private final TypeConverterRegistry registry = TypeConverterRegistry.getDefault();
+    private Object[] values;
+    private int next;
+
+    /**
+     * The value types measured, with a generator for sample values.
+     */
+    public enum ValueType {
+        STRING(i -> "value " + i),
+        INTEGER(i -> i * 7919),
+        LONG(i -> i * 6_700_417L * 6_700_417L),
+        DOUBLE(i -> i / 7.0),
+        BIG_DECIMAL(i -> BigDecimal.valueOf(i * 1_000_003L, 2)),
+        BOOLEAN(i -> i % 2 == 0),
+        UUID(i -> new UUID(i * 31L, i * 17L)),
+        LOCAL_DATE(i -> LocalDate.of(2024, 1, 1).plusDays(i)),
+        LOCAL_DATE_TIME(i -> LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i * 977L).withNano(i * 1_000)),
+        INSTANT(i -> Instant.ofEpochSecond(1_700_000_000L + i * 977L)),
+        OFFSET_DATE_TIME(i -> OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHours(i % 12))),
+        ENUM(i -> TimeUnit.values()[i % TimeUnit.values().length]);
+
+        private final IntFunction<Object> generator;
+
+        ValueType(IntFunction<Object> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        values = new Object[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            values[i] = type.generator.apply(random.nextInt(10_000));
+        }
+    }
+
+    @Benchmark
+    public String convert() {
+        Object value = values[next++ & (VALUE_COUNT - 1)];
+        return registry.convert(value, NullHandling.EMPTY_STRING);
+    }
+}
@@ -0,0 +1,380 @@
+package com.bulkimport;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.converter.TypeConverter;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.instrumentation.ImportInstrumentation;
+import com.bulkimport.mapping.TableMapping;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking facade over {@link BulkImporter}.
+ * Each operation runs on its own pooled connection on an {@link Executor} and returns
+ * a {@link CompletableFuture} of its {@link ImportResult}, so the caller can prepare the
+ * next batch while the previous one is loaded.
+ *
+ * <p>At most {@code maxInFlight} operations of this importer run at once. Submitting another
+ * operation blocks the caller until one completes, which keeps memory bounded when batches
+ * are produced faster than they can be loaded. To cap the operations on a data source across
+ * several importers, and {@link BufferedBulkWriter}s, pass them the same
+ * {@link Builder#limiter(Semaphore) limiter}.</p>
+ *
+ * <p>By default, operations run on virtual threads on Java 21 and later, and on a fixed
+ * pool of {@code maxInFlight} daemon threads otherwise. An executor created by the importer
+ * is shut down by {@link #close()}; a provided executor is left running.</p>
+ *
+ * <pre>{@code
+ * AsyncBulkImporter importer = AsyncBulkImporter.builder(dataSource)
+ *     .config(config)
+ *     .maxInFlight(4)
+ *     .build();
+ *
+ * CompletableFuture<ImportResult> inserted = importer.insert(User.class, users);
+ * }</pre>
+ *
+ * <p>Failed operations complete the future exceptionally with the same exception
+ * that {@link BulkImporter} would have thrown.</p>
+ */
+public class AsyncBulkImporter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncBulkImporter.class);
+
+    private final BulkImporter importer;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final Semaphore inFlight;
+
+    private AsyncBulkImporter(Builder builder) {
+        this.importer = BulkImporter.create(builder.dataSource)
+            .withConfig(builder.config)
+            .withInstrumentation(builder.instrumentation);
+        for (ConverterRegistration<?> registration : builder.converters) {
+            registration.registerWith(importer);
+        }
+        this.inFlight = builder.limiter != null ? builder.limiter : new Semaphore(builder.maxInFlight);
+        if (builder.executor != null) {
+            this.executor = builder.executor;
+            this.ownedExecutor = null;
+        } else {
+            this.ownedExecutor = createDefaultExecutor(builder.maxInFlight);
+            this.executor = ownedExecutor;
+        }
+    }
+
+    /**
+     * Creates a builder for an importer that obtains connections from the data source.
+     *
+     * @param dataSource the data source
+     * @return a new builder
+     */
+    public static Builder builder(DataSource dataSource) {
+        return new Builder(dataSource);
+    }
+
+    /**
+     * Creates an importer with the default settings.
+     *
+     * @param dataSource the data source
+     * @return a new AsyncBulkImporter
+     */
+    public static AsyncBulkImporter create(DataSource dataSource) {
+        return builder(dataSource).build();
+    }
+
+    // ==================== INSERT Operations ====================
+
+    /**
+     * Bulk inserts entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to insert
+     * @return a future of the row count, bytes sent and timing of the insert
+     */
+    public <T> CompletableFuture<ImportResult> insert(Class<T> entityClass, List<T> entities) {
+        return submit(() -> importer.insertWithResult(entityClass, entities));
+    }
+
+    /**
+     * Bulk inserts entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to insert
+     * @return a future of the row count, bytes sent and timing of the insert
+     */
+    public <T> CompletableFuture<ImportResult> insert(TableMapping<T> mapping, List<T> entities) {
+        return submit(() -> importer.insertWithResult(mapping, entities));
+    }
+
+    // ==================== UPDATE Operations ====================
+
+    /**
+     * Bulk updates entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to update
+     * @return a future of the row count, bytes sent and timing of the update
+     */
+    public <T> CompletableFuture<ImportResult> update(Class<T> entityClass, List<T> entities) {
+        return submit(() -> importer.updateWithResult(entityClass, entities));
+    }
+
+    /**
+     * Bulk updates entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to update
+     * @return a future of the row count, bytes sent and timing of the update
+     */
+    public <T> CompletableFuture<ImportResult> update(TableMapping<T> mapping, List<T> entities) {
+        return submit(() -> importer.updateWithResult(mapping, entities));
+    }
+
+    // ==================== UPSERT Operations ====================
+
+    /**
+     * Bulk upserts entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to upsert
+     * @return a future of the inserted and updated row counts, bytes sent and timing of the upsert
+     */
+    public <T> CompletableFuture<ImportResult> upsert(Class<T> entityClass, List<T> entities) {
+        return submit(() -> importer.upsertWithResult(entityClass, entities));
+    }
+
+    /**
+     * Bulk upserts entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to upsert
+     * @return a future of the inserted and updated row counts, bytes sent and timing of the upsert
+     */
+    public <T> CompletableFuture<ImportResult> upsert(TableMapping<T> mapping, List<T> entities) {
+        return submit(() -> importer.upsertWithResult(mapping, entities));
+    }
+
+    // ==================== DELETE Operations ====================
+
+    /**
+     * Bulk deletes the rows of entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities whose rows to delete
+     * @return a future of the row count, bytes sent and timing of the delete
+     */
+    public <T> CompletableFuture<ImportResult> delete(Class<T> entityClass, List<T> entities) {
+        return submit(() -> importer.deleteWithResult(entityClass, entities));
+    }
+
+    /**
+     * Bulk deletes the rows of entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities whose rows to delete
+     * @return a future of the row count, bytes sent and timing of the delete
+     */
+    public <T> CompletableFuture<ImportResult> delete(TableMapping<T> mapping, List<T> entities) {
+        return submit(() -> importer.deleteWithResult(mapping, entities));
+    }
+
+    // ==================== GRAPH Operations ====================
+
+    /**
+     * Bulk inserts the entities of several related tables, each table after the tables it references.
+     *
+     * @param graph the entities to insert
+     * @return a future of the result of each table, in the order the tables were loaded
+     * @see BulkImporter#importGraph(ImportGraph)
+     */
+    public CompletableFuture<List<ImportResult>> importGraph(ImportGraph graph) {
+        return submit(() -> importer.importGraph(graph));
+    }
+
+    /**
+     * Gets the number of operations that can start without waiting.
+     * With a shared limiter, this counts the operations of all its users.
+     */
+    public int availablePermits() {
+        return inFlight.availablePermits();
+    }
+
+    /**
+     * Shuts down the executor if it was created by this importer.
+     * Operations already submitted still complete.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private <R> CompletableFuture<R> submit(Supplier<R> operation) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(ExecutionException.submissionFailed(e));
+            return future;
+        }
+
+        try {
+            executor.execute(() -> {
+                R result;
+                try {
+                    result = operation.get();
+                } catch (Throwable e) {
+                    inFlight.release();
+                    future.completeExceptionally(e);
+                    return;
+                }
+                // Released first, so callbacks running on this thread can submit the next operation
+                inFlight.release();
+                future.complete(result);
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            future.completeExceptionally(ExecutionException.submissionFailed(e));
+        }
+        return future;
+    }
+
+    private static ExecutorService createDefaultExecutor(int maxInFlight) {
+        try {
+            // Java 21+; looked up reflectively since the library targets Java 8
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            log.debug("Running asynchronous operations on virtual threads");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.debug("Virtual threads not available, using {} platform threads", maxInFlight);
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(maxInFlight, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-import-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Builder for AsyncBulkImporter.
+     */
+    public static class Builder {
+        private final DataSource dataSource;
+        private final List<ConverterRegistration<?>> converters = new ArrayList<>();
+        private BulkImportConfig config = BulkImportConfig.defaults();
+        private ImportInstrumentation instrumentation = ImportInstrumentation.NOOP;
+        private Executor executor;
+        private Semaphore limiter;
+        private int maxInFlight = 4;
+
+        private Builder(DataSource dataSource) {
+            this.dataSource = Objects.requireNonNull(dataSource, "dataSource cannot be null");
+        }
+
+        /**
+         * Sets the configuration used by all operations.
+         * Default: BulkImportConfig.defaults()
+         */
+        public Builder config(BulkImportConfig config) {
+            this.config = Objects.requireNonNull(config, "config cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the executor that runs the operations.
+         * Default: virtual threads on Java 21+, otherwise a pool of maxInFlight threads
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of operations of this importer running at once, and so the
+         * number of connections it takes from the data source. Further submissions block until
+         * one completes. Ignored for the cap if a {@link #limiter(Semaphore) limiter} is set,
+         * but still sizes the default thread pool.
+         * Default: 4
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets a limiter shared with other importers and writers on the same data source.
+         * Each operation holds one permit while it runs, so the permits cap the connections
+         * all of them take from the data source together.
+         * Default: a limiter of maxInFlight permits used by this importer only
+         */
+        public Builder limiter(Semaphore limiter) {
+            this.limiter = Objects.requireNonNull(limiter, "limiter cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the instrumentation notified of each operation.
+         * Default: ImportInstrumentation.NOOP
+         */
+        public Builder instrumentation(ImportInstrumentation instrumentation) {
+            this.instrumentation = Objects.requireNonNull(instrumentation, "instrumentation cannot be null");
+            return this;
+        }
+
+        /**
+         * Registers a custom type converter.
+         */
+        public <T> Builder registerConverter(Class<T> type, TypeConverter<T> converter) {
+            converters.add(new ConverterRegistration<>(
+                Objects.requireNonNull(type, "type cannot be null"),
+                Objects.requireNonNull(converter, "converter cannot be null")));
+            return this;
+        }
+
+        /**
+         * Builds the importer.
+         *
+         * @throws ConfigurationException if the configuration is invalid
+         */
+        public AsyncBulkImporter build() {
+            if (maxInFlight < 1) {
+                throw ConfigurationException.invalidValue("maxInFlight", maxInFlight, "must be at least 1");
+            }
+            return new AsyncBulkImporter(this);
+        }
+    }
+
+    private static final class ConverterRegistration<T> {
+        private final Class<T> type;
+        private final TypeConverter<T> converter;
+
+        ConverterRegistration(Class<T> type, TypeConverter<T> converter) {
+            this.type = type;
+            this.converter = converter;
+        }
+
+        void registerWith(BulkImporter importer) {
+            importer.registerConverter(type, converter);
+        }
+    }
+}
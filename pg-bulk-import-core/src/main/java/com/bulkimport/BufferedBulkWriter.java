@@ -0,0 +1,404 @@
+package com.bulkimport;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.converter.TypeConverter;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.instrumentation.ImportInstrumentation;
+import com.bulkimport.mapping.EntityMapperResolver;
+import com.bulkimport.mapping.TableMapping;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe writer that coalesces many small inserts into few large COPYs.
+ *
+ * <p>Entities written by any number of threads are collected in one buffer per
+ * {@link TableMapping}. A buffer is inserted with a single COPY once it holds
+ * {@code maxBatchSize} entities, or {@code linger} after its first entity was written,
+ * whichever comes first. Each write returns a future that completes when the COPY
+ * containing the entity has been committed, or completes exceptionally if it failed.</p>
+ *
+ * <pre>{@code
+ * BufferedBulkWriter<Event> writer = BufferedBulkWriter.<Event>builder(dataSource)
+ *     .maxBatchSize(5_000)
+ *     .linger(Duration.ofMillis(20))
+ *     .build();
+ *
+ * writer.write(event).join();
+ * }</pre>
+ *
+ * <p>COPYs run on {@code flushThreads} daemon threads, each taking its own connection
+ * from the data source. A {@link Builder#limiter(Semaphore) limiter} shared with
+ * {@link AsyncBulkImporter}s on the same data source caps their connections together.
+ * {@link #close()} inserts the remaining entities and waits for all COPYs to finish.</p>
+ *
+ * @param <T> the entity type, or a common supertype of the entity types written
+ */
+public class BufferedBulkWriter<T> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BufferedBulkWriter.class);
+
+    private final BulkImporter importer;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final Semaphore limiter;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    // Guarded by itself, together with closed and inFlight
+    private final Map<TableMapping<?>, Batch<?>> buffers = new IdentityHashMap<>();
+    private final List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+    private boolean closed;
+
+    private BufferedBulkWriter(Builder<T> builder) {
+        this.importer = BulkImporter.create(builder.dataSource)
+            .withConfig(builder.config)
+            .withInstrumentation(builder.instrumentation);
+        for (Consumer<BulkImporter> registration : builder.converters) {
+            registration.accept(importer);
+        }
+        this.maxBatchSize = builder.maxBatchSize;
+        this.lingerNanos = builder.linger.toNanos();
+        this.limiter = builder.limiter;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(builder.flushThreads, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-import-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Creates a builder for a writer that obtains connections from the data source.
+     *
+     * @param dataSource the data source
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder(DataSource dataSource) {
+        return new Builder<>(dataSource);
+    }
+
+    /**
+     * Creates a writer with the default settings.
+     *
+     * @param dataSource the data source
+     * @return a new BufferedBulkWriter
+     */
+    public static <T> BufferedBulkWriter<T> create(DataSource dataSource) {
+        return BufferedBulkWriter.<T>builder(dataSource).build();
+    }
+
+    /**
+     * Buffers an entity for insertion, using the mapping of its class.
+     *
+     * @param entity the entity to insert
+     * @return a future completed once the entity has been committed
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Void> write(T entity) {
+        Objects.requireNonNull(entity, "entity cannot be null");
+        TableMapping<T> mapping = EntityMapperResolver.getInstance().resolve((Class<T>) entity.getClass());
+        return write(mapping, entity);
+    }
+
+    /**
+     * Buffers an entity for insertion using an explicit table mapping.
+     * Entities are batched per mapping instance.
+     *
+     * @param mapping the table mapping
+     * @param entity the entity to insert
+     * @return a future completed once the entity has been committed
+     */
+    public <E extends T> CompletableFuture<Void> write(TableMapping<E> mapping, E entity) {
+        Objects.requireNonNull(mapping, "mapping cannot be null");
+        Objects.requireNonNull(entity, "entity cannot be null");
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (buffers) {
+            if (closed) {
+                future.completeExceptionally(ExecutionException.writerClosed());
+                return future;
+            }
+
+            @SuppressWarnings("unchecked")
+            Batch<E> batch = (Batch<E>) buffers.get(mapping);
+            if (batch == null) {
+                batch = new Batch<>(mapping);
+                buffers.put(mapping, batch);
+                Batch<E> lingering = batch;
+                batch.lingerTask = scheduler.schedule(() -> flushIfBuffered(lingering), lingerNanos, TimeUnit.NANOSECONDS);
+            }
+            batch.add(entity, future);
+            if (batch.size() >= maxBatchSize) {
+                submit(batch);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Inserts all buffered entities without waiting for their triggers.
+     *
+     * @return a future completed once these and any earlier COPYs have finished
+     */
+    public CompletableFuture<Void> flush() {
+        synchronized (buffers) {
+            for (Batch<?> batch : new ArrayList<>(buffers.values())) {
+                submit(batch);
+            }
+            return CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0]));
+        }
+    }
+
+    /**
+     * Gets the number of entities waiting for a COPY to start.
+     */
+    public int getBufferedCount() {
+        synchronized (buffers) {
+            int count = 0;
+            for (Batch<?> batch : buffers.values()) {
+                count += batch.size();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Inserts the remaining entities, waits for all COPYs to finish and stops the
+     * flush threads. Later writes complete exceptionally.
+     */
+    @Override
+    public void close() {
+        CompletableFuture<Void> pending;
+        synchronized (buffers) {
+            if (closed) {
+                return;
+            }
+            pending = flush();
+            closed = true;
+        }
+        // Failures are reported through the futures of the affected writes
+        pending.handle((result, error) -> null).join();
+        scheduler.shutdown();
+    }
+
+    private void flushIfBuffered(Batch<?> batch) {
+        synchronized (buffers) {
+            if (buffers.get(batch.mapping) == batch) {
+                submit(batch);
+            }
+        }
+    }
+
+    /**
+     * Removes a batch from the buffers and starts its COPY. Must hold the buffers lock.
+     */
+    private void submit(Batch<?> batch) {
+        buffers.remove(batch.mapping);
+        batch.lingerTask.cancel(false);
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        inFlight.add(done);
+        try {
+            scheduler.execute(() -> {
+                try {
+                    insertLimited(batch);
+                } finally {
+                    synchronized (buffers) {
+                        inFlight.remove(done);
+                    }
+                    done.complete(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(done);
+            done.complete(null);
+            batch.fail(ExecutionException.submissionFailed(e));
+        }
+    }
+
+    private void insertLimited(Batch<?> batch) {
+        if (limiter == null) {
+            batch.insert(importer);
+            return;
+        }
+        try {
+            limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.fail(ExecutionException.submissionFailed(e));
+            return;
+        }
+        try {
+            batch.insert(importer);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    /**
+     * The entities buffered for one mapping, with the futures of their writes.
+     */
+    private static final class Batch<E> {
+        private final TableMapping<E> mapping;
+        private final List<E> entities = new ArrayList<>();
+        private final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        private ScheduledFuture<?> lingerTask;
+
+        Batch(TableMapping<E> mapping) {
+            this.mapping = mapping;
+        }
+
+        void add(E entity, CompletableFuture<Void> future) {
+            entities.add(entity);
+            futures.add(future);
+        }
+
+        int size() {
+            return entities.size();
+        }
+
+        void insert(BulkImporter importer) {
+            try {
+                importer.insert(mapping, entities);
+            } catch (Throwable e) {
+                log.warn("Buffered insert of {} entities into '{}' failed", entities.size(), mapping.getTableName());
+                fail(e);
+                return;
+            }
+            log.debug("Flushed {} buffered entities into '{}'", entities.size(), mapping.getTableName());
+            for (CompletableFuture<Void> future : futures) {
+                future.complete(null);
+            }
+        }
+
+        void fail(Throwable error) {
+            for (CompletableFuture<Void> future : futures) {
+                future.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * Builder for BufferedBulkWriter.
+     *
+     * @param <T> the entity type
+     */
+    public static class Builder<T> {
+        private final DataSource dataSource;
+        private final List<Consumer<BulkImporter>> converters = new ArrayList<>();
+        private BulkImportConfig config = BulkImportConfig.defaults();
+        private ImportInstrumentation instrumentation = ImportInstrumentation.NOOP;
+        private int maxBatchSize = 10_000;
+        private Duration linger = Duration.ofMillis(50);
+        private int flushThreads = 1;
+        private Semaphore limiter;
+
+        private Builder(DataSource dataSource) {
+            this.dataSource = Objects.requireNonNull(dataSource, "dataSource cannot be null");
+        }
+
+        /**
+         * Sets the configuration used by all COPYs.
+         * Default: BulkImportConfig.defaults()
+         */
+        public Builder<T> config(BulkImportConfig config) {
+            this.config = Objects.requireNonNull(config, "config cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the number of buffered entities of a mapping that triggers a COPY.
+         * Default: 10000
+         */
+        public Builder<T> maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time an entity waits in the buffer before its COPY starts.
+         * Default: 50 milliseconds
+         */
+        public Builder<T> linger(Duration linger) {
+            this.linger = Objects.requireNonNull(linger, "linger cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the number of threads running COPYs, and so the number of connections
+         * taken from the data source at once.
+         * Default: 1
+         */
+        public Builder<T> flushThreads(int flushThreads) {
+            this.flushThreads = flushThreads;
+            return this;
+        }
+
+        /**
+         * Sets a limiter shared with other writers and importers on the same data source.
+         * Each COPY holds one permit while it runs, waiting on its flush thread for one.
+         * Default: none, only flushThreads limits the COPYs
+         */
+        public Builder<T> limiter(Semaphore limiter) {
+            this.limiter = Objects.requireNonNull(limiter, "limiter cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the instrumentation notified of each operation.
+         * Default: ImportInstrumentation.NOOP
+         */
+        public Builder<T> instrumentation(ImportInstrumentation instrumentation) {
+            this.instrumentation = Objects.requireNonNull(instrumentation, "instrumentation cannot be null");
+            return this;
+        }
+
+        /**
+         * Registers a custom type converter.
+         */
+        public <V> Builder<T> registerConverter(Class<V> type, TypeConverter<V> converter) {
+            Objects.requireNonNull(type, "type cannot be null");
+            Objects.requireNonNull(converter, "converter cannot be null");
+            converters.add(importer -> importer.registerConverter(type, converter));
+            return this;
+        }
+
+        /**
+         * Builds the writer.
+         *
+         * @throws ConfigurationException if the configuration is invalid
+         */
+        public BufferedBulkWriter<T> build() {
+            if (maxBatchSize < 1) {
+                throw ConfigurationException.invalidValue("maxBatchSize", maxBatchSize, "must be at least 1");
+            }
+            if (linger.isNegative()) {
+                throw ConfigurationException.invalidValue("linger", linger, "must not be negative");
+            }
+            if (flushThreads < 1) {
+                throw ConfigurationException.invalidValue("flushThreads", flushThreads, "must be at least 1");
+            }
+            return new BufferedBulkWriter<>(this);
+        }
+    }
+}
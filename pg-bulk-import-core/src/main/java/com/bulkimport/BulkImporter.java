@@ -1,12 +1,21 @@
 package com.bulkimport;
 
 import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.config.CopySource;
+import com.bulkimport.config.StagingMode;
 import com.bulkimport.converter.TypeConverter;
 import com.bulkimport.converter.TypeConverterRegistry;
+import com.bulkimport.exception.ConfigurationException;
 import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.executor.ChunkedCopyExecutor;
 import com.bulkimport.executor.CopyExecutor;
+import com.bulkimport.executor.ParallelCopyExecutor;
 import com.bulkimport.executor.StagingTableManager;
 import com.bulkimport.executor.UpdateExecutor;
+import com.bulkimport.executor.UpsertCounts;
+import com.bulkimport.instrumentation.ImportInstrumentation;
+import com.bulkimport.instrumentation.ImportPhase;
 import com.bulkimport.mapping.EntityMapperResolver;
 import com.bulkimport.mapping.TableMapping;
 
@@ -16,14 +25,24 @@ import org.slf4j.LoggerFactory;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Main entry point for bulk import operations.
- * Provides a fluent API for inserting, updating, and upserting data
- * into PostgreSQL using the efficient COPY command.
+ * Provides a fluent API for inserting, updating, upserting, deleting and synchronizing
+ * data in PostgreSQL using the efficient COPY command.
  *
  * <h2>Usage Examples</h2>
  *
@@ -65,6 +84,7 @@ public class BulkImporter {
     private final EntityMapperResolver mapperResolver;
     private final TypeConverterRegistry converterRegistry;
     private BulkImportConfig config;
+    private ImportInstrumentation instrumentation = ImportInstrumentation.NOOP;
 
     private BulkImporter(ConnectionProvider connectionProvider) {
         this.connectionProvider = connectionProvider;
@@ -108,6 +128,17 @@ public class BulkImporter {
         return this;
     }
 
+    /**
+     * Sets the instrumentation notified of the start and outcome of each operation.
+     *
+     * @param instrumentation the instrumentation
+     * @return this importer for chaining
+     */
+    public BulkImporter withInstrumentation(ImportInstrumentation instrumentation) {
+        this.instrumentation = Objects.requireNonNull(instrumentation, "instrumentation cannot be null");
+        return this;
+    }
+
     /**
      * Registers a custom type converter.
      *
@@ -148,25 +179,76 @@ public class BulkImporter {
 
     /**
      * Bulk inserts entities using an explicit table mapping.
+     * With a DataSource and a configured parallelism above 1, the rows are split
+     * across several connections, each committing its own chunk.
+     * With commitEveryRows or commitEveryBytes configured, the rows are committed in
+     * chunks on a single connection instead.
      *
      * @param mapping the table mapping
      * @param entities the entities to insert
-     * @return the number of rows inserted
+     * @return the number of rows inserted, capped at {@link Integer#MAX_VALUE}
+     * @throws com.bulkimport.exception.ParallelImportException if some chunks of a parallel insert fail
      */
     public <T> int insert(TableMapping<T> mapping, List<T> entities) {
+        return insertWithResult(mapping, entities).getRowCountAsInt();
+    }
+
+    /**
+     * Bulk inserts entities using an explicit table mapping.
+     * With a DataSource and a configured parallelism above 1, the rows are split
+     * across several connections, each committing its own chunk.
+     * With commitEveryRows or commitEveryBytes configured, the rows are committed in
+     * chunks on a single connection instead.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to insert
+     * @return the number of rows inserted, capped at {@link Integer#MAX_VALUE}
+     * @throws com.bulkimport.exception.ParallelImportException if some chunks of a parallel insert fail
+     */
+    public <T> int insert(TableMapping<T> mapping, Stream<T> entities) {
+        return insertWithResult(mapping, entities).getRowCountAsInt();
+    }
+
+    /**
+     * Bulk inserts entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to insert
+     * @return the row count, bytes sent and timing of the insert
+     */
+    public <T> ImportResult insertWithResult(Class<T> entityClass, List<T> entities) {
+        return insertWithResult(mapperResolver.resolve(entityClass), entities);
+    }
+
+    /**
+     * Bulk inserts entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to insert
+     * @return the row count, bytes sent and timing of the insert
+     */
+    public <T> ImportResult insertWithResult(Class<T> entityClass, Stream<T> entities) {
+        return insertWithResult(mapperResolver.resolve(entityClass), entities);
+    }
+
+    /**
+     * Bulk inserts entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to insert
+     * @return the row count, bytes sent and timing of the insert
+     * @throws com.bulkimport.exception.ParallelImportException if some chunks of a parallel insert fail
+     */
+    public <T> ImportResult insertWithResult(TableMapping<T> mapping, List<T> entities) {
         if (entities.isEmpty()) {
             log.debug("Empty list, skipping insert");
-            return 0;
+            return ImportResult.empty(ImportResult.Operation.INSERT, mapping.getTableName());
         }
 
         log.info("Starting bulk insert of {} entities to table '{}'",
                 entities.size(), mapping.getTableName());
 
-        return executeWithConnection(connection -> {
-            CopyExecutor<T> executor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
-            long count = executor.copyIn(entities);
-            return (int) count;
-        });
+        return instrumented(ImportResult.Operation.INSERT, mapping, () -> executeInsert(mapping, entities, null));
     }
 
     /**
@@ -174,15 +256,50 @@ public class BulkImporter {
      *
      * @param mapping the table mapping
      * @param entities the entities to insert
-     * @return the number of rows inserted
+     * @return the row count, bytes sent and timing of the insert
+     * @throws com.bulkimport.exception.ParallelImportException if some chunks of a parallel insert fail
      */
-    public <T> int insert(TableMapping<T> mapping, Stream<T> entities) {
+    public <T> ImportResult insertWithResult(TableMapping<T> mapping, Stream<T> entities) {
         log.info("Starting bulk insert stream to table '{}'", mapping.getTableName());
 
-        return executeWithConnection(connection -> {
+        return instrumented(ImportResult.Operation.INSERT, mapping, () -> executeInsert(mapping, null, entities));
+    }
+
+    private <T> ImportResult executeInsert(TableMapping<T> mapping, List<T> list, Stream<T> stream) {
+        ImportResult.Builder result = ImportResult.builder(ImportResult.Operation.INSERT, mapping.getTableName());
+        runPhase(result, ImportPhase.COPY, result::addCopyTime, () -> {
+            copyIntoTarget(mapping, list, stream, result);
+            return null;
+        });
+        return result.build();
+    }
+
+    private <T> void copyIntoTarget(TableMapping<T> mapping, List<T> list, Stream<T> stream,
+                                    ImportResult.Builder result) {
+        if (config.isChunkedCommit()) {
+            executeWithConnection(connection -> {
+                ChunkedCopyExecutor<T> executor = new ChunkedCopyExecutor<>(connection, mapping, config, converterRegistry);
+                result.rowsInserted(list != null ? executor.copyIn(list) : executor.copyIn(stream))
+                    .bytesSent(executor.getBytesSent());
+                return null;
+            });
+            return;
+        }
+
+        DataSource parallelDataSource = getParallelDataSource();
+        if (parallelDataSource != null) {
+            ParallelCopyExecutor<T> executor =
+                new ParallelCopyExecutor<>(parallelDataSource, mapping, config, converterRegistry);
+            result.rowsInserted(list != null ? executor.copyIn(list) : executor.copyIn(stream))
+                .bytesSent(executor.getBytesSent());
+            return;
+        }
+
+        executeWithConnection(connection -> {
             CopyExecutor<T> executor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
-            long count = executor.copyIn(entities);
-            return (int) count;
+            result.rowsInserted(list != null ? executor.copyIn(list) : executor.copyIn(stream))
+                .bytesSent(executor.getBytesSent());
+            return null;
         });
     }
 
@@ -218,18 +335,63 @@ public class BulkImporter {
      *
      * @param mapping the table mapping
      * @param entities the entities to update
-     * @return the number of rows updated
+     * @return the number of rows updated, capped at {@link Integer#MAX_VALUE}
      */
     public <T> int update(TableMapping<T> mapping, List<T> entities) {
+        return updateWithResult(mapping, entities).getRowCountAsInt();
+    }
+
+    /**
+     * Bulk updates entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to update
+     * @return the number of rows updated, capped at {@link Integer#MAX_VALUE}
+     */
+    public <T> int update(TableMapping<T> mapping, Stream<T> entities) {
+        return updateWithResult(mapping, entities).getRowCountAsInt();
+    }
+
+    /**
+     * Bulk updates entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to update
+     * @return the row count, bytes sent and per-phase timing of the update
+     */
+    public <T> ImportResult updateWithResult(Class<T> entityClass, List<T> entities) {
+        return updateWithResult(mapperResolver.resolve(entityClass), entities);
+    }
+
+    /**
+     * Bulk updates entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to update
+     * @return the row count, bytes sent and per-phase timing of the update
+     */
+    public <T> ImportResult updateWithResult(Class<T> entityClass, Stream<T> entities) {
+        return updateWithResult(mapperResolver.resolve(entityClass), entities);
+    }
+
+    /**
+     * Bulk updates entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to update
+     * @return the row count, bytes sent and per-phase timing of the update
+     */
+    public <T> ImportResult updateWithResult(TableMapping<T> mapping, List<T> entities) {
         if (entities.isEmpty()) {
             log.debug("Empty list, skipping update");
-            return 0;
+            return ImportResult.empty(ImportResult.Operation.UPDATE, mapping.getTableName());
         }
 
         log.info("Starting bulk update of {} entities to table '{}'",
                 entities.size(), mapping.getTableName());
 
-        return executeWithConnection(connection -> executeUpdate(connection, mapping, entities, null));
+        return instrumented(ImportResult.Operation.UPDATE, mapping,
+            () -> executeWithConnection(connection -> executeUpdate(connection, mapping, entities, null, null)));
     }
 
     /**
@@ -237,40 +399,50 @@ public class BulkImporter {
      *
      * @param mapping the table mapping
      * @param entities the entities to update
-     * @return the number of rows updated
+     * @return the row count, bytes sent and per-phase timing of the update
      */
-    public <T> int update(TableMapping<T> mapping, Stream<T> entities) {
+    public <T> ImportResult updateWithResult(TableMapping<T> mapping, Stream<T> entities) {
         log.info("Starting bulk update stream to table '{}'", mapping.getTableName());
 
-        return executeWithConnection(connection -> executeUpdate(connection, mapping, null, entities));
+        return instrumented(ImportResult.Operation.UPDATE, mapping,
+            () -> executeWithConnection(connection -> executeUpdate(connection, mapping, null, entities, null)));
     }
 
-    private <T> int executeUpdate(Connection connection, TableMapping<T> mapping,
-                                   List<T> list, Stream<T> stream) {
+    private <T> ImportResult executeUpdate(Connection connection, TableMapping<T> mapping,
+                                           List<T> list, Stream<T> stream, CopySource source) {
+        ImportResult.Builder result = ImportResult.builder(ImportResult.Operation.UPDATE, mapping.getTableName());
         StagingTableManager<T> stagingManager = new StagingTableManager<>(connection, mapping, config);
         UpdateExecutor<T> updateExecutor = new UpdateExecutor<>(connection, mapping, config);
 
         try {
             // Create staging table
-            String stagingTable = stagingManager.createStagingTable();
+            String stagingTable = runPhase(result, ImportPhase.STAGING, result::addStagingTime,
+                stagingManager::createStagingTable);
 
             // Copy data to staging table
-            CopyExecutor<T> copyExecutor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
-            if (list != null) {
-                copyExecutor.copyInTo(stagingTable, list);
-            } else {
-                copyExecutor.copyInTo(stagingTable, stream);
-            }
+            long stagedRows = runPhase(result, ImportPhase.COPY, result::addCopyTime, () -> source != null
+                ? copyFromServerIntoStaging(connection, mapping, stagingTable, source, result)
+                : copyIntoStaging(connection, mapping, stagingTable, list, stream, result));
 
-            // Create index on match columns to speed up the UPDATE join
-            stagingManager.createIndexOnColumns(updateExecutor.getMatchColumns());
+            // Index the match columns and analyze large staging tables for the UPDATE join
+            runPhase(result, ImportPhase.INDEX, result::addStagingTime, () -> {
+                stagingManager.prepareStagingTable(updateExecutor.getMatchColumns(), stagedRows);
+                return null;
+            });
 
-            // Execute UPDATE from staging to target
-            return updateExecutor.executeUpdate(stagingTable);
+            // Execute UPDATE (or MERGE) from staging to target
+            UpsertCounts counts = runPhase(result, ImportPhase.APPLY, result::addApplyTime,
+                () -> updateExecutor.executeUpdateCounts(stagingTable));
+            result.rowsUpdated(counts.getUpdated())
+                .rowsDeleted(counts.getDeleted());
 
         } finally {
-            stagingManager.dropStagingTable();
+            runPhase(result, ImportPhase.CLEANUP, result::addCleanupTime, () -> {
+                stagingManager.dropStagingTable();
+                return null;
+            });
         }
+        return result.build();
     }
 
     // ==================== UPSERT Operations ====================
@@ -304,18 +476,63 @@ public class BulkImporter {
      *
      * @param mapping the table mapping
      * @param entities the entities to upsert
-     * @return the number of rows affected
+     * @return the number of rows affected, capped at {@link Integer#MAX_VALUE}
      */
     public <T> int upsert(TableMapping<T> mapping, List<T> entities) {
+        return upsertWithResult(mapping, entities).getRowCountAsInt();
+    }
+
+    /**
+     * Bulk upserts entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to upsert
+     * @return the number of rows affected, capped at {@link Integer#MAX_VALUE}
+     */
+    public <T> int upsert(TableMapping<T> mapping, Stream<T> entities) {
+        return upsertWithResult(mapping, entities).getRowCountAsInt();
+    }
+
+    /**
+     * Bulk upserts entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to upsert
+     * @return the inserted and updated row counts, bytes sent and per-phase timing of the upsert
+     */
+    public <T> ImportResult upsertWithResult(Class<T> entityClass, List<T> entities) {
+        return upsertWithResult(mapperResolver.resolve(entityClass), entities);
+    }
+
+    /**
+     * Bulk upserts entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to upsert
+     * @return the inserted and updated row counts, bytes sent and per-phase timing of the upsert
+     */
+    public <T> ImportResult upsertWithResult(Class<T> entityClass, Stream<T> entities) {
+        return upsertWithResult(mapperResolver.resolve(entityClass), entities);
+    }
+
+    /**
+     * Bulk upserts entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to upsert
+     * @return the inserted and updated row counts, bytes sent and per-phase timing of the upsert
+     */
+    public <T> ImportResult upsertWithResult(TableMapping<T> mapping, List<T> entities) {
         if (entities.isEmpty()) {
             log.debug("Empty list, skipping upsert");
-            return 0;
+            return ImportResult.empty(ImportResult.Operation.UPSERT, mapping.getTableName());
         }
 
         log.info("Starting bulk upsert of {} entities to table '{}'",
                 entities.size(), mapping.getTableName());
 
-        return executeWithConnection(connection -> executeUpsert(connection, mapping, entities, null));
+        return instrumented(ImportResult.Operation.UPSERT, mapping,
+            () -> executeWithConnection(connection -> executeUpsert(connection, mapping, entities, null, null)));
     }
 
     /**
@@ -323,37 +540,785 @@ public class BulkImporter {
      *
      * @param mapping the table mapping
      * @param entities the entities to upsert
-     * @return the number of rows affected
+     * @return the inserted and updated row counts, bytes sent and per-phase timing of the upsert
      */
-    public <T> int upsert(TableMapping<T> mapping, Stream<T> entities) {
+    public <T> ImportResult upsertWithResult(TableMapping<T> mapping, Stream<T> entities) {
         log.info("Starting bulk upsert stream to table '{}'", mapping.getTableName());
 
-        return executeWithConnection(connection -> executeUpsert(connection, mapping, null, entities));
+        return instrumented(ImportResult.Operation.UPSERT, mapping,
+            () -> executeWithConnection(connection -> executeUpsert(connection, mapping, null, entities, null)));
     }
 
-    private <T> int executeUpsert(Connection connection, TableMapping<T> mapping,
-                                   List<T> list, Stream<T> stream) {
+    private <T> ImportResult executeUpsert(Connection connection, TableMapping<T> mapping,
+                                           List<T> list, Stream<T> stream, CopySource source) {
+        ImportResult.Builder result = ImportResult.builder(ImportResult.Operation.UPSERT, mapping.getTableName());
         StagingTableManager<T> stagingManager = new StagingTableManager<>(connection, mapping, config);
 
         try {
             // Create staging table
-            String stagingTable = stagingManager.createStagingTable();
+            String stagingTable = runPhase(result, ImportPhase.STAGING, result::addStagingTime,
+                stagingManager::createStagingTable);
 
             // Copy data to staging table
-            CopyExecutor<T> copyExecutor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
-            if (list != null) {
-                copyExecutor.copyInTo(stagingTable, list);
-            } else {
-                copyExecutor.copyInTo(stagingTable, stream);
-            }
+            long stagedRows = runPhase(result, ImportPhase.COPY, result::addCopyTime, () -> source != null
+                ? copyFromServerIntoStaging(connection, mapping, stagingTable, source, result)
+                : copyIntoStaging(connection, mapping, stagingTable, list, stream, result));
 
-            // Execute UPSERT from staging to target
+            // Analyze large staging tables, and index them on the conflict columns for MERGE
             UpdateExecutor<T> updateExecutor = new UpdateExecutor<>(connection, mapping, config);
-            return updateExecutor.executeUpsert(stagingTable);
+            runPhase(result, ImportPhase.INDEX, result::addStagingTime, () -> {
+                stagingManager.prepareStagingTable(updateExecutor.getUpsertIndexColumns(), stagedRows);
+                return null;
+            });
+
+            // Execute UPSERT (or MERGE) from staging to target
+            UpsertCounts counts = runPhase(result, ImportPhase.APPLY, result::addApplyTime,
+                () -> updateExecutor.executeUpsertCounts(stagingTable));
+            result.rowsInserted(counts.getInserted())
+                .rowsUpdated(counts.getUpdated())
+                .rowsDeleted(counts.getDeleted());
+
+        } finally {
+            runPhase(result, ImportPhase.CLEANUP, result::addCleanupTime, () -> {
+                stagingManager.dropStagingTable();
+                return null;
+            });
+        }
+        return result.build();
+    }
+
+    // ==================== DELETE Operations ====================
+
+    /**
+     * Bulk deletes the rows of entities using the entity class for mapping.
+     * Rows are matched on the match columns, by default the ID columns.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities whose rows to delete
+     * @return the number of rows deleted
+     */
+    public <T> int delete(Class<T> entityClass, List<T> entities) {
+        TableMapping<T> mapping = mapperResolver.resolve(entityClass);
+        return delete(mapping, entities);
+    }
+
+    /**
+     * Bulk deletes the rows of entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities whose rows to delete
+     * @return the number of rows deleted
+     */
+    public <T> int delete(Class<T> entityClass, Stream<T> entities) {
+        TableMapping<T> mapping = mapperResolver.resolve(entityClass);
+        return delete(mapping, entities);
+    }
+
+    /**
+     * Bulk deletes the rows of entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities whose rows to delete
+     * @return the number of rows deleted, capped at {@link Integer#MAX_VALUE}
+     */
+    public <T> int delete(TableMapping<T> mapping, List<T> entities) {
+        return deleteWithResult(mapping, entities).getRowCountAsInt();
+    }
+
+    /**
+     * Bulk deletes the rows of entities using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities whose rows to delete
+     * @return the number of rows deleted, capped at {@link Integer#MAX_VALUE}
+     */
+    public <T> int delete(TableMapping<T> mapping, Stream<T> entities) {
+        return deleteWithResult(mapping, entities).getRowCountAsInt();
+    }
+
+    /**
+     * Bulk deletes the rows of entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities whose rows to delete
+     * @return the row count, bytes sent and per-phase timing of the delete
+     */
+    public <T> ImportResult deleteWithResult(Class<T> entityClass, List<T> entities) {
+        return deleteWithResult(mapperResolver.resolve(entityClass), entities);
+    }
+
+    /**
+     * Bulk deletes the rows of entities using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities whose rows to delete
+     * @return the row count, bytes sent and per-phase timing of the delete
+     */
+    public <T> ImportResult deleteWithResult(Class<T> entityClass, Stream<T> entities) {
+        return deleteWithResult(mapperResolver.resolve(entityClass), entities);
+    }
+
+    /**
+     * Bulk deletes the rows of entities using an explicit table mapping.
+     * Only the match columns are copied into the staging table.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities whose rows to delete
+     * @return the row count, bytes sent and per-phase timing of the delete
+     */
+    public <T> ImportResult deleteWithResult(TableMapping<T> mapping, List<T> entities) {
+        if (entities.isEmpty()) {
+            log.debug("Empty list, skipping delete");
+            return ImportResult.empty(ImportResult.Operation.DELETE, mapping.getTableName());
+        }
+
+        log.info("Starting bulk delete of {} entities from table '{}'",
+                entities.size(), mapping.getTableName());
+
+        return instrumented(ImportResult.Operation.DELETE, mapping,
+            () -> executeWithConnection(connection -> executeDelete(connection, mapping, entities, null)));
+    }
+
+    /**
+     * Bulk deletes the rows of entities using an explicit table mapping.
+     * Only the match columns are copied into the staging table.
+     *
+     * @param mapping the table mapping
+     * @param entities the entities whose rows to delete
+     * @return the row count, bytes sent and per-phase timing of the delete
+     */
+    public <T> ImportResult deleteWithResult(TableMapping<T> mapping, Stream<T> entities) {
+        log.info("Starting bulk delete stream from table '{}'", mapping.getTableName());
+
+        return instrumented(ImportResult.Operation.DELETE, mapping,
+            () -> executeWithConnection(connection -> executeDelete(connection, mapping, null, entities)));
+    }
+
+    private <T> ImportResult executeDelete(Connection connection, TableMapping<T> mapping,
+                                           List<T> list, Stream<T> stream) {
+        ImportResult.Builder result = ImportResult.builder(ImportResult.Operation.DELETE, mapping.getTableName());
+        UpdateExecutor<T> deleteExecutor = new UpdateExecutor<>(connection, mapping, config);
+
+        // Only the keys are staged
+        List<String> keyColumns = deleteExecutor.getMatchColumns();
+        TableMapping<T> keyMapping = mapping.withColumns(keyColumns);
+        StagingTableManager<T> stagingManager = new StagingTableManager<>(connection, keyMapping, config);
+
+        try {
+            // Create staging table
+            String stagingTable = runPhase(result, ImportPhase.STAGING, result::addStagingTime,
+                stagingManager::createStagingTable);
+
+            // Copy keys to staging table
+            long stagedRows = runPhase(result, ImportPhase.COPY, result::addCopyTime,
+                () -> copyIntoStaging(connection, keyMapping, stagingTable, list, stream, result));
+
+            // Index and analyze large staging tables for the DELETE join
+            runPhase(result, ImportPhase.INDEX, result::addStagingTime, () -> {
+                stagingManager.prepareStagingTable(keyColumns, stagedRows);
+                return null;
+            });
+
+            // Execute DELETE ... USING staging
+            long deleted = runPhase(result, ImportPhase.APPLY, result::addApplyTime,
+                () -> deleteExecutor.executeDelete(stagingTable));
+            result.rowsDeleted(deleted);
+
+        } finally {
+            runPhase(result, ImportPhase.CLEANUP, result::addCleanupTime, () -> {
+                stagingManager.dropStagingTable();
+                return null;
+            });
+        }
+        return result.build();
+    }
+
+    // ==================== SYNCHRONIZE Operations ====================
+
+    /**
+     * Synchronizes a table with a full snapshot using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the complete set of entities the table should hold
+     * @return the inserted, updated and deleted row counts, bytes sent and per-phase timing
+     * @see #synchronize(TableMapping, List)
+     */
+    public <T> ImportResult synchronize(Class<T> entityClass, List<T> entities) {
+        return synchronize(mapperResolver.resolve(entityClass), entities);
+    }
+
+    /**
+     * Synchronizes a table with a full snapshot using the entity class for mapping.
+     *
+     * @param entityClass the entity class
+     * @param entities the complete set of entities the table should hold
+     * @return the inserted, updated and deleted row counts, bytes sent and per-phase timing
+     * @see #synchronize(TableMapping, List)
+     */
+    public <T> ImportResult synchronize(Class<T> entityClass, Stream<T> entities) {
+        return synchronize(mapperResolver.resolve(entityClass), entities);
+    }
+
+    /**
+     * Synchronizes a table with a full snapshot using an explicit table mapping.
+     *
+     * <p>The entities are upserted like {@link #upsertWithResult(TableMapping, List)}, then
+     * the rows whose conflict columns match no entity are deleted. With
+     * {@link BulkImportConfig#getSynchronizeScope()}, only rows meeting the scope condition
+     * are deleted, so a snapshot of one partition leaves the others alone. The upsert and
+     * the delete run in one transaction. An empty snapshot deletes all rows in scope.</p>
+     *
+     * @param mapping the table mapping
+     * @param entities the complete set of entities the table should hold
+     * @return the inserted, updated and deleted row counts, bytes sent and per-phase timing
+     * @throws ConfigurationException if the conflict strategy is FAIL
+     */
+    public <T> ImportResult synchronize(TableMapping<T> mapping, List<T> entities) {
+        validateSynchronize();
+        log.info("Starting bulk synchronize of {} entities to table '{}'",
+                entities.size(), mapping.getTableName());
+
+        return instrumented(ImportResult.Operation.SYNCHRONIZE, mapping,
+            () -> executeWithConnection(connection -> executeSynchronize(connection, mapping, entities, null)));
+    }
+
+    /**
+     * Synchronizes a table with a full snapshot using an explicit table mapping.
+     *
+     * @param mapping the table mapping
+     * @param entities the complete set of entities the table should hold
+     * @return the inserted, updated and deleted row counts, bytes sent and per-phase timing
+     * @throws ConfigurationException if the conflict strategy is FAIL
+     * @see #synchronize(TableMapping, List)
+     */
+    public <T> ImportResult synchronize(TableMapping<T> mapping, Stream<T> entities) {
+        validateSynchronize();
+        log.info("Starting bulk synchronize stream to table '{}'", mapping.getTableName());
+
+        return instrumented(ImportResult.Operation.SYNCHRONIZE, mapping,
+            () -> executeWithConnection(connection -> executeSynchronize(connection, mapping, null, entities)));
+    }
+
+    private void validateSynchronize() {
+        if (config.getConflictStrategy() == ConflictStrategy.FAIL) {
+            throw ConfigurationException.invalidValue("conflictStrategy", ConflictStrategy.FAIL,
+                "must resolve conflicts with existing rows to synchronize");
+        }
+    }
+
+    private <T> ImportResult executeSynchronize(Connection connection, TableMapping<T> mapping,
+                                                List<T> list, Stream<T> stream) {
+        ImportResult.Builder result = ImportResult.builder(ImportResult.Operation.SYNCHRONIZE, mapping.getTableName());
+        StagingTableManager<T> stagingManager = new StagingTableManager<>(connection, mapping, config);
+        UpdateExecutor<T> updateExecutor = new UpdateExecutor<>(connection, mapping, config);
+
+        try {
+            // Create staging table
+            String stagingTable = runPhase(result, ImportPhase.STAGING, result::addStagingTime,
+                stagingManager::createStagingTable);
+
+            // Copy the snapshot to staging table
+            long stagedRows = runPhase(result, ImportPhase.COPY, result::addCopyTime,
+                () -> copyIntoStaging(connection, mapping, stagingTable, list, stream, result));
+
+            // Index the conflict columns and analyze large staging tables for the anti-join
+            runPhase(result, ImportPhase.INDEX, result::addStagingTime, () -> {
+                stagingManager.prepareStagingTable(updateExecutor.getConflictColumns(), stagedRows);
+                return null;
+            });
+
+            // Upsert the snapshot, then delete the rows missing from it
+            runPhase(result, ImportPhase.APPLY, result::addApplyTime, () -> inTransaction(connection, () -> {
+                UpsertCounts counts = updateExecutor.executeUpsertCounts(stagingTable);
+                long missing = updateExecutor.executeDeleteMissing(stagingTable);
+                result.rowsInserted(counts.getInserted())
+                    .rowsUpdated(counts.getUpdated())
+                    .rowsDeleted(counts.getDeleted())
+                    .rowsDeletedAsMissing(missing);
+                return null;
+            }));
 
         } finally {
-            stagingManager.dropStagingTable();
+            runPhase(result, ImportPhase.CLEANUP, result::addCleanupTime, () -> {
+                stagingManager.dropStagingTable();
+                return null;
+            });
         }
+        return result.build();
+    }
+
+    // ==================== SERVER COPY Operations ====================
+
+    /**
+     * Bulk inserts the rows of a file or program on the database server using the entity
+     * class for mapping.
+     *
+     * @param entityClass the entity class, whose mapping gives the column list
+     * @param source the file or program the server reads
+     * @return the row count and timing of the insert
+     * @see #insertFromServer(TableMapping, CopySource)
+     */
+    public <T> ImportResult insertFromServer(Class<T> entityClass, CopySource source) {
+        return insertFromServer(mapperResolver.resolve(entityClass), source);
+    }
+
+    /**
+     * Bulk inserts the rows of a file or program on the database server using an explicit
+     * table mapping.
+     *
+     * <p>The server reads the data itself with {@code COPY ... FROM 'file'} or
+     * {@code COPY ... FROM PROGRAM 'command'}, so none of it passes through the application.
+     * The data holds one field per mapped column, in mapping order, in the configured copy
+     * format and null handling; the extractors of the mapping are not used. The rows are
+     * loaded with a single COPY, whatever the parallelism and chunked commit settings.</p>
+     *
+     * @param mapping the table mapping, whose columns are the fields of the data
+     * @param source the file or program the server reads
+     * @return the row count and timing of the insert
+     */
+    public <T> ImportResult insertFromServer(TableMapping<T> mapping, CopySource source) {
+        Objects.requireNonNull(source, "source cannot be null");
+        log.info("Starting server-side insert from {} to table '{}'", source, mapping.getTableName());
+
+        return instrumented(ImportResult.Operation.INSERT, mapping, () -> executeWithConnection(connection -> {
+            ImportResult.Builder result = ImportResult.builder(ImportResult.Operation.INSERT, mapping.getTableName());
+            runPhase(result, ImportPhase.COPY, result::addCopyTime, () -> {
+                CopyExecutor<T> executor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
+                result.rowsInserted(executor.copyFromServer(source));
+                return null;
+            });
+            return result.build();
+        }));
+    }
+
+    /**
+     * Bulk updates rows from a file or program on the database server using the entity class
+     * for mapping.
+     *
+     * @param entityClass the entity class, whose mapping gives the column list
+     * @param source the file or program the server reads
+     * @return the row count and per-phase timing of the update
+     * @see #updateFromServer(TableMapping, CopySource)
+     */
+    public <T> ImportResult updateFromServer(Class<T> entityClass, CopySource source) {
+        return updateFromServer(mapperResolver.resolve(entityClass), source);
+    }
+
+    /**
+     * Bulk updates rows from a file or program on the database server using an explicit
+     * table mapping.
+     *
+     * <p>The server reads the data into the staging table, which is then indexed and applied
+     * like {@link #updateWithResult(TableMapping, List)}. See
+     * {@link #insertFromServer(TableMapping, CopySource)} for the layout of the data.</p>
+     *
+     * @param mapping the table mapping, whose columns are the fields of the data
+     * @param source the file or program the server reads
+     * @return the row count and per-phase timing of the update
+     */
+    public <T> ImportResult updateFromServer(TableMapping<T> mapping, CopySource source) {
+        Objects.requireNonNull(source, "source cannot be null");
+        log.info("Starting server-side update from {} to table '{}'", source, mapping.getTableName());
+
+        return instrumented(ImportResult.Operation.UPDATE, mapping,
+            () -> executeWithConnection(connection -> executeUpdate(connection, mapping, null, null, source)));
+    }
+
+    /**
+     * Bulk upserts rows from a file or program on the database server using the entity class
+     * for mapping.
+     *
+     * @param entityClass the entity class, whose mapping gives the column list
+     * @param source the file or program the server reads
+     * @return the inserted and updated row counts and per-phase timing of the upsert
+     * @see #upsertFromServer(TableMapping, CopySource)
+     */
+    public <T> ImportResult upsertFromServer(Class<T> entityClass, CopySource source) {
+        return upsertFromServer(mapperResolver.resolve(entityClass), source);
+    }
+
+    /**
+     * Bulk upserts rows from a file or program on the database server using an explicit
+     * table mapping.
+     *
+     * <p>The server reads the data into the staging table, which is then indexed and applied
+     * like {@link #upsertWithResult(TableMapping, List)}. See
+     * {@link #insertFromServer(TableMapping, CopySource)} for the layout of the data.</p>
+     *
+     * @param mapping the table mapping, whose columns are the fields of the data
+     * @param source the file or program the server reads
+     * @return the inserted and updated row counts and per-phase timing of the upsert
+     */
+    public <T> ImportResult upsertFromServer(TableMapping<T> mapping, CopySource source) {
+        Objects.requireNonNull(source, "source cannot be null");
+        log.info("Starting server-side upsert from {} to table '{}'", source, mapping.getTableName());
+
+        return instrumented(ImportResult.Operation.UPSERT, mapping,
+            () -> executeWithConnection(connection -> executeUpsert(connection, mapping, null, null, source)));
+    }
+
+    // ==================== GRAPH Operations ====================
+
+    /**
+     * Bulk inserts the entities of several related tables, each table after the tables
+     * it references.
+     *
+     * <p>By default all tables are loaded on one connection in one transaction, one COPY per
+     * table, so a failure leaves none of them loaded; on an importer created from a
+     * Connection that is not in autocommit mode, the tables join the caller's transaction.
+     * With {@link ImportGraph.Builder#transactional(boolean) transactional(false)}, each
+     * table commits on its own, and with a {@code parallelism} above 1 on an importer created
+     * from a DataSource, tables that do not depend on each other load at the same time on
+     * up to {@code parallelism} connections. A failure then stops the tables that depend on
+     * the failed one from loading, while the tables already committed stay loaded.</p>
+     *
+     * @param graph the entities to insert
+     * @return the result of each table, in the order the tables were loaded
+     * @throws ConfigurationException if tables reference each other in a cycle
+     * @throws ExecutionException if a table fails to load
+     */
+    public List<ImportResult> importGraph(ImportGraph graph) {
+        Objects.requireNonNull(graph, "graph cannot be null");
+        List<List<ImportGraph.Table<?>>> levels = graph.resolveLevels(mapperResolver);
+        log.info("Starting import graph of {} tables in {} levels", graph.size(), levels.size());
+
+        if (graph.isTransactional()) {
+            return executeWithConnection(connection -> inTransaction(connection, () -> {
+                List<ImportResult> results = new ArrayList<>();
+                for (List<ImportGraph.Table<?>> level : levels) {
+                    for (ImportGraph.Table<?> table : level) {
+                        results.add(insertGraphTable(connection, table));
+                    }
+                }
+                return results;
+            }));
+        }
+        return executeGraphLevels(levels);
+    }
+
+    private List<ImportResult> executeGraphLevels(List<List<ImportGraph.Table<?>>> levels) {
+        int threads = getParallelDataSource() != null ? config.getParallelism() : 1;
+        List<ImportResult> results = new ArrayList<>();
+        List<String> committedTables = new ArrayList<>();
+
+        ExecutorService pool = threads > 1 ? createGraphPool(threads) : null;
+        try {
+            for (List<ImportGraph.Table<?>> level : levels) {
+                List<CompletableFuture<ImportResult>> futures = new ArrayList<>();
+                for (ImportGraph.Table<?> table : level) {
+                    Supplier<ImportResult> load = () -> executeWithConnection(connection -> insertGraphTable(connection, table));
+                    futures.add(pool != null ? CompletableFuture.supplyAsync(load, pool) : completed(load));
+                }
+
+                ExecutionException failure = null;
+                for (int i = 0; i < futures.size(); i++) {
+                    String tableName = level.get(i).getMapping().getFullTableName();
+                    try {
+                        results.add(futures.get(i).join());
+                        committedTables.add(tableName);
+                    } catch (CompletionException e) {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        if (failure == null) {
+                            failure = ExecutionException.graphFailed(tableName, committedTables, cause);
+                        } else {
+                            failure.addSuppressed(cause);
+                        }
+                    }
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        return results;
+    }
+
+    private static CompletableFuture<ImportResult> completed(Supplier<ImportResult> load) {
+        CompletableFuture<ImportResult> future = new CompletableFuture<>();
+        try {
+            future.complete(load.get());
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <T> ImportResult insertGraphTable(Connection connection, ImportGraph.Table<T> table) {
+        TableMapping<T> mapping = table.getMapping();
+        List<T> entities = table.getEntities();
+        if (entities.isEmpty()) {
+            return ImportResult.empty(ImportResult.Operation.INSERT, mapping.getTableName());
+        }
+
+        log.debug("Loading {} entities into table '{}' of import graph", entities.size(), mapping.getTableName());
+        return instrumented(ImportResult.Operation.INSERT, mapping, () -> {
+            ImportResult.Builder result = ImportResult.builder(ImportResult.Operation.INSERT, mapping.getTableName());
+            runPhase(result, ImportPhase.COPY, result::addCopyTime, () -> {
+                CopyExecutor<T> executor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
+                result.rowsInserted(executor.copyIn(entities))
+                    .bytesSent(executor.getBytesSent());
+                return null;
+            });
+            return result.build();
+        });
+    }
+
+    private static ExecutorService createGraphPool(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-import-graph-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ==================== RETURNING Operations ====================
+
+    /**
+     * Bulk inserts entities using the entity class for mapping, and returns columns of the
+     * inserted rows.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to insert
+     * @param returningColumns the columns to return, generated by the database
+     * @param handler receives each returned row with its entity
+     * @return the row count, bytes sent and per-phase timing of the insert
+     * @see #insertReturning(TableMapping, List, List, ReturnedRowHandler)
+     */
+    public <T> ImportResult insertReturning(Class<T> entityClass, List<T> entities, List<String> returningColumns,
+                                            ReturnedRowHandler<T> handler) {
+        return insertReturning(mapperResolver.resolve(entityClass), entities, returningColumns, handler);
+    }
+
+    /**
+     * Bulk inserts entities using an explicit table mapping, and returns columns of the
+     * inserted rows.
+     *
+     * <p>The entities are copied into a staging table that numbers them, then inserted with
+     * a single statement with RETURNING. The returning columns are not copied, so identity,
+     * serial and default columns take their generated values, which the handler receives
+     * with the entity each row was written from:</p>
+     *
+     * <pre>{@code
+     * importer.insertReturning(Order.class, orders, List.of("id"),
+     *     (order, row) -> order.setId(row.getLong("id")));
+     * }</pre>
+     *
+     * <p>On PostgreSQL 17 and later, each returned row carries the staging ordinal of the
+     * entity it was written from. Older servers match the returned rows to the entities by
+     * position, assuming that INSERT ... SELECT ... ORDER BY returns them in insertion order,
+     * which PostgreSQL does in practice but does not guarantee.</p>
+     *
+     * <p>The statement runs in a transaction, or in the caller's transaction, so an exception
+     * thrown by the handler rolls back the insert.</p>
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to insert
+     * @param returningColumns the columns to return, generated by the database
+     * @param handler receives each returned row with its entity
+     * @return the row count, bytes sent and per-phase timing of the insert
+     */
+    public <T> ImportResult insertReturning(TableMapping<T> mapping, List<T> entities, List<String> returningColumns,
+                                            ReturnedRowHandler<T> handler) {
+        validateReturning(returningColumns, handler);
+        if (entities.isEmpty()) {
+            log.debug("Empty list, skipping insert");
+            return ImportResult.empty(ImportResult.Operation.INSERT, mapping.getTableName());
+        }
+
+        log.info("Starting bulk insert of {} entities to table '{}' returning {}",
+                entities.size(), mapping.getTableName(), returningColumns);
+
+        return instrumented(ImportResult.Operation.INSERT, mapping, () -> executeWithConnection(connection ->
+            executeInsertReturning(connection, mapping, entities, returningColumns, handler)));
+    }
+
+    /**
+     * Bulk upserts entities using the entity class for mapping, and returns columns of the
+     * inserted and updated rows.
+     *
+     * @param entityClass the entity class
+     * @param entities the entities to upsert
+     * @param returningColumns the columns to return
+     * @param handler receives each returned row with its entity
+     * @return the inserted and updated row counts, bytes sent and per-phase timing of the upsert
+     * @see #upsertReturning(TableMapping, List, List, ReturnedRowHandler)
+     */
+    public <T> ImportResult upsertReturning(Class<T> entityClass, List<T> entities, List<String> returningColumns,
+                                            ReturnedRowHandler<T> handler) {
+        return upsertReturning(mapperResolver.resolve(entityClass), entities, returningColumns, handler);
+    }
+
+    /**
+     * Bulk upserts entities using an explicit table mapping, and returns columns of the
+     * inserted and updated rows.
+     *
+     * <p>The entities are copied into a staging table that numbers them and applied with
+     * INSERT ... ON CONFLICT with RETURNING, also if MERGE is enabled. As with
+     * {@link #insertReturning(TableMapping, List, List, ReturnedRowHandler)}, the returning
+     * columns are not copied, except the conflict columns, so an upsert on a natural key can
+     * return a generated identity. The returned rows are matched to their entities on the
+     * conflict columns, which must be unique among the entities, and
+     * {@link ReturnedRow#isInserted()} tells inserted rows from updated ones. Entities whose rows are left alone by
+     * {@link ConflictStrategy#DO_NOTHING} or {@link ConflictStrategy#UPDATE_IF_CHANGED}
+     * are not passed to the handler. The statement runs in a transaction, or in the caller's
+     * transaction, so an exception thrown by the handler rolls back the upsert.</p>
+     *
+     * @param mapping the table mapping
+     * @param entities the entities to upsert
+     * @param returningColumns the columns to return
+     * @param handler receives each returned row with its entity
+     * @return the inserted and updated row counts, bytes sent and per-phase timing of the upsert
+     */
+    public <T> ImportResult upsertReturning(TableMapping<T> mapping, List<T> entities, List<String> returningColumns,
+                                            ReturnedRowHandler<T> handler) {
+        validateReturning(returningColumns, handler);
+        if (entities.isEmpty()) {
+            log.debug("Empty list, skipping upsert");
+            return ImportResult.empty(ImportResult.Operation.UPSERT, mapping.getTableName());
+        }
+
+        log.info("Starting bulk upsert of {} entities to table '{}' returning {}",
+                entities.size(), mapping.getTableName(), returningColumns);
+
+        return instrumented(ImportResult.Operation.UPSERT, mapping, () -> executeWithConnection(connection ->
+            executeUpsertReturning(connection, mapping, entities, returningColumns, handler)));
+    }
+
+    private static void validateReturning(List<String> returningColumns, ReturnedRowHandler<?> handler) {
+        Objects.requireNonNull(returningColumns, "returningColumns cannot be null");
+        Objects.requireNonNull(handler, "handler cannot be null");
+        if (returningColumns.isEmpty()) {
+            throw new IllegalArgumentException("returningColumns cannot be empty");
+        }
+    }
+
+    private <T> ImportResult executeInsertReturning(Connection connection, TableMapping<T> mapping, List<T> entities,
+                                                    List<String> returningColumns, ReturnedRowHandler<T> handler) {
+        ImportResult.Builder result = ImportResult.builder(ImportResult.Operation.INSERT, mapping.getTableName());
+
+        // The returning columns are left to the database to generate
+        TableMapping<T> insertMapping = mapping.withColumns(mapping.getColumnNames().stream()
+            .filter(column -> !returningColumns.contains(column))
+            .collect(Collectors.toList()));
+        StagingTableManager<T> stagingManager = new StagingTableManager<>(connection, insertMapping, config);
+        UpdateExecutor<T> insertExecutor = new UpdateExecutor<>(connection, insertMapping, config);
+
+        try {
+            // Create staging table numbering its rows
+            String stagingTable = runPhase(result, ImportPhase.STAGING, result::addStagingTime,
+                stagingManager::createOrdinalStagingTable);
+
+            // Copy data to staging table, in list order over a single connection
+            long stagedRows = runPhase(result, ImportPhase.COPY, result::addCopyTime,
+                () -> copyIntoStaging(connection, insertMapping, stagingTable, entities, null, result, null));
+
+            // Execute INSERT ... RETURNING from staging to target
+            long inserted = runPhase(result, ImportPhase.APPLY, result::addApplyTime,
+                () -> inTransaction(connection, () -> insertExecutor.executeInsertReturning(stagingTable, stagedRows,
+                    returningColumns, returnedRowConsumer(entities, returningColumns, handler))));
+            result.rowsInserted(inserted);
+
+        } finally {
+            runPhase(result, ImportPhase.CLEANUP, result::addCleanupTime, () -> {
+                stagingManager.dropStagingTable();
+                return null;
+            });
+        }
+        return result.build();
+    }
+
+    private <T> ImportResult executeUpsertReturning(Connection connection, TableMapping<T> mapping, List<T> entities,
+                                                    List<String> returningColumns, ReturnedRowHandler<T> handler) {
+        ImportResult.Builder result = ImportResult.builder(ImportResult.Operation.UPSERT, mapping.getTableName());
+
+        // The returning columns are left to the database, except the conflict columns the rows are matched on
+        List<String> conflictColumns = new UpdateExecutor<>(connection, mapping, config).getConflictColumns();
+        TableMapping<T> upsertMapping = mapping.withColumns(mapping.getColumnNames().stream()
+            .filter(column -> conflictColumns.contains(column) || !returningColumns.contains(column))
+            .collect(Collectors.toList()));
+        StagingTableManager<T> stagingManager = new StagingTableManager<>(connection, upsertMapping, config);
+        UpdateExecutor<T> updateExecutor = new UpdateExecutor<>(connection, upsertMapping, config);
+
+        try {
+            // Create staging table numbering its rows
+            String stagingTable = runPhase(result, ImportPhase.STAGING, result::addStagingTime,
+                stagingManager::createOrdinalStagingTable);
+
+            // Copy data to staging table, in list order over a single connection
+            long stagedRows = runPhase(result, ImportPhase.COPY, result::addCopyTime,
+                () -> copyIntoStaging(connection, upsertMapping, stagingTable, entities, null, result, null));
+
+            // Index and analyze large staging tables for the join of the returned rows
+            runPhase(result, ImportPhase.INDEX, result::addStagingTime, () -> {
+                stagingManager.prepareStagingTable(updateExecutor.getConflictColumns(), stagedRows);
+                return null;
+            });
+
+            // Execute INSERT ... ON CONFLICT ... RETURNING from staging to target
+            UpsertCounts counts = runPhase(result, ImportPhase.APPLY, result::addApplyTime,
+                () -> inTransaction(connection, () -> updateExecutor.executeUpsertReturning(stagingTable,
+                    returningColumns, returnedRowConsumer(entities, returningColumns, handler))));
+            result.rowsInserted(counts.getInserted())
+                .rowsUpdated(counts.getUpdated());
+
+        } finally {
+            runPhase(result, ImportPhase.CLEANUP, result::addCleanupTime, () -> {
+                stagingManager.dropStagingTable();
+                return null;
+            });
+        }
+        return result.build();
+    }
+
+    private static <T> UpdateExecutor.ReturnedRowConsumer returnedRowConsumer(List<T> entities,
+                                                                          List<String> returningColumns,
+                                                                          ReturnedRowHandler<T> handler) {
+        return (ordinal, inserted, values) -> {
+            int index = (int) (ordinal - 1);
+            handler.onRow(entities.get(index), new ReturnedRow(index, inserted, returningColumns, values));
+        };
+    }
+
+    private <T> long copyIntoStaging(Connection connection, TableMapping<T> mapping, String stagingTable,
+                                     List<T> list, Stream<T> stream, ImportResult.Builder result) {
+        return copyIntoStaging(connection, mapping, stagingTable, list, stream, result,
+            getParallelStagingDataSource(connection));
+    }
+
+    /**
+     * Copies entities into a staging table, over the connections of the given DataSource
+     * if it is not null and otherwise over the operation's connection.
+     */
+    private <T> long copyIntoStaging(Connection connection, TableMapping<T> mapping, String stagingTable,
+                                     List<T> list, Stream<T> stream, ImportResult.Builder result,
+                                     DataSource parallelDataSource) {
+        if (parallelDataSource != null) {
+            ParallelCopyExecutor<T> executor =
+                new ParallelCopyExecutor<>(parallelDataSource, mapping, config, converterRegistry);
+            long rows = list != null ? executor.copyInTo(stagingTable, list) : executor.copyInTo(stagingTable, stream);
+            result.rowsStaged(rows)
+                .bytesSent(executor.getBytesSent());
+            return rows;
+        }
+
+        CopyExecutor<T> copyExecutor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
+        long rows = list != null ? copyExecutor.copyInTo(stagingTable, list) : copyExecutor.copyInTo(stagingTable, stream);
+        result.rowsStaged(rows)
+            .bytesSent(copyExecutor.getBytesSent());
+        return rows;
+    }
+
+    private <T> long copyFromServerIntoStaging(Connection connection, TableMapping<T> mapping, String stagingTable,
+                                               CopySource source, ImportResult.Builder result) {
+        CopyExecutor<T> copyExecutor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
+        long rows = copyExecutor.copyFromServerInto(stagingTable, source);
+        result.rowsStaged(rows);
+        return rows;
     }
 
     // ==================== Helper Methods ====================
@@ -362,6 +1327,126 @@ public class BulkImporter {
         return connectionProvider.execute(function);
     }
 
+    private ImportResult instrumented(ImportResult.Operation operation, TableMapping<?> mapping,
+                                      Supplier<ImportResult> execution) {
+        String tableName = mapping.getTableName();
+        long start = System.nanoTime();
+        instrumentation.onStart(operation, tableName,
+            operation == ImportResult.Operation.UPSERT || operation == ImportResult.Operation.SYNCHRONIZE
+                ? config.getConflictStrategy() : null);
+        ImportResult result;
+        try {
+            result = execution.get();
+        } catch (RuntimeException | Error e) {
+            instrumentation.onFailure(operation, tableName, Duration.ofNanos(System.nanoTime() - start), e);
+            throw e;
+        }
+        instrumentation.onSuccess(result);
+        return result;
+    }
+
+    /**
+     * Runs statements in one transaction. On a connection in autocommit mode a transaction
+     * is started and committed; otherwise the statements join the caller's transaction.
+     */
+    private <R> R inTransaction(Connection connection, Supplier<R> body) {
+        try {
+            if (!connection.getAutoCommit()) {
+                return body.get();
+            }
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw ExecutionException.connectionError("starting transaction", e);
+        }
+
+        try {
+            R value = body.get();
+            connection.commit();
+            return value;
+        } catch (SQLException e) {
+            rollbackQuietly(connection);
+            throw ExecutionException.connectionError("committing transaction", e);
+        } catch (RuntimeException | Error e) {
+            rollbackQuietly(connection);
+            throw e;
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                log.warn("Failed to restore autocommit: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.warn("Failed to roll back transaction: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs one phase of an operation, adding its time to the result and reporting it to the instrumentation.
+     */
+    private <R> R runPhase(ImportResult.Builder result, ImportPhase phase, LongConsumer timing, Supplier<R> body) {
+        ImportResult.Operation operation = result.getOperation();
+        String tableName = result.getTableName();
+        instrumentation.onPhaseStart(operation, tableName, phase);
+        long start = System.nanoTime();
+        R value;
+        try {
+            value = body.get();
+        } catch (RuntimeException | Error e) {
+            long elapsed = System.nanoTime() - start;
+            timing.accept(elapsed);
+            instrumentation.onPhaseEnd(operation, tableName, phase, Duration.ofNanos(elapsed), e);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        timing.accept(elapsed);
+        instrumentation.onPhaseEnd(operation, tableName, phase, Duration.ofNanos(elapsed), null);
+        return value;
+    }
+
+    /**
+     * Returns the DataSource to use for a parallel COPY, or null to use a single connection.
+     */
+    private DataSource getParallelDataSource() {
+        if (config.getParallelism() <= 1) {
+            return null;
+        }
+        if (!(connectionProvider instanceof DataSourceConnectionProvider)) {
+            log.debug("Parallel COPY requires a DataSource, using the provided connection");
+            return null;
+        }
+        return ((DataSourceConnectionProvider) connectionProvider).dataSource;
+    }
+
+    /**
+     * Returns the DataSource to load an UNLOGGED staging table over in parallel, or null to
+     * use the operation's connection. The other connections only see the staging table once
+     * its creation is committed, so the operation's connection must be in autocommit mode.
+     */
+    private DataSource getParallelStagingDataSource(Connection connection) {
+        if (config.getStagingMode() != StagingMode.UNLOGGED) {
+            return null;
+        }
+        DataSource dataSource = getParallelDataSource();
+        if (dataSource == null) {
+            return null;
+        }
+        try {
+            if (!connection.getAutoCommit()) {
+                log.debug("Parallel staging requires autocommit, loading over the operation's connection");
+                return null;
+            }
+        } catch (SQLException e) {
+            throw ExecutionException.connectionError("parallel COPY", e);
+        }
+        return dataSource;
+    }
+
     @FunctionalInterface
     interface ConnectionFunction<T> {
         T apply(Connection connection) throws SQLException;
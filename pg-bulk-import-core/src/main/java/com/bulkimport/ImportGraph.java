@@ -0,0 +1,231 @@
+package com.bulkimport;
+
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.mapping.EntityMapperResolver;
+import com.bulkimport.mapping.TableMapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The entities of several related tables, inserted together by {@link BulkImporter#importGraph(ImportGraph)}
+ * in the order of their foreign keys.
+ *
+ * <p>A table is loaded after the tables it references. References come from
+ * {@link TableMapping#getReferencedTables()}, which the JPA mappers fill from
+ * {@code @ManyToOne} and {@code @OneToOne} fields, from
+ * {@link TableMapping.Builder#references(String)}, and from {@link Builder#dependsOn(String, String)}.
+ * References to tables outside the graph are ignored.</p>
+ *
+ * <pre>{@code
+ * ImportGraph graph = ImportGraph.builder()
+ *     .add(OrderLine.class, lines)
+ *     .add(Order.class, orders)
+ *     .add(Customer.class, customers)
+ *     .build();
+ *
+ * List<ImportResult> results = importer.importGraph(graph);  // customers, orders, order lines
+ * }</pre>
+ */
+public final class ImportGraph {
+
+    private final List<Entry<?>> entries;
+    private final Map<String, Set<String>> dependencies;
+    private final boolean transactional;
+
+    private ImportGraph(Builder builder) {
+        this.entries = Collections.unmodifiableList(new ArrayList<>(builder.entries));
+        this.dependencies = new LinkedHashMap<>();
+        builder.dependencies.forEach((table, referenced) -> dependencies.put(table, new LinkedHashSet<>(referenced)));
+        this.transactional = builder.transactional;
+    }
+
+    /**
+     * Creates a new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns true if all tables are loaded in one transaction.
+     */
+    public boolean isTransactional() {
+        return transactional;
+    }
+
+    /**
+     * Gets the number of entity collections in the graph.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Resolves the mappings of the graph and groups its tables into levels, each level
+     * holding the tables whose referenced tables are all in earlier levels. Tables keep
+     * the order they were added in within a level.
+     *
+     * @throws ConfigurationException if tables reference each other in a cycle
+     */
+    List<List<Table<?>>> resolveLevels(EntityMapperResolver mapperResolver) {
+        List<Table<?>> pending = new ArrayList<>();
+        for (Entry<?> entry : entries) {
+            pending.add(entry.resolve(mapperResolver));
+        }
+
+        List<List<Table<?>>> levels = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            List<Table<?>> level = new ArrayList<>();
+            for (Table<?> table : pending) {
+                if (pending.stream().noneMatch(other -> other != table && references(table, other))) {
+                    level.add(table);
+                }
+            }
+            if (level.isEmpty()) {
+                throw ConfigurationException.dependencyCycle(pending.stream()
+                    .map(table -> table.getMapping().getFullTableName())
+                    .distinct()
+                    .collect(Collectors.toList()));
+            }
+            pending.removeAll(level);
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    private boolean references(Table<?> table, Table<?> other) {
+        TableMapping<?> mapping = table.getMapping();
+        TableMapping<?> otherMapping = other.getMapping();
+        if (isSameTable(mapping.getFullTableName(), otherMapping)) {
+            // Rows referencing rows of their own table are checked at the end of the COPY
+            return false;
+        }
+        Set<String> referenced = new LinkedHashSet<>(mapping.getReferencedTables());
+        referenced.addAll(dependencies.getOrDefault(mapping.getFullTableName(), Collections.emptySet()));
+        referenced.addAll(dependencies.getOrDefault(mapping.getTableName(), Collections.emptySet()));
+        return referenced.stream().anyMatch(name -> isSameTable(name, otherMapping));
+    }
+
+    private static boolean isSameTable(String name, TableMapping<?> mapping) {
+        return name.equals(mapping.getFullTableName()) || name.equals(mapping.getTableName());
+    }
+
+    /**
+     * An entity collection added to the graph, mapped by class or by an explicit mapping.
+     */
+    private static final class Entry<T> {
+        private final Class<T> entityClass;
+        private final TableMapping<T> mapping;
+        private final List<T> entities;
+
+        Entry(Class<T> entityClass, TableMapping<T> mapping, List<T> entities) {
+            this.entityClass = entityClass;
+            this.mapping = mapping;
+            this.entities = entities;
+        }
+
+        Table<T> resolve(EntityMapperResolver mapperResolver) {
+            return new Table<>(mapping != null ? mapping : mapperResolver.resolve(entityClass), entities);
+        }
+    }
+
+    /**
+     * A table of the graph with the entities to insert into it.
+     */
+    static final class Table<T> {
+        private final TableMapping<T> mapping;
+        private final List<T> entities;
+
+        Table(TableMapping<T> mapping, List<T> entities) {
+            this.mapping = mapping;
+            this.entities = entities;
+        }
+
+        TableMapping<T> getMapping() {
+            return mapping;
+        }
+
+        List<T> getEntities() {
+            return entities;
+        }
+    }
+
+    /**
+     * Builder for ImportGraph.
+     */
+    public static class Builder {
+        private final List<Entry<?>> entries = new ArrayList<>();
+        private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+        private boolean transactional = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds entities to insert, using the entity class for mapping.
+         *
+         * @param entityClass the entity class
+         * @param entities the entities to insert
+         */
+        public <T> Builder add(Class<T> entityClass, List<T> entities) {
+            Objects.requireNonNull(entityClass, "entityClass cannot be null");
+            Objects.requireNonNull(entities, "entities cannot be null");
+            entries.add(new Entry<>(entityClass, null, entities));
+            return this;
+        }
+
+        /**
+         * Adds entities to insert, using an explicit table mapping.
+         *
+         * @param mapping the table mapping
+         * @param entities the entities to insert
+         */
+        public <T> Builder add(TableMapping<T> mapping, List<T> entities) {
+            Objects.requireNonNull(mapping, "mapping cannot be null");
+            Objects.requireNonNull(entities, "entities cannot be null");
+            entries.add(new Entry<>(null, mapping, entities));
+            return this;
+        }
+
+        /**
+         * Declares that a table references another one, in addition to the references of
+         * its mapping, so that the referenced table is loaded first.
+         *
+         * @param table the referencing table, as schema.table or just table
+         * @param referencedTable the referenced table, as schema.table or just table
+         */
+        public Builder dependsOn(String table, String referencedTable) {
+            Objects.requireNonNull(table, "table cannot be null");
+            Objects.requireNonNull(referencedTable, "referencedTable cannot be null");
+            dependencies.computeIfAbsent(table, key -> new LinkedHashSet<>()).add(referencedTable);
+            return this;
+        }
+
+        /**
+         * Sets whether all tables are loaded in one transaction on one connection. If false,
+         * each table commits on its own, and with a {@code parallelism} above 1 on an importer
+         * created from a DataSource, tables that do not depend on each other load at the same
+         * time on separate connections.
+         * Default: true
+         */
+        public Builder transactional(boolean transactional) {
+            this.transactional = transactional;
+            return this;
+        }
+
+        /**
+         * Builds the import graph.
+         */
+        public ImportGraph build() {
+            return new ImportGraph(this);
+        }
+    }
+}
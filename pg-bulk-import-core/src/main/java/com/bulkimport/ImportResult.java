@@ -0,0 +1,273 @@
+package com.bulkimport;
+
+import java.time.Duration;
+
+/**
+ * The outcome of a bulk operation: row counts, bytes sent and the time spent per phase.
+ *
+ * <p>UPDATE, UPSERT, DELETE and SYNCHRONIZE run in four phases: creating the staging table (and its index),
+ * COPY into it, applying it to the target table, and dropping it. INSERT only has the
+ * COPY phase. Comparing the phases shows whether time goes into the client (COPY with
+ * little server load) or into the database (apply).</p>
+ *
+ * <pre>{@code
+ * ImportResult result = importer.upsertWithResult(User.class, users);
+ * log.info("{} inserted, {} updated at {} rows/s",
+ *     result.getRowsInserted(), result.getRowsUpdated(), result.getRowsPerSecond());
+ * }</pre>
+ */
+public final class ImportResult {
+
+    /**
+     * The kind of bulk operation.
+     */
+    public enum Operation {
+        INSERT,
+        UPDATE,
+        UPSERT,
+        DELETE,
+        SYNCHRONIZE
+    }
+
+    private final Operation operation;
+    private final String tableName;
+    private final long rowsInserted;
+    private final long rowsUpdated;
+    private final long rowsDeleted;
+    private final long rowsUnchanged;
+    private final long bytesSent;
+    private final long stagingNanos;
+    private final long copyNanos;
+    private final long applyNanos;
+    private final long cleanupNanos;
+    private final long totalNanos;
+
+    private ImportResult(Builder builder) {
+        this.operation = builder.operation;
+        this.tableName = builder.tableName;
+        this.rowsInserted = builder.rowsInserted;
+        this.rowsUpdated = builder.rowsUpdated;
+        this.rowsDeleted = builder.rowsDeleted + builder.rowsDeletedAsMissing;
+        this.rowsUnchanged = Math.max(0, builder.rowsStaged - rowsInserted - rowsUpdated - builder.rowsDeleted);
+        this.bytesSent = builder.bytesSent;
+        this.stagingNanos = builder.stagingNanos;
+        this.copyNanos = builder.copyNanos;
+        this.applyNanos = builder.applyNanos;
+        this.cleanupNanos = builder.cleanupNanos;
+        this.totalNanos = builder.totalNanos;
+    }
+
+    static Builder builder(Operation operation, String tableName) {
+        return new Builder(operation, tableName);
+    }
+
+    /**
+     * Returns a result for an operation that had nothing to do.
+     */
+    static ImportResult empty(Operation operation, String tableName) {
+        return builder(operation, tableName).build();
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Gets the number of rows inserted, updated or deleted in the target table.
+     */
+    public long getRowCount() {
+        return rowsInserted + rowsUpdated + rowsDeleted;
+    }
+
+    public long getRowsInserted() {
+        return rowsInserted;
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    /**
+     * Gets the number of rows deleted: by DELETE, by a MERGE with a delete condition,
+     * and by SYNCHRONIZE for rows missing from the snapshot.
+     */
+    public long getRowsDeleted() {
+        return rowsDeleted;
+    }
+
+    /**
+     * Gets the number of staged rows that left the target table as it was: rows identical
+     * to their target row with {@link com.bulkimport.config.ConflictStrategy#UPDATE_IF_CHANGED}
+     * or MERGE, conflicting rows with DO_NOTHING, and for UPDATE and DELETE also rows without
+     * a match. Always 0 for INSERT.
+     */
+    public long getRowsUnchanged() {
+        return rowsUnchanged;
+    }
+
+    /**
+     * Gets the number of bytes sent with COPY.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Gets the time spent creating and indexing the staging table.
+     */
+    public Duration getStagingTime() {
+        return Duration.ofNanos(stagingNanos);
+    }
+
+    /**
+     * Gets the time spent encoding and sending rows with COPY.
+     */
+    public Duration getCopyTime() {
+        return Duration.ofNanos(copyNanos);
+    }
+
+    /**
+     * Gets the time spent running the UPDATE or UPSERT statement from the staging table.
+     */
+    public Duration getApplyTime() {
+        return Duration.ofNanos(applyNanos);
+    }
+
+    /**
+     * Gets the time spent dropping or releasing the staging table.
+     */
+    public Duration getCleanupTime() {
+        return Duration.ofNanos(cleanupNanos);
+    }
+
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    /**
+     * Gets the number of rows per second over the whole operation, or 0 if no time was measured.
+     */
+    public double getRowsPerSecond() {
+        return totalNanos > 0 ? getRowCount() * 1_000_000_000.0 / totalNanos : 0;
+    }
+
+    /**
+     * Gets the row count as an int, capped at {@link Integer#MAX_VALUE}.
+     */
+    int getRowCountAsInt() {
+        return (int) Math.min(getRowCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+               "operation=" + operation +
+               ", tableName='" + tableName + '\'' +
+               ", rowsInserted=" + rowsInserted +
+               ", rowsUpdated=" + rowsUpdated +
+               ", rowsDeleted=" + rowsDeleted +
+               ", rowsUnchanged=" + rowsUnchanged +
+               ", bytesSent=" + bytesSent +
+               ", stagingTime=" + getStagingTime() +
+               ", copyTime=" + getCopyTime() +
+               ", applyTime=" + getApplyTime() +
+               ", cleanupTime=" + getCleanupTime() +
+               ", totalTime=" + getTotalTime() +
+               '}';
+    }
+
+    /**
+     * Collects the counts and phase timings of a running operation.
+     */
+    static final class Builder {
+        private final Operation operation;
+        private final String tableName;
+        private final long startNanos = System.nanoTime();
+        private long rowsInserted;
+        private long rowsUpdated;
+        private long rowsDeleted;
+        private long rowsDeletedAsMissing;
+        private long rowsStaged;
+        private long bytesSent;
+        private long stagingNanos;
+        private long copyNanos;
+        private long applyNanos;
+        private long cleanupNanos;
+        private long totalNanos;
+
+        private Builder(Operation operation, String tableName) {
+            this.operation = operation;
+            this.tableName = tableName;
+        }
+
+        Operation getOperation() {
+            return operation;
+        }
+
+        String getTableName() {
+            return tableName;
+        }
+
+        Builder rowsInserted(long rows) {
+            this.rowsInserted = rows;
+            return this;
+        }
+
+        Builder rowsUpdated(long rows) {
+            this.rowsUpdated = rows;
+            return this;
+        }
+
+        Builder rowsDeleted(long rows) {
+            this.rowsDeleted = rows;
+            return this;
+        }
+
+        Builder rowsDeletedAsMissing(long rows) {
+            this.rowsDeletedAsMissing = rows;
+            return this;
+        }
+
+        Builder rowsStaged(long rows) {
+            this.rowsStaged = rows;
+            return this;
+        }
+
+        Builder bytesSent(long bytes) {
+            this.bytesSent = bytes;
+            return this;
+        }
+
+        Builder addStagingTime(long nanos) {
+            this.stagingNanos += nanos;
+            return this;
+        }
+
+        Builder addCopyTime(long nanos) {
+            this.copyNanos += nanos;
+            return this;
+        }
+
+        Builder addApplyTime(long nanos) {
+            this.applyNanos += nanos;
+            return this;
+        }
+
+        Builder addCleanupTime(long nanos) {
+            this.cleanupNanos += nanos;
+            return this;
+        }
+
+        /**
+         * Builds the result, measuring the total time from the creation of this builder.
+         */
+        ImportResult build() {
+            this.totalNanos = System.nanoTime() - startNanos;
+            return new ImportResult(this);
+        }
+    }
+}
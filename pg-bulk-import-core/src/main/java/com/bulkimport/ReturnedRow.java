@@ -0,0 +1,96 @@
+package com.bulkimport;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A row returned by {@link BulkImporter#insertReturning} or {@link BulkImporter#upsertReturning},
+ * holding the values of the returning columns as written to the table.
+ */
+public final class ReturnedRow {
+
+    private final int index;
+    private final boolean inserted;
+    private final List<String> columns;
+    private final Object[] values;
+
+    ReturnedRow(int index, boolean inserted, List<String> columns, Object[] values) {
+        this.index = index;
+        this.inserted = inserted;
+        this.columns = Collections.unmodifiableList(columns);
+        this.values = values;
+    }
+
+    /**
+     * Gets the index of the entity in the input list that the row was written from.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns true if the row was inserted, false if an existing row was updated.
+     */
+    public boolean isInserted() {
+        return inserted;
+    }
+
+    /**
+     * Gets the names of the returning columns, in order.
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the value of a returning column, as read by the JDBC driver.
+     *
+     * @param columnName the column name
+     * @return the value, or null if the column is null
+     * @throws IllegalArgumentException if the column was not returned
+     */
+    public Object get(String columnName) {
+        int position = columns.indexOf(columnName);
+        if (position < 0) {
+            throw new IllegalArgumentException("Column '" + columnName + "' was not returned; returned: " + columns);
+        }
+        return values[position];
+    }
+
+    /**
+     * Gets the value of a returning column as the given type.
+     *
+     * @param columnName the column name
+     * @param type the type of the value
+     * @return the value, or null if the column is null
+     * @throws IllegalArgumentException if the column was not returned
+     * @throws ClassCastException if the value is not of the given type
+     */
+    public <V> V get(String columnName, Class<V> type) {
+        return type.cast(get(columnName));
+    }
+
+    /**
+     * Gets the value of a numeric returning column, such as a serial or identity key, as a Long.
+     *
+     * @param columnName the column name
+     * @return the value, or null if the column is null
+     * @throws IllegalArgumentException if the column was not returned
+     * @throws ClassCastException if the column is not numeric
+     */
+    public Long getLong(String columnName) {
+        Number value = (Number) get(columnName);
+        return value != null ? value.longValue() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "ReturnedRow{" +
+               "index=" + index +
+               ", inserted=" + inserted +
+               ", columns=" + columns +
+               ", values=" + Arrays.toString(values) +
+               '}';
+    }
+}
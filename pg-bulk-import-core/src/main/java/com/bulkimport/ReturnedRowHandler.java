@@ -0,0 +1,21 @@
+package com.bulkimport;
+
+/**
+ * Receives each row returned by {@link BulkImporter#insertReturning} or
+ * {@link BulkImporter#upsertReturning} together with the entity it was written from,
+ * e.g. to copy generated keys back into the entities. Called on the thread running the
+ * operation, while the statement's results are read.
+ *
+ * @param <T> the entity type
+ */
+@FunctionalInterface
+public interface ReturnedRowHandler<T> {
+
+    /**
+     * Called for each returned row.
+     *
+     * @param entity the entity the row was written from
+     * @param row the returned column values
+     */
+    void onRow(T entity, ReturnedRow row);
+}
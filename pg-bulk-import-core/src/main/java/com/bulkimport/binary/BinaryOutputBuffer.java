@@ -0,0 +1,133 @@
+package com.bulkimport.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with big-endian primitive writers.
+ * Reused across rows so that encoding a tuple does not allocate.
+ */
+final class BinaryOutputBuffer {
+
+    private byte[] buffer;
+    private int count;
+
+    BinaryOutputBuffer(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    int size() {
+        return count;
+    }
+
+    void truncate(int size) {
+        this.count = size;
+    }
+
+    void reset() {
+        this.count = 0;
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[count++] = (byte) value;
+    }
+
+    void writeShort(int value) {
+        ensureCapacity(2);
+        buffer[count++] = (byte) (value >>> 8);
+        buffer[count++] = (byte) value;
+    }
+
+    void writeInt(int value) {
+        ensureCapacity(4);
+        putInt(count, value);
+        count += 4;
+    }
+
+    void writeLong(long value) {
+        ensureCapacity(8);
+        putInt(count, (int) (value >>> 32));
+        putInt(count + 4, (int) value);
+        count += 8;
+    }
+
+    void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    /**
+     * Reserves four bytes for a length prefix that is filled in later with {@link #patchInt}.
+     *
+     * @return the position of the reserved bytes
+     */
+    int reserveInt() {
+        ensureCapacity(4);
+        int position = count;
+        count += 4;
+        return position;
+    }
+
+    void patchInt(int position, int value) {
+        putInt(position, value);
+    }
+
+    /**
+     * Encodes a string as UTF-8 without allocating an intermediate byte array.
+     * Unpaired surrogates are replaced with '?', matching {@link String#getBytes}.
+     */
+    void writeUtf8(CharSequence value) {
+        int length = value.length();
+        ensureCapacity(length * 3);
+
+        byte[] buf = buffer;
+        int pos = count;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char low = i + 1 < length ? value.charAt(i + 1) : 0;
+                if (Character.isHighSurrogate(c) && Character.isLowSurrogate(low)) {
+                    int codePoint = Character.toCodePoint(c, low);
+                    buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                    i++;
+                } else {
+                    buf[pos++] = (byte) '?';
+                }
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        count = pos;
+    }
+
+    void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, count);
+    }
+
+    private void putInt(int position, int value) {
+        buffer[position] = (byte) (value >>> 24);
+        buffer[position + 1] = (byte) (value >>> 16);
+        buffer[position + 2] = (byte) (value >>> 8);
+        buffer[position + 3] = (byte) value;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = count + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.bulkimport.binary;
+
+/**
+ * Encodes a non-null Java value into the binary wire representation of a PostgreSQL type.
+ */
+@FunctionalInterface
+interface PgBinaryEncoder {
+
+    /**
+     * Writes the binary representation of a value, without the field length prefix.
+     *
+     * @param value the value to encode, never null
+     * @param out the buffer to write to
+     * @return false if nothing was written and the value must be sent as NULL
+     * @throws IllegalArgumentException if the value is not compatible with the column type
+     * @throws ArithmeticException if a numeric value does not fit the column type
+     */
+    boolean encode(Object value, BinaryOutputBuffer out);
+}
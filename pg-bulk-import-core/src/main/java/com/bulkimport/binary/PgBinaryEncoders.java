@@ -0,0 +1,592 @@
+package com.bulkimport.binary;
+
+import com.bulkimport.catalog.PgColumnType;
+import com.bulkimport.config.NullHandling;
+import com.bulkimport.converter.TypeConverterRegistry;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.mapping.ColumnMapping;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Binary COPY encoders for the PostgreSQL types that the built-in converters can produce.
+ *
+ * <p>Conversions mirror what the server does when it parses the CSV representation
+ * produced by the corresponding {@link com.bulkimport.converter.TypeConverter}, so switching
+ * between CSV and binary COPY stores the same values.</p>
+ */
+final class PgBinaryEncoders {
+
+    /** Days between 1970-01-01 and PostgreSQL's epoch 2000-01-01. */
+    private static final long PG_EPOCH_DAYS = LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final long PG_EPOCH_SECONDS = PG_EPOCH_DAYS * 86_400L;
+    private static final long MICROS_PER_DAY = 86_400_000_000L;
+
+    private static final int NUMERIC_POS = 0x0000;
+    private static final int NUMERIC_NEG = 0x4000;
+    private static final int NUMERIC_NAN = 0xC000;
+    private static final int NUMERIC_PINF = 0xD000;
+    private static final int NUMERIC_NINF = 0xF000;
+    private static final BigInteger NUMERIC_BASE = BigInteger.valueOf(10_000);
+
+    /** Marker returned by converters when LITERAL_NULL is requested for a null-like value. */
+    private static final String NULL_MARKER = NullHandling.LITERAL_NULL.getRepresentation();
+
+    private PgBinaryEncoders() {
+    }
+
+    /**
+     * Creates the encoder for a column.
+     *
+     * @param columnType the column type read from the catalog
+     * @param converterRegistry registry used for values sent as text
+     * @return the encoder
+     * @throws ExecutionException if the column type is not supported in binary format
+     */
+    static PgBinaryEncoder forColumn(PgColumnType columnType, TypeConverterRegistry converterRegistry) {
+        if (columnType.isArray()) {
+            PgBinaryEncoder elementEncoder = forType(columnType.getElementTypeName(),
+                columnType.isElementEnumType(), converterRegistry);
+            if (elementEncoder == null) {
+                throw ExecutionException.unsupportedBinaryType(
+                    columnType.getColumnName(), columnType.getDeclaredType());
+            }
+            return arrayEncoder(columnType.getElementOid(), elementEncoder);
+        }
+
+        PgBinaryEncoder encoder = forType(columnType.getTypeName(), columnType.isEnumType(), converterRegistry);
+        if (encoder == null) {
+            throw ExecutionException.unsupportedBinaryType(
+                columnType.getColumnName(), columnType.getDeclaredType());
+        }
+        return encoder;
+    }
+
+    /**
+     * Checks if a column is sent as text, so that the registered converters apply to its values.
+     * All other column types are encoded from the Java value directly.
+     *
+     * @param columnType the column type read from the catalog
+     * @return true for enum and text-like columns and arrays of them
+     */
+    static boolean isTextColumn(PgColumnType columnType) {
+        if (columnType.isArray()) {
+            return columnType.isElementEnumType() || isTextType(columnType.getElementTypeName());
+        }
+        return columnType.isEnumType() || isTextType(columnType.getTypeName());
+    }
+
+    /**
+     * Creates an encoder that reads a column through its primitive extractor.
+     * Returns null if the column has no primitive extractor or the column type
+     * needs the boxed value, in which case {@link #forColumn} is used.
+     *
+     * @param column the column mapping
+     * @param columnType the column type read from the catalog
+     * @return the encoder, or null
+     */
+    static <T> PgPrimitiveEncoder<T> forPrimitiveColumn(ColumnMapping<T, ?> column, PgColumnType columnType) {
+        if (columnType.isArray() || columnType.isEnumType()) {
+            return null;
+        }
+        String typeName = columnType.getTypeName();
+
+        if (column.getIntExtractor() != null) {
+            ToIntFunction<T> extractor = column.getIntExtractor();
+            switch (typeName) {
+                case "int2":
+                    return (entity, out) -> {
+                        long value = checkRange(extractor.applyAsInt(entity), Short.MIN_VALUE, Short.MAX_VALUE, "int2");
+                        out.writeInt(2);
+                        out.writeShort((int) value);
+                    };
+                case "int4":
+                    return (entity, out) -> {
+                        out.writeInt(4);
+                        out.writeInt(extractor.applyAsInt(entity));
+                    };
+                case "int8":
+                    return (entity, out) -> {
+                        out.writeInt(8);
+                        out.writeLong(extractor.applyAsInt(entity));
+                    };
+                case "float8":
+                    return (entity, out) -> {
+                        out.writeInt(8);
+                        out.writeLong(Double.doubleToLongBits(extractor.applyAsInt(entity)));
+                    };
+                default:
+                    return null;
+            }
+        }
+        if (column.getLongExtractor() != null) {
+            ToLongFunction<T> extractor = column.getLongExtractor();
+            switch (typeName) {
+                case "int2":
+                    return (entity, out) -> {
+                        long value = checkRange(extractor.applyAsLong(entity), Short.MIN_VALUE, Short.MAX_VALUE, "int2");
+                        out.writeInt(2);
+                        out.writeShort((int) value);
+                    };
+                case "int4":
+                    return (entity, out) -> {
+                        long value = checkRange(extractor.applyAsLong(entity), Integer.MIN_VALUE, Integer.MAX_VALUE, "int4");
+                        out.writeInt(4);
+                        out.writeInt((int) value);
+                    };
+                case "int8":
+                    return (entity, out) -> {
+                        out.writeInt(8);
+                        out.writeLong(extractor.applyAsLong(entity));
+                    };
+                default:
+                    return null;
+            }
+        }
+        if (column.getDoubleExtractor() != null) {
+            ToDoubleFunction<T> extractor = column.getDoubleExtractor();
+            switch (typeName) {
+                case "float4":
+                    return (entity, out) -> {
+                        out.writeInt(4);
+                        out.writeInt(Float.floatToIntBits((float) extractor.applyAsDouble(entity)));
+                    };
+                case "float8":
+                    return (entity, out) -> {
+                        out.writeInt(8);
+                        out.writeLong(Double.doubleToLongBits(extractor.applyAsDouble(entity)));
+                    };
+                default:
+                    return null;
+            }
+        }
+        if (column.getBooleanExtractor() != null && typeName.equals("bool")) {
+            Predicate<T> extractor = column.getBooleanExtractor();
+            return (entity, out) -> {
+                out.writeInt(1);
+                out.writeByte(extractor.test(entity) ? 1 : 0);
+            };
+        }
+        return null;
+    }
+
+    private static PgBinaryEncoder forType(String typeName, boolean enumType,
+                                           TypeConverterRegistry converterRegistry) {
+        if (enumType) {
+            // enum_recv accepts the label as text
+            return textEncoder(converterRegistry);
+        }
+
+        switch (typeName) {
+            case "bool":
+                return PgBinaryEncoders::encodeBool;
+            case "int2":
+                return (value, out) -> {
+                    out.writeShort((int) checkRange(integralValue(value), Short.MIN_VALUE, Short.MAX_VALUE, "int2"));
+                    return true;
+                };
+            case "int4":
+                return (value, out) -> {
+                    out.writeInt((int) checkRange(integralValue(value), Integer.MIN_VALUE, Integer.MAX_VALUE, "int4"));
+                    return true;
+                };
+            case "int8":
+                return (value, out) -> {
+                    out.writeLong(integralValue(value));
+                    return true;
+                };
+            case "float4":
+                return (value, out) -> {
+                    out.writeInt(Float.floatToIntBits(asNumber(value).floatValue()));
+                    return true;
+                };
+            case "float8":
+                return (value, out) -> {
+                    out.writeLong(Double.doubleToLongBits(asNumber(value).doubleValue()));
+                    return true;
+                };
+            case "numeric":
+                return PgBinaryEncoders::encodeNumeric;
+            case "text":
+            case "varchar":
+            case "bpchar":
+            case "name":
+            case "citext":
+            case "json":
+            case "xml":
+                return textEncoder(converterRegistry);
+            case "jsonb":
+                PgBinaryEncoder text = textEncoder(converterRegistry);
+                return (value, out) -> {
+                    int start = out.size();
+                    // jsonb binary format version
+                    out.writeByte(1);
+                    if (!text.encode(value, out)) {
+                        out.truncate(start);
+                        return false;
+                    }
+                    return true;
+                };
+            case "uuid":
+                return PgBinaryEncoders::encodeUuid;
+            case "bytea":
+                return (value, out) -> {
+                    if (!(value instanceof byte[])) {
+                        throw incompatible(value);
+                    }
+                    out.writeBytes((byte[]) value);
+                    return true;
+                };
+            case "date":
+                return PgBinaryEncoders::encodeDate;
+            case "time":
+                return PgBinaryEncoders::encodeTime;
+            case "timestamp":
+                return PgBinaryEncoders::encodeTimestamp;
+            case "timestamptz":
+                return PgBinaryEncoders::encodeTimestampTz;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isTextType(String typeName) {
+        switch (typeName) {
+            case "text":
+            case "varchar":
+            case "bpchar":
+            case "name":
+            case "citext":
+            case "json":
+            case "xml":
+            case "jsonb":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // ==================== Scalar encoders ====================
+
+    private static boolean encodeBool(Object value, BinaryOutputBuffer out) {
+        if (!(value instanceof Boolean)) {
+            throw incompatible(value);
+        }
+        out.writeByte((Boolean) value ? 1 : 0);
+        return true;
+    }
+
+    private static boolean encodeUuid(Object value, BinaryOutputBuffer out) {
+        UUID uuid;
+        if (value instanceof UUID) {
+            uuid = (UUID) value;
+        } else if (value instanceof String) {
+            uuid = UUID.fromString((String) value);
+        } else {
+            throw incompatible(value);
+        }
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+        return true;
+    }
+
+    private static PgBinaryEncoder textEncoder(TypeConverterRegistry converterRegistry) {
+        return (value, out) -> {
+            if (value instanceof String) {
+                out.writeUtf8((String) value);
+                return true;
+            }
+            // Use the registered converter so custom converters apply to text columns.
+            // Converters return the null marker for null-like values such as JSON null.
+            String text = converterRegistry.convert(value, NullHandling.LITERAL_NULL);
+            if (NULL_MARKER.equals(text)) {
+                return false;
+            }
+            out.writeUtf8(text);
+            return true;
+        };
+    }
+
+    // ==================== Numeric ====================
+
+    private static Number asNumber(Object value) {
+        if (!(value instanceof Number)) {
+            throw incompatible(value);
+        }
+        return (Number) value;
+    }
+
+    private static long integralValue(Object value) {
+        if (value instanceof Integer || value instanceof Long ||
+            value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigInteger) {
+            return ((BigInteger) value).longValueExact();
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).longValueExact();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (d != Math.rint(d) || Double.isInfinite(d)) {
+                throw new ArithmeticException("value " + d + " is not an integer");
+            }
+            return new BigDecimal(d).longValueExact();
+        }
+        return asNumber(value).longValue();
+    }
+
+    private static long checkRange(long value, long min, long max, String typeName) {
+        if (value < min || value > max) {
+            throw new ArithmeticException("value " + value + " is out of range for type " + typeName);
+        }
+        return value;
+    }
+
+    private static boolean encodeNumeric(Object value, BinaryOutputBuffer out) {
+        BigDecimal decimal;
+        if (value instanceof BigDecimal) {
+            decimal = (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            decimal = new BigDecimal((BigInteger) value);
+        } else if (value instanceof Integer || value instanceof Long ||
+                   value instanceof Short || value instanceof Byte) {
+            decimal = BigDecimal.valueOf(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d)) {
+                writeNumericSpecial(out, NUMERIC_NAN);
+                return true;
+            }
+            if (Double.isInfinite(d)) {
+                writeNumericSpecial(out, d > 0 ? NUMERIC_PINF : NUMERIC_NINF);
+                return true;
+            }
+            // Same digits as the CSV representation (Double/Float.toString)
+            decimal = new BigDecimal(value.toString());
+        } else {
+            decimal = new BigDecimal(asNumber(value).toString());
+        }
+
+        writeNumeric(out, decimal);
+        return true;
+    }
+
+    private static void writeNumericSpecial(BinaryOutputBuffer out, int sign) {
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(sign);
+        out.writeShort(0);
+    }
+
+    /**
+     * Writes a BigDecimal as numeric: base-10000 digits aligned on the decimal point,
+     * preceded by digit count, weight of the first digit, sign and display scale.
+     */
+    static void writeNumeric(BinaryOutputBuffer out, BigDecimal value) {
+        if (value.scale() < 0) {
+            value = value.setScale(0);
+        }
+        int displayScale = value.scale();
+        int sign = value.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS;
+
+        // Align the scale on a base-10000 digit boundary
+        int padding = (4 - displayScale % 4) % 4;
+        int fractionalGroups = (displayScale + padding) / 4;
+        BigInteger unscaled = value.unscaledValue().abs();
+
+        short[] groups;
+        int groupCount;
+        if (unscaled.bitLength() <= 52) {
+            long remaining = unscaled.longValue();
+            for (int i = 0; i < padding; i++) {
+                remaining *= 10;
+            }
+            groups = new short[5];
+            groupCount = 0;
+            while (remaining != 0) {
+                groups[groupCount++] = (short) (remaining % 10_000);
+                remaining /= 10_000;
+            }
+        } else {
+            BigInteger remaining = unscaled.multiply(BigInteger.TEN.pow(padding));
+            groups = new short[remaining.bitLength() / 13 + 2];
+            groupCount = 0;
+            while (remaining.signum() != 0) {
+                BigInteger[] divRem = remaining.divideAndRemainder(NUMERIC_BASE);
+                groups[groupCount++] = divRem[1].shortValue();
+                remaining = divRem[0];
+            }
+        }
+
+        if (groupCount == 0) {
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(NUMERIC_POS);
+            out.writeShort(displayScale);
+            return;
+        }
+
+        // groups are least significant first; trailing zero digits are not sent
+        int lowest = 0;
+        while (groups[lowest] == 0) {
+            lowest++;
+        }
+        int weight = groupCount - fractionalGroups - 1;
+
+        out.writeShort(groupCount - lowest);
+        out.writeShort(weight);
+        out.writeShort(sign);
+        out.writeShort(displayScale);
+        for (int i = groupCount - 1; i >= lowest; i--) {
+            out.writeShort(groups[i]);
+        }
+    }
+
+    // ==================== Date/Time ====================
+
+    private static boolean encodeDate(Object value, BinaryOutputBuffer out) {
+        LocalDate date;
+        if (value instanceof LocalDate) {
+            date = (LocalDate) value;
+        } else if (value instanceof java.sql.Date) {
+            date = ((java.sql.Date) value).toLocalDate();
+        } else if (value instanceof java.sql.Timestamp) {
+            date = ((java.sql.Timestamp) value).toLocalDateTime().toLocalDate();
+        } else if (value instanceof java.util.Date) {
+            date = ((java.util.Date) value).toInstant().atOffset(ZoneOffset.UTC).toLocalDate();
+        } else {
+            throw incompatible(value);
+        }
+        out.writeInt(Math.toIntExact(date.toEpochDay() - PG_EPOCH_DAYS));
+        return true;
+    }
+
+    private static boolean encodeTime(Object value, BinaryOutputBuffer out) {
+        if (!(value instanceof LocalTime)) {
+            throw incompatible(value);
+        }
+        out.writeLong(roundToMicros(((LocalTime) value).toNanoOfDay()));
+        return true;
+    }
+
+    private static boolean encodeTimestamp(Object value, BinaryOutputBuffer out) {
+        LocalDateTime dateTime;
+        if (value instanceof LocalDateTime) {
+            dateTime = (LocalDateTime) value;
+        } else if (value instanceof java.sql.Timestamp) {
+            dateTime = ((java.sql.Timestamp) value).toLocalDateTime();
+        } else if (value instanceof java.sql.Date) {
+            dateTime = ((java.sql.Date) value).toLocalDate().atStartOfDay();
+        } else if (value instanceof LocalDate) {
+            dateTime = ((LocalDate) value).atStartOfDay();
+        } else if (value instanceof Instant) {
+            dateTime = LocalDateTime.ofInstant((Instant) value, ZoneOffset.UTC);
+        } else if (value instanceof OffsetDateTime) {
+            // The server ignores the offset when parsing into timestamp without time zone
+            dateTime = ((OffsetDateTime) value).toLocalDateTime();
+        } else if (value instanceof ZonedDateTime) {
+            dateTime = ((ZonedDateTime) value).toLocalDateTime();
+        } else if (value instanceof java.util.Date) {
+            dateTime = LocalDateTime.ofInstant(((java.util.Date) value).toInstant(), ZoneOffset.UTC);
+        } else {
+            throw incompatible(value);
+        }
+        out.writeLong((dateTime.toLocalDate().toEpochDay() - PG_EPOCH_DAYS) * MICROS_PER_DAY
+            + roundToMicros(dateTime.toLocalTime().toNanoOfDay()));
+        return true;
+    }
+
+    private static boolean encodeTimestampTz(Object value, BinaryOutputBuffer out) {
+        Instant instant;
+        if (value instanceof Instant) {
+            instant = (Instant) value;
+        } else if (value instanceof OffsetDateTime) {
+            instant = ((OffsetDateTime) value).toInstant();
+        } else if (value instanceof ZonedDateTime) {
+            instant = ((ZonedDateTime) value).toInstant();
+        } else if (value instanceof LocalDateTime) {
+            // The driver sets the session time zone to the JVM default zone
+            instant = ((LocalDateTime) value).atZone(ZoneId.systemDefault()).toInstant();
+        } else if (value instanceof java.sql.Date) {
+            instant = ((java.sql.Date) value).toLocalDate().atStartOfDay(ZoneId.systemDefault()).toInstant();
+        } else if (value instanceof LocalDate) {
+            instant = ((LocalDate) value).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        } else if (value instanceof java.util.Date) {
+            instant = ((java.util.Date) value).toInstant();
+        } else {
+            throw incompatible(value);
+        }
+        out.writeLong((instant.getEpochSecond() - PG_EPOCH_SECONDS) * 1_000_000L
+            + roundToMicros(instant.getNano()));
+        return true;
+    }
+
+    private static long roundToMicros(long nanos) {
+        return (nanos + 500) / 1_000;
+    }
+
+    // ==================== Arrays ====================
+
+    private static PgBinaryEncoder arrayEncoder(int elementOid, PgBinaryEncoder elementEncoder) {
+        return (value, out) -> {
+            Object[] elements;
+            if (value instanceof Object[]) {
+                elements = (Object[]) value;
+            } else if (value instanceof Collection) {
+                elements = ((Collection<?>) value).toArray();
+            } else if (value.getClass().isArray()) {
+                int length = Array.getLength(value);
+                elements = new Object[length];
+                for (int i = 0; i < length; i++) {
+                    elements[i] = Array.get(value, i);
+                }
+            } else {
+                throw incompatible(value);
+            }
+
+            out.writeInt(elements.length == 0 ? 0 : 1);
+            int flagsPosition = out.reserveInt();
+            out.writeInt(elementOid);
+            if (elements.length > 0) {
+                out.writeInt(elements.length);
+                out.writeInt(1);
+            }
+
+            boolean hasNulls = false;
+            for (Object element : elements) {
+                int lengthPosition = out.reserveInt();
+                if (element == null || !elementEncoder.encode(element, out)) {
+                    out.truncate(lengthPosition + 4);
+                    out.patchInt(lengthPosition, -1);
+                    hasNulls = true;
+                } else {
+                    out.patchInt(lengthPosition, out.size() - lengthPosition - 4);
+                }
+            }
+            out.patchInt(flagsPosition, hasNulls ? 1 : 0);
+            return true;
+        };
+    }
+
+    private static IllegalArgumentException incompatible(Object value) {
+        return new IllegalArgumentException("incompatible Java type " + value.getClass().getName());
+    }
+}
@@ -0,0 +1,19 @@
+package com.bulkimport.binary;
+
+/**
+ * Encodes a column read through a primitive extractor, so the value is never boxed.
+ *
+ * @param <T> the entity type
+ */
+@FunctionalInterface
+interface PgPrimitiveEncoder<T> {
+
+    /**
+     * Writes the field of an entity, including its length prefix.
+     *
+     * @param entity the entity to read the value from
+     * @param out the buffer to write to
+     * @throws ArithmeticException if the value does not fit the column type
+     */
+    void encode(T entity, BinaryOutputBuffer out);
+}
@@ -0,0 +1,227 @@
+package com.bulkimport.catalog;
+
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.util.SqlIdentifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads column type information for a table from {@code pg_catalog}.
+ *
+ * <p>The {@code resolveCached} methods keep the types of each table for the lifetime of the
+ * JVM, keyed by database URL, user, schema and table name, so repeated operations on the same
+ * table skip the catalog lookup. Without a schema name, the schema the table is found in
+ * through the connection's {@code search_path} is looked up first, since connections to the
+ * same database can use different search paths. Callers invalidate the entry with
+ * {@link #invalidate} when a statement built from cached types fails, in case the table has
+ * changed since.</p>
+ */
+public class ColumnTypeResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnTypeResolver.class);
+
+    // Domains are resolved to their base type; array element types are resolved as well
+    private static final String COLUMN_TYPES_QUERY =
+        "SELECT a.attname, b.oid, b.typname, b.typtype, e.oid, e.typname, e.typtype, " +
+        "format_type(a.atttypid, a.atttypmod), " +
+        "format_type(b.oid, CASE WHEN t.typtype = 'd' THEN t.typtypmod ELSE a.atttypmod END) " +
+        "FROM pg_attribute a " +
+        "JOIN pg_type t ON t.oid = a.atttypid " +
+        "JOIN pg_type b ON b.oid = CASE WHEN t.typtype = 'd' THEN t.typbasetype ELSE t.oid END " +
+        "LEFT JOIN pg_type e ON e.oid = b.typelem AND b.typcategory = 'A' " +
+        "WHERE a.attrelid = to_regclass(?) AND a.attnum > 0 AND NOT a.attisdropped " +
+        "ORDER BY a.attnum";
+
+    private static final String TABLE_SCHEMA_QUERY =
+        "SELECT n.nspname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+        "WHERE c.oid = to_regclass(?)";
+
+    private static final ConcurrentMap<String, Map<String, PgColumnType>> CACHE = new ConcurrentHashMap<>();
+
+    private final Connection connection;
+
+    /**
+     * Creates a new column type resolver.
+     *
+     * @param connection the database connection (must not be null)
+     * @throws NullPointerException if connection is null
+     */
+    public ColumnTypeResolver(Connection connection) {
+        this.connection = Objects.requireNonNull(connection, "connection cannot be null");
+    }
+
+    /**
+     * Reads the types of all columns of a table.
+     *
+     * @param schemaName the schema name (can be null for the search path)
+     * @param tableName the table name
+     * @return the column types keyed by column name, in column order
+     * @throws ExecutionException if the table does not exist or the lookup fails
+     */
+    public Map<String, PgColumnType> resolve(String schemaName, String tableName) {
+        String qualifiedName = SqlIdentifier.quoteQualified(schemaName, tableName);
+        log.debug("Reading column types for table: {}", qualifiedName);
+
+        Map<String, PgColumnType> types = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = connection.prepareStatement(COLUMN_TYPES_QUERY)) {
+            pstmt.setString(1, qualifiedName);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String columnName = rs.getString(1);
+                    String elementTypeName = rs.getString(6);
+                    types.put(columnName, new PgColumnType(
+                        columnName,
+                        rs.getInt(2),
+                        rs.getString(3),
+                        "e".equals(rs.getString(4)),
+                        rs.getInt(5),
+                        elementTypeName,
+                        "e".equals(rs.getString(7)),
+                        rs.getString(8),
+                        rs.getString(9)));
+                }
+            }
+        } catch (SQLException e) {
+            throw ExecutionException.columnTypeLookupFailed(qualifiedName, e);
+        }
+
+        if (types.isEmpty()) {
+            throw ExecutionException.tableNotFound(qualifiedName);
+        }
+        return types;
+    }
+
+    /**
+     * Reads the types of the given columns of a table.
+     *
+     * @param schemaName the schema name (can be null for the search path)
+     * @param tableName the table name
+     * @param columnNames the columns to resolve
+     * @return the column types in the same order as {@code columnNames}
+     * @throws ExecutionException if the table or one of the columns does not exist
+     */
+    public List<PgColumnType> resolve(String schemaName, String tableName, List<String> columnNames) {
+        return select(resolve(schemaName, tableName), schemaName, tableName, columnNames);
+    }
+
+    /**
+     * Reads the types of all columns of a table, using the types cached by an earlier call if any.
+     * Without a schema name, this takes one catalog lookup to find the table's schema.
+     *
+     * @param schemaName the schema name (can be null for the search path)
+     * @param tableName the table name
+     * @return the column types keyed by column name, in column order
+     * @throws ExecutionException if the table does not exist or the lookup fails
+     */
+    public Map<String, PgColumnType> resolveCached(String schemaName, String tableName) {
+        String prefix = cacheKeyPrefix(connection);
+        if (prefix == null) {
+            return resolve(schemaName, tableName);
+        }
+        String schema = schemaName != null && !schemaName.isEmpty() ? schemaName : resolveSchemaName(tableName);
+        String key = prefix + SqlIdentifier.quoteQualified(schema, tableName);
+        Map<String, PgColumnType> types = CACHE.get(key);
+        if (types == null) {
+            types = Collections.unmodifiableMap(resolve(schema, tableName));
+            CACHE.put(key, types);
+        }
+        return types;
+    }
+
+    /**
+     * Reads the types of the given columns of a table, using the types cached by an earlier call if any.
+     *
+     * @param schemaName the schema name (can be null for the search path)
+     * @param tableName the table name
+     * @param columnNames the columns to resolve
+     * @return the column types in the same order as {@code columnNames}
+     * @throws ExecutionException if the table or one of the columns does not exist
+     */
+    public List<PgColumnType> resolveCached(String schemaName, String tableName, List<String> columnNames) {
+        return select(resolveCached(schemaName, tableName), schemaName, tableName, columnNames);
+    }
+
+    /**
+     * Removes the cached column types of a table. Without a schema name, the entries of
+     * tables with that name in all schemas are removed, since the connection may be in a
+     * failed transaction that cannot look up the schema.
+     *
+     * @param connection a connection to the table's database
+     * @param schemaName the schema name (can be null for the search path)
+     * @param tableName the table name
+     */
+    public static void invalidate(Connection connection, String schemaName, String tableName) {
+        String prefix = cacheKeyPrefix(connection);
+        if (prefix == null) {
+            return;
+        }
+        if (schemaName != null && !schemaName.isEmpty()) {
+            CACHE.remove(prefix + SqlIdentifier.quoteQualified(schemaName, tableName));
+        } else {
+            String suffix = "." + SqlIdentifier.quote(tableName);
+            CACHE.keySet().removeIf(key -> key.startsWith(prefix) && key.endsWith(suffix));
+        }
+    }
+
+    /**
+     * Removes all cached column types, e.g. after schema migrations.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    private static List<PgColumnType> select(Map<String, PgColumnType> types, String schemaName,
+                                             String tableName, List<String> columnNames) {
+        List<PgColumnType> result = new ArrayList<>(columnNames.size());
+        for (String columnName : columnNames) {
+            PgColumnType type = types.get(columnName);
+            if (type == null) {
+                throw ExecutionException.columnNotFound(
+                    SqlIdentifier.quoteQualified(schemaName, tableName), columnName);
+            }
+            result.add(type);
+        }
+        return result;
+    }
+
+    private String resolveSchemaName(String tableName) {
+        String qualifiedName = SqlIdentifier.quote(tableName);
+        try (PreparedStatement pstmt = connection.prepareStatement(TABLE_SCHEMA_QUERY)) {
+            pstmt.setString(1, qualifiedName);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getString(1);
+                }
+            }
+        } catch (SQLException e) {
+            throw ExecutionException.columnTypeLookupFailed(qualifiedName, e);
+        }
+        throw ExecutionException.tableNotFound(qualifiedName);
+    }
+
+    private static String cacheKeyPrefix(Connection connection) {
+        try {
+            // The driver answers both from the connection settings, without a round trip
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getURL() + '|' + metaData.getUserName() + '|';
+        } catch (SQLException e) {
+            log.debug("Cannot identify database, column types are not cached: {}", e.getMessage());
+            return null;
+        }
+    }
+}
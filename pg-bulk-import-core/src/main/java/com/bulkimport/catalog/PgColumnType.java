@@ -0,0 +1,121 @@
+package com.bulkimport.catalog;
+
+import java.util.Objects;
+
+/**
+ * Describes the PostgreSQL type of a table column as read from {@code pg_catalog}.
+ * Domain types are resolved to their base type.
+ */
+public final class PgColumnType {
+
+    private final String columnName;
+    private final int typeOid;
+    private final String typeName;
+    private final boolean enumType;
+    private final int elementOid;
+    private final String elementTypeName;
+    private final boolean elementEnumType;
+    private final String declaredType;
+    private final String baseType;
+
+    public PgColumnType(String columnName, int typeOid, String typeName, boolean enumType,
+                        int elementOid, String elementTypeName, boolean elementEnumType,
+                        String declaredType) {
+        this(columnName, typeOid, typeName, enumType, elementOid, elementTypeName, elementEnumType,
+            declaredType, declaredType);
+    }
+
+    public PgColumnType(String columnName, int typeOid, String typeName, boolean enumType,
+                        int elementOid, String elementTypeName, boolean elementEnumType,
+                        String declaredType, String baseType) {
+        this.columnName = Objects.requireNonNull(columnName, "columnName cannot be null");
+        this.typeOid = typeOid;
+        this.typeName = Objects.requireNonNull(typeName, "typeName cannot be null");
+        this.enumType = enumType;
+        this.elementOid = elementOid;
+        this.elementTypeName = elementTypeName;
+        this.elementEnumType = elementEnumType;
+        this.declaredType = declaredType;
+        this.baseType = baseType;
+    }
+
+    /**
+     * Gets the column name.
+     */
+    public String getColumnName() {
+        return columnName;
+    }
+
+    /**
+     * Gets the OID of the column's (base) type.
+     */
+    public int getTypeOid() {
+        return typeOid;
+    }
+
+    /**
+     * Gets the internal name of the column's (base) type, e.g. {@code int4} or {@code _text}.
+     */
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * Returns true if the column's type is a user-defined enum.
+     */
+    public boolean isEnumType() {
+        return enumType;
+    }
+
+    /**
+     * Returns true if the column's type is an array.
+     */
+    public boolean isArray() {
+        return elementTypeName != null;
+    }
+
+    /**
+     * Gets the OID of the array element type, or 0 if the column is not an array.
+     */
+    public int getElementOid() {
+        return elementOid;
+    }
+
+    /**
+     * Gets the internal name of the array element type, or null if the column is not an array.
+     */
+    public String getElementTypeName() {
+        return elementTypeName;
+    }
+
+    /**
+     * Returns true if the array element type is a user-defined enum.
+     */
+    public boolean isElementEnumType() {
+        return elementEnumType;
+    }
+
+    /**
+     * Gets the SQL type as declared on the column, including modifiers (e.g. {@code numeric(10,2)}).
+     */
+    public String getDeclaredType() {
+        return declaredType;
+    }
+
+    /**
+     * Gets the SQL type of the column with domains resolved to their base type, including modifiers.
+     * Unlike the declared type, it carries no domain constraints.
+     */
+    public String getBaseType() {
+        return baseType;
+    }
+
+    @Override
+    public String toString() {
+        return "PgColumnType{" +
+               "columnName='" + columnName + '\'' +
+               ", typeName='" + typeName + '\'' +
+               ", declaredType='" + declaredType + '\'' +
+               '}';
+    }
+}
@@ -20,8 +20,23 @@ public class BulkImportConfig {
     private final List<String> matchColumns;
     private final String stagingTablePrefix;
     private final boolean autoCleanupStaging;
+    private final boolean reuseStagingTables;
+    private final StagingMode stagingMode;
+    private final long stagingIndexThreshold;
+    private final String stagingMaintenanceWorkMem;
+    private final boolean analyzeStaging;
     private final NullHandling nullHandling;
     private final String schemaName;
+    private final CopyFormat copyFormat;
+    private final int parallelism;
+    private final int parallelBatchSize;
+    private final long commitEveryRows;
+    private final long commitEveryBytes;
+    private final long resumeFromRow;
+    private final CheckpointListener checkpointListener;
+    private final MergeMode mergeMode;
+    private final String deleteCondition;
+    private final String synchronizeScope;
 
     private BulkImportConfig(Builder builder) {
         this.conflictStrategy = builder.conflictStrategy;
@@ -30,8 +45,23 @@ public class BulkImportConfig {
         this.matchColumns = Collections.unmodifiableList(new ArrayList<>(builder.matchColumns));
         this.stagingTablePrefix = builder.stagingTablePrefix;
         this.autoCleanupStaging = builder.autoCleanupStaging;
+        this.reuseStagingTables = builder.reuseStagingTables;
+        this.stagingMode = builder.stagingMode;
+        this.stagingIndexThreshold = builder.stagingIndexThreshold;
+        this.stagingMaintenanceWorkMem = builder.stagingMaintenanceWorkMem;
+        this.analyzeStaging = builder.analyzeStaging;
         this.nullHandling = builder.nullHandling;
         this.schemaName = builder.schemaName;
+        this.copyFormat = builder.copyFormat;
+        this.parallelism = builder.parallelism;
+        this.parallelBatchSize = builder.parallelBatchSize;
+        this.commitEveryRows = builder.commitEveryRows;
+        this.commitEveryBytes = builder.commitEveryBytes;
+        this.resumeFromRow = builder.resumeFromRow;
+        this.checkpointListener = builder.checkpointListener;
+        this.mergeMode = builder.mergeMode;
+        this.deleteCondition = builder.deleteCondition;
+        this.synchronizeScope = builder.synchronizeScope;
     }
 
     /**
@@ -72,6 +102,26 @@ public class BulkImportConfig {
         return autoCleanupStaging;
     }
 
+    public boolean isReuseStagingTables() {
+        return reuseStagingTables;
+    }
+
+    public StagingMode getStagingMode() {
+        return stagingMode;
+    }
+
+    public long getStagingIndexThreshold() {
+        return stagingIndexThreshold;
+    }
+
+    public String getStagingMaintenanceWorkMem() {
+        return stagingMaintenanceWorkMem;
+    }
+
+    public boolean isAnalyzeStaging() {
+        return analyzeStaging;
+    }
+
     public NullHandling getNullHandling() {
         return nullHandling;
     }
@@ -80,6 +130,53 @@ public class BulkImportConfig {
         return schemaName;
     }
 
+    public CopyFormat getCopyFormat() {
+        return copyFormat;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getParallelBatchSize() {
+        return parallelBatchSize;
+    }
+
+    public long getCommitEveryRows() {
+        return commitEveryRows;
+    }
+
+    public long getCommitEveryBytes() {
+        return commitEveryBytes;
+    }
+
+    public long getResumeFromRow() {
+        return resumeFromRow;
+    }
+
+    public CheckpointListener getCheckpointListener() {
+        return checkpointListener;
+    }
+
+    public MergeMode getMergeMode() {
+        return mergeMode;
+    }
+
+    public String getDeleteCondition() {
+        return deleteCondition;
+    }
+
+    public String getSynchronizeScope() {
+        return synchronizeScope;
+    }
+
+    /**
+     * Returns true if inserts are committed in chunks.
+     */
+    public boolean isChunkedCommit() {
+        return commitEveryRows > 0 || commitEveryBytes > 0;
+    }
+
     /**
      * Returns true if match columns are explicitly specified.
      */
@@ -111,8 +208,23 @@ public class BulkImportConfig {
         private List<String> matchColumns = new ArrayList<>();
         private String stagingTablePrefix = "bulk_staging_";
         private boolean autoCleanupStaging = true;
+        private boolean reuseStagingTables = false;
+        private StagingMode stagingMode = StagingMode.TEMP;
+        private long stagingIndexThreshold = 10_000;
+        private String stagingMaintenanceWorkMem;
+        private boolean analyzeStaging = true;
         private NullHandling nullHandling = NullHandling.EMPTY_STRING;
         private String schemaName = null;
+        private CopyFormat copyFormat = CopyFormat.CSV;
+        private int parallelism = 1;
+        private int parallelBatchSize = 100_000;
+        private long commitEveryRows = 0;
+        private long commitEveryBytes = 0;
+        private long resumeFromRow = 0;
+        private CheckpointListener checkpointListener = null;
+        private MergeMode mergeMode = MergeMode.DISABLED;
+        private String deleteCondition = null;
+        private String synchronizeScope = null;
 
         private Builder() {
         }
@@ -147,7 +259,7 @@ public class BulkImportConfig {
 
         /**
          * Sets the columns to update when a conflict occurs.
-         * Only used with UPDATE_SPECIFIED strategy.
+         * Only used with the UPDATE_SPECIFIED and UPDATE_IF_CHANGED strategies.
          */
         public Builder updateColumns(String... columns) {
             Objects.requireNonNull(columns, "columns cannot be null");
@@ -201,6 +313,59 @@ public class BulkImportConfig {
             return this;
         }
 
+        /**
+         * Sets whether staging tables are kept for the rest of the database session and reused
+         * by later updates and upserts of the same table. A reused table is truncated instead of
+         * created again, which saves several DDL statements per operation on small batches.
+         * Default: false
+         */
+        public Builder reuseStagingTables(boolean reuse) {
+            this.reuseStagingTables = reuse;
+            return this;
+        }
+
+        /**
+         * Sets the kind of staging table used by updates and upserts. UNLOGGED staging tables
+         * are loaded over {@code parallelism} connections when the importer has a DataSource.
+         * Default: TEMP
+         */
+        public Builder stagingMode(StagingMode mode) {
+            this.stagingMode = Objects.requireNonNull(mode, "stagingMode cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the number of staged rows from which the staging table is indexed on the
+         * join columns and analyzed before it is applied. Smaller staging tables are cheaper
+         * to scan in full than to index. 0 always indexes.
+         * Default: 10000
+         */
+        public Builder stagingIndexThreshold(long rows) {
+            this.stagingIndexThreshold = rows;
+            return this;
+        }
+
+        /**
+         * Sets maintenance_work_mem while the staging table index is built, e.g. "512MB".
+         * The previous value is restored afterwards.
+         * Default: null (server setting)
+         */
+        public Builder stagingMaintenanceWorkMem(String memory) {
+            this.stagingMaintenanceWorkMem = memory;
+            return this;
+        }
+
+        /**
+         * Sets whether staging tables reaching the index threshold are analyzed before they are
+         * applied. Autovacuum never analyzes temporary tables, so without it the planner
+         * estimates the join from the table size alone.
+         * Default: true
+         */
+        public Builder analyzeStaging(boolean analyze) {
+            this.analyzeStaging = analyze;
+            return this;
+        }
+
         /**
          * Sets how null values should be represented in CSV.
          * Default: EMPTY_STRING
@@ -219,6 +384,109 @@ public class BulkImportConfig {
             return this;
         }
 
+        /**
+         * Sets the wire format used for COPY.
+         * BINARY skips text conversion but requires Java values to match the column types.
+         * Default: CSV
+         */
+        public Builder copyFormat(CopyFormat format) {
+            this.copyFormat = Objects.requireNonNull(format, "copyFormat cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the number of connections used in parallel for inserts, and for loading
+         * UNLOGGED staging tables. Only applies to importers created from a DataSource;
+         * each connection loads its own chunk of the data in its own transaction.
+         * Default: 1 (no parallelism)
+         */
+        public Builder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the number of rows per COPY when a stream is inserted in parallel.
+         * Lists are split evenly across the connections instead.
+         * Default: 100000
+         */
+        public Builder parallelBatchSize(int batchSize) {
+            this.parallelBatchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of rows after which an insert ends its COPY and commits.
+         * Chunked inserts run on a single connection, also when parallelism is set.
+         * Default: 0 (one COPY for all rows)
+         */
+        public Builder commitEveryRows(long rows) {
+            this.commitEveryRows = rows;
+            return this;
+        }
+
+        /**
+         * Sets the approximate number of bytes after which an insert ends its COPY and commits.
+         * Bytes are counted in steps of the 64 KB write buffer.
+         * Default: 0 (one COPY for all rows)
+         */
+        public Builder commitEveryBytes(long bytes) {
+            this.commitEveryBytes = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the number of leading rows to skip, as reported by the last checkpoint
+         * of an interrupted chunked insert of the same data. Requires commitEveryRows or
+         * commitEveryBytes.
+         * Default: 0
+         */
+        public Builder resumeFromRow(long row) {
+            this.resumeFromRow = row;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified after each committed chunk of a chunked insert.
+         * Default: null (no notifications)
+         */
+        public Builder checkpointListener(CheckpointListener listener) {
+            this.checkpointListener = listener;
+            return this;
+        }
+
+        /**
+         * Sets whether updates and upserts are applied with MERGE.
+         * Default: DISABLED
+         */
+        public Builder mergeMode(MergeMode mode) {
+            this.mergeMode = Objects.requireNonNull(mode, "mergeMode cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets an SQL condition on the staging row, referenced as {@code s}, under which
+         * updates and upserts delete the matched target row instead of updating it,
+         * e.g. {@code "s.deleted"}. Rows meeting the condition are never inserted.
+         * Requires MERGE, so mergeMode must not be DISABLED.
+         * Default: null (no deletes)
+         */
+        public Builder deleteCondition(String condition) {
+            this.deleteCondition = condition;
+            return this;
+        }
+
+        /**
+         * Sets an SQL condition on the target row, referenced as {@code t}, that limits the rows
+         * synchronize deletes when they are missing from the snapshot, e.g. {@code "t.tenant_id = 42"}.
+         * Use it when the snapshot covers only one partition of the table.
+         * Default: null (the snapshot covers the whole table)
+         */
+        public Builder synchronizeScope(String condition) {
+            this.synchronizeScope = condition;
+            return this;
+        }
+
         /**
          * Builds the configuration.
          *
@@ -231,7 +499,8 @@ public class BulkImportConfig {
 
         private void validate() {
             if (conflictStrategy == ConflictStrategy.UPDATE_ALL ||
-                conflictStrategy == ConflictStrategy.UPDATE_SPECIFIED) {
+                conflictStrategy == ConflictStrategy.UPDATE_SPECIFIED ||
+                conflictStrategy == ConflictStrategy.UPDATE_IF_CHANGED) {
                 if (conflictColumns.isEmpty()) {
                     throw ConfigurationException.missingConflictColumns();
                 }
@@ -240,6 +509,46 @@ public class BulkImportConfig {
             if (conflictStrategy == ConflictStrategy.UPDATE_SPECIFIED && updateColumns.isEmpty()) {
                 throw ConfigurationException.missingUpdateColumns();
             }
+
+            if (parallelism < 1) {
+                throw ConfigurationException.invalidValue("parallelism", parallelism, "must be at least 1");
+            }
+
+            if (parallelBatchSize < 1) {
+                throw ConfigurationException.invalidValue("parallelBatchSize", parallelBatchSize, "must be at least 1");
+            }
+
+            if (commitEveryRows < 0) {
+                throw ConfigurationException.invalidValue("commitEveryRows", commitEveryRows, "must not be negative");
+            }
+
+            if (commitEveryBytes < 0) {
+                throw ConfigurationException.invalidValue("commitEveryBytes", commitEveryBytes, "must not be negative");
+            }
+
+            if (resumeFromRow < 0) {
+                throw ConfigurationException.invalidValue("resumeFromRow", resumeFromRow, "must not be negative");
+            }
+
+            if (resumeFromRow > 0 && commitEveryRows == 0 && commitEveryBytes == 0) {
+                throw ConfigurationException.invalidValue("resumeFromRow", resumeFromRow,
+                    "requires commitEveryRows or commitEveryBytes");
+            }
+
+            if (stagingIndexThreshold < 0) {
+                throw ConfigurationException.invalidValue("stagingIndexThreshold", stagingIndexThreshold,
+                    "must not be negative");
+            }
+
+            if (reuseStagingTables && stagingMode != StagingMode.TEMP) {
+                throw ConfigurationException.invalidValue("stagingMode", stagingMode,
+                    "cannot be combined with reuseStagingTables");
+            }
+
+            if (deleteCondition != null && mergeMode == MergeMode.DISABLED) {
+                throw ConfigurationException.invalidValue("deleteCondition", deleteCondition,
+                    "requires mergeMode AUTO or ENABLED");
+            }
         }
     }
 }
@@ -0,0 +1,18 @@
+package com.bulkimport.config;
+
+/**
+ * Receives a checkpoint after each committed chunk of a chunked insert.
+ * Called on the thread running the insert, after the chunk's commit.
+ *
+ * @see BulkImportConfig.Builder#commitEveryRows(long)
+ */
+@FunctionalInterface
+public interface CheckpointListener {
+
+    /**
+     * Called after a chunk has been committed.
+     *
+     * @param checkpoint the progress of the insert
+     */
+    void onCheckpoint(ImportCheckpoint checkpoint);
+}
@@ -28,5 +28,14 @@ public enum ConflictStrategy {
      * Requires updateColumns to be specified in BulkImportConfig.
      * Uses: ON CONFLICT (conflict_columns) DO UPDATE SET col1 = EXCLUDED.col1, ...
      */
-    UPDATE_SPECIFIED
+    UPDATE_SPECIFIED,
+
+    /**
+     * Updates the specified columns, or all non-ID columns if none are specified, but only
+     * for rows where at least one of them differs from the target row. Unchanged rows cause
+     * no dead tuples, WAL or index writes, and are reported as unchanged.
+     * UPDATE operations skip unchanged rows with this strategy as well.
+     * Uses: ON CONFLICT (conflict_columns) DO UPDATE SET ... WHERE (t.col1, ...) IS DISTINCT FROM (EXCLUDED.col1, ...)
+     */
+    UPDATE_IF_CHANGED
 }
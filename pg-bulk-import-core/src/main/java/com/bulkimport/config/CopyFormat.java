@@ -0,0 +1,24 @@
+package com.bulkimport.config;
+
+/**
+ * Defines the wire format used to stream rows to PostgreSQL COPY.
+ */
+public enum CopyFormat {
+
+    /**
+     * Streams rows as CSV text (default).
+     * Every value is converted to a string by its {@link com.bulkimport.converter.TypeConverter}
+     * and parsed again by the server.
+     */
+    CSV,
+
+    /**
+     * Streams rows in PostgreSQL's binary COPY format (PGCOPY).
+     * Values are encoded directly into their binary wire representation, which avoids
+     * text conversion on the client and parsing on the server. Column types are read
+     * from the target table, so Java values must be compatible with the column types.
+     * Registered converters are only applied to enum and text-like columns; a custom
+     * converter for the value type of any other column is rejected, use CSV instead.
+     */
+    BINARY
+}
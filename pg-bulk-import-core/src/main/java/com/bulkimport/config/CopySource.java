@@ -0,0 +1,86 @@
+package com.bulkimport.config;
+
+import java.util.Objects;
+
+/**
+ * Data that the PostgreSQL server reads itself with {@code COPY ... FROM 'file'} or
+ * {@code COPY ... FROM PROGRAM 'command'}, instead of receiving it from the application
+ * with {@code COPY ... FROM STDIN}.
+ *
+ * <p>The data must be in the {@link CopyFormat copy format} and
+ * {@link NullHandling null handling} of the importer's configuration,
+ * with one field per mapped column in mapping order. Reading files requires superuser or
+ * the {@code pg_read_server_files} role, running programs superuser or the
+ * {@code pg_execute_server_program} role.</p>
+ *
+ * <pre>{@code
+ * importer.upsertFromServer(User.class, CopySource.file("/data/exports/users.csv").withHeader());
+ * importer.insertFromServer(Event.class, CopySource.program("gzip -dc /data/exports/events.csv.gz"));
+ * }</pre>
+ */
+public final class CopySource {
+
+    private final String location;
+    private final boolean program;
+    private final boolean header;
+
+    private CopySource(String location, boolean program, boolean header) {
+        this.location = location;
+        this.program = program;
+        this.header = header;
+    }
+
+    /**
+     * Creates a source reading a file on the database server.
+     *
+     * @param path the path of the file on the database server, absolute or relative to the data directory
+     */
+    public static CopySource file(String path) {
+        return new CopySource(Objects.requireNonNull(path, "path cannot be null"), false, false);
+    }
+
+    /**
+     * Creates a source reading the standard output of a shell command run on the database server.
+     *
+     * @param command the command, run by the database server's operating system user
+     */
+    public static CopySource program(String command) {
+        return new CopySource(Objects.requireNonNull(command, "command cannot be null"), true, false);
+    }
+
+    /**
+     * Returns a copy of this source whose first line is a CSV header, skipped on load.
+     */
+    public CopySource withHeader() {
+        return new CopySource(location, program, true);
+    }
+
+    /**
+     * Gets the file path or command.
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Returns true if the location is a command rather than a file.
+     */
+    public boolean isProgram() {
+        return program;
+    }
+
+    /**
+     * Returns true if the first line is a header.
+     */
+    public boolean hasHeader() {
+        return header;
+    }
+
+    @Override
+    public String toString() {
+        return "CopySource{" +
+               (program ? "program" : "file") + "='" + location + '\'' +
+               ", header=" + header +
+               '}';
+    }
+}
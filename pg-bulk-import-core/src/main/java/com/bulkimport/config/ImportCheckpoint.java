@@ -0,0 +1,70 @@
+package com.bulkimport.config;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The progress of a chunked insert after a committed chunk.
+ *
+ * <p>{@link #getRowsCommitted()} counts rows from the start of the data, including rows
+ * skipped with {@link BulkImportConfig.Builder#resumeFromRow(long)}, so it can be passed
+ * back as the resume position of a later run.</p>
+ */
+public final class ImportCheckpoint {
+
+    private final String tableName;
+    private final int chunkNumber;
+    private final long rowsCommitted;
+    private final long bytesCommitted;
+    private final List<Object> lastKey;
+
+    public ImportCheckpoint(String tableName, int chunkNumber, long rowsCommitted, long bytesCommitted,
+                            List<Object> lastKey) {
+        this.tableName = tableName;
+        this.chunkNumber = chunkNumber;
+        this.rowsCommitted = rowsCommitted;
+        this.bytesCommitted = bytesCommitted;
+        this.lastKey = Collections.unmodifiableList(lastKey);
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Gets the number of the chunk within this run, starting at 1.
+     */
+    public int getChunkNumber() {
+        return chunkNumber;
+    }
+
+    public long getRowsCommitted() {
+        return rowsCommitted;
+    }
+
+    /**
+     * Gets the number of bytes sent by the committed chunks of this run.
+     */
+    public long getBytesCommitted() {
+        return bytesCommitted;
+    }
+
+    /**
+     * Gets the ID column values of the last committed row, or an empty list if the
+     * mapping has no ID columns.
+     */
+    public List<Object> getLastKey() {
+        return lastKey;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportCheckpoint{" +
+               "tableName='" + tableName + '\'' +
+               ", chunkNumber=" + chunkNumber +
+               ", rowsCommitted=" + rowsCommitted +
+               ", bytesCommitted=" + bytesCommitted +
+               ", lastKey=" + lastKey +
+               '}';
+    }
+}
@@ -0,0 +1,32 @@
+package com.bulkimport.config;
+
+/**
+ * Defines whether updates and upserts are applied with MERGE (PostgreSQL 15+).
+ *
+ * <p>MERGE applies a staging table in one pass: it updates matched rows only if their values
+ * changed, inserts the missing ones and optionally deletes matched rows
+ * (see {@link BulkImportConfig.Builder#deleteCondition(String)}). Skipping unchanged rows
+ * avoids dead tuples, WAL and index writes for rows that did not change.</p>
+ *
+ * <p>Unlike INSERT ... ON CONFLICT, MERGE does not resolve concurrent inserts of the same
+ * key; it fails with a unique violation instead. Upserts with
+ * {@link ConflictStrategy#FAIL} always use INSERT, so that conflicts raise an error.</p>
+ */
+public enum MergeMode {
+
+    /**
+     * Uses UPDATE ... FROM and INSERT ... ON CONFLICT (default behavior).
+     */
+    DISABLED,
+
+    /**
+     * Uses MERGE if the server is PostgreSQL 15 or later, and the statements of
+     * {@link #DISABLED} otherwise.
+     */
+    AUTO,
+
+    /**
+     * Always uses MERGE; fails on servers older than PostgreSQL 15.
+     */
+    ENABLED
+}
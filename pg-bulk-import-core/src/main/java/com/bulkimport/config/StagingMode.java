@@ -0,0 +1,24 @@
+package com.bulkimport.config;
+
+/**
+ * Defines the kind of table that updates and upserts stage their rows in.
+ */
+public enum StagingMode {
+
+    /**
+     * Stages rows in a temporary table (default behavior).
+     * Temporary tables are only visible to the session that created them,
+     * so the rows are loaded over a single connection.
+     */
+    TEMP,
+
+    /**
+     * Stages rows in a regular UNLOGGED table, created in the first schema of the search path.
+     * Importers created from a DataSource with a parallelism above 1 load the table over
+     * several connections at once, then apply it with a single statement and drop it, also
+     * when loading or applying fails. Parallel loading requires the operation's connection
+     * to be in autocommit mode; within a transaction the table is loaded over that
+     * connection alone.
+     */
+    UNLOGGED
+}
@@ -0,0 +1,74 @@
+package com.bulkimport.converter;
+
+import com.bulkimport.mapping.ColumnMapping;
+
+import java.util.List;
+
+/**
+ * The converters for the columns of a table mapping, resolved once per mapping.
+ *
+ * <p>Each column is bound to the converter of its declared value type. Values whose
+ * runtime class differs from the declared type (subclasses, or columns declared as
+ * {@code Object}) are resolved through the registry's per-class cache instead, so
+ * looking up a converter never scans the registry or allocates.</p>
+ *
+ * <p>Obtain plans from {@link TypeConverterRegistry#getConversionPlan}.</p>
+ */
+public final class ConversionPlan {
+
+    private final TypeConverterRegistry registry;
+    private final Class<?>[] boundTypes;
+    private final TypeConverter<?>[] boundConverters;
+
+    ConversionPlan(TypeConverterRegistry registry, List<? extends ColumnMapping<?, ?>> columns) {
+        this.registry = registry;
+        this.boundTypes = new Class<?>[columns.size()];
+        this.boundConverters = new TypeConverter<?>[columns.size()];
+
+        for (int i = 0; i < boundTypes.length; i++) {
+            Class<?> type = boxed(columns.get(i).getValueType());
+            if (type != Object.class) {
+                boundTypes[i] = type;
+                boundConverters[i] = registry.getConverter(type);
+            }
+        }
+    }
+
+    /**
+     * Gets the converter for a non-null value of a column.
+     *
+     * @param columnIndex the column index, in mapping order
+     * @param value the column value
+     * @return the converter for the value's class
+     */
+    @SuppressWarnings("unchecked")
+    public TypeConverter<Object> converterFor(int columnIndex, Object value) {
+        Class<?> type = value.getClass();
+        if (type == boundTypes[columnIndex]) {
+            return (TypeConverter<Object>) boundConverters[columnIndex];
+        }
+        return (TypeConverter<Object>) registry.getConverter(type);
+    }
+
+    /**
+     * Gets the number of columns in the plan.
+     */
+    public int size() {
+        return boundTypes.length;
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        if (type == char.class) return Character.class;
+        return type;
+    }
+}
@@ -10,6 +10,7 @@ import com.bulkimport.converter.builtin.JsonConverter;
 import com.bulkimport.converter.builtin.NumericConverters;
 import com.bulkimport.converter.builtin.StringConverter;
 import com.bulkimport.converter.builtin.UUIDConverter;
+import com.bulkimport.mapping.TableMapping;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -19,21 +20,35 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Registry for type converters.
  * Maintains a mapping from Java types to their converters.
+ *
+ * <p>Converter lookups are cached per class, and {@link #getConversionPlan(TableMapping)}
+ * binds the columns of a mapping to their converters once. Registering a converter
+ * clears both caches.</p>
  */
 public class TypeConverterRegistry {
 
     private static final TypeConverterRegistry DEFAULT_INSTANCE = createDefault();
 
+    /**
+     * Registry with only the built-in converters, never modified.
+     */
+    private static final TypeConverterRegistry BUILT_IN = createDefault();
+
     private final Map<Class<?>, TypeConverter<?>> converters;
     private final TypeConverter<Object> fallbackConverter;
+    private final TypeConverter<?> enumConverter;
+    private final Map<TableMapping<?>, ConversionPlan> conversionPlans;
+    private volatile ClassValue<TypeConverter<?>> converterCache;
 
     /**
      * Creates a new registry with no converters.
@@ -41,6 +56,9 @@ public class TypeConverterRegistry {
     public TypeConverterRegistry() {
         this.converters = new ConcurrentHashMap<>();
         this.fallbackConverter = new FallbackConverter();
+        this.enumConverter = new EnumConverter();
+        this.conversionPlans = Collections.synchronizedMap(new WeakHashMap<>());
+        this.converterCache = newConverterCache();
     }
 
     /**
@@ -67,6 +85,7 @@ public class TypeConverterRegistry {
      */
     public <T> void register(Class<T> type, TypeConverter<T> converter) {
         converters.put(type, converter);
+        invalidateCaches();
     }
 
     /**
@@ -75,6 +94,7 @@ public class TypeConverterRegistry {
     @SuppressWarnings({"rawtypes", "unchecked"})
     private void registerRaw(Class type, TypeConverter converter) {
         converters.put(type, converter);
+        invalidateCaches();
     }
 
     /**
@@ -86,25 +106,59 @@ public class TypeConverterRegistry {
      */
     @SuppressWarnings("unchecked")
     public <T> TypeConverter<T> getConverter(Class<T> type) {
+        return (TypeConverter<T>) converterCache.get(type);
+    }
+
+    /**
+     * Gets the conversion plan for a table mapping, compiling it on first use.
+     * Plans are cached until a converter is registered.
+     *
+     * @param mapping the table mapping
+     * @return the conversion plan for the mapping's columns
+     */
+    public ConversionPlan getConversionPlan(TableMapping<?> mapping) {
+        ConversionPlan plan = conversionPlans.get(mapping);
+        if (plan == null) {
+            plan = new ConversionPlan(this, mapping.getColumns());
+            conversionPlans.put(mapping, plan);
+        }
+        return plan;
+    }
+
+    private void invalidateCaches() {
+        converterCache = newConverterCache();
+        conversionPlans.clear();
+    }
+
+    private ClassValue<TypeConverter<?>> newConverterCache() {
+        return new ClassValue<TypeConverter<?>>() {
+            @Override
+            protected TypeConverter<?> computeValue(Class<?> type) {
+                return findConverter(type);
+            }
+        };
+    }
+
+    private TypeConverter<?> findConverter(Class<?> type) {
         // Check for exact match
         TypeConverter<?> converter = converters.get(type);
         if (converter != null) {
-            return (TypeConverter<T>) converter;
+            return converter;
         }
 
         // Check for enum types
         if (type.isEnum()) {
-            return (TypeConverter<T>) new EnumConverter();
+            return enumConverter;
         }
 
         // Check for array types
         if (type.isArray()) {
-            return (TypeConverter<T>) converters.get(Object[].class);
+            return converters.get(Object[].class);
         }
 
         // Check for List types
         if (List.class.isAssignableFrom(type)) {
-            return (TypeConverter<T>) converters.get(List.class);
+            return converters.get(List.class);
         }
 
         // Check primitive wrappers
@@ -112,19 +166,19 @@ public class TypeConverterRegistry {
         if (wrapper != null) {
             converter = converters.get(wrapper);
             if (converter != null) {
-                return (TypeConverter<T>) converter;
+                return converter;
             }
         }
 
         // Check supertypes
         for (Map.Entry<Class<?>, TypeConverter<?>> entry : converters.entrySet()) {
             if (entry.getKey().isAssignableFrom(type)) {
-                return (TypeConverter<T>) entry.getValue();
+                return entry.getValue();
             }
         }
 
         // Return fallback converter
-        return (TypeConverter<T>) fallbackConverter;
+        return fallbackConverter;
     }
 
     /**
@@ -150,6 +204,17 @@ public class TypeConverterRegistry {
                List.class.isAssignableFrom(type);
     }
 
+    /**
+     * Checks if the converter used for the given type was registered in place of
+     * the built-in one, either for the type itself or for a supertype.
+     *
+     * @param type the Java type
+     * @return true if a custom converter applies to the type
+     */
+    public boolean hasCustomConverter(Class<?> type) {
+        return getConverter(type).getClass() != BUILT_IN.getConverter(type).getClass();
+    }
+
     private void registerBuiltInConverters() {
         // String
         register(String.class, new StringConverter());
@@ -218,7 +283,7 @@ public class TypeConverterRegistry {
             if (value == null) {
                 return handleNull(nullHandling);
             }
-            // Return raw value - FastCSV handles CSV escaping
+            // Return raw value - CsvStreamWriter handles CSV escaping
             return value.toString();
         }
 
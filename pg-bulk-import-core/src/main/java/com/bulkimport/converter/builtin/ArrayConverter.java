@@ -53,7 +53,7 @@ public class ArrayConverter implements TypeConverter<Object[]> {
         }
 
         sb.append('}');
-        // Return raw PostgreSQL array format - FastCSV handles CSV escaping
+        // Return raw PostgreSQL array format - CsvStreamWriter handles CSV escaping
         return sb.toString();
     }
 
@@ -15,7 +15,7 @@ public class JsonConverter implements TypeConverter<JsonNode> {
             return handleNull(nullHandling);
         }
 
-        // Return raw JSON string - FastCSV handles CSV escaping
+        // Return raw JSON string - CsvStreamWriter handles CSV escaping
         return value.toString();
     }
 
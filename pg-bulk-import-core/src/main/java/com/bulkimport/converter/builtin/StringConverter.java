@@ -13,7 +13,7 @@ public class StringConverter implements TypeConverter<String> {
         if (value == null) {
             return handleNull(nullHandling);
         }
-        // Return raw value - FastCSV handles CSV escaping
+        // Return raw value - CsvStreamWriter handles CSV escaping
         return value;
     }
 
@@ -0,0 +1,348 @@
+package com.bulkimport.csv;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Encodes CSV rows as UTF-8 directly into a reusable byte buffer.
+ *
+ * <p>Fields are separated by commas and rows end with {@code \n}. Text is quoted only
+ * when it contains a comma, a quote or a line break, with embedded quotes doubled.
+ * Numbers, booleans, UUIDs and {@code java.time} values are written without creating
+ * intermediate strings; their output matches the built-in converters.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+public final class CsvRowEncoder {
+
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] HEX = {
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'
+    };
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private final StringBuilder numberText = new StringBuilder(32);
+    private byte[] buffer;
+    private int size;
+    private int fieldCount;
+
+    /**
+     * Creates a new encoder.
+     *
+     * @param initialCapacity the initial buffer size in bytes
+     */
+    public CsvRowEncoder(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 64)];
+    }
+
+    /**
+     * Writes a text field, quoting it if needed.
+     */
+    public void writeText(String value) {
+        startField();
+        int length = value.length();
+        if (!needsQuoting(value, length)) {
+            writeUtf8(value, length);
+            return;
+        }
+
+        ensureCapacity(length + 2);
+        buffer[size++] = '"';
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) == '"') {
+                writeUtf8(value, start, i + 1);
+                ensureCapacity(1);
+                buffer[size++] = '"';
+                start = i + 1;
+            }
+        }
+        writeUtf8(value, start, length);
+        ensureCapacity(1);
+        buffer[size++] = '"';
+    }
+
+    /**
+     * Writes an integer field.
+     */
+    public void writeLong(long value) {
+        startField();
+        appendLong(value);
+    }
+
+    /**
+     * Writes a {@code double} field as {@link Double#toString(double)} formats it.
+     */
+    public void writeDouble(double value) {
+        startField();
+        // StringBuilder formats into its own reused buffer, unlike Double.toString
+        numberText.setLength(0);
+        appendAscii(numberText.append(value));
+    }
+
+    /**
+     * Writes a {@code float} field as {@link Float#toString(float)} formats it.
+     */
+    public void writeFloat(float value) {
+        startField();
+        numberText.setLength(0);
+        appendAscii(numberText.append(value));
+    }
+
+    /**
+     * Writes a boolean field as {@code true} or {@code false}.
+     */
+    public void writeBoolean(boolean value) {
+        startField();
+        appendAscii(value ? TRUE : FALSE);
+    }
+
+    /**
+     * Writes a UUID field in its canonical 36 character form.
+     */
+    public void writeUuid(UUID value) {
+        startField();
+        ensureCapacity(36);
+        long msb = value.getMostSignificantBits();
+        long lsb = value.getLeastSignificantBits();
+        appendHex(msb >>> 32, 8);
+        buffer[size++] = '-';
+        appendHex(msb >>> 16, 4);
+        buffer[size++] = '-';
+        appendHex(msb, 4);
+        buffer[size++] = '-';
+        appendHex(lsb >>> 48, 4);
+        buffer[size++] = '-';
+        appendHex(lsb, 12);
+    }
+
+    /**
+     * Writes a date field in ISO-8601 format ({@code 2024-01-15}).
+     */
+    public void writeDate(LocalDate value) {
+        startField();
+        appendDate(value);
+    }
+
+    /**
+     * Writes a time field in ISO-8601 format ({@code 10:30:00.5}).
+     */
+    public void writeTime(LocalTime value) {
+        startField();
+        appendTime(value.getHour(), value.getMinute(), value.getSecond(), value.getNano());
+    }
+
+    /**
+     * Writes a timestamp field in ISO-8601 format ({@code 2024-01-15T10:30:00}).
+     */
+    public void writeDateTime(LocalDateTime value) {
+        startField();
+        appendDate(value.toLocalDate());
+        appendByte('T');
+        appendTime(value.getHour(), value.getMinute(), value.getSecond(), value.getNano());
+    }
+
+    /**
+     * Writes a timestamp field with its offset in ISO-8601 format ({@code 2024-01-15T10:30:00+01:00}).
+     */
+    public void writeDateTime(LocalDateTime value, ZoneOffset offset) {
+        writeDateTime(value);
+        appendAscii(offset.getId());
+    }
+
+    /**
+     * Writes an instant as a UTC timestamp in ISO-8601 format ({@code 2024-01-15T10:30:00Z}).
+     */
+    public void writeInstant(Instant value) {
+        startField();
+        long epochSecond = value.getEpochSecond();
+        int secondOfDay = (int) Math.floorMod(epochSecond, (long) SECONDS_PER_DAY);
+        appendDate(LocalDate.ofEpochDay(Math.floorDiv(epochSecond, (long) SECONDS_PER_DAY)));
+        appendByte('T');
+        appendTime(secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60, value.getNano());
+        appendByte('Z');
+    }
+
+    /**
+     * Ends the current row.
+     */
+    public void endRow() {
+        appendByte('\n');
+        fieldCount = 0;
+    }
+
+    /**
+     * Gets the number of buffered bytes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes the buffered bytes to the output stream and clears the buffer.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, size);
+        size = 0;
+    }
+
+    private void startField() {
+        if (fieldCount++ > 0) {
+            appendByte(',');
+        }
+    }
+
+    private static boolean needsQuoting(String value, int length) {
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeUtf8(String value, int length) {
+        writeUtf8(value, 0, length);
+    }
+
+    private void writeUtf8(String value, int from, int to) {
+        // Worst case is three bytes per char; surrogate pairs need four bytes for two chars
+        ensureCapacity((to - from) * 3);
+        byte[] buf = buffer;
+        int pos = size;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                int codePoint = i + 1 < to && Character.isHighSurrogate(c) && Character.isLowSurrogate(value.charAt(i + 1))
+                    ? Character.toCodePoint(c, value.charAt(++i))
+                    : -1;
+                if (codePoint < 0) {
+                    // Unpaired surrogate, replaced like OutputStreamWriter does
+                    buf[pos++] = '?';
+                } else {
+                    buf[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                    buf[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+                }
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        size = pos;
+    }
+
+    private void appendLong(long value) {
+        ensureCapacity(20);
+        if (value == Long.MIN_VALUE) {
+            appendAscii("-9223372036854775808");
+            return;
+        }
+        if (value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int pos = size + digits;
+        size = pos;
+        do {
+            buffer[--pos] = (byte) ('0' + (int) (value % 10));
+            value /= 10;
+        } while (value != 0);
+    }
+
+    private void appendHex(long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[size + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        size += digits;
+    }
+
+    private void appendDate(LocalDate date) {
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            // ISO-8601 needs a sign and more digits; rare enough to go through the formatter
+            appendAscii(date.toString());
+            return;
+        }
+        ensureCapacity(10);
+        appendDigits(year, 4);
+        buffer[size++] = '-';
+        appendDigits(date.getMonthValue(), 2);
+        buffer[size++] = '-';
+        appendDigits(date.getDayOfMonth(), 2);
+    }
+
+    private void appendTime(int hour, int minute, int second, int nano) {
+        ensureCapacity(18);
+        appendDigits(hour, 2);
+        buffer[size++] = ':';
+        appendDigits(minute, 2);
+        buffer[size++] = ':';
+        appendDigits(second, 2);
+        if (nano > 0) {
+            // Fraction without trailing zeros, as DateTimeFormatter.ISO_LOCAL_TIME prints it
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            buffer[size++] = '.';
+            appendDigits(nano, digits);
+        }
+    }
+
+    private void appendDigits(int value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[size + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    private void appendAscii(CharSequence value) {
+        int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void appendAscii(byte[] value) {
+        ensureCapacity(value.length);
+        System.arraycopy(value, 0, buffer, size, value.length);
+        size += value.length;
+    }
+
+    private void appendByte(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = size + additional;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+        }
+    }
+}
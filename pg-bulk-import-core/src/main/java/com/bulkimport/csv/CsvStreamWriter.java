@@ -2,28 +2,34 @@ package com.bulkimport.csv;
 
 import com.bulkimport.config.BulkImportConfig;
 import com.bulkimport.config.NullHandling;
+import com.bulkimport.converter.ConversionPlan;
+import com.bulkimport.converter.TypeConverter;
 import com.bulkimport.converter.TypeConverterRegistry;
+import com.bulkimport.converter.builtin.BooleanConverter;
+import com.bulkimport.converter.builtin.NumericConverters;
 import com.bulkimport.mapping.ColumnMapping;
 import com.bulkimport.mapping.TableMapping;
 
-import de.siegmar.fastcsv.writer.CsvAppender;
-import de.siegmar.fastcsv.writer.CsvWriter;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
 /**
  * Writes entities as CSV data for PostgreSQL COPY command.
- * Uses FastCSV for high-performance CSV generation.
+ *
+ * <p>Each row is encoded straight into a reused UTF-8 buffer by a {@link CsvRowEncoder},
+ * so common column types are written without creating a string per value.
+ * Values of other types go through their {@link com.bulkimport.converter.TypeConverter}.</p>
  *
  * @param <T> the entity type
  */
@@ -36,6 +42,11 @@ public class CsvStreamWriter<T> {
      */
     private static final int PROGRESS_LOG_INTERVAL = 100_000;
 
+    /**
+     * Buffered bytes written to the output stream at once.
+     */
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
     private final TableMapping<T> mapping;
     private final TypeConverterRegistry converterRegistry;
     private final NullHandling nullHandling;
@@ -90,6 +101,7 @@ public class CsvStreamWriter<T> {
 
     /**
      * Writes entities from an iterator to the output stream.
+     * The stream is flushed but not closed.
      *
      * @param entities the entities to write
      * @param expectedCount the expected number of entities (-1 if unknown)
@@ -102,58 +114,82 @@ public class CsvStreamWriter<T> {
 
         List<ColumnMapping<T, ?>> columns = mapping.getColumns();
         int columnCount = columns.size();
-        String[] values = new String[columnCount];
+        CsvRowEncoder encoder = new CsvRowEncoder(FLUSH_THRESHOLD + FLUSH_THRESHOLD / 4);
+        String nullRepresentation = nullHandling.getRepresentation();
+
+        // Converters are bound per column by the plan; the value writer is only
+        // rebuilt when a column's converter changes
+        ConversionPlan plan = converterRegistry.getConversionPlan(mapping);
+        TypeConverter<?>[] converters = new TypeConverter<?>[columnCount];
+        CsvValueWriter[] valueWriters = new CsvValueWriter[columnCount];
+        List<PrimitiveColumnWriter<T>> primitiveWriters = new ArrayList<>(columnCount);
+        for (ColumnMapping<T, ?> column : columns) {
+            primitiveWriters.add(primitiveWriter(column));
+        }
 
-        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        int rowCount = 0;
+        long startTime = System.currentTimeMillis();
 
-        // FastCSV 1.x API (Java 8 compatible)
-        CsvWriter csvWriter = new CsvWriter();
-        try (CsvAppender csvAppender = csvWriter.append(writer)) {
-            int rowCount = 0;
-            long startTime = System.currentTimeMillis();
+        while (entities.hasNext()) {
+            T entity = entities.next();
 
-            while (entities.hasNext()) {
-                T entity = entities.next();
+            for (int i = 0; i < columnCount; i++) {
+                PrimitiveColumnWriter<T> primitiveWriter = primitiveWriters.get(i);
+                if (primitiveWriter != null) {
+                    primitiveWriter.write(entity, encoder);
+                    continue;
+                }
 
-                // Extract and convert values for each column
-                for (int i = 0; i < columnCount; i++) {
-                    ColumnMapping<T, ?> column = columns.get(i);
-                    Object value = column.extractValue(entity);
-                    values[i] = convertValue(value);
+                Object value = columns.get(i).extractValue(entity);
+                if (value == null) {
+                    encoder.writeText(nullRepresentation);
+                    continue;
+                }
+                TypeConverter<?> converter = plan.converterFor(i, value);
+                if (converter != converters[i]) {
+                    converters[i] = converter;
+                    valueWriters[i] = CsvValueWriter.forConverter(converter, nullHandling);
                 }
+                valueWriters[i].write(value, encoder);
+            }
+            encoder.endRow();
 
-                csvAppender.appendLine(values);
-                rowCount++;
-
-                // Log progress every PROGRESS_LOG_INTERVAL rows
-                if (rowCount % PROGRESS_LOG_INTERVAL == 0) {
-                    long elapsedMs = System.currentTimeMillis() - startTime;
-                    double rowsPerSec = rowCount * 1000.0 / elapsedMs;
-                    if (expectedCount > 0) {
-                        double percent = (rowCount * 100.0) / expectedCount;
-                        log.info("COPY progress: {} / {} rows ({} %) - {} rows/sec",
-                                String.format("%,d", rowCount),
-                                String.format("%,d", expectedCount),
-                                String.format("%.1f", percent),
-                                String.format("%.0f", rowsPerSec));
-                    } else {
-                        log.info("COPY progress: {} rows processed - {} rows/sec",
-                                String.format("%,d", rowCount),
-                                String.format("%.0f", rowsPerSec));
-                    }
+            if (encoder.size() >= FLUSH_THRESHOLD) {
+                encoder.writeTo(outputStream);
+            }
+            rowCount++;
+
+            // Log progress every PROGRESS_LOG_INTERVAL rows
+            if (rowCount % PROGRESS_LOG_INTERVAL == 0) {
+                long elapsedMs = System.currentTimeMillis() - startTime;
+                double rowsPerSec = rowCount * 1000.0 / Math.max(elapsedMs, 1);
+                if (expectedCount > 0) {
+                    double percent = (rowCount * 100.0) / expectedCount;
+                    log.info("COPY progress: {} / {} rows ({} %) - {} rows/sec",
+                            String.format("%,d", rowCount),
+                            String.format("%,d", expectedCount),
+                            String.format("%.1f", percent),
+                            String.format("%.0f", rowsPerSec));
+                } else {
+                    log.info("COPY progress: {} rows processed - {} rows/sec",
+                            String.format("%,d", rowCount),
+                            String.format("%.0f", rowsPerSec));
                 }
             }
+        }
 
-            // Log final count
-            long totalTimeMs = System.currentTimeMillis() - startTime;
-            double finalRowsPerSec = rowCount * 1000.0 / Math.max(totalTimeMs, 1);
-            log.info("COPY completed: {} rows in {} ms ({} rows/sec)",
-                    String.format("%,d", rowCount),
-                    String.format("%,d", totalTimeMs),
-                    String.format("%.0f", finalRowsPerSec));
+        encoder.writeTo(outputStream);
+        outputStream.flush();
 
-            return rowCount;
-        }
+        // Log final count
+        long totalTimeMs = System.currentTimeMillis() - startTime;
+        double finalRowsPerSec = rowCount * 1000.0 / Math.max(totalTimeMs, 1);
+        log.info("COPY completed: {} rows in {} ms ({} rows/sec)",
+                String.format("%,d", rowCount),
+                String.format("%,d", totalTimeMs),
+                String.format("%.0f", finalRowsPerSec));
+
+        return rowCount;
     }
 
     /**
@@ -164,14 +200,42 @@ public class CsvStreamWriter<T> {
     }
 
     /**
-     * Converts a value to its CSV string representation.
+     * Creates a writer that reads a column through its primitive extractor, or returns null
+     * if the column has none or a custom converter is registered for the boxed type.
      */
-    @SuppressWarnings("unchecked")
-    private <V> String convertValue(V value) {
-        if (value == null) {
-            return nullHandling.getRepresentation();
+    private PrimitiveColumnWriter<T> primitiveWriter(ColumnMapping<T, ?> column) {
+        if (column.getIntExtractor() != null
+                && isBuiltIn(Integer.class, NumericConverters.IntegerConverter.class)) {
+            ToIntFunction<T> extractor = column.getIntExtractor();
+            return (entity, encoder) -> encoder.writeLong(extractor.applyAsInt(entity));
+        }
+        if (column.getLongExtractor() != null
+                && isBuiltIn(Long.class, NumericConverters.LongConverter.class)) {
+            ToLongFunction<T> extractor = column.getLongExtractor();
+            return (entity, encoder) -> encoder.writeLong(extractor.applyAsLong(entity));
+        }
+        if (column.getDoubleExtractor() != null
+                && isBuiltIn(Double.class, NumericConverters.DoubleConverter.class)) {
+            ToDoubleFunction<T> extractor = column.getDoubleExtractor();
+            return (entity, encoder) -> encoder.writeDouble(extractor.applyAsDouble(entity));
+        }
+        if (column.getBooleanExtractor() != null
+                && isBuiltIn(Boolean.class, BooleanConverter.class)) {
+            Predicate<T> extractor = column.getBooleanExtractor();
+            return (entity, encoder) -> encoder.writeBoolean(extractor.test(entity));
         }
+        return null;
+    }
+
+    private boolean isBuiltIn(Class<?> type, Class<?> builtInConverter) {
+        return converterRegistry.getConverter(type).getClass() == builtInConverter;
+    }
 
-        return converterRegistry.convert(value, nullHandling);
+    /**
+     * Writes a column value read through a primitive extractor.
+     */
+    @FunctionalInterface
+    private interface PrimitiveColumnWriter<T> {
+        void write(T entity, CsvRowEncoder encoder);
     }
 }
@@ -0,0 +1,89 @@
+package com.bulkimport.csv;
+
+import com.bulkimport.config.NullHandling;
+import com.bulkimport.converter.TypeConverter;
+import com.bulkimport.converter.builtin.BooleanConverter;
+import com.bulkimport.converter.builtin.DateTimeConverters;
+import com.bulkimport.converter.builtin.EnumConverter;
+import com.bulkimport.converter.builtin.NumericConverters;
+import com.bulkimport.converter.builtin.StringConverter;
+import com.bulkimport.converter.builtin.UUIDConverter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Writes a non-null column value into a {@link CsvRowEncoder}.
+ */
+@FunctionalInterface
+interface CsvValueWriter {
+
+    void write(Object value, CsvRowEncoder encoder);
+
+    /**
+     * Creates a writer for values handled by the given converter.
+     * Built-in converters for common types are replaced by the encoder's fast paths,
+     * which produce the same text; any other converter is called as usual.
+     */
+    @SuppressWarnings("unchecked")
+    static CsvValueWriter forConverter(TypeConverter<?> converter, NullHandling nullHandling) {
+        // Exact class checks, so subclasses overriding toCsvValue keep their behavior
+        Class<?> type = converter.getClass();
+        if (type == StringConverter.class) {
+            return (value, encoder) -> encoder.writeText((String) value);
+        }
+        if (type == NumericConverters.IntegerConverter.class
+                || type == NumericConverters.LongConverter.class
+                || type == NumericConverters.ShortConverter.class
+                || type == NumericConverters.ByteConverter.class) {
+            return (value, encoder) -> encoder.writeLong(((Number) value).longValue());
+        }
+        if (type == NumericConverters.DoubleConverter.class) {
+            return (value, encoder) -> encoder.writeDouble((Double) value);
+        }
+        if (type == NumericConverters.FloatConverter.class) {
+            return (value, encoder) -> encoder.writeFloat((Float) value);
+        }
+        if (type == BooleanConverter.class) {
+            return (value, encoder) -> encoder.writeBoolean((Boolean) value);
+        }
+        if (type == UUIDConverter.class) {
+            return (value, encoder) -> encoder.writeUuid((UUID) value);
+        }
+        if (type == EnumConverter.class) {
+            return (value, encoder) -> encoder.writeText(((Enum<?>) value).name());
+        }
+        if (type == DateTimeConverters.LocalDateConverter.class) {
+            return (value, encoder) -> encoder.writeDate((LocalDate) value);
+        }
+        if (type == DateTimeConverters.LocalTimeConverter.class) {
+            return (value, encoder) -> encoder.writeTime((LocalTime) value);
+        }
+        if (type == DateTimeConverters.LocalDateTimeConverter.class) {
+            return (value, encoder) -> encoder.writeDateTime((LocalDateTime) value);
+        }
+        if (type == DateTimeConverters.OffsetDateTimeConverter.class) {
+            return (value, encoder) -> {
+                OffsetDateTime dateTime = (OffsetDateTime) value;
+                encoder.writeDateTime(dateTime.toLocalDateTime(), dateTime.getOffset());
+            };
+        }
+        if (type == DateTimeConverters.ZonedDateTimeConverter.class) {
+            return (value, encoder) -> {
+                ZonedDateTime dateTime = (ZonedDateTime) value;
+                encoder.writeDateTime(dateTime.toLocalDateTime(), dateTime.getOffset());
+            };
+        }
+        if (type == DateTimeConverters.InstantConverter.class) {
+            return (value, encoder) -> encoder.writeInstant((Instant) value);
+        }
+
+        TypeConverter<Object> generic = (TypeConverter<Object>) converter;
+        return (value, encoder) -> encoder.writeText(generic.toCsvValue(value, nullHandling));
+    }
+}
@@ -1,5 +1,7 @@
 package com.bulkimport.exception;
 
+import java.util.List;
+
 /**
  * Exception thrown when the bulk import configuration is invalid.
  */
@@ -27,7 +29,7 @@ public class ConfigurationException extends BulkImportException {
      */
     public static ConfigurationException missingConflictColumns() {
         return new ConfigurationException(
-            "Conflict columns must be specified when using UPDATE_SPECIFIED or UPDATE_ALL conflict strategy"
+            "Conflict columns must be specified when using UPDATE_SPECIFIED, UPDATE_ALL or UPDATE_IF_CHANGED conflict strategy"
         );
     }
 
@@ -39,4 +41,35 @@ public class ConfigurationException extends BulkImportException {
             "Update columns must be specified when using UPDATE_SPECIFIED conflict strategy"
         );
     }
+
+    /**
+     * Creates an exception for tables of an import graph that reference each other in a cycle.
+     */
+    public static ConfigurationException dependencyCycle(List<String> tableNames) {
+        return new ConfigurationException(
+            String.format("Tables %s of the import graph reference each other in a cycle; " +
+                "import them separately, e.g. with deferrable foreign keys", tableNames)
+        );
+    }
+
+    /**
+     * Creates an exception for a custom converter that binary COPY would bypass.
+     */
+    public static ConfigurationException customConverterNotSupported(String columnName, String columnType,
+                                                                     Class<?> valueType) {
+        return new ConfigurationException(
+            String.format("Column '%s' of type %s has a custom converter for %s, which binary COPY " +
+                "does not apply to non-text columns; use CopyFormat.CSV for this table",
+                columnName, columnType, valueType.getName())
+        );
+    }
+
+    /**
+     * Creates an exception for a configuration value outside its allowed range.
+     */
+    public static ConfigurationException invalidValue(String configName, Object value, String requirement) {
+        return new ConfigurationException(
+            String.format("Invalid value %s for '%s': %s", value, configName, requirement)
+        );
+    }
 }
@@ -1,5 +1,7 @@
 package com.bulkimport.exception;
 
+import java.util.List;
+
 /**
  * Exception thrown during bulk import execution.
  */
@@ -23,6 +25,17 @@ public class ExecutionException extends BulkImportException {
         );
     }
 
+    /**
+     * Creates an exception when a chunk of a chunked insert fails.
+     */
+    public static ExecutionException chunkFailed(String tableName, long rowsCommitted, Throwable cause) {
+        return new ExecutionException(
+            String.format("COPY command failed for table '%s' after %d committed rows: %s",
+                tableName, rowsCommitted, getMessageOrDefault(cause)),
+            cause
+        );
+    }
+
     /**
      * Creates an exception for staging table creation failure.
      */
@@ -53,6 +66,16 @@ public class ExecutionException extends BulkImportException {
         );
     }
 
+    /**
+     * Creates an exception for insert operation failure, when rows are inserted from a staging table.
+     */
+    public static ExecutionException insertFailed(String tableName, Throwable cause) {
+        return new ExecutionException(
+            String.format("INSERT operation failed for table '%s': %s", tableName, getMessageOrDefault(cause)),
+            cause
+        );
+    }
+
     /**
      * Creates an exception for upsert operation failure.
      */
@@ -63,6 +86,60 @@ public class ExecutionException extends BulkImportException {
         );
     }
 
+    /**
+     * Creates an exception for delete operation failure.
+     */
+    public static ExecutionException deleteFailed(String tableName, Throwable cause) {
+        return new ExecutionException(
+            String.format("DELETE operation failed for table '%s': %s", tableName, getMessageOrDefault(cause)),
+            cause
+        );
+    }
+
+    /**
+     * Creates an exception when an INSERT ... RETURNING returned a different number of rows
+     * than were staged, so that the returned rows cannot be matched to their input.
+     */
+    public static ExecutionException returnedRowsMismatch(String tableName, long expected, long actual) {
+        return new ExecutionException(
+            String.format("INSERT into table '%s' returned %d rows for %d staged rows; " +
+                "the returned rows cannot be matched to the entities (is a trigger skipping rows?)",
+                tableName, actual, expected)
+        );
+    }
+
+    /**
+     * Creates an exception when the entities of an upsert with RETURNING share conflict keys,
+     * so that a returned row cannot be matched to a single entity.
+     */
+    public static ExecutionException duplicateReturningKeys(String tableName, List<String> keyColumns) {
+        return new ExecutionException(
+            String.format("Upsert into table '%s' with RETURNING has several entities with the same %s; " +
+                "the returned rows cannot be matched to the entities", tableName, keyColumns)
+        );
+    }
+
+    /**
+     * Creates an exception for a table of a non-transactional import graph that failed to load.
+     */
+    public static ExecutionException graphFailed(String tableName, List<String> committedTables, Throwable cause) {
+        return new ExecutionException(
+            String.format("Import graph failed at table '%s', tables already committed: %s: %s",
+                tableName, committedTables, getMessageOrDefault(cause)),
+            cause
+        );
+    }
+
+    /**
+     * Creates an exception when MERGE is required but the server does not support it.
+     */
+    public static ExecutionException mergeNotSupported(String tableName, int serverVersion) {
+        return new ExecutionException(
+            String.format("MERGE into table '%s' requires PostgreSQL 15 or later, but the server is version %d",
+                tableName, serverVersion)
+        );
+    }
+
     /**
      * Creates an exception for connection/transaction errors.
      */
@@ -73,6 +150,23 @@ public class ExecutionException extends BulkImportException {
         );
     }
 
+    /**
+     * Creates an exception when an asynchronous operation cannot be started.
+     */
+    public static ExecutionException submissionFailed(Throwable cause) {
+        return new ExecutionException(
+            String.format("Failed to start asynchronous bulk operation: %s", getMessageOrDefault(cause)),
+            cause
+        );
+    }
+
+    /**
+     * Creates an exception when an entity is written to a closed buffered writer.
+     */
+    public static ExecutionException writerClosed() {
+        return new ExecutionException("Cannot write to a closed BufferedBulkWriter");
+    }
+
     /**
      * Creates an exception for CSV generation errors.
      */
@@ -83,6 +177,58 @@ public class ExecutionException extends BulkImportException {
         );
     }
 
+    /**
+     * Creates an exception when a table's column types cannot be read.
+     */
+    public static ExecutionException columnTypeLookupFailed(String tableName, Throwable cause) {
+        return new ExecutionException(
+            String.format("Failed to read column types for table '%s': %s", tableName, getMessageOrDefault(cause)),
+            cause
+        );
+    }
+
+    /**
+     * Creates an exception when a table does not exist.
+     */
+    public static ExecutionException tableNotFound(String tableName) {
+        return new ExecutionException(
+            String.format("Table '%s' does not exist or has no columns", tableName)
+        );
+    }
+
+    /**
+     * Creates an exception when a mapped column does not exist in the table.
+     */
+    public static ExecutionException columnNotFound(String tableName, String columnName) {
+        return new ExecutionException(
+            String.format("Column '%s' does not exist in table '%s'", columnName, tableName)
+        );
+    }
+
+    /**
+     * Creates an exception when a column type has no binary COPY encoder.
+     */
+    public static ExecutionException unsupportedBinaryType(String columnName, String typeName) {
+        return new ExecutionException(
+            String.format(
+                "Binary COPY does not support column '%s' of type '%s'. Use CopyFormat.CSV for this table.",
+                columnName, typeName)
+        );
+    }
+
+    /**
+     * Creates an exception when a value cannot be encoded for a binary COPY column.
+     */
+    public static ExecutionException binaryEncodingFailed(String columnName, String typeName,
+                                                          Object value, Throwable cause) {
+        return new ExecutionException(
+            String.format("Cannot encode value of type '%s' for column '%s' of type '%s'%s",
+                value.getClass().getName(), columnName, typeName,
+                cause != null ? ": " + getMessageOrDefault(cause) : ""),
+            cause
+        );
+    }
+
     /**
      * Gets the message from a throwable, or a default message if null.
      */
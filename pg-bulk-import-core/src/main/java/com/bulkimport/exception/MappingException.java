@@ -80,6 +80,42 @@ public class MappingException extends BulkImportException {
         );
     }
 
+    /**
+     * Creates an exception for a reference to an entity whose ID is not set.
+     */
+    public static MappingException missingReferenceId(String fieldName, Class<?> entityClass,
+                                                      Class<?> referencedClass) {
+        return new MappingException(
+            String.format(
+                "Field '%s' of class '%s' references an instance of '%s' without an ID. " +
+                "Save the referenced entity first; lazy proxies, e.g. from EntityManager.getReference, " +
+                "are only read through a public getter of the ID.",
+                fieldName,
+                entityClass.getName(),
+                referencedClass.getName()
+            )
+        );
+    }
+
+    /**
+     * Creates an exception for an ID field whose type cannot be written to a join column.
+     */
+    public static MappingException unsupportedIdType(Class<?> entityClass, Class<?> idType) {
+        return new MappingException(
+            String.format("Unsupported ID type '%s' of class '%s' for a join column", idType.getName(),
+                entityClass.getName())
+        );
+    }
+
+    /**
+     * Creates an exception for a column that is not part of a mapping.
+     */
+    public static MappingException columnNotMapped(String tableName, String columnName) {
+        return new MappingException(
+            String.format("Column '%s' is not mapped for table '%s'", columnName, tableName)
+        );
+    }
+
     /**
      * Creates an exception for duplicate column mapping.
      */
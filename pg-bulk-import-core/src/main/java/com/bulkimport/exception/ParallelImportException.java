@@ -0,0 +1,143 @@
+package com.bulkimport.exception;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Exception thrown when some chunks of a parallel import fail, or when reading its source
+ * fails after chunks were submitted. Chunks are committed independently, so the rows of the
+ * successful chunks remain in the table; {@link #getFailures()} tells which rows were not
+ * imported, and a source failure is the cause.
+ */
+public class ParallelImportException extends ExecutionException {
+
+    private final long rowsImported;
+    private final int chunkCount;
+    private final List<ChunkFailure> failures;
+
+    public ParallelImportException(String message, long rowsImported, int chunkCount,
+                                   List<ChunkFailure> failures) {
+        this(message, failures.isEmpty() ? null : failures.get(0).getCause(), rowsImported, chunkCount, failures);
+    }
+
+    public ParallelImportException(String message, Throwable cause, long rowsImported, int chunkCount,
+                                   List<ChunkFailure> failures) {
+        super(message, cause);
+        this.rowsImported = rowsImported;
+        this.chunkCount = chunkCount;
+        this.failures = Collections.unmodifiableList(new ArrayList<>(failures));
+        for (ChunkFailure failure : failures) {
+            if (failure.getCause() != cause) {
+                addSuppressed(failure.getCause());
+            }
+        }
+    }
+
+    /**
+     * Creates an exception for failed chunks of a parallel COPY.
+     */
+    public static ParallelImportException chunksFailed(String tableName, long rowsImported, int chunkCount,
+                                                       List<ChunkFailure> failures) {
+        String failedChunks = failures.stream()
+            .map(ChunkFailure::toString)
+            .collect(Collectors.joining(", "));
+        Throwable firstCause = failures.get(0).getCause();
+        return new ParallelImportException(
+            String.format("Parallel COPY into table '%s' failed for %d of %d chunks (%s); " +
+                          "%d rows from the other chunks were imported: %s",
+                tableName, failures.size(), chunkCount, failedChunks, rowsImported,
+                firstCause.getMessage() != null ? firstCause.getMessage() : firstCause.getClass().getName()),
+            rowsImported, chunkCount, failures
+        );
+    }
+
+    /**
+     * Creates an exception for a parallel COPY whose source failed, or whose reading was
+     * interrupted, after the chunks submitted before had finished.
+     */
+    public static ParallelImportException sourceFailed(String tableName, long rowsImported, long rowsRead,
+                                                       int chunkCount, List<ChunkFailure> failures,
+                                                       Throwable cause) {
+        return new ParallelImportException(
+            String.format("Parallel COPY into table '%s' stopped after reading %d rows; " +
+                          "%d rows from %d of %d chunks were imported: %s",
+                tableName, rowsRead, rowsImported, chunkCount - failures.size(), chunkCount,
+                cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName()),
+            cause, rowsImported, chunkCount, failures
+        );
+    }
+
+    /**
+     * Gets the number of rows imported by the chunks that succeeded.
+     */
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    /**
+     * Gets the total number of chunks of the import.
+     */
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Gets the failed chunks, in input order.
+     */
+    public List<ChunkFailure> getFailures() {
+        return failures;
+    }
+
+    /**
+     * A chunk of input rows that was not imported.
+     */
+    public static final class ChunkFailure {
+
+        private final int chunkIndex;
+        private final long firstRow;
+        private final int rowCount;
+        private final Throwable cause;
+
+        public ChunkFailure(int chunkIndex, long firstRow, int rowCount, Throwable cause) {
+            this.chunkIndex = chunkIndex;
+            this.firstRow = firstRow;
+            this.rowCount = rowCount;
+            this.cause = cause;
+        }
+
+        /**
+         * Gets the zero-based index of the chunk.
+         */
+        public int getChunkIndex() {
+            return chunkIndex;
+        }
+
+        /**
+         * Gets the zero-based position of the chunk's first row in the input.
+         */
+        public long getFirstRow() {
+            return firstRow;
+        }
+
+        /**
+         * Gets the number of rows in the chunk.
+         */
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Gets the reason the chunk failed.
+         */
+        public Throwable getCause() {
+            return cause;
+        }
+
+        @Override
+        public String toString() {
+            return "chunk " + chunkIndex + ": rows " + firstRow + "-" + (firstRow + rowCount - 1);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.bulkimport.executor;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.CheckpointListener;
+import com.bulkimport.config.ImportCheckpoint;
+import com.bulkimport.converter.TypeConverterRegistry;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.mapping.ColumnMapping;
+import com.bulkimport.mapping.TableMapping;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Executes COPY in chunks that are committed one after another on the same connection.
+ *
+ * <p>A chunk ends once it reaches {@link BulkImportConfig#getCommitEveryRows()} rows or
+ * {@link BulkImportConfig#getCommitEveryBytes()} bytes. After each chunk the transaction is
+ * committed (unless the connection is in auto-commit mode, where each COPY commits itself)
+ * and the {@link CheckpointListener} is notified. This bounds the size of each transaction
+ * and lets an interrupted insert resume after the last checkpoint with
+ * {@link BulkImportConfig#getResumeFromRow()}.</p>
+ *
+ * <p>If a chunk fails, it is rolled back and an {@link ExecutionException} reports the
+ * number of rows committed before it; earlier chunks stay committed.</p>
+ *
+ * @param <T> the entity type
+ */
+public class ChunkedCopyExecutor<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedCopyExecutor.class);
+
+    private final Connection connection;
+    private final TableMapping<T> mapping;
+    private final BulkImportConfig config;
+    private final TypeConverterRegistry converterRegistry;
+    private long bytesSent;
+
+    /**
+     * Creates a new chunked COPY executor.
+     *
+     * @param connection the database connection (must not be null)
+     * @param mapping the table mapping (must not be null)
+     * @param config the import configuration (must not be null)
+     * @param converterRegistry the type converter registry (must not be null)
+     * @throws NullPointerException if any parameter is null
+     */
+    public ChunkedCopyExecutor(Connection connection, TableMapping<T> mapping,
+                               BulkImportConfig config, TypeConverterRegistry converterRegistry) {
+        this.connection = Objects.requireNonNull(connection, "connection cannot be null");
+        this.mapping = Objects.requireNonNull(mapping, "mapping cannot be null");
+        this.config = Objects.requireNonNull(config, "config cannot be null");
+        this.converterRegistry = Objects.requireNonNull(converterRegistry, "converterRegistry cannot be null");
+    }
+
+    /**
+     * Executes COPY for a list in committed chunks.
+     *
+     * @param entities the entities to insert
+     * @return the number of rows inserted by this run, excluding skipped rows
+     */
+    public long copyIn(List<T> entities) {
+        return copyIn(entities.stream());
+    }
+
+    /**
+     * Executes COPY for a stream in committed chunks. The first
+     * {@link BulkImportConfig#getResumeFromRow()} rows are skipped.
+     *
+     * @param entities the entities to insert
+     * @return the number of rows inserted by this run, excluding skipped rows
+     */
+    public long copyIn(Stream<T> entities) {
+        long resumeFromRow = config.getResumeFromRow();
+        Iterator<T> rows = (resumeFromRow > 0 ? entities.skip(resumeFromRow) : entities).iterator();
+        if (resumeFromRow > 0) {
+            log.info("Resuming insert into '{}' after {} committed rows", mapping.getTableName(), resumeFromRow);
+        }
+
+        CopyExecutor<T> executor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
+        long rowsInserted = 0;
+        int chunkNumber = 0;
+        bytesSent = 0;
+
+        while (rows.hasNext()) {
+            ChunkIterator chunk = new ChunkIterator(rows, executor);
+            copyChunk(executor, chunk, resumeFromRow + rowsInserted);
+            chunkNumber++;
+            rowsInserted += chunk.rowCount;
+            bytesSent += executor.getBytesSent();
+
+            ImportCheckpoint checkpoint = new ImportCheckpoint(mapping.getTableName(), chunkNumber,
+                resumeFromRow + rowsInserted, bytesSent, extractKey(chunk.last));
+            log.debug("Committed chunk: {}", checkpoint);
+            if (config.getCheckpointListener() != null) {
+                config.getCheckpointListener().onCheckpoint(checkpoint);
+            }
+        }
+
+        log.info("Chunked COPY completed: {} rows in {} chunks", rowsInserted, chunkNumber);
+        return rowsInserted;
+    }
+
+    /**
+     * Gets the number of bytes sent by the chunks committed so far.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    private void copyChunk(CopyExecutor<T> executor, ChunkIterator chunk, long rowsCommitted) {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(chunk, Spliterator.ORDERED);
+        try {
+            if (connection.getAutoCommit()) {
+                executor.copyIn(StreamSupport.stream(spliterator, false));
+                return;
+            }
+            try {
+                executor.copyIn(StreamSupport.stream(spliterator, false));
+                connection.commit();
+            } catch (RuntimeException | SQLException e) {
+                rollbackQuietly();
+                throw e;
+            }
+        } catch (RuntimeException | SQLException e) {
+            throw ExecutionException.chunkFailed(mapping.getTableName(), rowsCommitted, e);
+        }
+    }
+
+    private List<Object> extractKey(T entity) {
+        List<Object> key = new ArrayList<>();
+        for (ColumnMapping<T, ?> column : mapping.getIdColumns()) {
+            key.add(column.extractValue(entity));
+        }
+        return key;
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.warn("Failed to roll back COPY chunk: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The rows of one chunk, ending at the row or byte limit.
+     */
+    private final class ChunkIterator implements Iterator<T> {
+        private final Iterator<T> source;
+        private final CopyExecutor<T> executor;
+        private long rowCount;
+        private T last;
+
+        ChunkIterator(Iterator<T> source, CopyExecutor<T> executor) {
+            this.source = source;
+            this.executor = executor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            long maxRows = config.getCommitEveryRows();
+            long maxBytes = config.getCommitEveryBytes();
+            if (maxRows > 0 && rowCount >= maxRows) {
+                return false;
+            }
+            if (maxBytes > 0 && rowCount > 0 && executor.getBytesSent() >= maxBytes) {
+                return false;
+            }
+            return source.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = source.next();
+            rowCount++;
+            return last;
+        }
+    }
+}
@@ -1,13 +1,21 @@
 package com.bulkimport.executor;
 
+import com.bulkimport.binary.BinaryCopyWriter;
+import com.bulkimport.catalog.ColumnTypeResolver;
+import com.bulkimport.catalog.PgColumnType;
 import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.CopyFormat;
+import com.bulkimport.config.CopySource;
 import com.bulkimport.converter.TypeConverterRegistry;
 import com.bulkimport.csv.CsvStreamWriter;
+import com.bulkimport.exception.BulkImportException;
+import com.bulkimport.exception.ConfigurationException;
 import com.bulkimport.exception.ExecutionException;
 import com.bulkimport.mapping.TableMapping;
 import com.bulkimport.util.SqlIdentifier;
 
 import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.postgresql.copy.CopyManager;
 
 import org.slf4j.Logger;
@@ -15,17 +23,11 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 /**
@@ -36,12 +38,14 @@ import java.util.stream.Stream;
 public class CopyExecutor<T> {
 
     private static final Logger log = LoggerFactory.getLogger(CopyExecutor.class);
-    private static final int PIPE_BUFFER_SIZE = 1024 * 1024; // 1MB buffer
+    private static final int COPY_BUFFER_SIZE = 64 * 1024; // bytes per writeToCopy call
 
     private final Connection connection;
     private final TableMapping<T> mapping;
     private final BulkImportConfig config;
     private final TypeConverterRegistry converterRegistry;
+    private byte[] copyBuffer;
+    private CopyInOutputStream copyStream;
 
     /**
      * Creates a new COPY executor.
@@ -114,67 +118,129 @@ public class CopyExecutor<T> {
         return executeCopy(tableName, entities);
     }
 
+    /**
+     * Executes COPY of data that the server reads itself from a file or program on the
+     * database host. No data passes through the application, so no bytes are counted as sent.
+     *
+     * @param source the file or program to read
+     * @return the number of rows inserted
+     */
+    public long copyFromServer(CopySource source) {
+        return copyFromServerInto(getFullTableName(), source);
+    }
+
+    /**
+     * Executes COPY of data that the server reads itself to the specified table (for staging tables).
+     *
+     * @param tableName the target table name
+     * @param source the file or program to read
+     * @return the number of rows inserted
+     */
+    public long copyFromServerInto(String tableName, CopySource source) {
+        Objects.requireNonNull(source, "source cannot be null");
+        if (source.hasHeader() && config.getCopyFormat() == CopyFormat.BINARY) {
+            throw ConfigurationException.invalidValue("copyFormat", CopyFormat.BINARY,
+                "sources with a header line must be read as CSV");
+        }
+
+        String copyCommand = buildCopyCommand(tableName, buildServerSource(source), source.hasHeader());
+        log.debug("Executing COPY command: {}", copyCommand);
+
+        try (Statement statement = connection.createStatement()) {
+            long rowsCopied = statement.executeLargeUpdate(copyCommand);
+            log.debug("COPY completed: {} rows", rowsCopied);
+            return rowsCopied;
+        } catch (SQLException e) {
+            throw ExecutionException.copyFailed(tableName, e);
+        }
+    }
+
     private long executeCopy(String tableName, Stream<T> entities) {
-        String copyCommand = buildCopyCommand(tableName);
+        String copyCommand = buildCopyCommand(tableName, "STDIN", false);
         log.debug("Executing COPY command: {}", copyCommand);
 
         try {
             CopyManager copyManager = getCopyManager();
-            CsvStreamWriter<T> csvWriter = new CsvStreamWriter<>(mapping, config, converterRegistry);
-
-            // Use piped streams to connect CSV writer to COPY command
-            try (PipedOutputStream pipedOut = new PipedOutputStream();
-                 PipedInputStream pipedIn = new PipedInputStream(pipedOut, PIPE_BUFFER_SIZE)) {
-
-                // Start CSV writing in a separate thread
-                ExecutorService executor = Executors.newSingleThreadExecutor();
-                CompletableFuture<Integer> writerFuture = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        int count = csvWriter.write(entities, pipedOut);
-                        pipedOut.close();
-                        return count;
-                    } catch (IOException e) {
-                        throw ExecutionException.csvGenerationFailed(e);
-                    }
-                }, executor);
-
-                // Execute COPY command (reads from piped input)
-                long rowsCopied = copyManager.copyIn(copyCommand, pipedIn);
-
-                // Wait for writer to complete and check for errors
-                try {
-                    writerFuture.join();
-                } catch (CompletionException e) {
-                    Throwable cause = e.getCause();
-                    if (cause instanceof ExecutionException) {
-                        throw (ExecutionException) cause;
-                    }
-                    throw ExecutionException.csvGenerationFailed(
-                            cause instanceof Exception ? (Exception) cause : e);
-                } finally {
-                    executor.shutdown();
-                    try {
-                        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
-                            executor.shutdownNow();
-                            log.warn("CSV writer thread did not terminate within timeout");
-                        }
-                    } catch (InterruptedException ie) {
-                        executor.shutdownNow();
-                        Thread.currentThread().interrupt();
-                    }
-                }
+            RowWriter<T> rowWriter = createRowWriter();
 
+            // Rows are encoded on the caller's thread and sent with writeToCopy as the buffer fills
+            CopyIn copyIn = copyManager.copyIn(copyCommand);
+            try {
+                copyStream = new CopyInOutputStream(copyIn, getCopyBuffer());
+                rowWriter.write(entities, copyStream);
+                copyStream.flush();
+
+                long rowsCopied = copyIn.endCopy();
                 log.debug("COPY completed: {} rows", rowsCopied);
                 return rowsCopied;
+            } finally {
+                if (copyIn.isActive()) {
+                    cancelQuietly(copyIn);
+                }
             }
 
         } catch (SQLException e) {
+            invalidateColumnTypes();
             throw ExecutionException.copyFailed(tableName, e);
         } catch (IOException e) {
+            if (e.getCause() instanceof SQLException) {
+                invalidateColumnTypes();
+                throw ExecutionException.copyFailed(tableName, e.getCause());
+            }
+            throw ExecutionException.csvGenerationFailed(e);
+        } catch (BulkImportException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Failures of user-supplied extractors or converters
             throw ExecutionException.csvGenerationFailed(e);
         }
     }
 
+    /**
+     * Gets the number of bytes sent to the server by the current or last COPY.
+     * While a COPY runs, the count grows as the write buffer is flushed.
+     *
+     * @return the number of bytes sent, or 0 if no COPY has run
+     */
+    public long getBytesSent() {
+        return copyStream != null ? copyStream.getBytesSent() : 0;
+    }
+
+    private void invalidateColumnTypes() {
+        // The server rejected the data; the cached column types may be outdated
+        if (config.getCopyFormat() == CopyFormat.BINARY) {
+            ColumnTypeResolver.invalidate(connection, getTargetSchemaName(), mapping.getTableName());
+        }
+    }
+
+    private byte[] getCopyBuffer() {
+        if (copyBuffer == null) {
+            copyBuffer = new byte[COPY_BUFFER_SIZE];
+        }
+        return copyBuffer;
+    }
+
+    private void cancelQuietly(CopyIn copyIn) {
+        try {
+            copyIn.cancelCopy();
+        } catch (SQLException e) {
+            log.warn("Failed to cancel COPY: {}", e.getMessage());
+        }
+    }
+
+    private RowWriter<T> createRowWriter() {
+        if (config.getCopyFormat() == CopyFormat.BINARY) {
+            // Column types must be read before the COPY starts, since the connection is busy during COPY.
+            // Staging tables share the column types of the target table.
+            List<PgColumnType> columnTypes = new ColumnTypeResolver(connection)
+                .resolveCached(getTargetSchemaName(), mapping.getTableName(), mapping.getColumnNames());
+            BinaryCopyWriter<T> binaryWriter = new BinaryCopyWriter<>(mapping, columnTypes, converterRegistry);
+            return binaryWriter::write;
+        }
+        CsvStreamWriter<T> csvWriter = new CsvStreamWriter<>(mapping, config, converterRegistry);
+        return csvWriter::write;
+    }
+
     private CopyManager getCopyManager() throws SQLException {
         PGConnection pgConnection = unwrapPGConnection();
         return pgConnection.getCopyAPI();
@@ -193,14 +259,24 @@ public class CopyExecutor<T> {
         throw ExecutionException.notPostgresConnection();
     }
 
-    private String buildCopyCommand(String tableName) {
+    private String buildCopyCommand(String tableName, String source, boolean header) {
         List<String> columnNames = mapping.getColumnNames();
 
         // Build COPY command with CSV format - quote all identifiers
         StringBuilder sb = new StringBuilder();
         sb.append("COPY ").append(getQuotedTableName(tableName));
         sb.append(" (").append(SqlIdentifier.quoteAndJoin(columnNames)).append(")");
-        sb.append(" FROM STDIN WITH (FORMAT csv");
+
+        if (config.getCopyFormat() == CopyFormat.BINARY) {
+            // NULLs are encoded per field in binary format
+            sb.append(" FROM ").append(source).append(" WITH (FORMAT binary)");
+            return sb.toString();
+        }
+
+        sb.append(" FROM ").append(source).append(" WITH (FORMAT csv");
+        if (header) {
+            sb.append(", HEADER");
+        }
 
         // Add NULL handling if not using empty string
         switch (config.getNullHandling()) {
@@ -220,17 +296,35 @@ public class CopyExecutor<T> {
         return sb.toString();
     }
 
+    private static String buildServerSource(CopySource source) {
+        // Escape string syntax reads backslashes the same whatever standard_conforming_strings is
+        String literal = "E'" + source.getLocation().replace("\\", "\\\\").replace("'", "''") + "'";
+        return source.isProgram() ? "PROGRAM " + literal : literal;
+    }
+
     private String getQuotedTableName(String tableName) {
         // If tableName is a staging table (no schema), just quote it
         if (tableName.startsWith(config.getStagingTablePrefix())) {
             return SqlIdentifier.quote(tableName);
         }
         // For target table, use schema-qualified quoting
+        return SqlIdentifier.quoteQualified(getTargetSchemaName(), mapping.getTableName());
+    }
+
+    private String getTargetSchemaName() {
         String schema = config.getSchemaName();
         if (schema != null && !schema.isEmpty()) {
-            return SqlIdentifier.quoteQualified(schema, mapping.getTableName());
+            return schema;
         }
-        return SqlIdentifier.quoteQualified(mapping.getSchemaName(), mapping.getTableName());
+        return mapping.getSchemaName();
+    }
+
+    /**
+     * Writes the COPY data for a stream of entities.
+     */
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        int write(Stream<T> entities, OutputStream outputStream) throws IOException;
     }
 
     private String getFullTableName() {
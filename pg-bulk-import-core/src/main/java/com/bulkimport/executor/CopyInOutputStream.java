@@ -0,0 +1,80 @@
+package com.bulkimport.executor;
+
+import org.postgresql.copy.CopyIn;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+
+/**
+ * Buffers COPY data and sends it with {@link CopyIn#writeToCopy} when the buffer is full.
+ * Closing the stream only flushes it; ending or cancelling the COPY is left to the caller.
+ */
+final class CopyInOutputStream extends OutputStream {
+
+    private final CopyIn copyIn;
+    private final byte[] buffer;
+    private int count;
+    private long bytesSent;
+
+    CopyInOutputStream(CopyIn copyIn, byte[] buffer) {
+        this.copyIn = copyIn;
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (length >= buffer.length) {
+            // Large writes go straight to the connection
+            flushBuffer();
+            writeToCopy(bytes, offset, length);
+            return;
+        }
+        if (length > buffer.length - count) {
+            flushBuffer();
+        }
+        System.arraycopy(bytes, offset, buffer, count, length);
+        count += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+    }
+
+    /**
+     * Gets the number of bytes sent to the server so far, excluding buffered bytes.
+     */
+    long getBytesSent() {
+        return bytesSent;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            writeToCopy(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private void writeToCopy(byte[] bytes, int offset, int length) throws IOException {
+        try {
+            copyIn.writeToCopy(bytes, offset, length);
+            bytesSent += length;
+        } catch (SQLException e) {
+            throw new IOException("Failed to send COPY data", e);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.bulkimport.executor;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.converter.TypeConverterRegistry;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.exception.ParallelImportException;
+import com.bulkimport.exception.ParallelImportException.ChunkFailure;
+import com.bulkimport.mapping.TableMapping;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Executes COPY over several pooled connections at once.
+ *
+ * <p>The entities are split into chunks and each chunk is loaded by its own {@link CopyExecutor}
+ * on its own connection, so the parsing and inserting is spread over several backends.
+ * Each chunk is committed on its own: if some chunks fail, the others stay committed and a
+ * {@link ParallelImportException} reports the imported row count and the failed chunks.</p>
+ *
+ * <p>The target is the mapped table, or with {@code copyInTo} a staging table that every
+ * connection can see, i.e. not a temporary table.</p>
+ *
+ * @param <T> the entity type
+ */
+public class ParallelCopyExecutor<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelCopyExecutor.class);
+
+    private final DataSource dataSource;
+    private final TableMapping<T> mapping;
+    private final BulkImportConfig config;
+    private final TypeConverterRegistry converterRegistry;
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    /**
+     * Creates a new parallel COPY executor.
+     *
+     * @param dataSource the data source to obtain connections from (must not be null)
+     * @param mapping the table mapping (must not be null)
+     * @param config the import configuration (must not be null)
+     * @param converterRegistry the type converter registry (must not be null)
+     * @throws NullPointerException if any parameter is null
+     */
+    public ParallelCopyExecutor(DataSource dataSource, TableMapping<T> mapping,
+                                BulkImportConfig config, TypeConverterRegistry converterRegistry) {
+        this.dataSource = Objects.requireNonNull(dataSource, "dataSource cannot be null");
+        this.mapping = Objects.requireNonNull(mapping, "mapping cannot be null");
+        this.config = Objects.requireNonNull(config, "config cannot be null");
+        this.converterRegistry = Objects.requireNonNull(converterRegistry, "converterRegistry cannot be null");
+    }
+
+    /**
+     * Executes COPY for a list, split evenly into one chunk per connection.
+     *
+     * @param entities the entities to insert
+     * @return the total number of rows inserted
+     * @throws ParallelImportException if some chunks fail
+     */
+    public long copyIn(List<T> entities) {
+        return copyList(null, entities);
+    }
+
+    /**
+     * Executes COPY for a stream, cut into batches of {@link BulkImportConfig#getParallelBatchSize()} rows.
+     * At most one batch per connection is held in memory; reading the stream pauses
+     * while all connections are busy. No new batches are started once a batch has failed.
+     * If reading the stream fails, the batches already started are awaited before throwing.
+     *
+     * @param entities the entities to insert
+     * @return the total number of rows inserted
+     * @throws ParallelImportException if some chunks fail, or the stream fails
+     */
+    public long copyIn(Stream<T> entities) {
+        return copyStream(null, entities);
+    }
+
+    /**
+     * Executes COPY for a list into the specified table (for UNLOGGED staging tables).
+     *
+     * @param tableName the target table name
+     * @param entities the entities to insert
+     * @return the total number of rows inserted
+     * @throws ParallelImportException if some chunks fail
+     */
+    public long copyInTo(String tableName, List<T> entities) {
+        return copyList(Objects.requireNonNull(tableName, "tableName cannot be null"), entities);
+    }
+
+    /**
+     * Executes COPY for a stream into the specified table (for UNLOGGED staging tables).
+     *
+     * @param tableName the target table name
+     * @param entities the entities to insert
+     * @return the total number of rows inserted
+     * @throws ParallelImportException if some chunks fail
+     */
+    public long copyInTo(String tableName, Stream<T> entities) {
+        return copyStream(Objects.requireNonNull(tableName, "tableName cannot be null"), entities);
+    }
+
+    /**
+     * Gets the number of bytes sent by the chunks committed so far.
+     */
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    private long copyList(String tableName, List<T> entities) {
+        if (entities.isEmpty()) {
+            return 0;
+        }
+
+        int chunkCount = Math.min(config.getParallelism(), entities.size());
+        int chunkSize = (entities.size() + chunkCount - 1) / chunkCount;
+        log.debug("Splitting {} rows into chunks of {} rows", entities.size(), chunkSize);
+
+        ExecutorService pool = createPool(chunkCount);
+        try {
+            List<Chunk> chunks = new ArrayList<>();
+            for (int from = 0; from < entities.size(); from += chunkSize) {
+                List<T> rows = entities.subList(from, Math.min(entities.size(), from + chunkSize));
+                chunks.add(submit(pool, tableName, chunks.size(), from, rows, error -> { }));
+            }
+            return awaitChunks(chunks);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private long copyStream(String tableName, Stream<T> entities) {
+        int parallelism = config.getParallelism();
+        Semaphore slots = new Semaphore(parallelism);
+        AtomicBoolean failed = new AtomicBoolean();
+
+        ExecutorService pool = createPool(parallelism);
+        List<Chunk> chunks = new ArrayList<>();
+        try {
+            Spliterator<List<T>> batches = new BatchSpliterator<>(
+                entities.spliterator(), config.getParallelBatchSize());
+            long firstRow = 0;
+
+            while (!failed.get()) {
+                List<List<T>> next = new ArrayList<>(1);
+                try {
+                    acquire(slots);
+                    if (failed.get() || !batches.tryAdvance(next::add)) {
+                        slots.release();
+                        break;
+                    }
+                } catch (RuntimeException e) {
+                    // The chunks already submitted keep running; wait for them so the caller
+                    // learns which rows were committed
+                    return awaitChunks(chunks, firstRow, e);
+                }
+                List<T> rows = next.get(0);
+                // The failure is recorded before the slot is released, so no further chunk starts
+                chunks.add(submit(pool, tableName, chunks.size(), firstRow, rows, error -> {
+                    if (error != null) {
+                        failed.set(true);
+                    }
+                    slots.release();
+                }));
+                firstRow += rows.size();
+            }
+            return awaitChunks(chunks);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Chunk submit(ExecutorService pool, String tableName, int index, long firstRow, List<T> rows,
+                         Consumer<Throwable> onDone) {
+        CompletableFuture<Long> future = CompletableFuture.supplyAsync(() -> copyChunk(tableName, rows), pool);
+        future.whenComplete((count, error) -> onDone.accept(error));
+        return new Chunk(index, firstRow, rows.size(), future);
+    }
+
+    private long copyChunk(String tableName, List<T> rows) {
+        try (Connection connection = dataSource.getConnection()) {
+            CopyExecutor<T> executor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
+            if (connection.getAutoCommit()) {
+                long count = copy(executor, tableName, rows);
+                bytesSent.addAndGet(executor.getBytesSent());
+                return count;
+            }
+
+            // Commit each chunk so that completed chunks are kept when another one fails
+            try {
+                long count = copy(executor, tableName, rows);
+                connection.commit();
+                bytesSent.addAndGet(executor.getBytesSent());
+                return count;
+            } catch (RuntimeException | SQLException e) {
+                rollbackQuietly(connection);
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw ExecutionException.connectionError("parallel COPY", e);
+        }
+    }
+
+    private long copy(CopyExecutor<T> executor, String tableName, List<T> rows) {
+        return tableName != null ? executor.copyInTo(tableName, rows) : executor.copyIn(rows);
+    }
+
+    private long awaitChunks(List<Chunk> chunks) {
+        return awaitChunks(chunks, 0, null);
+    }
+
+    /**
+     * Waits for all submitted chunks, and throws if any of them failed or the source failed
+     * after {@code rowsRead} rows.
+     */
+    private long awaitChunks(List<Chunk> chunks, long rowsRead, RuntimeException sourceError) {
+        long rowsImported = 0;
+        List<ChunkFailure> failures = new ArrayList<>();
+
+        for (Chunk chunk : chunks) {
+            try {
+                rowsImported += chunk.future.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("COPY chunk {} into '{}' failed: {}", chunk.index, mapping.getTableName(), cause.getMessage());
+                failures.add(new ChunkFailure(chunk.index, chunk.firstRow, chunk.rowCount, cause));
+            }
+        }
+
+        if (sourceError != null) {
+            throw ParallelImportException.sourceFailed(
+                mapping.getTableName(), rowsImported, rowsRead, chunks.size(), failures, sourceError);
+        }
+        if (!failures.isEmpty()) {
+            throw ParallelImportException.chunksFailed(
+                mapping.getTableName(), rowsImported, chunks.size(), failures);
+        }
+
+        log.info("Parallel COPY completed: {} rows in {} chunks", rowsImported, chunks.size());
+        return rowsImported;
+    }
+
+    private void acquire(Semaphore slots) {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw ExecutionException.copyFailed(mapping.getTableName(), e);
+        }
+    }
+
+    private void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.warn("Failed to roll back COPY chunk: {}", e.getMessage());
+        }
+    }
+
+    private ExecutorService createPool(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        String prefix = "bulk-import-copy-" + mapping.getTableName() + "-";
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * A chunk of rows loaded by a single COPY.
+     */
+    private static final class Chunk {
+        private final int index;
+        private final long firstRow;
+        private final int rowCount;
+        private final CompletableFuture<Long> future;
+
+        Chunk(int index, long firstRow, int rowCount, CompletableFuture<Long> future) {
+            this.index = index;
+            this.firstRow = firstRow;
+            this.rowCount = rowCount;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Groups the elements of a spliterator into lists of at most {@code batchSize} elements.
+     * Elements are only read from the source when the next batch is requested.
+     */
+    private static final class BatchSpliterator<E> extends Spliterators.AbstractSpliterator<List<E>> {
+        private final Spliterator<E> source;
+        private final int batchSize;
+
+        BatchSpliterator(Spliterator<E> source, int batchSize) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.source = source;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super List<E>> action) {
+            List<E> batch = new ArrayList<>(Math.min(batchSize, 1024));
+            while (batch.size() < batchSize && source.tryAdvance(batch::add)) {
+                // keep filling
+            }
+            if (batch.isEmpty()) {
+                return false;
+            }
+            action.accept(batch);
+            return true;
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.bulkimport.executor;
 
+import com.bulkimport.catalog.ColumnTypeResolver;
+import com.bulkimport.catalog.PgColumnType;
 import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.StagingMode;
 import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.executor.StagingTablePool.PooledTable;
 import com.bulkimport.mapping.TableMapping;
 import com.bulkimport.util.SqlIdentifier;
 
+import org.postgresql.PGConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,13 +18,25 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
- * Manages temporary staging tables for bulk UPDATE and UPSERT operations.
+ * Manages staging tables for bulk UPDATE and UPSERT operations.
+ *
+ * <p>Staging tables are temporary, or UNLOGGED with {@link StagingMode#UNLOGGED} so that
+ * other connections can load them.</p>
+ *
+ * <p>With {@link BulkImportConfig#isReuseStagingTables()}, the staging table of a target table
+ * is created once per database session and truncated before each later use, instead of
+ * being created and dropped by every operation.</p>
+ *
+ * <p>Staging tables created with {@link #createOrdinalStagingTable()} also number their rows
+ * in load order, so that rows returned by the apply statement can be traced back to their
+ * input.</p>
  *
  * @param <T> the entity type
  */
@@ -27,10 +44,20 @@ public class StagingTableManager<T> {
 
     private static final Logger log = LoggerFactory.getLogger(StagingTableManager.class);
 
+    private static final String SET_MAINTENANCE_WORK_MEM = "SELECT set_config('maintenance_work_mem', ?, false)";
+
+    /**
+     * The identity column numbering the rows of an ordinal staging table, starting at 1.
+     */
+    public static final String ORDINAL_COLUMN = "bulk_ordinal";
+
     private final Connection connection;
     private final TableMapping<T> mapping;
     private final BulkImportConfig config;
     private String stagingTableName;
+    private Object session;
+    private PooledTable pooledTable;
+    private boolean ordinal;
 
     /**
      * Creates a new staging table manager.
@@ -47,11 +74,19 @@ public class StagingTableManager<T> {
     }
 
     /**
-     * Creates the staging table with the same structure as the target table.
+     * Creates the staging table with the mapped columns of the target table.
+     * The columns have the target table's types but no defaults or constraints.
      *
      * @return the name of the created staging table
      */
     public String createStagingTable() {
+        if (config.isReuseStagingTables() && !ordinal) {
+            String reused = reusePooledTable();
+            if (reused != null) {
+                return reused;
+            }
+        }
+
         this.stagingTableName = generateStagingTableName();
 
         String createTableSql = buildCreateTableSql();
@@ -60,40 +95,117 @@ public class StagingTableManager<T> {
         try (Statement stmt = connection.createStatement()) {
             stmt.execute(createTableSql);
 
-            // Make all columns nullable in staging table to allow partial data
-            // This is needed when ID columns are auto-generated and not in the mapping
-            makeColumnsNullable(stmt);
+            if (session != null) {
+                pooledTable = StagingTablePool.getInstance().register(session, getPoolKey(), stagingTableName);
+            }
 
             log.info("Created staging table: {}", stagingTableName);
             return stagingTableName;
         } catch (SQLException e) {
+            // The cached column types may be outdated
+            ColumnTypeResolver.invalidate(connection, getTargetSchemaName(), mapping.getTableName());
             throw ExecutionException.stagingTableCreationFailed(stagingTableName, e);
         }
     }
 
-    private void makeColumnsNullable(Statement stmt) throws SQLException {
-        // Get all columns that have NOT NULL constraint and drop it
-        // Use parameterized query for the table name lookup
-        String query = "SELECT column_name " +
-                       "FROM information_schema.columns " +
-                       "WHERE table_name = ? " +
-                       "AND is_nullable = 'NO'";
+    /**
+     * Creates a staging table like {@link #createStagingTable()} with an additional
+     * {@link #ORDINAL_COLUMN} identity column. A single COPY into the table numbers its rows
+     * in the order they are sent. Ordinal staging tables are never reused, since truncating
+     * them would not restart the numbering.
+     *
+     * @return the name of the created staging table
+     */
+    public String createOrdinalStagingTable() {
+        this.ordinal = true;
+        return createStagingTable();
+    }
+
+    private String reusePooledTable() {
+        StagingTablePool pool = StagingTablePool.getInstance();
+        String sourceTable = getPoolKey();
+        try {
+            session = unwrapSession();
+            PooledTable table = pool.acquire(session, sourceTable);
+            if (table == null) {
+                return null;
+            }
+            if (!temporaryTableExists(table.getName())) {
+                // Created in a transaction that was rolled back, or removed by DISCARD TEMP
+                log.debug("Pooled staging table '{}' no longer exists", table.getName());
+                pool.evict(session, sourceTable, table);
+                return null;
+            }
+
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("TRUNCATE TABLE " + SqlIdentifier.quote(table.getName()));
+            } catch (SQLException e) {
+                pool.release(table);
+                throw e;
+            }
+            this.stagingTableName = table.getName();
+            this.pooledTable = table;
+            log.debug("Reusing staging table: {}", stagingTableName);
+            return stagingTableName;
+        } catch (SQLException e) {
+            throw ExecutionException.stagingTableCreationFailed(sourceTable + " (reuse)", e);
+        }
+    }
+
+    private Object unwrapSession() throws SQLException {
+        // Pooled connections are wrappers; temp tables belong to the physical connection
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return connection.unwrap(PGConnection.class);
+        }
+        return connection;
+    }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, stagingTableName);
+    private boolean temporaryTableExists(String tableName) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("SELECT to_regclass(?) IS NOT NULL")) {
+            pstmt.setString(1, "pg_temp." + SqlIdentifier.quote(tableName));
             try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    String columnName = rs.getString("column_name");
-                    // Validate and quote identifiers to prevent SQL injection
-                    String alterSql = "ALTER TABLE " + SqlIdentifier.quote(stagingTableName) +
-                                     " ALTER COLUMN " + SqlIdentifier.quote(columnName) + " DROP NOT NULL";
-                    log.debug("Dropping NOT NULL constraint: {}", alterSql);
-                    stmt.execute(alterSql);
-                }
+                return rs.next() && rs.getBoolean(1);
             }
         }
     }
 
+    /**
+     * Prepares a loaded staging table for the join with the target table.
+     *
+     * <p>Staging tables with at least {@link BulkImportConfig#getStagingIndexThreshold()} rows
+     * are indexed on the given columns and, with {@link BulkImportConfig#isAnalyzeStaging()},
+     * analyzed so that the planner knows their size and value distribution. Smaller tables
+     * are left as they are.</p>
+     *
+     * @param columns the columns to index, or an empty list to only analyze
+     * @param rowCount the number of rows loaded into the staging table
+     */
+    public void prepareStagingTable(List<String> columns, long rowCount) {
+        if (stagingTableName == null) {
+            throw new IllegalStateException("Staging table has not been created yet");
+        }
+        if (rowCount < config.getStagingIndexThreshold()) {
+            log.debug("Skipping index and ANALYZE of staging table '{}' with {} rows", stagingTableName, rowCount);
+            return;
+        }
+
+        createIndexOnColumns(columns);
+        if (config.isAnalyzeStaging()) {
+            analyzeStagingTable();
+        }
+    }
+
+    private void analyzeStagingTable() {
+        String analyzeSql = "ANALYZE " + SqlIdentifier.quote(stagingTableName);
+        log.debug("Analyzing staging table: {}", analyzeSql);
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(analyzeSql);
+        } catch (SQLException e) {
+            throw ExecutionException.stagingTableCreationFailed(stagingTableName + " (analyze)", e);
+        }
+    }
+
     /**
      * Creates an index on the staging table for the specified columns.
      * This improves JOIN performance when updating from the staging table.
@@ -107,8 +219,14 @@ public class StagingTableManager<T> {
         if (columns == null || columns.isEmpty()) {
             return;
         }
+        if (pooledTable != null && pooledTable.getIndexedColumns().contains(columns)) {
+            return;
+        }
 
         String indexName = "idx_" + stagingTableName + "_match";
+        if (pooledTable != null && !pooledTable.getIndexedColumns().isEmpty()) {
+            indexName += pooledTable.getIndexedColumns().size() + 1;
+        }
         String columnList = columns.stream()
             .map(SqlIdentifier::quote)
             .collect(Collectors.joining(", "));
@@ -119,7 +237,17 @@ public class StagingTableManager<T> {
         log.debug("Creating staging table index: {}", createIndexSql);
 
         try (Statement stmt = connection.createStatement()) {
-            stmt.execute(createIndexSql);
+            String previousWorkMem = setMaintenanceWorkMem(config.getStagingMaintenanceWorkMem());
+            try {
+                stmt.execute(createIndexSql);
+            } finally {
+                if (previousWorkMem != null) {
+                    restoreMaintenanceWorkMem(previousWorkMem);
+                }
+            }
+            if (pooledTable != null) {
+                pooledTable.getIndexedColumns().add(new ArrayList<>(columns));
+            }
             log.debug("Created index on staging table columns: {}", columns);
         } catch (SQLException e) {
             throw ExecutionException.stagingTableCreationFailed(stagingTableName + " (index)", e);
@@ -127,13 +255,51 @@ public class StagingTableManager<T> {
     }
 
     /**
-     * Drops the staging table.
+     * Sets maintenance_work_mem for the session.
+     *
+     * @return the previous value, or null if the value is null and nothing was set
+     */
+    private String setMaintenanceWorkMem(String value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        String previous;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT current_setting('maintenance_work_mem')")) {
+            rs.next();
+            previous = rs.getString(1);
+        }
+        try (PreparedStatement pstmt = connection.prepareStatement(SET_MAINTENANCE_WORK_MEM)) {
+            pstmt.setString(1, value);
+            pstmt.execute();
+        }
+        return previous;
+    }
+
+    private void restoreMaintenanceWorkMem(String previous) {
+        try (PreparedStatement pstmt = connection.prepareStatement(SET_MAINTENANCE_WORK_MEM)) {
+            pstmt.setString(1, previous);
+            pstmt.execute();
+        } catch (SQLException e) {
+            // Fails in an aborted transaction, whose rollback restores the setting anyway
+            log.debug("Failed to restore maintenance_work_mem: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the staging table, or returns it to the pool if it is reused.
      */
     public void dropStagingTable() {
         if (stagingTableName == null) {
             return;
         }
 
+        if (pooledTable != null) {
+            StagingTablePool.getInstance().release(pooledTable);
+            log.debug("Released staging table for reuse: {}", stagingTableName);
+            return;
+        }
+
         if (!config.isAutoCleanupStaging()) {
             log.debug("Skipping staging table cleanup (autoCleanupStaging=false)");
             return;
@@ -166,21 +332,53 @@ public class StagingTableManager<T> {
         return prefix + mapping.getTableName() + "_" + uniqueId;
     }
 
+    private String getTargetSchemaName() {
+        String schema = config.getSchemaName();
+        if (schema != null && !schema.isEmpty()) {
+            return schema;
+        }
+        return mapping.getSchemaName();
+    }
+
+    private String getPoolKey() {
+        // Staging tables hold only the mapped columns, so mappings with other columns need their own table
+        return SqlIdentifier.quoteQualified(getTargetSchemaName(), mapping.getTableName())
+            + " (" + SqlIdentifier.quoteAndJoin(mapping.getColumnNames()) + ")";
+    }
+
     private String buildCreateTableSql() {
+        // Column types of the target table, read once per table and cached
+        List<PgColumnType> columnTypes = new ColumnTypeResolver(connection)
+            .resolveCached(getTargetSchemaName(), mapping.getTableName(), mapping.getColumnNames());
+
         StringBuilder sql = new StringBuilder();
 
-        // Use TEMP table - session-scoped, no WAL, auto-cleanup on session end
-        sql.append("CREATE TEMP TABLE ");
+        // TEMP tables are session-scoped and dropped on session end; UNLOGGED tables are
+        // visible to other sessions. Neither writes WAL for its rows.
+        if (config.getStagingMode() == StagingMode.UNLOGGED) {
+            sql.append("CREATE UNLOGGED TABLE ");
+        } else {
+            sql.append("CREATE TEMP TABLE ");
+        }
 
         // Quote staging table name (already validated in generateStagingTableName)
         sql.append(SqlIdentifier.quote(stagingTableName));
 
-        // Use LIKE to copy column definitions from target table
-        // This ensures correct types regardless of how mapping was defined
-        // Quote the source table name for safety
-        String sourceTable = SqlIdentifier.quoteQualified(
-                mapping.getSchemaName(), mapping.getTableName());
-        sql.append(" (LIKE ").append(sourceTable).append(")");
+        // Only the mapped columns, without defaults or constraints, so rows may hold partial data.
+        // Base types are used since domains can carry NOT NULL or CHECK constraints.
+        sql.append(" (");
+        for (int i = 0; i < columnTypes.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            PgColumnType columnType = columnTypes.get(i);
+            sql.append(SqlIdentifier.quote(columnType.getColumnName())).append(' ').append(columnType.getBaseType());
+        }
+        if (ordinal) {
+            // Not in the COPY column list, so numbered in the order the rows arrive
+            sql.append(", ").append(SqlIdentifier.quote(ORDINAL_COLUMN)).append(" bigint GENERATED ALWAYS AS IDENTITY");
+        }
+        sql.append(")");
 
         return sql.toString();
     }
@@ -0,0 +1,107 @@
+package com.bulkimport.executor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Tracks the staging tables kept open for reuse, per database session.
+ *
+ * <p>Temporary tables live as long as the server session, so tables are keyed by the
+ * physical connection and by the target table they were created from. Entries of a
+ * connection are released together with it, once it is garbage collected.</p>
+ *
+ * <p>A pooled table is handed out to one operation at a time; a nested operation on the
+ * same table and session gets {@code null} and creates its own table instead.</p>
+ */
+final class StagingTablePool {
+
+    private static final StagingTablePool INSTANCE = new StagingTablePool();
+
+    private final Map<Object, Map<String, PooledTable>> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private StagingTablePool() {
+    }
+
+    static StagingTablePool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Takes the pooled table for a target table, or returns null if there is none or it is in use.
+     */
+    PooledTable acquire(Object session, String targetTable) {
+        synchronized (sessions) {
+            Map<String, PooledTable> tables = sessions.get(session);
+            PooledTable table = tables != null ? tables.get(targetTable) : null;
+            if (table == null || table.inUse) {
+                return null;
+            }
+            table.inUse = true;
+            return table;
+        }
+    }
+
+    /**
+     * Adds a newly created table to the pool, in use by the caller.
+     *
+     * @return the pooled table, or null if the pool already holds a table for the target table
+     */
+    PooledTable register(Object session, String targetTable, String stagingTableName) {
+        synchronized (sessions) {
+            Map<String, PooledTable> tables = sessions.computeIfAbsent(session, s -> new HashMap<>());
+            if (tables.containsKey(targetTable)) {
+                return null;
+            }
+            PooledTable table = new PooledTable(stagingTableName);
+            table.inUse = true;
+            tables.put(targetTable, table);
+            return table;
+        }
+    }
+
+    /**
+     * Returns a table to the pool after use.
+     */
+    void release(PooledTable table) {
+        synchronized (sessions) {
+            table.inUse = false;
+        }
+    }
+
+    /**
+     * Removes a table that no longer exists in the session.
+     */
+    void evict(Object session, String targetTable, PooledTable table) {
+        synchronized (sessions) {
+            Map<String, PooledTable> tables = sessions.get(session);
+            if (tables != null) {
+                tables.remove(targetTable, table);
+            }
+        }
+    }
+
+    /**
+     * A staging table kept for reuse, with the column lists it already has indexes on.
+     */
+    static final class PooledTable {
+        private final String name;
+        private final List<List<String>> indexedColumns = new ArrayList<>();
+        private boolean inUse;
+
+        private PooledTable(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        List<List<String>> getIndexedColumns() {
+            return indexedColumns;
+        }
+    }
+}
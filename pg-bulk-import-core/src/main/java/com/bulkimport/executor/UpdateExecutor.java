@@ -1,7 +1,11 @@
 package com.bulkimport.executor;
 
+import com.bulkimport.catalog.ColumnTypeResolver;
+import com.bulkimport.catalog.PgColumnType;
 import com.bulkimport.config.BulkImportConfig;
 import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.config.MergeMode;
+import com.bulkimport.exception.ConfigurationException;
 import com.bulkimport.exception.ExecutionException;
 import com.bulkimport.mapping.TableMapping;
 import com.bulkimport.util.SqlIdentifier;
@@ -10,14 +14,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
- * Executes UPDATE and UPSERT operations from staging tables.
+ * Executes UPDATE and UPSERT operations from staging tables, as UPDATE ... FROM and
+ * INSERT ... ON CONFLICT, or as MERGE depending on the configured {@link MergeMode},
+ * inserts and upserts returning the written rows, and deletes by staged keys.
  *
  * @param <T> the entity type
  */
@@ -25,9 +40,13 @@ public class UpdateExecutor<T> {
 
     private static final Logger log = LoggerFactory.getLogger(UpdateExecutor.class);
 
+    private static final Set<String> TYPES_WITHOUT_EQUALITY = new HashSet<>(Arrays.asList(
+        "json", "xml", "point", "line", "lseg", "box", "path", "polygon", "circle"));
+
     private final Connection connection;
     private final TableMapping<T> mapping;
     private final BulkImportConfig config;
+    private int serverMajorVersion;
 
     /**
      * Creates a new update executor.
@@ -47,40 +66,549 @@ public class UpdateExecutor<T> {
      * Executes an UPDATE from the staging table to the target table.
      *
      * @param stagingTableName the staging table name
-     * @return the number of rows updated
+     * @return the number of rows updated, capped at {@link Integer#MAX_VALUE}
      */
     public int executeUpdate(String stagingTableName) {
+        return (int) Math.min(executeLargeUpdate(stagingTableName), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Executes an UPDATE from the staging table to the target table.
+     *
+     * @param stagingTableName the staging table name
+     * @return the number of rows updated, and deleted by the delete condition
+     */
+    public long executeLargeUpdate(String stagingTableName) {
+        return executeUpdateCounts(stagingTableName).getTotal();
+    }
+
+    /**
+     * Executes an UPDATE from the staging table to the target table, with MERGE if the
+     * configured {@link MergeMode} and the server allow it.
+     *
+     * @param stagingTableName the staging table name
+     * @return the number of rows updated, and deleted by the delete condition
+     */
+    public UpsertCounts executeUpdateCounts(String stagingTableName) {
+        if (useMerge()) {
+            return executeMerge(stagingTableName, false);
+        }
+        return new UpsertCounts(0, executePlainUpdate(stagingTableName));
+    }
+
+    /**
+     * Executes an UPSERT from the staging table, with MERGE if the configured
+     * {@link MergeMode} and the server allow it, and with INSERT ... ON CONFLICT otherwise.
+     * Counts the inserted and updated rows separately.
+     *
+     * @param stagingTableName the staging table name
+     * @return the number of rows inserted, updated and deleted
+     */
+    public UpsertCounts executeUpsertCounts(String stagingTableName) {
+        if (config.getConflictStrategy() == ConflictStrategy.FAIL) {
+            if (config.getDeleteCondition() != null) {
+                throw ConfigurationException.invalidValue("deleteCondition", config.getDeleteCondition(),
+                    "cannot be used for upserts with ConflictStrategy.FAIL");
+            }
+            return executeInsertOnConflict(stagingTableName);
+        }
+        if (useMerge()) {
+            return executeMerge(stagingTableName, true);
+        }
+        return executeInsertOnConflict(stagingTableName);
+    }
+
+    private long executePlainUpdate(String stagingTableName) {
         String updateSql = buildUpdateSql(stagingTableName);
         log.debug("Executing UPDATE: {}", updateSql);
 
         try (Statement stmt = connection.createStatement()) {
-            int rowsUpdated = stmt.executeUpdate(updateSql);
+            long rowsUpdated = stmt.executeLargeUpdate(updateSql);
             log.debug("UPDATE completed: {} rows", rowsUpdated);
             return rowsUpdated;
         } catch (SQLException e) {
+            invalidateColumnTypes();
             throw ExecutionException.updateFailed(mapping.getTableName(), e);
         }
     }
 
     /**
-     * Executes an UPSERT (INSERT ... ON CONFLICT) from the staging table.
+     * Executes an UPSERT from the staging table.
      *
      * @param stagingTableName the staging table name
-     * @return the number of rows affected
+     * @return the number of rows affected, capped at {@link Integer#MAX_VALUE}
      */
     public int executeUpsert(String stagingTableName) {
-        String upsertSql = buildUpsertSql(stagingTableName);
-        log.debug("Executing UPSERT: {}", upsertSql);
+        return (int) Math.min(executeUpsertCounts(stagingTableName).getTotal(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Deletes the target rows matching a staged key, with DELETE ... USING.
+     * Keys are matched on the match columns, like updates.
+     *
+     * @param stagingTableName the staging table name
+     * @return the number of rows deleted
+     */
+    public long executeDelete(String stagingTableName) {
+        String deleteSql = "DELETE FROM " + getQuotedTargetTableName() + " AS t"
+            + " USING " + SqlIdentifier.quote(stagingTableName) + " AS s"
+            + " WHERE " + buildKeyCondition(getMatchColumns());
+        log.debug("Executing DELETE: {}", deleteSql);
+        return executeDeleteSql(deleteSql);
+    }
+
+    /**
+     * Deletes the target rows whose conflict columns match no staged row, limited to rows
+     * meeting {@link BulkImportConfig#getSynchronizeScope()}. Used by synchronize after
+     * the upsert, so that the target ends up holding exactly the staged snapshot.
+     *
+     * @param stagingTableName the staging table name
+     * @return the number of rows deleted
+     */
+    public long executeDeleteMissing(String stagingTableName) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("DELETE FROM ").append(getQuotedTargetTableName()).append(" AS t WHERE ");
+        if (config.getSynchronizeScope() != null) {
+            sql.append("(").append(config.getSynchronizeScope()).append(") AND ");
+        }
+        sql.append("NOT EXISTS (SELECT 1 FROM ").append(SqlIdentifier.quote(stagingTableName))
+            .append(" AS s WHERE ").append(buildKeyCondition(getConflictColumns())).append(")");
 
+        String deleteSql = sql.toString();
+        log.debug("Executing DELETE of missing rows: {}", deleteSql);
+        return executeDeleteSql(deleteSql);
+    }
+
+    private long executeDeleteSql(String deleteSql) {
+        try (Statement stmt = connection.createStatement()) {
+            long rowsDeleted = stmt.executeLargeUpdate(deleteSql);
+            log.debug("DELETE completed: {} rows", rowsDeleted);
+            return rowsDeleted;
+        } catch (SQLException e) {
+            throw ExecutionException.deleteFailed(mapping.getTableName(), e);
+        }
+    }
+
+    private static String buildKeyCondition(List<String> columns) {
+        return columns.stream()
+            .map(col -> "t." + SqlIdentifier.quote(col) + " = s." + SqlIdentifier.quote(col))
+            .collect(Collectors.joining(" AND "));
+    }
+
+    /**
+     * Inserts the rows of an ordinal staging table and returns the given columns of each
+     * inserted row, in staging order. PostgreSQL 17 and later insert with MERGE, which returns
+     * the ordinal of the staged row along with the inserted row. Older servers insert with
+     * INSERT ... SELECT ... ORDER BY, whose RETURNING cannot refer to the staging table, so
+     * the returned rows are matched to the staged rows by position. This assumes that the
+     * rows are returned in the order they were inserted, which PostgreSQL does in practice
+     * but does not guarantee. Only the row count is checked: the returned rows are only
+     * passed on if there is one for each staged row.
+     *
+     * @param stagingTableName the ordinal staging table name
+     * @param stagedRows the number of rows in the staging table
+     * @param returningColumns the target columns to return
+     * @param consumer receives the returned rows
+     * @return the number of rows inserted
+     * @throws ExecutionException if the insert fails, or returns fewer or more rows than were staged
+     */
+    public long executeInsertReturning(String stagingTableName, long stagedRows, List<String> returningColumns,
+                                       ReturnedRowConsumer consumer) {
+        String returningList = returningColumns.stream()
+            .map(col -> "t." + SqlIdentifier.quote(col))
+            .collect(Collectors.joining(", "));
+        String ordinal = SqlIdentifier.quote(StagingTableManager.ORDINAL_COLUMN);
+        List<String> allColumns = mapping.getColumnNames();
+
+        try (Statement stmt = connection.createStatement()) {
+            if (getServerMajorVersion() >= 17) {
+                // MERGE can return source columns, so each row carries the ordinal it was inserted from
+                String insertSql = "WITH inserted AS (MERGE INTO " + getQuotedTargetTableName() + " AS t"
+                    + " USING " + SqlIdentifier.quote(stagingTableName) + " AS s ON FALSE"
+                    + " WHEN NOT MATCHED THEN INSERT (" + SqlIdentifier.quoteAndJoin(allColumns) + ")"
+                    + " VALUES (" + allColumns.stream()
+                        .map(col -> "s." + SqlIdentifier.quote(col))
+                        .collect(Collectors.joining(", ")) + ")"
+                    + " RETURNING s." + ordinal + ", " + returningList + ")"
+                    + " SELECT * FROM inserted ORDER BY 1";
+                log.debug("Executing INSERT with RETURNING: {}", insertSql);
+                long rows = 0;
+                try (ResultSet rs = stmt.executeQuery(insertSql)) {
+                    while (rs.next()) {
+                        consumer.accept(rs.getLong(1), true, readValues(rs, 2, returningColumns.size()));
+                        rows++;
+                    }
+                }
+                return rows;
+            }
+
+            String insertSql = "INSERT INTO " + getQuotedTargetTableName() + " AS t"
+                + " (" + SqlIdentifier.quoteAndJoin(allColumns) + ")"
+                + " SELECT " + SqlIdentifier.quoteAndJoin(allColumns)
+                + " FROM " + SqlIdentifier.quote(stagingTableName) + " ORDER BY " + ordinal
+                + " RETURNING " + returningList;
+            log.debug("Executing INSERT with RETURNING: {}", insertSql);
+            List<Object[]> returned = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery(insertSql)) {
+                while (rs.next()) {
+                    returned.add(readValues(rs, 1, returningColumns.size()));
+                }
+            }
+            // Rows skipped by a trigger would shift all following rows onto the wrong entities
+            if (returned.size() != stagedRows) {
+                throw ExecutionException.returnedRowsMismatch(mapping.getTableName(), stagedRows, returned.size());
+            }
+            for (int i = 0; i < returned.size(); i++) {
+                consumer.accept(i + 1, true, returned.get(i));
+            }
+            return returned.size();
+        } catch (SQLException e) {
+            invalidateColumnTypes();
+            throw ExecutionException.insertFailed(mapping.getTableName(), e);
+        }
+    }
+
+    /**
+     * Executes an UPSERT with INSERT ... ON CONFLICT from an ordinal staging table and returns
+     * the given columns of each inserted or updated row, in staging order. The returned rows
+     * are matched to their staged rows on the conflict columns, so staged rows sharing
+     * non-null conflict keys are rejected before anything is applied; otherwise
+     * {@link ConflictStrategy#DO_NOTHING} would insert one of them and return it for both.
+     * Rows left alone by {@link ConflictStrategy#DO_NOTHING} or
+     * {@link ConflictStrategy#UPDATE_IF_CHANGED} return nothing.
+     *
+     * @param stagingTableName the ordinal staging table name
+     * @param returningColumns the target columns to return
+     * @param consumer receives the returned rows
+     * @return the number of rows inserted and updated
+     * @throws ExecutionException if staged rows share conflict keys, or the upsert fails
+     */
+    public UpsertCounts executeUpsertReturning(String stagingTableName, List<String> returningColumns,
+                                               ReturnedRowConsumer consumer) {
+        List<String> keyColumns = getConflictColumns();
+        Set<String> returnedColumns = new LinkedHashSet<>(keyColumns);
+        returnedColumns.addAll(returningColumns);
+
+        // A row inserted by this statement has no xmax yet; an updated row carries the updating transaction
+        String upsertSql = "WITH upserted AS (" + buildUpsertSql(stagingTableName)
+            + " RETURNING (xmax = 0) AS bulk_inserted, " + returnedColumns.stream()
+                .map(col -> "t." + SqlIdentifier.quote(col))
+                .collect(Collectors.joining(", ")) + ")"
+            + " SELECT s." + SqlIdentifier.quote(StagingTableManager.ORDINAL_COLUMN) + ", r.bulk_inserted, "
+            + returningColumns.stream()
+                .map(col -> "r." + SqlIdentifier.quote(col))
+                .collect(Collectors.joining(", "))
+            + " FROM upserted AS r JOIN " + SqlIdentifier.quote(stagingTableName) + " AS s ON "
+            + keyColumns.stream()
+                .map(col -> "r." + SqlIdentifier.quote(col) + " = s." + SqlIdentifier.quote(col))
+                .collect(Collectors.joining(" AND "))
+            + " ORDER BY 1";
+        log.debug("Executing UPSERT with RETURNING: {}", upsertSql);
+
+        String duplicateSql = "SELECT 1 FROM " + SqlIdentifier.quote(stagingTableName)
+            + " WHERE " + keyColumns.stream()
+                .map(col -> SqlIdentifier.quote(col) + " IS NOT NULL")
+                .collect(Collectors.joining(" AND "))
+            + " GROUP BY " + SqlIdentifier.quoteAndJoin(keyColumns) + " HAVING count(*) > 1 LIMIT 1";
+
+        long inserted = 0;
+        long updated = 0;
         try (Statement stmt = connection.createStatement()) {
-            int rowsAffected = stmt.executeUpdate(upsertSql);
-            log.debug("UPSERT completed: {} rows", rowsAffected);
-            return rowsAffected;
+            try (ResultSet rs = stmt.executeQuery(duplicateSql)) {
+                if (rs.next()) {
+                    throw ExecutionException.duplicateReturningKeys(mapping.getTableName(), keyColumns);
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery(upsertSql)) {
+                while (rs.next()) {
+                    boolean insertedRow = rs.getBoolean(2);
+                    consumer.accept(rs.getLong(1), insertedRow, readValues(rs, 3, returningColumns.size()));
+                    if (insertedRow) {
+                        inserted++;
+                    } else {
+                        updated++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            invalidateColumnTypes();
+            throw ExecutionException.upsertFailed(mapping.getTableName(), e);
+        }
+        log.debug("UPSERT completed: {} rows inserted, {} rows updated", inserted, updated);
+        return new UpsertCounts(inserted, updated);
+    }
+
+    private static Object[] readValues(ResultSet rs, int firstColumn, int count) throws SQLException {
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = rs.getObject(firstColumn + i);
+        }
+        return values;
+    }
+
+    private UpsertCounts executeInsertOnConflict(String stagingTableName) {
+        // A row inserted by this statement has no xmax yet; an updated row carries the updating transaction
+        String upsertSql = "WITH upserted AS (" + buildUpsertSql(stagingTableName) + " RETURNING (xmax = 0) AS inserted)"
+            + " SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted) FROM upserted";
+        log.debug("Executing UPSERT: {}", upsertSql);
+
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(upsertSql)) {
+            rs.next();
+            UpsertCounts counts = new UpsertCounts(rs.getLong(1), rs.getLong(2));
+            log.debug("UPSERT completed: {} rows inserted, {} rows updated", counts.getInserted(), counts.getUpdated());
+            return counts;
         } catch (SQLException e) {
+            invalidateColumnTypes();
             throw ExecutionException.upsertFailed(mapping.getTableName(), e);
         }
     }
 
+    private UpsertCounts executeMerge(String stagingTableName, boolean insertMissing) {
+        String mergeSql = buildMergeSql(stagingTableName, insertMissing);
+        try (Statement stmt = connection.createStatement()) {
+            UpsertCounts counts;
+            if (getServerMajorVersion() >= 17) {
+                // MERGE reports the action taken for each row since PostgreSQL 17
+                String countSql = "WITH merged AS (" + mergeSql + " RETURNING merge_action() AS action)"
+                    + " SELECT count(*) FILTER (WHERE action = 'INSERT'),"
+                    + " count(*) FILTER (WHERE action = 'UPDATE'),"
+                    + " count(*) FILTER (WHERE action = 'DELETE') FROM merged";
+                log.debug("Executing MERGE: {}", countSql);
+                try (ResultSet rs = stmt.executeQuery(countSql)) {
+                    rs.next();
+                    counts = new UpsertCounts(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+                }
+            } else if (hasSingleMergeAction(insertMissing)) {
+                log.debug("Executing MERGE: {}", mergeSql);
+                long rows = stmt.executeLargeUpdate(mergeSql);
+                counts = insertMissing ? new UpsertCounts(rows, 0) : new UpsertCounts(0, rows);
+            } else {
+                counts = executeCountedMerge(stmt, stagingTableName, mergeSql, insertMissing);
+            }
+            log.debug("MERGE completed: {} rows inserted, {} rows updated, {} rows deleted",
+                counts.getInserted(), counts.getUpdated(), counts.getDeleted());
+            return counts;
+        } catch (SQLException e) {
+            invalidateColumnTypes();
+            throw insertMissing
+                ? ExecutionException.upsertFailed(mapping.getTableName(), e)
+                : ExecutionException.updateFailed(mapping.getTableName(), e);
+        }
+    }
+
+    /**
+     * Returns true if the MERGE can only take one action, so its total row count needs no
+     * attribution: inserts only, or updates only.
+     */
+    private boolean hasSingleMergeAction(boolean insertMissing) {
+        if (config.getDeleteCondition() != null) {
+            return false;
+        }
+        return !insertMissing || getMergeUpdateColumns(true).isEmpty();
+    }
+
+    /**
+     * Executes a MERGE that can take several actions on a server older than PostgreSQL 17,
+     * whose MERGE only reports the total row count. The rows each action will take are
+     * counted first, in the same transaction as the MERGE.
+     */
+    private UpsertCounts executeCountedMerge(Statement stmt, String stagingTableName, String mergeSql,
+                                             boolean insertMissing) throws SQLException {
+        String countSql = buildMergeCountSql(stagingTableName, insertMissing);
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        try {
+            UpsertCounts counts;
+            log.debug("Counting MERGE actions: {}", countSql);
+            try (ResultSet rs = stmt.executeQuery(countSql)) {
+                rs.next();
+                counts = new UpsertCounts(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+            }
+
+            log.debug("Executing MERGE: {}", mergeSql);
+            long rows = stmt.executeLargeUpdate(mergeSql);
+            if (autoCommit) {
+                connection.commit();
+            }
+            if (rows != counts.getTotal()) {
+                // Another transaction changed the target between the count and the MERGE
+                log.warn("MERGE into '{}' affected {} rows, but {} were counted beforehand; "
+                    + "the inserted, updated and deleted counts are approximate",
+                    mapping.getTableName(), rows, counts.getTotal());
+            }
+            return counts;
+        } catch (SQLException | RuntimeException e) {
+            if (autoCommit) {
+                rollbackQuietly();
+            }
+            throw e;
+        } finally {
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Builds a query counting the staged rows the MERGE will insert, update and delete,
+     * evaluating its WHEN clauses in the same order.
+     */
+    private String buildMergeCountSql(String stagingTableName, boolean insertMissing) {
+        List<String> keyColumns = insertMissing ? getConflictColumns() : getMatchColumns();
+        List<String> updateColumns = getMergeUpdateColumns(insertMissing);
+        String deleteCondition = config.getDeleteCondition();
+
+        // Key columns are compared with =, so they are never null in a matched target row
+        String matched = "t." + SqlIdentifier.quote(keyColumns.get(0)) + " IS NOT NULL";
+        String kept = deleteCondition != null ? " AND (" + deleteCondition + ") IS NOT TRUE" : "";
+
+        String inserted = insertMissing
+            ? "count(*) FILTER (WHERE NOT " + matched + kept + ")"
+            : "0";
+        String updated = !updateColumns.isEmpty()
+            ? "count(*) FILTER (WHERE " + matched + kept + " AND " + buildChangedCondition(updateColumns, "s") + ")"
+            : "0";
+        String deleted = deleteCondition != null
+            ? "count(*) FILTER (WHERE " + matched + " AND (" + deleteCondition + "))"
+            : "0";
+
+        return "SELECT " + inserted + ", " + updated + ", " + deleted
+            + " FROM " + SqlIdentifier.quote(stagingTableName) + " AS s"
+            + " LEFT JOIN " + getQuotedTargetTableName() + " AS t ON " + buildKeyCondition(keyColumns);
+    }
+
+    private void rollbackQuietly() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            log.warn("Failed to roll back MERGE: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns true if updates and upserts should use MERGE.
+     *
+     * @throws ExecutionException if MERGE is required but the server is older than PostgreSQL 15
+     */
+    private boolean useMerge() {
+        MergeMode mode = config.getMergeMode();
+        if (mode == MergeMode.DISABLED) {
+            return false;
+        }
+        int version = getServerMajorVersion();
+        if (version >= 15) {
+            return true;
+        }
+        if (mode == MergeMode.ENABLED || config.getDeleteCondition() != null) {
+            throw ExecutionException.mergeNotSupported(mapping.getTableName(), version);
+        }
+        return false;
+    }
+
+    private int getServerMajorVersion() {
+        if (serverMajorVersion == 0) {
+            try {
+                serverMajorVersion = connection.getMetaData().getDatabaseMajorVersion();
+            } catch (SQLException e) {
+                throw ExecutionException.connectionError("reading server version", e);
+            }
+        }
+        return serverMajorVersion;
+    }
+
+    private String buildMergeSql(String stagingTableName, boolean insertMissing) {
+        List<String> keyColumns = insertMissing ? getConflictColumns() : getMatchColumns();
+        List<String> updateColumns = getMergeUpdateColumns(insertMissing);
+        String deleteCondition = config.getDeleteCondition();
+
+        StringBuilder sql = new StringBuilder();
+        sql.append("MERGE INTO ").append(getQuotedTargetTableName()).append(" AS t");
+        sql.append(" USING ").append(SqlIdentifier.quote(stagingTableName)).append(" AS s ON ");
+        sql.append(keyColumns.stream()
+            .map(col -> "t." + SqlIdentifier.quote(col) + " = s." + SqlIdentifier.quote(col))
+            .collect(Collectors.joining(" AND ")));
+
+        if (deleteCondition != null) {
+            sql.append(" WHEN MATCHED AND (").append(deleteCondition).append(") THEN DELETE");
+        }
+
+        if (!updateColumns.isEmpty()) {
+            // Only rewrite rows whose values change; identical rows cost no WAL or index writes
+            sql.append(" WHEN MATCHED AND ").append(buildChangedCondition(updateColumns, "s"));
+            sql.append(" THEN UPDATE SET ");
+            sql.append(updateColumns.stream()
+                .map(col -> SqlIdentifier.quote(col) + " = s." + SqlIdentifier.quote(col))
+                .collect(Collectors.joining(", ")));
+        }
+
+        if (insertMissing) {
+            List<String> allColumns = mapping.getColumnNames();
+            sql.append(" WHEN NOT MATCHED");
+            if (deleteCondition != null) {
+                sql.append(" AND (").append(deleteCondition).append(") IS NOT TRUE");
+            }
+            sql.append(" THEN INSERT (").append(SqlIdentifier.quoteAndJoin(allColumns)).append(")");
+            sql.append(" VALUES (").append(allColumns.stream()
+                .map(col -> "s." + SqlIdentifier.quote(col))
+                .collect(Collectors.joining(", "))).append(")");
+        }
+
+        return sql.toString();
+    }
+
+    private List<String> getMergeUpdateColumns(boolean insertMissing) {
+        if (!insertMissing) {
+            return getUpdateColumns();
+        }
+        if (config.getConflictStrategy() == ConflictStrategy.DO_NOTHING) {
+            return Collections.emptyList();
+        }
+        return getUpdateColumnsForUpsert();
+    }
+
+    /**
+     * Builds a condition that is true if any of the columns of the target row {@code t}
+     * differs from the source row, treating nulls as equal.
+     */
+    private String buildChangedCondition(List<String> columns, String sourceAlias) {
+        Map<String, String> comparableTypes = getTextComparedColumns(columns);
+        return "ROW(" + columns.stream()
+                .map(col -> "t." + SqlIdentifier.quote(col) + comparableTypes.getOrDefault(col, ""))
+                .collect(Collectors.joining(", "))
+            + ") IS DISTINCT FROM ROW(" + columns.stream()
+                .map(col -> sourceAlias + "." + SqlIdentifier.quote(col) + comparableTypes.getOrDefault(col, ""))
+                .collect(Collectors.joining(", "))
+            + ")";
+    }
+
+    /**
+     * Finds the columns whose types have no equality operator (e.g. json, xml or geometric
+     * types), mapped to the cast that makes them comparable with IS DISTINCT FROM.
+     */
+    private Map<String, String> getTextComparedColumns(List<String> columns) {
+        String schema = config.getSchemaName();
+        List<PgColumnType> types = new ColumnTypeResolver(connection).resolveCached(
+            schema != null && !schema.isEmpty() ? schema : mapping.getSchemaName(), mapping.getTableName(), columns);
+        Map<String, String> casts = new HashMap<>();
+        for (PgColumnType type : types) {
+            String typeName = type.isArray() ? type.getElementTypeName() : type.getTypeName();
+            if (TYPES_WITHOUT_EQUALITY.contains(typeName)) {
+                casts.put(type.getColumnName(), "::text");
+            }
+        }
+        return casts;
+    }
+
+    private void invalidateColumnTypes() {
+        // The staging table was built from cached column types, which may be outdated
+        String schema = config.getSchemaName();
+        ColumnTypeResolver.invalidate(connection,
+            schema != null && !schema.isEmpty() ? schema : mapping.getSchemaName(), mapping.getTableName());
+    }
+
     private String buildUpdateSql(String stagingTableName) {
         String targetTable = getQuotedTargetTableName();
         List<String> matchColumns = getMatchColumns();
@@ -105,6 +633,11 @@ public class UpdateExecutor<T> {
             .collect(Collectors.joining(" AND "));
         sql.append(whereClause);
 
+        // Skip rows whose values are already current
+        if (config.getConflictStrategy() == ConflictStrategy.UPDATE_IF_CHANGED) {
+            sql.append(" AND ").append(buildChangedCondition(updateColumns, "s"));
+        }
+
         return sql.toString();
     }
 
@@ -114,7 +647,7 @@ public class UpdateExecutor<T> {
         List<String> conflictColumns = getConflictColumns();
 
         StringBuilder sql = new StringBuilder();
-        sql.append("INSERT INTO ").append(targetTable);
+        sql.append("INSERT INTO ").append(targetTable).append(" AS t");
         sql.append(" (").append(SqlIdentifier.quoteAndJoin(allColumns)).append(")");
 
         // SELECT from staging - quote column and table names
@@ -126,7 +659,7 @@ public class UpdateExecutor<T> {
         if (strategy == ConflictStrategy.DO_NOTHING) {
             sql.append(" ON CONFLICT (").append(SqlIdentifier.quoteAndJoin(conflictColumns)).append(")");
             sql.append(" DO NOTHING");
-        } else if (strategy == ConflictStrategy.UPDATE_ALL || strategy == ConflictStrategy.UPDATE_SPECIFIED) {
+        } else if (strategy != ConflictStrategy.FAIL) {
             sql.append(" ON CONFLICT (").append(SqlIdentifier.quoteAndJoin(conflictColumns)).append(")");
             sql.append(" DO UPDATE SET ");
 
@@ -135,6 +668,11 @@ public class UpdateExecutor<T> {
                 .map(col -> SqlIdentifier.quote(col) + " = EXCLUDED." + SqlIdentifier.quote(col))
                 .collect(Collectors.joining(", "));
             sql.append(updateClause);
+
+            // Skip conflicting rows whose values are already current
+            if (strategy == ConflictStrategy.UPDATE_IF_CHANGED) {
+                sql.append(" WHERE ").append(buildChangedCondition(updateColumns, "EXCLUDED"));
+            }
         }
         // FAIL strategy: no ON CONFLICT clause, let it throw on constraint violation
 
@@ -174,7 +712,28 @@ public class UpdateExecutor<T> {
         return idColumns;
     }
 
-    private List<String> getConflictColumns() {
+    /**
+     * Gets the columns to index the staging table of an upsert on. MERGE joins the staging
+     * table to the target on the conflict columns, while INSERT ... ON CONFLICT reads it
+     * once in full and needs no index.
+     *
+     * @return the conflict columns if the upsert is applied with MERGE, otherwise an empty list
+     */
+    public List<String> getUpsertIndexColumns() {
+        if (config.getConflictStrategy() == ConflictStrategy.FAIL || !useMerge()) {
+            return Collections.emptyList();
+        }
+        return getConflictColumns();
+    }
+
+    /**
+     * Gets the conflict columns for UPSERT operations.
+     * Uses explicitly configured conflict columns if available, otherwise defaults to ID columns.
+     *
+     * @return the list of conflict column names
+     * @throws IllegalStateException if no conflict columns can be determined
+     */
+    public List<String> getConflictColumns() {
         // Use explicitly configured conflict columns if available
         if (config.hasConflictColumns()) {
             return config.getConflictColumns();
@@ -207,7 +766,28 @@ public class UpdateExecutor<T> {
             return config.getUpdateColumns();
         }
 
+        // UPDATE_IF_CHANGED: the specified columns, if any
+        if (config.getConflictStrategy() == ConflictStrategy.UPDATE_IF_CHANGED && config.hasUpdateColumns()) {
+            return config.getUpdateColumns();
+        }
+
         // UPDATE_ALL: update all non-ID columns
         return mapping.getNonIdColumnNames();
     }
+
+    /**
+     * Receives the rows returned by an insert or upsert with RETURNING.
+     */
+    @FunctionalInterface
+    public interface ReturnedRowConsumer {
+
+        /**
+         * Called for each returned row.
+         *
+         * @param ordinal the ordinal of the staged row the row was written from, starting at 1
+         * @param inserted true if the row was inserted, false if an existing row was updated
+         * @param values the values of the returning columns, in order
+         */
+        void accept(long ordinal, boolean inserted, Object[] values);
+    }
 }
@@ -0,0 +1,45 @@
+package com.bulkimport.executor;
+
+/**
+ * The number of rows an UPSERT inserted, updated and deleted.
+ */
+public final class UpsertCounts {
+
+    private final long inserted;
+    private final long updated;
+    private final long deleted;
+
+    public UpsertCounts(long inserted, long updated) {
+        this(inserted, updated, 0);
+    }
+
+    public UpsertCounts(long inserted, long updated, long deleted) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Gets the number of rows deleted by a MERGE with a delete condition.
+     */
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public long getTotal() {
+        return inserted + updated + deleted;
+    }
+
+    @Override
+    public String toString() {
+        return "UpsertCounts{inserted=" + inserted + ", updated=" + updated + ", deleted=" + deleted + '}';
+    }
+}
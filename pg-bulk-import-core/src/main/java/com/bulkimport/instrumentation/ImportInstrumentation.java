@@ -0,0 +1,81 @@
+package com.bulkimport.instrumentation;
+
+import com.bulkimport.ImportResult;
+import com.bulkimport.config.ConflictStrategy;
+
+import java.time.Duration;
+
+/**
+ * Receives the start and outcome of each bulk operation and its phases, e.g. to record
+ * metrics or tracing spans.
+ *
+ * <p>Callbacks run synchronously on the thread running the operation, so implementations
+ * should be cheap and must not throw. Phase callbacks are nested between the start and the
+ * outcome of their operation. A completed operation reports its row counts, bytes and phase
+ * timings through {@link ImportResult}.</p>
+ *
+ * <pre>{@code
+ * BulkImporter importer = BulkImporter.create(dataSource)
+ *     .withInstrumentation(new MicrometerImportInstrumentation(meterRegistry));
+ * }</pre>
+ */
+public interface ImportInstrumentation {
+
+    /**
+     * Instrumentation that ignores all events.
+     */
+    ImportInstrumentation NOOP = new ImportInstrumentation() {
+    };
+
+    /**
+     * Called before an operation starts working on the database.
+     *
+     * @param operation the kind of operation
+     * @param tableName the target table
+     * @param conflictStrategy the conflict strategy of an UPSERT, or null for other operations
+     */
+    default void onStart(ImportResult.Operation operation, String tableName, ConflictStrategy conflictStrategy) {
+    }
+
+    /**
+     * Called before a phase of an operation starts.
+     *
+     * @param operation the kind of operation
+     * @param tableName the target table
+     * @param phase the phase
+     */
+    default void onPhaseStart(ImportResult.Operation operation, String tableName, ImportPhase phase) {
+    }
+
+    /**
+     * Called after a phase of an operation has completed or failed.
+     *
+     * @param operation the kind of operation
+     * @param tableName the target table
+     * @param phase the phase
+     * @param elapsed the time spent in the phase
+     * @param error the exception that ended the phase, or null if it completed
+     */
+    default void onPhaseEnd(ImportResult.Operation operation, String tableName, ImportPhase phase,
+                            Duration elapsed, Throwable error) {
+    }
+
+    /**
+     * Called after an operation has completed.
+     *
+     * @param result the counts and timings of the operation
+     */
+    default void onSuccess(ImportResult result) {
+    }
+
+    /**
+     * Called after an operation has failed.
+     *
+     * @param operation the kind of operation
+     * @param tableName the target table
+     * @param elapsed the time from the start of the operation to the failure
+     * @param error the exception thrown to the caller
+     */
+    default void onFailure(ImportResult.Operation operation, String tableName, Duration elapsed, Throwable error) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.bulkimport.instrumentation;
+
+/**
+ * A phase of a bulk operation, as reported to {@link ImportInstrumentation}.
+ *
+ * <p>INSERT only runs {@link #COPY}, directly into the target table. UPDATE and UPSERT
+ * run all phases in declaration order.</p>
+ */
+public enum ImportPhase {
+
+    /**
+     * Creating the staging table.
+     */
+    STAGING,
+
+    /**
+     * Encoding rows and sending them with COPY.
+     */
+    COPY,
+
+    /**
+     * Indexing and analyzing the staging table, if it is large enough.
+     */
+    INDEX,
+
+    /**
+     * Applying the staging table to the target table with UPDATE or INSERT ... ON CONFLICT.
+     */
+    APPLY,
+
+    /**
+     * Dropping or releasing the staging table.
+     */
+    CLEANUP
+}
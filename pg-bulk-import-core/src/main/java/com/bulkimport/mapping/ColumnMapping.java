@@ -2,10 +2,18 @@ package com.bulkimport.mapping;
 
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Represents a mapping from an entity field to a database column.
  *
+ * <p>Columns holding {@code int}, {@code long}, {@code double} or {@code boolean} values
+ * may also have a primitive extractor, which row writers can use to read the value
+ * without boxing. {@link #extractValue} always works and boxes the value if needed.</p>
+ *
  * @param <T> the entity type
  * @param <V> the value type
  */
@@ -14,6 +22,10 @@ public class ColumnMapping<T, V> {
     private final String columnName;
     private final Class<V> valueType;
     private final Function<T, V> valueExtractor;
+    private final ToIntFunction<T> intExtractor;
+    private final ToLongFunction<T> longExtractor;
+    private final ToDoubleFunction<T> doubleExtractor;
+    private final Predicate<T> booleanExtractor;
     private final boolean isId;
     private final boolean nullable;
     private final String fieldName;
@@ -22,6 +34,10 @@ public class ColumnMapping<T, V> {
         this.columnName = builder.columnName;
         this.valueType = builder.valueType;
         this.valueExtractor = builder.valueExtractor;
+        this.intExtractor = builder.intExtractor;
+        this.longExtractor = builder.longExtractor;
+        this.doubleExtractor = builder.doubleExtractor;
+        this.booleanExtractor = builder.booleanExtractor;
         this.isId = builder.isId;
         this.nullable = builder.nullable;
         this.fieldName = builder.fieldName;
@@ -61,6 +77,42 @@ public class ColumnMapping<T, V> {
         return valueExtractor.apply(entity);
     }
 
+    /**
+     * Gets the extractor for {@code int} values, or null if the column has none.
+     */
+    public ToIntFunction<T> getIntExtractor() {
+        return intExtractor;
+    }
+
+    /**
+     * Gets the extractor for {@code long} values, or null if the column has none.
+     */
+    public ToLongFunction<T> getLongExtractor() {
+        return longExtractor;
+    }
+
+    /**
+     * Gets the extractor for {@code double} values, or null if the column has none.
+     */
+    public ToDoubleFunction<T> getDoubleExtractor() {
+        return doubleExtractor;
+    }
+
+    /**
+     * Gets the extractor for {@code boolean} values, or null if the column has none.
+     */
+    public Predicate<T> getBooleanExtractor() {
+        return booleanExtractor;
+    }
+
+    /**
+     * Returns true if this column has a primitive extractor.
+     */
+    public boolean hasPrimitiveExtractor() {
+        return intExtractor != null || longExtractor != null
+            || doubleExtractor != null || booleanExtractor != null;
+    }
+
     /**
      * Returns true if this column is part of the primary key.
      */
@@ -112,6 +164,10 @@ public class ColumnMapping<T, V> {
         private final String columnName;
         private final Class<V> valueType;
         private Function<T, V> valueExtractor;
+        private ToIntFunction<T> intExtractor;
+        private ToLongFunction<T> longExtractor;
+        private ToDoubleFunction<T> doubleExtractor;
+        private Predicate<T> booleanExtractor;
         private boolean isId = false;
         private boolean nullable = true;
         private String fieldName;
@@ -130,6 +186,46 @@ public class ColumnMapping<T, V> {
             return this;
         }
 
+        /**
+         * Sets the function to extract an {@code int} value without boxing.
+         * If no value extractor is set, one is derived that boxes the result.
+         */
+        public Builder<T, V> intExtractor(ToIntFunction<T> extractor) {
+            clearPrimitiveExtractors();
+            this.intExtractor = Objects.requireNonNull(extractor, "extractor cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the function to extract a {@code long} value without boxing.
+         * If no value extractor is set, one is derived that boxes the result.
+         */
+        public Builder<T, V> longExtractor(ToLongFunction<T> extractor) {
+            clearPrimitiveExtractors();
+            this.longExtractor = Objects.requireNonNull(extractor, "extractor cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the function to extract a {@code double} value without boxing.
+         * If no value extractor is set, one is derived that boxes the result.
+         */
+        public Builder<T, V> doubleExtractor(ToDoubleFunction<T> extractor) {
+            clearPrimitiveExtractors();
+            this.doubleExtractor = Objects.requireNonNull(extractor, "extractor cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the function to extract a {@code boolean} value without boxing.
+         * If no value extractor is set, one is derived that boxes the result.
+         */
+        public Builder<T, V> booleanExtractor(Predicate<T> extractor) {
+            clearPrimitiveExtractors();
+            this.booleanExtractor = Objects.requireNonNull(extractor, "extractor cannot be null");
+            return this;
+        }
+
         /**
          * Marks this column as part of the primary key.
          */
@@ -165,9 +261,32 @@ public class ColumnMapping<T, V> {
         /**
          * Builds the column mapping.
          */
+        @SuppressWarnings("unchecked")
         public ColumnMapping<T, V> build() {
+            if (valueExtractor == null) {
+                if (intExtractor != null) {
+                    ToIntFunction<T> extractor = intExtractor;
+                    valueExtractor = entity -> (V) Integer.valueOf(extractor.applyAsInt(entity));
+                } else if (longExtractor != null) {
+                    ToLongFunction<T> extractor = longExtractor;
+                    valueExtractor = entity -> (V) Long.valueOf(extractor.applyAsLong(entity));
+                } else if (doubleExtractor != null) {
+                    ToDoubleFunction<T> extractor = doubleExtractor;
+                    valueExtractor = entity -> (V) Double.valueOf(extractor.applyAsDouble(entity));
+                } else if (booleanExtractor != null) {
+                    Predicate<T> extractor = booleanExtractor;
+                    valueExtractor = entity -> (V) Boolean.valueOf(extractor.test(entity));
+                }
+            }
             Objects.requireNonNull(valueExtractor, "valueExtractor must be set");
             return new ColumnMapping<>(this);
         }
+
+        private void clearPrimitiveExtractors() {
+            intExtractor = null;
+            longExtractor = null;
+            doubleExtractor = null;
+            booleanExtractor = null;
+        }
     }
 }
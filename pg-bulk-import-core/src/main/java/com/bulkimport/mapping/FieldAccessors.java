@@ -0,0 +1,167 @@
+package com.bulkimport.mapping;
+
+import com.bulkimport.exception.MappingException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * Creates value extractors for entity fields, used by the annotation and JPA entity mappers.
+ *
+ * <p>Each field is resolved once into a {@link MethodHandle} getter, so reading a value
+ * skips the access checks of {@link Field#get}. Fields of type {@code int}, {@code long},
+ * {@code double} and {@code boolean} also get a primitive extractor, which reads
+ * the value without boxing.</p>
+ */
+public final class FieldAccessors {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private FieldAccessors() {
+    }
+
+    /**
+     * Sets the extractors of a column mapping builder to read the given field.
+     *
+     * @param builder the column mapping builder
+     * @param field the entity field to read
+     * @param entityClass the entity class, used in error messages
+     * @return the builder
+     * @throws MappingException if the field cannot be made accessible
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, V> ColumnMapping.Builder<T, V> bind(ColumnMapping.Builder<T, V> builder,
+                                                          Field field, Class<T> entityClass) {
+        MethodHandle getter = getter(field, entityClass);
+        Class<?> type = field.getType();
+
+        if (type == int.class) {
+            MethodHandle handle = getter.asType(MethodType.methodType(int.class, Object.class));
+            builder.intExtractor(entity -> {
+                try {
+                    return (int) handle.invokeExact((Object) entity);
+                } catch (Throwable e) {
+                    throw accessFailed(field, entityClass, e);
+                }
+            });
+        } else if (type == long.class) {
+            MethodHandle handle = getter.asType(MethodType.methodType(long.class, Object.class));
+            builder.longExtractor(entity -> {
+                try {
+                    return (long) handle.invokeExact((Object) entity);
+                } catch (Throwable e) {
+                    throw accessFailed(field, entityClass, e);
+                }
+            });
+        } else if (type == double.class) {
+            MethodHandle handle = getter.asType(MethodType.methodType(double.class, Object.class));
+            builder.doubleExtractor(entity -> {
+                try {
+                    return (double) handle.invokeExact((Object) entity);
+                } catch (Throwable e) {
+                    throw accessFailed(field, entityClass, e);
+                }
+            });
+        } else if (type == boolean.class) {
+            MethodHandle handle = getter.asType(MethodType.methodType(boolean.class, Object.class));
+            builder.booleanExtractor(entity -> {
+                try {
+                    return (boolean) handle.invokeExact((Object) entity);
+                } catch (Throwable e) {
+                    throw accessFailed(field, entityClass, e);
+                }
+            });
+        }
+
+        MethodHandle handle = getter.asType(MethodType.methodType(Object.class, Object.class));
+        return builder.extractor(entity -> {
+            try {
+                return (V) handle.invokeExact((Object) entity);
+            } catch (Throwable e) {
+                throw accessFailed(field, entityClass, e);
+            }
+        });
+    }
+
+    /**
+     * Creates a function reading the given field, e.g. to follow a reference to another entity.
+     *
+     * @param field the entity field to read
+     * @param entityClass the entity class, used in error messages
+     * @return the function returning the field value, boxed if primitive
+     * @throws MappingException if the field cannot be made accessible
+     */
+    public static <T> Function<T, Object> reader(Field field, Class<T> entityClass) {
+        MethodHandle handle = getter(field, entityClass).asType(MethodType.methodType(Object.class, Object.class));
+        return entity -> {
+            try {
+                return handle.invokeExact((Object) entity);
+            } catch (Throwable e) {
+                throw accessFailed(field, entityClass, e);
+            }
+        };
+    }
+
+    /**
+     * Creates a function reading the given field through its public getter if the class has
+     * one, and directly otherwise. Lazy proxies, such as JPA references, override the getter
+     * to load their state, while their own fields stay unset.
+     *
+     * @param field the entity field to read
+     * @param entityClass the entity class declaring or inheriting the field
+     * @return the function returning the property value, boxed if primitive
+     * @throws MappingException if the field cannot be made accessible
+     */
+    public static <T> Function<T, Object> propertyReader(Field field, Class<T> entityClass) {
+        MethodHandle getter = findPropertyGetter(field, entityClass);
+        if (getter == null) {
+            return reader(field, entityClass);
+        }
+        MethodHandle handle = getter.asType(MethodType.methodType(Object.class, Object.class));
+        return entity -> {
+            try {
+                return handle.invokeExact((Object) entity);
+            } catch (Throwable e) {
+                throw accessFailed(field, entityClass, e);
+            }
+        };
+    }
+
+    private static MethodHandle findPropertyGetter(Field field, Class<?> entityClass) {
+        String name = field.getName();
+        String prefix = field.getType() == boolean.class ? "is" : "get";
+        try {
+            Method method = entityClass.getMethod(prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1));
+            if (method.getReturnType() != field.getType()) {
+                return null;
+            }
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle getter(Field field, Class<?> entityClass) {
+        try {
+            field.setAccessible(true);
+            return LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw MappingException.fieldAccessError(field.getName(), entityClass, e);
+        }
+    }
+
+    private static RuntimeException accessFailed(Field field, Class<?> entityClass, Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return MappingException.fieldAccessError(field.getName(), entityClass, e);
+    }
+}
@@ -5,10 +5,16 @@ import com.bulkimport.exception.MappingException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -24,12 +30,14 @@ public class TableMapping<T> {
     private final Map<String, ColumnMapping<T, ?>> columns;
     private final List<ColumnMapping<T, ?>> idColumns;
     private final List<ColumnMapping<T, ?>> nonIdColumns;
+    private final Set<String> referencedTables;
 
     private TableMapping(Builder<T> builder) {
         this.tableName = builder.tableName;
         this.schemaName = builder.schemaName;
         this.entityClass = builder.entityClass;
         this.columns = Collections.unmodifiableMap(new LinkedHashMap<>(builder.columns));
+        this.referencedTables = Collections.unmodifiableSet(new LinkedHashSet<>(builder.referencedTables));
 
         // Use Java 8 compatible unmodifiable list creation
         this.idColumns = Collections.unmodifiableList(
@@ -166,6 +174,37 @@ public class TableMapping<T> {
         return columns.size();
     }
 
+    /**
+     * Gets the tables this table has foreign keys to, as schema.table or just table.
+     * Used to order the tables of an import graph.
+     * Returns an unmodifiable set.
+     */
+    public Set<String> getReferencedTables() {
+        return referencedTables;
+    }
+
+    /**
+     * Creates a mapping of the same table with only the given columns,
+     * e.g. the key columns of a delete.
+     *
+     * @param columnNames the names of the columns to keep, in order
+     * @return the narrowed mapping
+     * @throws MappingException if a column is not mapped
+     */
+    public TableMapping<T> withColumns(List<String> columnNames) {
+        Objects.requireNonNull(columnNames, "columnNames cannot be null");
+        Builder<T> builder = new Builder<T>(tableName).schema(schemaName).entityClass(entityClass);
+        referencedTables.forEach(builder::references);
+        for (String columnName : columnNames) {
+            ColumnMapping<T, ?> column = columns.get(columnName);
+            if (column == null) {
+                throw MappingException.columnNotMapped(getFullTableName(), columnName);
+            }
+            builder.column(column);
+        }
+        return builder.build();
+    }
+
     @Override
     public String toString() {
         return "TableMapping{" +
@@ -183,6 +222,7 @@ public class TableMapping<T> {
         private String schemaName;
         private Class<T> entityClass;
         private final Map<String, ColumnMapping<T, ?>> columns = new LinkedHashMap<>();
+        private final Set<String> referencedTables = new LinkedHashSet<>();
 
         private Builder(String tableName) {
             this.tableName = Objects.requireNonNull(tableName, "tableName cannot be null");
@@ -291,6 +331,58 @@ public class TableMapping<T> {
             return this;
         }
 
+        /**
+         * Adds a non-nullable {@code int} column read without boxing.
+         *
+         * @param columnName the database column name
+         * @param extractor function to extract the value from an entity
+         */
+        public Builder<T> intColumn(String columnName, ToIntFunction<T> extractor) {
+            return column(ColumnMapping.<T, Integer>builder(columnName, Integer.class)
+                .intExtractor(extractor)
+                .nullable(false)
+                .build());
+        }
+
+        /**
+         * Adds a non-nullable {@code long} column read without boxing.
+         *
+         * @param columnName the database column name
+         * @param extractor function to extract the value from an entity
+         */
+        public Builder<T> longColumn(String columnName, ToLongFunction<T> extractor) {
+            return column(ColumnMapping.<T, Long>builder(columnName, Long.class)
+                .longExtractor(extractor)
+                .nullable(false)
+                .build());
+        }
+
+        /**
+         * Adds a non-nullable {@code double} column read without boxing.
+         *
+         * @param columnName the database column name
+         * @param extractor function to extract the value from an entity
+         */
+        public Builder<T> doubleColumn(String columnName, ToDoubleFunction<T> extractor) {
+            return column(ColumnMapping.<T, Double>builder(columnName, Double.class)
+                .doubleExtractor(extractor)
+                .nullable(false)
+                .build());
+        }
+
+        /**
+         * Adds a non-nullable {@code boolean} column read without boxing.
+         *
+         * @param columnName the database column name
+         * @param extractor predicate to extract the value from an entity
+         */
+        public Builder<T> booleanColumn(String columnName, Predicate<T> extractor) {
+            return column(ColumnMapping.<T, Boolean>builder(columnName, Boolean.class)
+                .booleanExtractor(extractor)
+                .nullable(false)
+                .build());
+        }
+
         /**
          * Adds a pre-built column mapping.
          */
@@ -305,6 +397,16 @@ public class TableMapping<T> {
             return this;
         }
 
+        /**
+         * Declares a foreign key to another table, so that an import graph loads that table first.
+         *
+         * @param referencedTable the referenced table, as schema.table or just table
+         */
+        public Builder<T> references(String referencedTable) {
+            referencedTables.add(Objects.requireNonNull(referencedTable, "referencedTable cannot be null"));
+            return this;
+        }
+
         /**
          * Builds the table mapping.
          *
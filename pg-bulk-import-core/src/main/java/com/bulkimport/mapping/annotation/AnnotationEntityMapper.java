@@ -3,6 +3,7 @@ package com.bulkimport.mapping.annotation;
 import com.bulkimport.exception.MappingException;
 import com.bulkimport.mapping.ColumnMapping;
 import com.bulkimport.mapping.EntityMapper;
+import com.bulkimport.mapping.FieldAccessors;
 import com.bulkimport.mapping.TableMapping;
 import com.bulkimport.util.SqlIdentifier;
 
@@ -110,16 +111,8 @@ public class AnnotationEntityMapper<T> implements EntityMapper<T> {
         boolean nullable = resolveNullable(field, isId);
         Class<V> fieldType = (Class<V>) field.getType();
 
-        field.setAccessible(true);
-
-        return ColumnMapping.<T, V>builder(columnName, fieldType)
-            .extractor(entity -> {
-                try {
-                    return (V) field.get(entity);
-                } catch (IllegalAccessException e) {
-                    throw MappingException.fieldAccessError(field.getName(), entityClass, e);
-                }
-            })
+        ColumnMapping.Builder<T, V> builder = ColumnMapping.builder(columnName, fieldType);
+        return FieldAccessors.bind(builder, field, entityClass)
             .id(isId)
             .nullable(nullable)
             .fieldName(field.getName())
@@ -0,0 +1,397 @@
+package com.bulkimport.reactive;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.converter.TypeConverterRegistry;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.executor.CopyExecutor;
+import com.bulkimport.mapping.EntityMapperResolver;
+import com.bulkimport.mapping.TableMapping;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.StreamSupport;
+
+/**
+ * A Reactive Streams {@link Subscriber} that inserts the received entities with COPY.
+ *
+ * <p>The subscriber keeps one connection and streams rows into an open COPY. The COPY is
+ * ended, and committed if the connection is not in auto-commit mode, when it reaches
+ * {@code flushRows} rows or {@code flushBytes} bytes, or when its first row is older than
+ * {@code flushInterval}; the next row starts a new COPY on the same connection.</p>
+ *
+ * <p>Rows are written on a dedicated thread. At most {@code bufferSize} rows are requested
+ * ahead of that thread, so a slow database slows down the publisher instead of filling
+ * memory.</p>
+ *
+ * <p>{@link #getResult()} completes with the total row count after {@code onComplete}. On
+ * {@code onError}, the rows received so far are still committed and the result completes
+ * with the publisher's error. If a COPY fails, its rows are rolled back, the subscription
+ * is cancelled and the result completes with the failure; earlier COPYs stay committed.</p>
+ *
+ * <pre>{@code
+ * CopySubscriber<Event> sink = CopySubscriber.builder(dataSource, Event.class)
+ *     .flushRows(50_000)
+ *     .flushInterval(Duration.ofSeconds(1))
+ *     .build();
+ * publisher.subscribe(sink);
+ * long inserted = sink.getResult().join();
+ * }</pre>
+ *
+ * <p>For {@code java.util.concurrent.Flow} publishers, adapt the subscriber with
+ * {@code org.reactivestreams.FlowAdapters.toFlowSubscriber(sink)}. This class requires
+ * the optional {@code org.reactivestreams:reactive-streams} dependency.</p>
+ *
+ * @param <T> the entity type
+ */
+public class CopySubscriber<T> implements Subscriber<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(CopySubscriber.class);
+
+    // Queue signals besides rows; terminal signals are always the last element taken
+    private static final Object COMPLETE = new Object();
+
+    private final DataSource dataSource;
+    private final TableMapping<T> mapping;
+    private final BulkImportConfig config;
+    private final TypeConverterRegistry converterRegistry;
+    private final long flushRows;
+    private final long flushBytes;
+    private final long flushIntervalNanos;
+    private final int bufferSize;
+    private final int replenishSize;
+
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final CompletableFuture<Long> result = new CompletableFuture<>();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private Subscription subscription;
+    private volatile boolean cancelled;
+    // Only used by the writer thread
+    private long consumedSinceRequest;
+
+    private CopySubscriber(Builder<T> builder) {
+        this.dataSource = builder.dataSource;
+        this.mapping = builder.mapping;
+        this.config = builder.config;
+        this.converterRegistry = builder.converterRegistry;
+        this.flushRows = builder.flushRows;
+        this.flushBytes = builder.flushBytes;
+        this.flushIntervalNanos = builder.flushInterval.toNanos();
+        this.bufferSize = builder.bufferSize;
+        this.replenishSize = Math.max(1, builder.bufferSize / 2);
+    }
+
+    /**
+     * Creates a builder for a subscriber that inserts into the table of an explicit mapping.
+     *
+     * @param dataSource the data source to take the connection from
+     * @param mapping the table mapping
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder(DataSource dataSource, TableMapping<T> mapping) {
+        return new Builder<>(dataSource, mapping);
+    }
+
+    /**
+     * Creates a builder for a subscriber that inserts entities of a mapped class.
+     *
+     * @param dataSource the data source to take the connection from
+     * @param entityClass the entity class
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder(DataSource dataSource, Class<T> entityClass) {
+        return new Builder<>(dataSource, EntityMapperResolver.getInstance().resolve(entityClass));
+    }
+
+    /**
+     * Gets a future of the total number of rows inserted, completed once the publisher
+     * has completed and the last rows are committed.
+     */
+    public CompletableFuture<Long> getResult() {
+        return result;
+    }
+
+    /**
+     * Gets the number of rows committed so far.
+     */
+    public long getRowsImported() {
+        return rowsImported.get();
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription cannot be null");
+        if (this.subscription != null) {
+            // A subscriber can only be used once (Reactive Streams rule 2.5)
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        // Requested before the writer starts, so calls on the subscription never overlap
+        subscription.request(bufferSize);
+
+        Thread writer = new Thread(this::run, "bulk-import-copy-subscriber-" + mapping.getTableName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void onNext(T entity) {
+        queue.add(Objects.requireNonNull(entity, "entity cannot be null"));
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        queue.add(new Failure(Objects.requireNonNull(error, "error cannot be null")));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.add(COMPLETE);
+    }
+
+    private void run() {
+        try (Connection connection = dataSource.getConnection()) {
+            CopyExecutor<T> executor = new CopyExecutor<>(connection, mapping, config, converterRegistry);
+            Object next;
+            while (!isTerminal(next = queue.take())) {
+                SegmentIterator rows = new SegmentIterator(next, executor);
+                long count = copySegment(connection, executor, rows);
+                rowsImported.addAndGet(count);
+                log.debug("Committed {} rows into '{}' ({} total)", count, mapping.getTableName(), rowsImported.get());
+                if (rows.terminal != null) {
+                    next = rows.terminal;
+                    break;
+                }
+            }
+            finish(next);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(ExecutionException.copyFailed(mapping.getTableName(), e));
+        } catch (SQLException e) {
+            fail(ExecutionException.connectionError("COPY subscriber", e));
+        } catch (RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    private long copySegment(Connection connection, CopyExecutor<T> executor, SegmentIterator rows)
+            throws SQLException {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL);
+        if (connection.getAutoCommit()) {
+            return executor.copyIn(StreamSupport.stream(spliterator, false));
+        }
+        try {
+            long count = executor.copyIn(StreamSupport.stream(spliterator, false));
+            connection.commit();
+            return count;
+        } catch (RuntimeException | SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+    }
+
+    private void finish(Object terminal) {
+        if (terminal instanceof Failure) {
+            result.completeExceptionally(((Failure) terminal).error);
+        } else {
+            log.info("COPY subscriber completed: {} rows into '{}'", rowsImported.get(), mapping.getTableName());
+            result.complete(rowsImported.get());
+        }
+    }
+
+    private void fail(RuntimeException error) {
+        cancelled = true;
+        subscription.cancel();
+        result.completeExceptionally(error);
+    }
+
+    private static boolean isTerminal(Object signal) {
+        return signal == COMPLETE || signal instanceof Failure;
+    }
+
+    /**
+     * The rows of one COPY. Ends at a flush threshold or a terminal signal, and requests
+     * more rows from the publisher as it consumes them.
+     */
+    private final class SegmentIterator implements Iterator<T> {
+        private final CopyExecutor<T> executor;
+        private final long deadline;
+        private Object next;
+        private long rowCount;
+        private Object terminal;
+
+        SegmentIterator(Object first, CopyExecutor<T> executor) {
+            this.next = first;
+            this.executor = executor;
+            this.deadline = System.nanoTime() + flushIntervalNanos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (terminal != null || cancelled || rowCount >= flushRows || executor.getBytesSent() >= flushBytes) {
+                return false;
+            }
+            try {
+                Object signal = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (signal == null) {
+                    return false;
+                }
+                if (isTerminal(signal)) {
+                    terminal = signal;
+                    return false;
+                }
+                next = signal;
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw ExecutionException.copyFailed(mapping.getTableName(), e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T entity = (T) next;
+            next = null;
+            rowCount++;
+            // Ask for more once half of the requested rows have been taken from the queue
+            if (++consumedSinceRequest >= replenishSize) {
+                subscription.request(consumedSinceRequest);
+                consumedSinceRequest = 0;
+            }
+            return entity;
+        }
+    }
+
+    /**
+     * The error signalled by the publisher.
+     */
+    private static final class Failure {
+        private final Throwable error;
+
+        Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    /**
+     * Builder for CopySubscriber.
+     *
+     * @param <T> the entity type
+     */
+    public static class Builder<T> {
+        private final DataSource dataSource;
+        private final TableMapping<T> mapping;
+        private BulkImportConfig config = BulkImportConfig.defaults();
+        private TypeConverterRegistry converterRegistry = TypeConverterRegistry.getDefault();
+        private long flushRows = 100_000;
+        private long flushBytes = 64L * 1024 * 1024;
+        private Duration flushInterval = Duration.ofSeconds(1);
+        private int bufferSize = 1024;
+
+        private Builder(DataSource dataSource, TableMapping<T> mapping) {
+            this.dataSource = Objects.requireNonNull(dataSource, "dataSource cannot be null");
+            this.mapping = Objects.requireNonNull(mapping, "mapping cannot be null");
+        }
+
+        /**
+         * Sets the configuration, e.g. the COPY format and null handling.
+         * Default: BulkImportConfig.defaults()
+         */
+        public Builder<T> config(BulkImportConfig config) {
+            this.config = Objects.requireNonNull(config, "config cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the type converter registry.
+         * Default: TypeConverterRegistry.getDefault()
+         */
+        public Builder<T> converterRegistry(TypeConverterRegistry converterRegistry) {
+            this.converterRegistry = Objects.requireNonNull(converterRegistry, "converterRegistry cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the number of rows after which the current COPY is committed.
+         * Default: 100000
+         */
+        public Builder<T> flushRows(long flushRows) {
+            this.flushRows = flushRows;
+            return this;
+        }
+
+        /**
+         * Sets the approximate number of bytes after which the current COPY is committed.
+         * Bytes are counted as they are sent, in steps of the 64 KB write buffer.
+         * Default: 64 MB
+         */
+        public Builder<T> flushBytes(long flushBytes) {
+            this.flushBytes = flushBytes;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time between the first row of a COPY and its commit.
+         * Default: 1 second
+         */
+        public Builder<T> flushInterval(Duration flushInterval) {
+            this.flushInterval = Objects.requireNonNull(flushInterval, "flushInterval cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets the number of rows requested ahead of the writer thread.
+         * Default: 1024
+         */
+        public Builder<T> bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Builds the subscriber.
+         *
+         * @throws ConfigurationException if a threshold is not positive
+         */
+        public CopySubscriber<T> build() {
+            if (flushRows < 1) {
+                throw ConfigurationException.invalidValue("flushRows", flushRows, "must be at least 1");
+            }
+            if (flushBytes < 1) {
+                throw ConfigurationException.invalidValue("flushBytes", flushBytes, "must be at least 1");
+            }
+            if (flushInterval.isNegative() || flushInterval.isZero()) {
+                throw ConfigurationException.invalidValue("flushInterval", flushInterval, "must be positive");
+            }
+            if (bufferSize < 1) {
+                throw ConfigurationException.invalidValue("bufferSize", bufferSize, "must be at least 1");
+            }
+            return new CopySubscriber<>(this);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.bulkimport;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.mapping.jpa.JpaEntityMapper;
+import com.bulkimport.testutil.DatabaseIntegrationTest;
+import com.bulkimport.testutil.PostgresTestContainer;
+import com.bulkimport.testutil.TestEntities.JpaUser;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bulkimport.testutil.TestEntities.createUsers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncBulkImporterTest extends DatabaseIntegrationTest {
+
+    private static final String TABLE_NAME = "users";
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        JpaEntityMapper.register();
+        PostgresTestContainer.createUsersTable();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        truncateTable(TABLE_NAME);
+    }
+
+    @Test
+    void shouldInsertBatchesConcurrently() throws SQLException {
+        // Given
+        List<CompletableFuture<ImportResult>> futures = new ArrayList<>();
+
+        // When
+        try (AsyncBulkImporter async = AsyncBulkImporter.create(PostgresTestContainer.getDataSource())) {
+            for (int batch = 0; batch < 10; batch++) {
+                futures.add(async.insert(JpaUser.class, createUsers(batch * 1_000 + 1, (batch + 1) * 1_000)));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        }
+
+        // Then
+        assertThat(futures).allSatisfy(future -> assertThat(future.join().getRowsInserted()).isEqualTo(1_000));
+        assertThat(countRows(TABLE_NAME)).isEqualTo(10_000);
+    }
+
+    @Test
+    void shouldUpdateAndUpsertAsynchronously() throws SQLException {
+        // Given
+        importer.insert(JpaUser.class, createUsers(1, 10));
+        BulkImportConfig config = BulkImportConfig.builder()
+            .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+            .conflictColumns("id")
+            .build();
+
+        try (AsyncBulkImporter async = AsyncBulkImporter.builder(PostgresTestContainer.getDataSource())
+                .config(config)
+                .build()) {
+            // When
+            ImportResult updated = async.update(JpaUser.class,
+                List.of(new JpaUser(1L, "Updated", "updated@example.com", 1, true))).join();
+            ImportResult upserted = async.upsert(JpaUser.class, createUsers(5, 15)).join();
+
+            // Then
+            assertThat(updated.getRowsUpdated()).isEqualTo(1);
+            assertThat(upserted.getRowsInserted()).isEqualTo(5);
+            assertThat(upserted.getRowsUpdated()).isEqualTo(6);
+        }
+        assertThat(countRows(TABLE_NAME)).isEqualTo(15);
+        assertThat(getString(TABLE_NAME, "name", "id", 1L)).isEqualTo("Updated");
+    }
+
+    @Test
+    void shouldLimitOperationsInFlight() throws Exception {
+        // Given - an executor whose tasks wait until released
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        try (AsyncBulkImporter async = AsyncBulkImporter.builder(PostgresTestContainer.getDataSource())
+                .executor(task -> executor.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    await(release);
+                    running.decrementAndGet();
+                    task.run();
+                }))
+                .maxInFlight(2)
+                .build()) {
+
+            // When - a third submission blocks until a permit is free
+            async.insert(JpaUser.class, createUsers(1, 10));
+            async.insert(JpaUser.class, createUsers(11, 20));
+            CompletableFuture<CompletableFuture<ImportResult>> third = CompletableFuture.supplyAsync(
+                () -> async.insert(JpaUser.class, createUsers(21, 30)), executor);
+
+            // Then
+            Thread.sleep(200);
+            assertThat(third).isNotDone();
+            assertThat(async.availablePermits()).isZero();
+
+            release.countDown();
+            assertThat(third.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS).getRowsInserted()).isEqualTo(10);
+            assertThat(maxRunning.get()).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(countRows(TABLE_NAME)).isEqualTo(30);
+    }
+
+    @Test
+    void shouldShareLimiterBetweenImporters() throws Exception {
+        // Given - two importers on the same data source sharing one permit
+        Semaphore limiter = new Semaphore(1);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        CountDownLatch release = new CountDownLatch(1);
+        try (AsyncBulkImporter first = AsyncBulkImporter.builder(PostgresTestContainer.getDataSource())
+                .executor(task -> executor.execute(() -> {
+                    await(release);
+                    task.run();
+                }))
+                .limiter(limiter)
+                .build();
+             AsyncBulkImporter second = AsyncBulkImporter.builder(PostgresTestContainer.getDataSource())
+                .executor(executor)
+                .limiter(limiter)
+                .build()) {
+
+            // When - the second importer waits for the operation of the first
+            CompletableFuture<ImportResult> running = first.insert(JpaUser.class, createUsers(1, 10));
+            CompletableFuture<CompletableFuture<ImportResult>> waiting = CompletableFuture.supplyAsync(
+                () -> second.insert(JpaUser.class, createUsers(11, 20)), executor);
+
+            // Then
+            Thread.sleep(200);
+            assertThat(waiting).isNotDone();
+            assertThat(second.availablePermits()).isZero();
+
+            release.countDown();
+            assertThat(running.get(10, TimeUnit.SECONDS).getRowsInserted()).isEqualTo(10);
+            assertThat(waiting.get(10, TimeUnit.SECONDS).get(10, TimeUnit.SECONDS).getRowsInserted()).isEqualTo(10);
+            assertThat(limiter.availablePermits()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(countRows(TABLE_NAME)).isEqualTo(20);
+    }
+
+    @Test
+    void shouldCompleteExceptionallyOnFailure() {
+        // Given - a duplicate key
+        importer.insert(JpaUser.class, createUsers(1, 1));
+
+        try (AsyncBulkImporter async = AsyncBulkImporter.create(PostgresTestContainer.getDataSource())) {
+            // When
+            CompletableFuture<ImportResult> future = async.insert(JpaUser.class, createUsers(1, 5));
+
+            // Then
+            assertThatThrownBy(future::join)
+                .hasCauseInstanceOf(ExecutionException.class)
+                .hasMessageContaining("users");
+            assertThat(async.availablePermits()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidMaxInFlight() {
+        assertThatThrownBy(() -> AsyncBulkImporter.builder(PostgresTestContainer.getDataSource()).maxInFlight(0).build())
+            .isInstanceOf(ConfigurationException.class)
+            .hasMessageContaining("maxInFlight");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package com.bulkimport;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.config.CopyFormat;
+import com.bulkimport.config.NullHandling;
+import com.bulkimport.converter.TypeConverter;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.mapping.TableMapping;
+import com.bulkimport.mapping.jpa.JpaEntityMapper;
+import com.bulkimport.testutil.DatabaseIntegrationTest;
+import com.bulkimport.testutil.PostgresTestContainer;
+import com.bulkimport.testutil.TestEntities.JpaUser;
+import com.bulkimport.testutil.TestEntities.Product;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the binary COPY format. Values written in binary format are compared
+ * with the same values written through the CSV path.
+ */
+class BinaryCopyTest extends DatabaseIntegrationTest {
+
+    private static final String TABLE_NAME = "binary_types";
+    private static final long BINARY_ID_OFFSET = 1000;
+
+    private static final BulkImportConfig BINARY = BulkImportConfig.builder()
+        .copyFormat(CopyFormat.BINARY)
+        .build();
+
+    enum Status { ACTIVE, INACTIVE }
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        JpaEntityMapper.register();
+        PostgresTestContainer.createUsersTable();
+        PostgresTestContainer.createProductsTable();
+        PostgresTestContainer.executeSql(
+            "DROP TABLE IF EXISTS binary_types",
+            "DROP TYPE IF EXISTS binary_status",
+            "CREATE TYPE binary_status AS ENUM ('ACTIVE', 'INACTIVE')",
+            """
+            CREATE TABLE binary_types (
+                id BIGINT PRIMARY KEY,
+                small_val SMALLINT,
+                int_val INTEGER,
+                big_val BIGINT,
+                real_val REAL,
+                double_val DOUBLE PRECISION,
+                numeric_val NUMERIC,
+                money_val NUMERIC(12,2),
+                bool_val BOOLEAN,
+                text_val TEXT,
+                varchar_val VARCHAR(50),
+                char_val CHAR(5),
+                uuid_val UUID,
+                date_val DATE,
+                time_val TIME,
+                ts_val TIMESTAMP,
+                tstz_val TIMESTAMPTZ,
+                odt_val TIMESTAMPTZ,
+                bytes_val BYTEA,
+                text_array TEXT[],
+                int_array INTEGER[],
+                jsonb_val JSONB,
+                json_val JSON,
+                enum_val binary_status
+            )
+            """
+        );
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        truncateTable(TABLE_NAME);
+        truncateTable("users");
+        truncateTable("products");
+    }
+
+    @Test
+    void shouldStoreSameValuesAsCsv() throws SQLException {
+        // Given
+        List<TypedRow> rows = createTypedRows();
+
+        // When
+        // LITERAL_NULL keeps empty strings distinct from NULL in CSV
+        BulkImporter csvImporter = BulkImporter.create(connection)
+            .withConfig(BulkImportConfig.builder().nullHandling(NullHandling.LITERAL_NULL).build());
+        int csvInserted = csvImporter.insert(typedRowMapping(0), rows);
+        int binaryInserted = importer.withConfig(BINARY).insert(typedRowMapping(BINARY_ID_OFFSET), rows);
+
+        // Then
+        assertThat(csvInserted).isEqualTo(rows.size());
+        assertThat(binaryInserted).isEqualTo(rows.size());
+        assertThat(countDifferingRows()).isZero();
+        assertThat(countMatchedRows()).isEqualTo(rows.size());
+        assertThat(getBytes(1 + BINARY_ID_OFFSET)).containsExactly(0, 1, 0xFF, 127, -128);
+        assertThat(getBytes(2 + BINARY_ID_OFFSET)).isEmpty();
+    }
+
+    @Test
+    void shouldWriteNullsForAllTypes() throws SQLException {
+        // Given
+        TypedRow empty = new TypedRow(1L);
+
+        // When
+        importer.withConfig(BINARY).insert(typedRowMapping(0), List.of(empty));
+
+        // Then
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT count(*) FROM binary_types t WHERE NOT EXISTS (" +
+                 "SELECT 1 FROM jsonb_each(to_jsonb(t) - 'id') WHERE value <> 'null'::jsonb)")) {
+            rs.next();
+            assertThat(rs.getInt(1)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldInsertStreamInBinaryFormat() throws SQLException {
+        // Given
+        int count = 25_000;
+
+        // When
+        int inserted = importer.withConfig(BINARY).insert(JpaUser.class,
+            IntStream.rangeClosed(1, count).mapToObj(i ->
+                new JpaUser((long) i, "User " + i, "user" + i + "@example.com", i % 100, i % 2 == 0)));
+
+        // Then
+        assertThat(inserted).isEqualTo(count);
+        assertThat(countRows("users")).isEqualTo(count);
+        assertThat(getString("users", "name", "id", 12_345L)).isEqualTo("User 12345");
+    }
+
+    @Test
+    void shouldUpsertThroughStagingTableInBinaryFormat() throws SQLException {
+        // Given
+        UUID id = UUID.randomUUID();
+        importer.insert(Product.class, List.of(
+            new Product(id, "Old", new BigDecimal("1.00"), List.of("a"), new byte[]{1})));
+
+        BulkImporter binaryImporter = importer.withConfig(BulkImportConfig.builder()
+            .copyFormat(CopyFormat.BINARY)
+            .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+            .conflictColumns("id")
+            .build());
+
+        // When
+        binaryImporter.upsert(Product.class, List.of(
+            new Product(id, "New", new BigDecimal("19.99"), List.of("x", "y"), new byte[]{2, 3}),
+            new Product(UUID.randomUUID(), "Other", null, null, null)));
+
+        // Then
+        assertThat(countRows("products")).isEqualTo(2);
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT name, price, tags, data FROM products WHERE id = '" + id + "'")) {
+            rs.next();
+            assertThat(rs.getString("name")).isEqualTo("New");
+            assertThat(rs.getBigDecimal("price")).isEqualByComparingTo("19.99");
+            assertThat((Object[]) rs.getArray("tags").getArray()).containsExactly("x", "y");
+            assertThat(rs.getBytes("data")).containsExactly(2, 3);
+        }
+    }
+
+    @Test
+    void shouldRejectValueOutOfRange() {
+        // Given
+        TableMapping<TypedRow> mapping = TableMapping.<TypedRow>builder(TABLE_NAME)
+            .id("id", r -> r.id)
+            .column("int_val", r -> Long.MAX_VALUE)
+            .build();
+
+        // When/Then
+        assertThatThrownBy(() -> importer.withConfig(BINARY).insert(mapping, List.of(new TypedRow(1L))))
+            .isInstanceOf(ExecutionException.class)
+            .hasMessageContaining("int_val");
+    }
+
+    @Test
+    void shouldStorePrimitiveColumnsLikeBoxedColumns() throws SQLException {
+        // Given
+        List<TypedRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            TypedRow row = new TypedRow(id);
+            row.smallVal = (short) (id == 1 ? Short.MIN_VALUE : id);
+            row.intVal = id == 2 ? Integer.MAX_VALUE : (int) -id;
+            row.bigVal = id == 3 ? Long.MIN_VALUE : id << 40;
+            row.realVal = id == 1 ? Float.NaN : 1.25f * id;
+            row.doubleVal = id == 2 ? Double.POSITIVE_INFINITY : 0.1 * id;
+            row.boolVal = id % 2 == 0;
+            rows.add(row);
+        }
+
+        // When
+        importer.insert(primitiveMapping(0), rows);
+        importer.withConfig(BINARY).insert(primitiveMapping(BINARY_ID_OFFSET), rows);
+
+        // Then
+        assertThat(countDifferingRows()).isZero();
+        assertThat(countMatchedRows()).isEqualTo(rows.size());
+        assertThat(getString(TABLE_NAME, "big_val", "id", 3L + BINARY_ID_OFFSET))
+            .isEqualTo(String.valueOf(Long.MIN_VALUE));
+    }
+
+    @Test
+    void shouldRejectPrimitiveValueOutOfRange() {
+        // Given
+        TableMapping<TypedRow> mapping = TableMapping.<TypedRow>builder(TABLE_NAME)
+            .id("id", r -> r.id)
+            .intColumn("small_val", r -> 40_000)
+            .build();
+
+        // When/Then
+        assertThatThrownBy(() -> importer.withConfig(BINARY).insert(mapping, List.of(new TypedRow(1L))))
+            .isInstanceOf(ExecutionException.class)
+            .hasMessageContaining("small_val")
+            .hasMessageContaining("40000");
+    }
+
+    @Test
+    void shouldRejectUnsupportedColumnType() throws SQLException {
+        // Given
+        PostgresTestContainer.executeSql(
+            "DROP TABLE IF EXISTS binary_unsupported",
+            "CREATE TABLE binary_unsupported (id BIGINT PRIMARY KEY, duration INTERVAL)");
+        TableMapping<TypedRow> mapping = TableMapping.<TypedRow>builder("binary_unsupported")
+            .id("id", r -> r.id)
+            .column("duration", r -> "1 day")
+            .build();
+
+        // When/Then
+        assertThatThrownBy(() -> importer.withConfig(BINARY).insert(mapping, List.of(new TypedRow(1L))))
+            .isInstanceOf(ExecutionException.class)
+            .hasMessageContaining("interval");
+    }
+
+    @Test
+    void shouldRejectCustomConverterForNonTextColumn() throws SQLException {
+        // Given
+        importer.registerConverter(Integer.class, prefixingConverter());
+        TableMapping<TypedRow> mapping = TableMapping.<TypedRow>builder(TABLE_NAME)
+            .id("id", r -> r.id)
+            .intColumn("int_val", r -> 7)
+            .build();
+
+        // When/Then
+        assertThatThrownBy(() -> importer.withConfig(BINARY).insert(mapping, List.of(new TypedRow(1L))))
+            .isInstanceOf(ConfigurationException.class)
+            .hasMessageContaining("int_val")
+            .hasMessageContaining("java.lang.Integer");
+        assertThat(countRows(TABLE_NAME)).isZero();
+    }
+
+    @Test
+    void shouldApplyCustomConverterToTextColumn() throws SQLException {
+        // Given
+        importer.registerConverter(Integer.class, prefixingConverter());
+        TableMapping<TypedRow> mapping = TableMapping.<TypedRow>builder(TABLE_NAME)
+            .id("id", r -> r.id)
+            .column("text_val", r -> 7, Integer.class, true)
+            .build();
+
+        // When
+        importer.withConfig(BINARY).insert(mapping, List.of(new TypedRow(1L)));
+
+        // Then
+        assertThat(getString(TABLE_NAME, "text_val", "id", 1L)).isEqualTo("#7");
+    }
+
+    private static TypeConverter<Integer> prefixingConverter() {
+        return new TypeConverter<>() {
+            @Override
+            public String toCsvValue(Integer value, NullHandling nullHandling) {
+                return "#" + value;
+            }
+
+            @Override
+            public Class<Integer> supportedType() {
+                return Integer.class;
+            }
+        };
+    }
+
+    private static TableMapping<TypedRow> primitiveMapping(long idOffset) {
+        return TableMapping.<TypedRow>builder(TABLE_NAME)
+            .longColumn("id", r -> r.id + idOffset)
+            .intColumn("small_val", r -> r.smallVal)
+            .intColumn("int_val", r -> r.intVal)
+            .longColumn("big_val", r -> r.bigVal)
+            .doubleColumn("real_val", r -> r.realVal)
+            .doubleColumn("double_val", r -> r.doubleVal)
+            .booleanColumn("bool_val", r -> r.boolVal)
+            .build();
+    }
+
+    private long countDifferingRows() throws SQLException {
+        // bytea is checked separately, the CSV converter escapes its hex prefix
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT count(*) FROM binary_types c " +
+                 "LEFT JOIN binary_types b ON b.id = c.id + " + BINARY_ID_OFFSET + " " +
+                 "WHERE c.id < " + BINARY_ID_OFFSET + " " +
+                 "AND (to_jsonb(c) - 'id' - 'bytes_val') IS DISTINCT FROM (to_jsonb(b) - 'id' - 'bytes_val')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private byte[] getBytes(long id) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT bytes_val FROM binary_types WHERE id = " + id)) {
+            rs.next();
+            return rs.getBytes(1);
+        }
+    }
+
+    private long countMatchedRows() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT count(*) FROM binary_types WHERE id >= " + BINARY_ID_OFFSET)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static TableMapping<TypedRow> typedRowMapping(long idOffset) {
+        return TableMapping.<TypedRow>builder(TABLE_NAME)
+            .id("id", r -> r.id + idOffset)
+            .column("small_val", r -> r.smallVal)
+            .column("int_val", r -> r.intVal)
+            .column("big_val", r -> r.bigVal)
+            .column("real_val", r -> r.realVal)
+            .column("double_val", r -> r.doubleVal)
+            .column("numeric_val", r -> r.numericVal)
+            .column("money_val", r -> r.moneyVal)
+            .column("bool_val", r -> r.boolVal)
+            .column("text_val", r -> r.textVal)
+            .column("varchar_val", r -> r.varcharVal)
+            .column("char_val", r -> r.charVal)
+            .column("uuid_val", r -> r.uuidVal)
+            .column("date_val", r -> r.dateVal)
+            .column("time_val", r -> r.timeVal)
+            .column("ts_val", r -> r.tsVal)
+            .column("tstz_val", r -> r.tstzVal)
+            .column("odt_val", r -> r.odtVal)
+            .column("bytes_val", r -> r.bytesVal)
+            .column("text_array", r -> r.textArray)
+            .column("int_array", r -> r.intArray)
+            .column("jsonb_val", r -> r.jsonbVal)
+            .column("json_val", r -> r.jsonVal)
+            .column("enum_val", r -> r.enumVal)
+            .build();
+    }
+
+    private static List<TypedRow> createTypedRows() {
+        List<TypedRow> rows = new ArrayList<>();
+
+        TypedRow typical = new TypedRow(1L);
+        typical.smallVal = (short) -123;
+        typical.intVal = 42;
+        typical.bigVal = 9_000_000_000L;
+        typical.realVal = 3.14f;
+        typical.doubleVal = 2.718281828459045;
+        typical.numericVal = new BigDecimal("12345678901234567890.0001234500");
+        typical.moneyVal = 19.99;
+        typical.boolVal = true;
+        typical.textVal = "Quote \" comma , newline \n tab \t backslash \\ unicode é中😀";
+        typical.varcharVal = "varchar";
+        typical.charVal = "ab";
+        typical.uuidVal = UUID.randomUUID();
+        typical.dateVal = LocalDate.of(2024, 2, 29);
+        typical.timeVal = LocalTime.of(23, 59, 59, 123_456_000);
+        typical.tsVal = LocalDateTime.of(2024, 1, 15, 10, 30, 45, 123_456_000);
+        typical.tstzVal = Instant.parse("2024-01-15T10:30:45.654321Z");
+        typical.odtVal = OffsetDateTime.of(2024, 6, 1, 12, 0, 0, 0, ZoneOffset.ofHours(5));
+        typical.bytesVal = new byte[]{0, 1, (byte) 0xFF, 127, -128};
+        typical.textArray = Arrays.asList("a", "with space", "quote\"", null, "");
+        typical.intArray = new Integer[]{1, null, -3};
+        typical.jsonbVal = "{\"key\": [1, 2, {\"nested\": \"é\"}]}";
+        typical.jsonVal = "{\"b\": 1,  \"a\": 2}";
+        typical.enumVal = Status.INACTIVE;
+        rows.add(typical);
+
+        TypedRow edges = new TypedRow(2L);
+        edges.smallVal = Short.MIN_VALUE;
+        edges.intVal = Integer.MIN_VALUE;
+        edges.bigVal = Long.MAX_VALUE;
+        edges.realVal = Float.NaN;
+        edges.doubleVal = Double.NEGATIVE_INFINITY;
+        edges.numericVal = new BigDecimal("-0.000000001");
+        edges.moneyVal = -0.5;
+        edges.boolVal = false;
+        edges.textVal = "";
+        edges.varcharVal = "NULL";
+        edges.charVal = "abcde";
+        edges.uuidVal = new UUID(0, 0);
+        edges.dateVal = LocalDate.of(1970, 1, 1);
+        edges.timeVal = LocalTime.MIDNIGHT;
+        edges.tsVal = LocalDateTime.of(1999, 12, 31, 23, 59, 59, 999_999_000);
+        edges.tstzVal = Instant.parse("1900-01-01T00:00:00Z");
+        edges.odtVal = OffsetDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        edges.bytesVal = new byte[0];
+        edges.textArray = List.of();
+        edges.intArray = new Integer[0];
+        edges.jsonbVal = "null";
+        edges.jsonVal = "[]";
+        edges.enumVal = Status.ACTIVE;
+        rows.add(edges);
+
+        TypedRow numbers = new TypedRow(3L);
+        numbers.numericVal = new BigDecimal("1E+5");
+        numbers.moneyVal = 1e9;
+        numbers.realVal = Float.MAX_VALUE;
+        numbers.doubleVal = Double.MIN_VALUE;
+        rows.add(numbers);
+
+        TypedRow zero = new TypedRow(4L);
+        zero.numericVal = new BigDecimal("0.00");
+        zero.moneyVal = 0.0;
+        rows.add(zero);
+
+        return rows;
+    }
+
+    /**
+     * Row holder covering the column types supported by binary COPY.
+     */
+    static class TypedRow {
+        final Long id;
+        Short smallVal;
+        Integer intVal;
+        Long bigVal;
+        Float realVal;
+        Double doubleVal;
+        BigDecimal numericVal;
+        Double moneyVal;
+        Boolean boolVal;
+        String textVal;
+        String varcharVal;
+        String charVal;
+        UUID uuidVal;
+        LocalDate dateVal;
+        LocalTime timeVal;
+        LocalDateTime tsVal;
+        Instant tstzVal;
+        OffsetDateTime odtVal;
+        byte[] bytesVal;
+        List<String> textArray;
+        Integer[] intArray;
+        String jsonbVal;
+        String jsonVal;
+        Status enumVal;
+
+        TypedRow(Long id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.bulkimport;
+
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.mapping.jpa.JpaEntityMapper;
+import com.bulkimport.testutil.DatabaseIntegrationTest;
+import com.bulkimport.testutil.PostgresTestContainer;
+import com.bulkimport.testutil.TestEntities.JpaUser;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BufferedBulkWriterTest extends DatabaseIntegrationTest {
+
+    private static final String TABLE_NAME = "users";
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        JpaEntityMapper.register();
+        PostgresTestContainer.createUsersTable();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        truncateTable(TABLE_NAME);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentWritesIntoFewCopies() throws Exception {
+        // Given - 8 threads writing 250 users each
+        AtomicInteger connections = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        try (BufferedBulkWriter<JpaUser> writer = BufferedBulkWriter.<JpaUser>builder(countingDataSource(connections))
+                .maxBatchSize(500)
+                .linger(Duration.ofMinutes(1))
+                .build()) {
+            // When
+            List<CompletableFuture<List<CompletableFuture<Void>>>> threads = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t * 250;
+                threads.add(CompletableFuture.supplyAsync(() -> {
+                    List<CompletableFuture<Void>> written = new ArrayList<>();
+                    for (int i = offset + 1; i <= offset + 250; i++) {
+                        written.add(writer.write(user(i)));
+                    }
+                    return written;
+                }, callers));
+            }
+            threads.forEach(thread -> futures.addAll(thread.join()));
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+        } finally {
+            callers.shutdownNow();
+        }
+
+        // Then - one COPY per full batch
+        assertThat(futures).hasSize(2_000).allSatisfy(future -> assertThat(future).isCompleted());
+        assertThat(countRows(TABLE_NAME)).isEqualTo(2_000);
+        assertThat(connections.get()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldFlushAfterLinger() throws Exception {
+        try (BufferedBulkWriter<JpaUser> writer = BufferedBulkWriter.<JpaUser>builder(PostgresTestContainer.getDataSource())
+                .linger(Duration.ofMillis(20))
+                .build()) {
+            // When
+            CompletableFuture<Void> first = writer.write(user(1));
+            CompletableFuture<Void> second = writer.write(user(2));
+
+            // Then
+            CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+            assertThat(writer.getBufferedCount()).isZero();
+        }
+        assertThat(countRows(TABLE_NAME)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFlushRemainingEntitiesOnClose() throws SQLException {
+        // Given
+        CompletableFuture<Void> future;
+        try (BufferedBulkWriter<JpaUser> writer = BufferedBulkWriter.<JpaUser>builder(PostgresTestContainer.getDataSource())
+                .linger(Duration.ofHours(1))
+                .build()) {
+            future = writer.write(user(1));
+            assertThat(writer.getBufferedCount()).isEqualTo(1);
+
+            // When
+            writer.close();
+
+            // Then
+            assertThat(future).isCompleted();
+            assertThatThrownBy(() -> writer.write(user(2)).join())
+                .hasCauseInstanceOf(ExecutionException.class)
+                .hasMessageContaining("closed");
+        }
+        assertThat(countRows(TABLE_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWaitForPermitOfSharedLimiter() throws Exception {
+        // Given - the only permit is held by another user of the data source
+        Semaphore limiter = new Semaphore(1);
+        limiter.acquire();
+        try (BufferedBulkWriter<JpaUser> writer = BufferedBulkWriter.<JpaUser>builder(PostgresTestContainer.getDataSource())
+                .limiter(limiter)
+                .build()) {
+            // When
+            CompletableFuture<Void> future = writer.write(user(1));
+            writer.flush();
+
+            // Then - the COPY starts once the permit is released
+            Thread.sleep(200);
+            assertThat(future).isNotDone();
+            assertThat(countRows(TABLE_NAME)).isZero();
+
+            limiter.release();
+            future.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(countRows(TABLE_NAME)).isEqualTo(1);
+        assertThat(limiter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailAllWritesOfFailedCopy() {
+        // Given - a duplicate key within the batch
+        try (BufferedBulkWriter<JpaUser> writer = BufferedBulkWriter.<JpaUser>builder(PostgresTestContainer.getDataSource())
+                .build()) {
+            // When
+            CompletableFuture<Void> first = writer.write(user(1));
+            CompletableFuture<Void> duplicate = writer.write(user(1));
+            writer.flush().join();
+
+            // Then
+            assertThat(first).isCompletedExceptionally();
+            assertThatThrownBy(duplicate::join)
+                .hasCauseInstanceOf(ExecutionException.class)
+                .hasMessageContaining("users");
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidBatchSize() {
+        assertThatThrownBy(() -> BufferedBulkWriter.builder(PostgresTestContainer.getDataSource()).maxBatchSize(0).build())
+            .isInstanceOf(ConfigurationException.class)
+            .hasMessageContaining("maxBatchSize");
+    }
+
+    private static DataSource countingDataSource(AtomicInteger connections) {
+        DataSource target = PostgresTestContainer.getDataSource();
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("getConnection")) {
+                    connections.incrementAndGet();
+                }
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    private static JpaUser user(int id) {
+        return new JpaUser((long) id, "User " + id, "user" + id + "@example.com", id % 100, true);
+    }
+}
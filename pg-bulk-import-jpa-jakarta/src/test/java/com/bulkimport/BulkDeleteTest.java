@@ -0,0 +1,244 @@
+package com.bulkimport;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.exception.MappingException;
+import com.bulkimport.mapping.TableMapping;
+import com.bulkimport.mapping.jpa.JpaEntityMapper;
+import com.bulkimport.testutil.DatabaseIntegrationTest;
+import com.bulkimport.testutil.PostgresTestContainer;
+import com.bulkimport.testutil.TestEntities.JpaUser;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkDeleteTest extends DatabaseIntegrationTest {
+
+    private static final String TABLE_NAME = "users";
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        JpaEntityMapper.register();
+        PostgresTestContainer.createUsersTable();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("TRUNCATE TABLE users");
+            stmt.execute("""
+                INSERT INTO users (id, name, email, age, active) VALUES
+                (1, 'Alice', 'alice@example.com', 30, true),
+                (2, 'Bob', 'bob@example.com', 25, true),
+                (3, 'Charlie', 'charlie@example.com', 35, false),
+                (4, 'Diana', 'diana@example.com', 28, false)
+                """);
+        }
+    }
+
+    @Nested
+    class Delete {
+
+        @Test
+        void shouldDeleteRowsMatchingEntities() throws SQLException {
+            // Given - one of the keys does not exist
+            List<JpaUser> users = List.of(
+                new JpaUser(1L, "Alice", "alice@example.com", 30, true),
+                new JpaUser(3L, null, null, null, null),
+                new JpaUser(99L, "Nobody", "nobody@example.com", 1, true)
+            );
+
+            // When
+            ImportResult result = importer.deleteWithResult(JpaUser.class, users);
+
+            // Then
+            assertThat(result.getOperation()).isEqualTo(ImportResult.Operation.DELETE);
+            assertThat(result.getRowsDeleted()).isEqualTo(2);
+            assertThat(result.getRowsUnchanged()).isEqualTo(1);
+            assertThat(getIds()).containsExactly(2L, 4L);
+        }
+
+        @Test
+        void shouldDeleteFromStream() throws SQLException {
+            // Given
+            Stream<JpaUser> users = Stream.of(2L, 4L).map(id -> new JpaUser(id, null, null, null, null));
+
+            // When
+            int deleted = importer.delete(JpaUser.class, users);
+
+            // Then
+            assertThat(deleted).isEqualTo(2);
+            assertThat(getIds()).containsExactly(1L, 3L);
+        }
+
+        @Test
+        void shouldDeleteOnMatchColumns() throws SQLException {
+            // Given
+            BulkImportConfig config = BulkImportConfig.builder()
+                .matchColumns("email")
+                .build();
+            List<JpaUser> users = List.of(new JpaUser(null, null, "bob@example.com", null, null));
+
+            // When
+            int deleted = importer.withConfig(config).delete(JpaUser.class, users);
+
+            // Then
+            assertThat(deleted).isEqualTo(1);
+            assertThat(getIds()).containsExactly(1L, 3L, 4L);
+        }
+
+        @Test
+        void shouldDeleteLargeBatchThroughIndexedStaging() throws SQLException {
+            // Given - more keys than the staging index threshold
+            List<JpaUser> users = new ArrayList<>();
+            for (long id = 1; id <= 200; id++) {
+                users.add(new JpaUser(id, null, null, null, null));
+            }
+            BulkImportConfig config = BulkImportConfig.builder()
+                .stagingIndexThreshold(100)
+                .build();
+
+            // When
+            ImportResult result = importer.withConfig(config).deleteWithResult(JpaUser.class, users);
+
+            // Then
+            assertThat(result.getRowsDeleted()).isEqualTo(4);
+            assertThat(result.getRowsUnchanged()).isEqualTo(196);
+            assertThat(countRows(TABLE_NAME)).isZero();
+        }
+
+        @Test
+        void shouldReturnEmptyResultForEmptyList() throws SQLException {
+            // When
+            ImportResult result = importer.deleteWithResult(JpaUser.class, List.of());
+
+            // Then
+            assertThat(result.getRowsDeleted()).isZero();
+            assertThat(countRows(TABLE_NAME)).isEqualTo(4);
+        }
+
+        @Test
+        void shouldRejectUnmappedKeyColumn() {
+            // Given
+            TableMapping<JpaUser> mapping = TableMapping.<JpaUser>builder(TABLE_NAME)
+                .column("id", JpaUser::getId)
+                .build();
+
+            // When / Then
+            assertThatThrownBy(() -> mapping.withColumns(List.of("email")))
+                .isInstanceOf(MappingException.class)
+                .hasMessageContaining("email");
+        }
+    }
+
+    @Nested
+    class Synchronize {
+
+        @Test
+        void shouldInsertUpdateAndDeleteMissingRows() throws SQLException {
+            // Given - Alice changed, Bob unchanged, Eve new, Charlie and Diana missing
+            List<JpaUser> snapshot = List.of(
+                new JpaUser(1L, "Alice Updated", "alice@example.com", 31, true),
+                new JpaUser(2L, "Bob", "bob@example.com", 25, true),
+                new JpaUser(5L, "Eve", "eve@example.com", 22, true)
+            );
+
+            // When
+            ImportResult result = importer.withConfig(updateAllConfig().build())
+                .synchronize(JpaUser.class, snapshot);
+
+            // Then
+            assertThat(result.getOperation()).isEqualTo(ImportResult.Operation.SYNCHRONIZE);
+            assertThat(result.getRowsInserted()).isEqualTo(1);
+            assertThat(result.getRowsUpdated()).isEqualTo(2);
+            assertThat(result.getRowsDeleted()).isEqualTo(2);
+            assertThat(getIds()).containsExactly(1L, 2L, 5L);
+            assertThat(getString(TABLE_NAME, "name", "id", 1L)).isEqualTo("Alice Updated");
+        }
+
+        @Test
+        void shouldOnlyDeleteRowsInScope() throws SQLException {
+            // Given - a snapshot of the active users only
+            List<JpaUser> snapshot = List.of(new JpaUser(1L, "Alice", "alice@example.com", 30, true));
+            BulkImportConfig config = updateAllConfig()
+                .synchronizeScope("t.active")
+                .build();
+
+            // When
+            ImportResult result = importer.withConfig(config).synchronize(JpaUser.class, snapshot);
+
+            // Then - Bob is deleted, the inactive users are out of scope
+            assertThat(result.getRowsDeleted()).isEqualTo(1);
+            assertThat(getIds()).containsExactly(1L, 3L, 4L);
+        }
+
+        @Test
+        void shouldDeleteAllRowsInScopeForEmptySnapshot() throws SQLException {
+            // Given
+            BulkImportConfig config = updateAllConfig()
+                .synchronizeScope("NOT t.active")
+                .build();
+
+            // When
+            ImportResult result = importer.withConfig(config).synchronize(JpaUser.class, List.of());
+
+            // Then
+            assertThat(result.getRowsDeleted()).isEqualTo(2);
+            assertThat(getIds()).containsExactly(1L, 2L);
+        }
+
+        @Test
+        void shouldRollBackUpsertWhenDeleteFails() throws SQLException {
+            // Given - the scope references a column that does not exist
+            List<JpaUser> snapshot = List.of(new JpaUser(5L, "Eve", "eve@example.com", 22, true));
+            BulkImportConfig config = updateAllConfig()
+                .synchronizeScope("t.missing_column = 1")
+                .build();
+
+            // When / Then
+            assertThatThrownBy(() -> importer.withConfig(config).synchronize(JpaUser.class, snapshot))
+                .isInstanceOf(ExecutionException.class);
+            assertThat(getIds()).containsExactly(1L, 2L, 3L, 4L);
+            assertThat(connection.getAutoCommit()).isTrue();
+        }
+
+        @Test
+        void shouldRejectFailConflictStrategy() {
+            // When / Then
+            assertThatThrownBy(() -> importer.synchronize(JpaUser.class, List.of()))
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("conflictStrategy");
+        }
+
+        private BulkImportConfig.Builder updateAllConfig() {
+            return BulkImportConfig.builder()
+                .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+                .conflictColumns("id");
+        }
+    }
+
+    private List<Long> getIds() throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id FROM users ORDER BY id")) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+}
@@ -1,7 +1,10 @@
 package com.bulkimport;
 
 import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.ImportCheckpoint;
 import com.bulkimport.config.NullHandling;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
 import com.bulkimport.mapping.TableMapping;
 import com.bulkimport.mapping.jpa.JpaEntityMapper;
 import com.bulkimport.testutil.DatabaseIntegrationTest;
@@ -12,6 +15,7 @@ import com.bulkimport.testutil.TestEntities.SimpleUser;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
@@ -19,7 +23,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
+import static com.bulkimport.testutil.TestEntities.createUsers;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class BulkInsertTest extends DatabaseIntegrationTest {
 
@@ -193,6 +199,101 @@ class BulkInsertTest extends DatabaseIntegrationTest {
         assertThat(getUserEmail(1L)).isNull();
     }
 
+    @Test
+    void shouldReportInsertResult() throws SQLException {
+        // Given
+        List<JpaUser> users = new ArrayList<>();
+        IntStream.rangeClosed(1, 100).forEach(i ->
+            users.add(new JpaUser((long) i, "User " + i, "user" + i + "@example.com", i, true)));
+
+        // When
+        ImportResult result = importer.insertWithResult(JpaUser.class, users.stream());
+
+        // Then
+        assertThat(result.getOperation()).isEqualTo(ImportResult.Operation.INSERT);
+        assertThat(result.getTableName()).isEqualTo(TABLE_NAME);
+        assertThat(result.getRowsInserted()).isEqualTo(100);
+        assertThat(result.getRowsUpdated()).isZero();
+        assertThat(result.getBytesSent()).isGreaterThan(100 * "User 1,user1@example.com".length());
+        assertThat(result.getCopyTime()).isPositive();
+        assertThat(result.getStagingTime()).isZero();
+        assertThat(countRows(TABLE_NAME)).isEqualTo(100);
+    }
+
+    @Nested
+    class ChunkedCommit {
+
+        @Test
+        void shouldCommitEveryRowsAndReportCheckpoints() throws SQLException {
+            // Given
+            List<ImportCheckpoint> checkpoints = new ArrayList<>();
+            BulkImporter chunkedImporter = BulkImporter.create(connection).withConfig(BulkImportConfig.builder()
+                .commitEveryRows(1_000)
+                .checkpointListener(checkpoints::add)
+                .build());
+
+            // When
+            int inserted = chunkedImporter.insert(JpaUser.class, createUsers(1, 2_500).stream());
+
+            // Then
+            assertThat(inserted).isEqualTo(2_500);
+            assertThat(countRows(TABLE_NAME)).isEqualTo(2_500);
+            assertThat(checkpoints).extracting(ImportCheckpoint::getRowsCommitted).containsExactly(1_000L, 2_000L, 2_500L);
+            assertThat(checkpoints).extracting(ImportCheckpoint::getChunkNumber).containsExactly(1, 2, 3);
+            assertThat(checkpoints.get(2).getLastKey()).containsExactly(2_500L);
+            assertThat(checkpoints.get(2).getBytesCommitted()).isPositive();
+        }
+
+        @Test
+        void shouldKeepCommittedChunksOnFailureAndResume() throws SQLException {
+            // Given - row 1500 repeats the key of row 1
+            connection.setAutoCommit(false);
+            List<JpaUser> broken = createUsers(1, 2_500);
+            broken.set(1_499, new JpaUser(1L, "Duplicate", "dup@example.com", 1, true));
+            BulkImportConfig config = BulkImportConfig.builder().commitEveryRows(1_000).build();
+
+            // When
+            assertThatThrownBy(() -> BulkImporter.create(connection).withConfig(config).insert(JpaUser.class, broken))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("after 1000 committed rows");
+            int resumed = BulkImporter.create(connection)
+                .withConfig(BulkImportConfig.builder().commitEveryRows(1_000).resumeFromRow(1_000).build())
+                .insert(JpaUser.class, createUsers(1, 2_500));
+            connection.commit();
+
+            // Then
+            assertThat(resumed).isEqualTo(1_500);
+            assertThat(countRows(TABLE_NAME)).isEqualTo(2_500);
+        }
+
+        @Test
+        void shouldRejectResumeWithoutChunkedCommit() {
+            // When / Then - without chunks the skip would not apply and all rows would load again
+            assertThatThrownBy(() -> BulkImportConfig.builder().resumeFromRow(1_000).build())
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("resumeFromRow");
+        }
+
+        @Test
+        void shouldCommitEveryBytes() throws SQLException {
+            // Given
+            List<ImportCheckpoint> checkpoints = new ArrayList<>();
+            BulkImporter chunkedImporter = BulkImporter.create(connection).withConfig(BulkImportConfig.builder()
+                .commitEveryBytes(1)
+                .checkpointListener(checkpoints::add)
+                .build());
+
+            // When
+            int inserted = chunkedImporter.insert(JpaUser.class, createUsers(1, 20_000));
+
+            // Then - each chunk ends after the first buffer sent
+            assertThat(inserted).isEqualTo(20_000);
+            assertThat(countRows(TABLE_NAME)).isEqualTo(20_000);
+            assertThat(checkpoints).hasSizeGreaterThan(1);
+            assertThat(checkpoints.get(checkpoints.size() - 1).getRowsCommitted()).isEqualTo(20_000L);
+        }
+    }
+
     private String getUserName(Long id) throws SQLException {
         return getString(TABLE_NAME, "name", "id", id);
     }
@@ -0,0 +1,358 @@
+package com.bulkimport;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.mapping.TableMapping;
+import com.bulkimport.mapping.jpa.JpaEntityMapper;
+import com.bulkimport.testutil.DatabaseIntegrationTest;
+import com.bulkimport.testutil.PostgresTestContainer;
+import com.bulkimport.testutil.TestEntities.JpaUser;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkReturningTest extends DatabaseIntegrationTest {
+
+    private static final TableMapping<Order> ORDER_MAPPING = TableMapping.<Order>builder("orders")
+        .id("id", order -> order.id)
+        .column("customer", order -> order.customer)
+        .build();
+
+    private static final TableMapping<Account> ACCOUNT_MAPPING = TableMapping.<Account>builder("accounts")
+        .id("id", account -> account.id)
+        .column("email", account -> account.email)
+        .column("name", account -> account.name)
+        .build();
+
+    private static final TableMapping<OrderLine> LINE_MAPPING = TableMapping.<OrderLine>builder("order_lines")
+        .column("order_id", line -> line.order.id)
+        .column("product", line -> line.product)
+        .build();
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        JpaEntityMapper.register();
+        PostgresTestContainer.createUsersTable();
+        PostgresTestContainer.executeSql(
+            "DROP TABLE IF EXISTS order_lines",
+            "DROP TABLE IF EXISTS orders",
+            "DROP TABLE IF EXISTS accounts",
+            """
+            CREATE TABLE accounts (
+                id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                email VARCHAR(255) NOT NULL UNIQUE,
+                name VARCHAR(255)
+            )
+            """,
+            """
+            CREATE TABLE orders (
+                id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                customer VARCHAR(255) NOT NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+            """,
+            """
+            CREATE TABLE order_lines (
+                id SERIAL PRIMARY KEY,
+                order_id BIGINT NOT NULL REFERENCES orders (id),
+                product VARCHAR(255) NOT NULL
+            )
+            """
+        );
+    }
+
+    @AfterAll
+    static void tearDownDatabase() throws SQLException {
+        PostgresTestContainer.executeSql("DROP TABLE IF EXISTS order_lines", "DROP TABLE IF EXISTS orders",
+            "DROP TABLE IF EXISTS accounts");
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("TRUNCATE TABLE order_lines, orders, accounts RESTART IDENTITY");
+            stmt.execute("TRUNCATE TABLE users");
+        }
+    }
+
+    @Nested
+    class InsertReturning {
+
+        @Test
+        void shouldReturnGeneratedKeysForEachEntity() throws SQLException {
+            // Given
+            List<Order> orders = List.of(new Order("alice"), new Order("bob"), new Order("carol"));
+
+            // When
+            List<ReturnedRow> rows = new ArrayList<>();
+            ImportResult result = importer.insertReturning(ORDER_MAPPING, orders, List.of("id", "created_at"),
+                (order, row) -> {
+                    order.id = row.getLong("id");
+                    rows.add(row);
+                });
+
+            // Then - each entity received the key of its own row
+            assertThat(result.getRowsInserted()).isEqualTo(3);
+            assertThat(orders).extracting(order -> order.id).doesNotContainNull().doesNotHaveDuplicates();
+            for (Order order : orders) {
+                assertThat(getString("orders", "customer", "id", order.id)).isEqualTo(order.customer);
+            }
+            assertThat(rows).extracting(ReturnedRow::getIndex).containsExactly(0, 1, 2);
+            assertThat(rows).allSatisfy(row -> {
+                assertThat(row.isInserted()).isTrue();
+                assertThat(row.get("created_at")).isNotNull();
+            });
+        }
+
+        @Test
+        void shouldLoadParentChildGraphInTwoPasses() throws SQLException {
+            // Given
+            List<Order> orders = new ArrayList<>();
+            List<OrderLine> lines = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                Order order = new Order("customer-" + i);
+                orders.add(order);
+                lines.add(new OrderLine(order, "product-" + i + "-a"));
+                lines.add(new OrderLine(order, "product-" + i + "-b"));
+            }
+
+            // When - the parents get their keys before the children are copied
+            importer.insertReturning(ORDER_MAPPING, orders, List.of("id"),
+                (order, row) -> order.id = row.getLong("id"));
+            int insertedLines = importer.insert(LINE_MAPPING, lines);
+
+            // Then
+            assertThat(insertedLines).isEqualTo(1000);
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("""
+                     SELECT count(*) FROM order_lines l JOIN orders o ON o.id = l.order_id
+                     WHERE l.product LIKE replace(o.customer, 'customer', 'product') || '-%'
+                     """)) {
+                rs.next();
+                assertThat(rs.getLong(1)).isEqualTo(1000);
+            }
+        }
+
+        @Test
+        void shouldRollBackInsertWhenHandlerFails() throws SQLException {
+            // Given
+            List<Order> orders = List.of(new Order("alice"), new Order("bob"));
+
+            // When / Then
+            assertThatThrownBy(() -> importer.insertReturning(ORDER_MAPPING, orders, List.of("id"), (order, row) -> {
+                throw new IllegalStateException("handler failed");
+            })).hasMessageContaining("handler failed");
+            assertThat(countRows("orders")).isZero();
+            assertThat(connection.getAutoCommit()).isTrue();
+        }
+
+        @Test
+        void shouldRejectRowsSkippedByTrigger() throws SQLException {
+            // Given - a trigger silently drops one of the rows
+            PostgresTestContainer.executeSql(
+                """
+                CREATE FUNCTION skip_bob() RETURNS trigger AS $$
+                BEGIN
+                    IF NEW.customer = 'bob' THEN RETURN NULL; END IF;
+                    RETURN NEW;
+                END $$ LANGUAGE plpgsql
+                """,
+                "CREATE TRIGGER skip_bob BEFORE INSERT ON orders FOR EACH ROW EXECUTE FUNCTION skip_bob()");
+            List<Order> orders = List.of(new Order("alice"), new Order("bob"), new Order("carol"));
+
+            try {
+                if (connection.getMetaData().getDatabaseMajorVersion() >= 17) {
+                    // When
+                    List<ReturnedRow> rows = new ArrayList<>();
+                    ImportResult result = importer.insertReturning(ORDER_MAPPING, orders, List.of("id"),
+                        (order, row) -> rows.add(row));
+
+                    // Then - MERGE returns the ordinal of each row, so the others still match
+                    assertThat(result.getRowsInserted()).isEqualTo(2);
+                    assertThat(rows).extracting(ReturnedRow::getIndex).containsExactly(0, 2);
+                } else {
+                    // When / Then - the rows cannot be matched and the insert is rolled back
+                    assertThatThrownBy(() -> importer.insertReturning(ORDER_MAPPING, orders, List.of("id"),
+                        (order, row) -> { }))
+                        .isInstanceOf(ExecutionException.class)
+                        .hasMessageContaining("returned 2 rows for 3 staged rows");
+                    assertThat(countRows("orders")).isZero();
+                }
+            } finally {
+                PostgresTestContainer.executeSql("DROP TRIGGER skip_bob ON orders", "DROP FUNCTION skip_bob()");
+            }
+        }
+
+        @Test
+        void shouldRejectEmptyReturningColumns() {
+            // When / Then
+            assertThatThrownBy(() -> importer.insertReturning(ORDER_MAPPING, List.of(new Order("alice")),
+                List.of(), (order, row) -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class UpsertReturning {
+
+        @Test
+        void shouldReturnInsertedAndUpdatedRows() throws SQLException {
+            // Given
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("INSERT INTO users (id, name, email, age) VALUES (2, 'Bob', 'bob@example.com', 25)");
+            }
+            List<JpaUser> users = List.of(
+                new JpaUser(1L, "Alice", "alice@example.com", 30, true),
+                new JpaUser(2L, "Bob Updated", "bob@example.com", 26, true),
+                new JpaUser(3L, "Charlie", "charlie@example.com", 35, false)
+            );
+            BulkImportConfig config = BulkImportConfig.builder()
+                .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+                .conflictColumns("id")
+                .build();
+
+            // When
+            Map<Long, ReturnedRow> rows = new HashMap<>();
+            ImportResult result = importer.withConfig(config).upsertReturning(JpaUser.class, users,
+                List.of("id"), (user, row) -> rows.put(user.getId(), row));
+
+            // Then
+            assertThat(result.getRowsInserted()).isEqualTo(2);
+            assertThat(result.getRowsUpdated()).isEqualTo(1);
+            assertThat(rows).containsOnlyKeys(1L, 2L, 3L);
+            assertThat(rows.get(2L).isInserted()).isFalse();
+            assertThat(rows.get(2L).getLong("id")).isEqualTo(2L);
+            assertThat(getString("users", "name", "id", 2L)).isEqualTo("Bob Updated");
+            assertThat(rows.get(3L).isInserted()).isTrue();
+            assertThat(rows.get(3L).getIndex()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldReturnGeneratedKeysWhenUpsertingOnNaturalKey() throws SQLException {
+            // Given
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("INSERT INTO accounts (email, name) VALUES ('bob@example.com', 'Bob')");
+            }
+            List<Account> accounts = List.of(
+                new Account("alice@example.com", "Alice"),
+                new Account("bob@example.com", "Bob Updated")
+            );
+            BulkImportConfig config = BulkImportConfig.builder()
+                .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+                .conflictColumns("email")
+                .build();
+
+            // When
+            Map<String, ReturnedRow> rows = new HashMap<>();
+            ImportResult result = importer.withConfig(config).upsertReturning(ACCOUNT_MAPPING, accounts,
+                List.of("id"), (account, row) -> {
+                    account.id = row.getLong("id");
+                    rows.put(account.email, row);
+                });
+
+            // Then - the existing account keeps its key, the new one gets a generated key
+            assertThat(result.getRowsInserted()).isEqualTo(1);
+            assertThat(result.getRowsUpdated()).isEqualTo(1);
+            assertThat(accounts.get(1).id).isEqualTo(1L);
+            assertThat(accounts.get(0).id).isEqualTo(2L);
+            assertThat(rows.get("alice@example.com").isInserted()).isTrue();
+            assertThat(rows.get("bob@example.com").isInserted()).isFalse();
+            assertThat(getString("accounts", "name", "id", 1L)).isEqualTo("Bob Updated");
+        }
+
+        @Test
+        void shouldRejectEntitiesSharingConflictKeys() throws SQLException {
+            // Given - DO_NOTHING would insert one row and return it for both entities
+            List<Account> accounts = List.of(
+                new Account("alice@example.com", "Alice"),
+                new Account("alice@example.com", "Alice Again")
+            );
+            BulkImportConfig config = BulkImportConfig.builder()
+                .conflictStrategy(ConflictStrategy.DO_NOTHING)
+                .conflictColumns("email")
+                .build();
+
+            // When/Then
+            assertThatThrownBy(() -> importer.withConfig(config).upsertReturning(ACCOUNT_MAPPING, accounts,
+                List.of("id"), (account, row) -> account.id = row.getLong("id")))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("email");
+            assertThat(countRows("accounts")).isZero();
+        }
+
+        @Test
+        void shouldOnlyReturnChangedRowsWithUpdateIfChanged() throws SQLException {
+            // Given
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("""
+                    INSERT INTO users (id, name, email, age, active) VALUES
+                    (1, 'Alice', 'alice@example.com', 30, true),
+                    (2, 'Bob', 'bob@example.com', 25, true)
+                    """);
+            }
+            List<JpaUser> users = List.of(
+                new JpaUser(1L, "Alice", "alice@example.com", 30, true),
+                new JpaUser(2L, "Bob Updated", "bob@example.com", 25, true)
+            );
+            BulkImportConfig config = BulkImportConfig.builder()
+                .conflictStrategy(ConflictStrategy.UPDATE_IF_CHANGED)
+                .conflictColumns("id")
+                .updateColumns("name", "email", "age", "active")
+                .build();
+
+            // When
+            List<JpaUser> returned = new ArrayList<>();
+            ImportResult result = importer.withConfig(config).upsertReturning(JpaUser.class, users,
+                List.of("id"), (user, row) -> returned.add(user));
+
+            // Then
+            assertThat(result.getRowsUpdated()).isEqualTo(1);
+            assertThat(returned).extracting(JpaUser::getId).containsExactly(2L);
+        }
+    }
+
+    static class Order {
+        Long id;
+        final String customer;
+
+        Order(String customer) {
+            this.customer = customer;
+        }
+    }
+
+    static class Account {
+        Long id;
+        final String email;
+        final String name;
+
+        Account(String email, String name) {
+            this.email = email;
+            this.name = name;
+        }
+    }
+
+    static class OrderLine {
+        final Order order;
+        final String product;
+
+        OrderLine(Order order, String product) {
+            this.order = order;
+            this.product = product;
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.bulkimport;
 
 import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.config.MergeMode;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.instrumentation.ImportInstrumentation;
+import com.bulkimport.instrumentation.ImportPhase;
+import com.bulkimport.mapping.TableMapping;
 import com.bulkimport.mapping.jpa.JpaEntityMapper;
 import com.bulkimport.testutil.DatabaseIntegrationTest;
 import com.bulkimport.testutil.PostgresTestContainer;
@@ -10,11 +16,16 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class BulkUpdateTest extends DatabaseIntegrationTest {
 
@@ -58,6 +69,143 @@ class BulkUpdateTest extends DatabaseIntegrationTest {
         assertThat(getUserName(3L)).isEqualTo("Charlie"); // Unchanged
     }
 
+    @Test
+    void shouldReportUpdateResult() {
+        // Given - one of the rows does not exist
+        List<JpaUser> users = List.of(
+            new JpaUser(1L, "Alice Updated", "alice.new@example.com", 31, true),
+            new JpaUser(99L, "Nobody", "nobody@example.com", 1, true)
+        );
+
+        // When
+        ImportResult result = importer.updateWithResult(JpaUser.class, users);
+
+        // Then
+        assertThat(result.getOperation()).isEqualTo(ImportResult.Operation.UPDATE);
+        assertThat(result.getRowsUpdated()).isEqualTo(1);
+        assertThat(result.getRowsInserted()).isZero();
+        assertThat(result.getStagingTime()).isPositive();
+        assertThat(result.getApplyTime()).isPositive();
+        assertThat(result.getCleanupTime()).isPositive();
+    }
+
+    @Test
+    void shouldReportPhasesToInstrumentation() {
+        // Given
+        List<String> events = new ArrayList<>();
+        BulkImporter instrumentedImporter = BulkImporter.create(connection)
+            .withInstrumentation(new ImportInstrumentation() {
+                @Override
+                public void onStart(ImportResult.Operation operation, String tableName, ConflictStrategy strategy) {
+                    events.add("start " + operation + " " + tableName + " " + strategy);
+                }
+
+                @Override
+                public void onPhaseStart(ImportResult.Operation operation, String tableName, ImportPhase phase) {
+                    events.add("begin " + phase);
+                }
+
+                @Override
+                public void onPhaseEnd(ImportResult.Operation operation, String tableName, ImportPhase phase,
+                                       Duration elapsed, Throwable error) {
+                    events.add("end " + phase + (error != null ? " failed" : ""));
+                }
+
+                @Override
+                public void onSuccess(ImportResult result) {
+                    events.add("success " + result.getRowsUpdated());
+                }
+            });
+
+        // When
+        instrumentedImporter.update(JpaUser.class,
+            List.of(new JpaUser(1L, "Alice Updated", "alice.new@example.com", 31, true)));
+
+        // Then
+        assertThat(events).containsExactly(
+            "start UPDATE users null",
+            "begin STAGING", "end STAGING",
+            "begin COPY", "end COPY",
+            "begin INDEX", "end INDEX",
+            "begin APPLY", "end APPLY",
+            "begin CLEANUP", "end CLEANUP",
+            "success 1");
+    }
+
+    @Test
+    void shouldUpdateOnlyChangedRowsWithMerge() throws SQLException {
+        // Given - created_at is left null on both sides
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("UPDATE users SET created_at = NULL");
+        }
+        BulkImporter mergeImporter = BulkImporter.create(connection)
+            .withConfig(BulkImportConfig.builder().mergeMode(MergeMode.AUTO).build());
+        List<JpaUser> users = List.of(
+            new JpaUser(1L, "Alice", "alice@example.com", 30, true), // Unchanged
+            new JpaUser(2L, "Bob Updated", "bob@example.com", 25, true) // Changed
+        );
+
+        users.forEach(user -> user.setCreatedAt(null));
+
+        // When
+        ImportResult result = mergeImporter.updateWithResult(JpaUser.class, users);
+
+        // Then
+        assertThat(result.getRowsUpdated()).isEqualTo(1);
+        assertThat(getUserName(2L)).isEqualTo("Bob Updated");
+    }
+
+    @Test
+    void shouldCountUpdatedAndDeletedRowsOfMergeInCallerTransaction() throws SQLException {
+        // Given
+        connection.setAutoCommit(false);
+        BulkImporter mergeImporter = BulkImporter.create(connection).withConfig(BulkImportConfig.builder()
+            .mergeMode(MergeMode.AUTO)
+            .deleteCondition("NOT s.active")
+            .build());
+        List<JpaUser> users = List.of(
+            new JpaUser(1L, "Alice", "alice@example.com", 30, false), // Deleted
+            new JpaUser(2L, "Bob Updated", "bob@example.com", 25, true) // Updated
+        );
+
+        // When
+        ImportResult result = mergeImporter.updateWithResult(JpaUser.class, users);
+        connection.rollback();
+
+        // Then - the rollback undid the MERGE, so it ran in the caller's transaction
+        assertThat(result.getRowsUpdated()).isEqualTo(1);
+        assertThat(result.getRowsDeleted()).isEqualTo(1);
+        assertThat(getUserName(1L)).isEqualTo("Alice");
+        assertThat(getUserName(2L)).isEqualTo("Bob");
+    }
+
+    @Test
+    void shouldSkipUnchangedRowsWithUpdateIfChanged() throws SQLException {
+        // Given - created_at is left null on both sides
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("UPDATE users SET created_at = NULL");
+        }
+        BulkImporter changedOnlyImporter = BulkImporter.create(connection).withConfig(BulkImportConfig.builder()
+            .conflictStrategy(ConflictStrategy.UPDATE_IF_CHANGED)
+            .conflictColumns("id")
+            .build());
+        List<JpaUser> users = List.of(
+            new JpaUser(1L, "Alice", "alice@example.com", 30, true), // Unchanged
+            new JpaUser(2L, "Bob Updated", "bob@example.com", 25, true), // Changed
+            new JpaUser(99L, "Nobody", "nobody@example.com", 50, true) // No match
+        );
+
+        users.forEach(user -> user.setCreatedAt(null));
+
+        // When
+        ImportResult result = changedOnlyImporter.updateWithResult(JpaUser.class, users);
+
+        // Then
+        assertThat(result.getRowsUpdated()).isEqualTo(1);
+        assertThat(result.getRowsUnchanged()).isEqualTo(2);
+        assertThat(getUserName(2L)).isEqualTo("Bob Updated");
+    }
+
     @Test
     void shouldUpdateWithSpecificMatchColumns() throws SQLException {
         // Given - Update by email instead of ID
@@ -132,6 +280,199 @@ class BulkUpdateTest extends DatabaseIntegrationTest {
         assertThat(updated).isEqualTo(0);
     }
 
+    @Test
+    void shouldReuseStagingTableAcrossUpdates() throws SQLException {
+        // Given
+        BulkImporter reusingImporter = BulkImporter.create(connection)
+            .withConfig(BulkImportConfig.builder().reuseStagingTables(true).build());
+
+        // When
+        int first = reusingImporter.update(JpaUser.class,
+            List.of(new JpaUser(1L, "Alice 1", "alice@example.com", 31, true)));
+        int second = reusingImporter.update(JpaUser.class,
+            List.of(new JpaUser(2L, "Bob 2", "bob@example.com", 26, true)));
+
+        // Then - one staging table, emptied before the second update
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(getUserName(1L)).isEqualTo("Alice 1");
+        assertThat(getUserName(2L)).isEqualTo("Bob 2");
+        assertThat(countStagingTables()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecreateReusedStagingTableAfterRollback() throws SQLException {
+        // Given - the staging table is created in a transaction that is rolled back
+        BulkImporter reusingImporter = BulkImporter.create(connection)
+            .withConfig(BulkImportConfig.builder().reuseStagingTables(true).build());
+        connection.setAutoCommit(false);
+        reusingImporter.update(JpaUser.class, List.of(new JpaUser(1L, "Rolled Back", "a@example.com", 1, true)));
+        connection.rollback();
+
+        // When
+        int updated = reusingImporter.update(JpaUser.class,
+            List.of(new JpaUser(3L, "Charlie Updated", "charlie@example.com", 36, true)));
+        connection.commit();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(getUserName(1L)).isEqualTo("Alice");
+        assertThat(getUserName(3L)).isEqualTo("Charlie Updated");
+        assertThat(countStagingTables()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIndexAndAnalyzeStagingTablesFromThreshold() throws SQLException {
+        // Given - the staging table is kept to inspect it
+        String workMem = showMaintenanceWorkMem();
+        BulkImporter preparingImporter = BulkImporter.create(connection).withConfig(BulkImportConfig.builder()
+            .stagingIndexThreshold(2)
+            .stagingMaintenanceWorkMem("128MB")
+            .autoCleanupStaging(false)
+            .build());
+
+        // When
+        preparingImporter.update(JpaUser.class, List.of(
+            new JpaUser(1L, "Alice Updated", "alice@example.com", 31, true),
+            new JpaUser(2L, "Bob Updated", "bob@example.com", 26, true)));
+
+        // Then - analyzed, indexed, and maintenance_work_mem restored
+        assertThat(getStagingTableStats()).containsExactly(2.0, 1.0);
+        assertThat(showMaintenanceWorkMem()).isEqualTo(workMem);
+    }
+
+    @Test
+    void shouldSkipIndexAndAnalyzeBelowThreshold() throws SQLException {
+        // Given
+        BulkImporter preparingImporter = BulkImporter.create(connection).withConfig(BulkImportConfig.builder()
+            .stagingIndexThreshold(3)
+            .autoCleanupStaging(false)
+            .build());
+
+        // When
+        preparingImporter.update(JpaUser.class, List.of(
+            new JpaUser(1L, "Alice Updated", "alice@example.com", 31, true),
+            new JpaUser(2L, "Bob Updated", "bob@example.com", 26, true)));
+
+        // Then - reltuples is -1 for tables never analyzed
+        assertThat(getStagingTableStats()).containsExactly(-1.0, 0.0);
+        assertThat(getUserName(2L)).isEqualTo("Bob Updated");
+    }
+
+    @Test
+    void shouldRejectNegativeStagingIndexThreshold() {
+        assertThatThrownBy(() -> BulkImportConfig.builder().stagingIndexThreshold(-1).build())
+            .isInstanceOf(ConfigurationException.class)
+            .hasMessageContaining("stagingIndexThreshold");
+    }
+
+    @Test
+    void shouldUpdateWithPartialMappingOfConstrainedColumns() throws SQLException {
+        // Given - unmapped NOT NULL columns and a domain column with NOT NULL and CHECK constraints
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS scores");
+            stmt.execute("DROP DOMAIN IF EXISTS positive_score");
+            stmt.execute("CREATE DOMAIN positive_score AS NUMERIC(6,2) NOT NULL CHECK (VALUE > 0)");
+            stmt.execute("""
+                CREATE TABLE scores (
+                    id BIGINT PRIMARY KEY,
+                    player TEXT NOT NULL,
+                    score positive_score,
+                    note TEXT NOT NULL DEFAULT ''
+                )
+                """);
+            stmt.execute("INSERT INTO scores (id, player, score) VALUES (1, 'Ann', 10), (2, 'Ben', 20)");
+        }
+        TableMapping<long[]> mapping = TableMapping.<long[]>builder("scores")
+            .id("id", row -> row[0])
+            .column("score", row -> BigDecimal.valueOf(row[1], 2))
+            .build();
+
+        // When
+        int updated = importer.update(mapping, List.of(new long[]{1, 1234}, new long[]{2, 5}));
+
+        // Then
+        assertThat(updated).isEqualTo(2);
+        assertThat(getString("scores", "score", "id", 1L)).isEqualTo("12.34");
+        assertThat(getString("scores", "player", "id", 2L)).isEqualTo("Ben");
+    }
+
+    @Test
+    void shouldResolveColumnTypesThroughSearchPathOfEachConnection() throws SQLException {
+        // Given - one table name in two schemas, with different column types
+        try (Statement stmt = connection.createStatement()) {
+            for (String schema : List.of("tenant_a", "tenant_b")) {
+                stmt.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+                stmt.execute("CREATE SCHEMA " + schema);
+            }
+            stmt.execute("CREATE TABLE tenant_a.items (id BIGINT PRIMARY KEY, label INTEGER)");
+            stmt.execute("CREATE TABLE tenant_b.items (id BIGINT PRIMARY KEY, label TEXT)");
+            stmt.execute("INSERT INTO tenant_a.items VALUES (1, 0)");
+            stmt.execute("INSERT INTO tenant_b.items VALUES (1, '')");
+        }
+        TableMapping<String[]> mapping = TableMapping.<String[]>builder("items")
+            .id("id", row -> Long.parseLong(row[0]))
+            .column("label", row -> row[1])
+            .build();
+
+        try {
+            // When - the same connection switches tenants between updates
+            setSearchPath("tenant_a");
+            importer.update(mapping, List.<String[]>of(new String[]{"1", "7"}));
+            setSearchPath("tenant_b");
+            importer.update(mapping, List.<String[]>of(new String[]{"1", "seven"}));
+
+            // Then - the second staging table has tenant_b's text column
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(
+                     "SELECT a.label, b.label FROM tenant_a.items a JOIN tenant_b.items b USING (id)")) {
+                rs.next();
+                assertThat(rs.getInt(1)).isEqualTo(7);
+                assertThat(rs.getString(2)).isEqualTo("seven");
+            }
+        } finally {
+            setSearchPath("public");
+        }
+    }
+
+    private void setSearchPath(String schema) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("SET search_path TO " + schema);
+        }
+    }
+
+    private long countStagingTables() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT count(*) FROM pg_class WHERE relnamespace = pg_my_temp_schema() AND relkind = 'r' " +
+                 "AND relname LIKE 'bulk\\_staging\\_users\\_%'")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Returns reltuples and the index count of the only staging table.
+     */
+    private List<Double> getStagingTableStats() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT c.reltuples, (SELECT count(*) FROM pg_index i WHERE i.indrelid = c.oid) FROM pg_class c " +
+                 "WHERE c.relnamespace = pg_my_temp_schema() AND c.relkind = 'r' " +
+                 "AND c.relname LIKE 'bulk\\_staging\\_users\\_%'")) {
+            rs.next();
+            return List.of(rs.getDouble(1), rs.getDouble(2));
+        }
+    }
+
+    private String showMaintenanceWorkMem() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SHOW maintenance_work_mem")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
     private String getUserName(Long id) throws SQLException {
         return getString(TABLE_NAME, "name", "id", id);
     }
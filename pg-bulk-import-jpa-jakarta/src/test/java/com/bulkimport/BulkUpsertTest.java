@@ -2,6 +2,8 @@ package com.bulkimport;
 
 import com.bulkimport.config.BulkImportConfig;
 import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.config.MergeMode;
+import com.bulkimport.exception.ConfigurationException;
 import com.bulkimport.mapping.jpa.JpaEntityMapper;
 import com.bulkimport.testutil.DatabaseIntegrationTest;
 import com.bulkimport.testutil.PostgresTestContainer;
@@ -9,13 +11,16 @@ import com.bulkimport.testutil.TestEntities.JpaUser;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class BulkUpsertTest extends DatabaseIntegrationTest {
 
@@ -168,6 +173,32 @@ class BulkUpsertTest extends DatabaseIntegrationTest {
         assertThat(countRows(TABLE_NAME)).isEqualTo(4);
     }
 
+    @Test
+    void shouldReuseStagingTableAcrossUpserts() throws SQLException {
+        // Given
+        BulkImportConfig config = BulkImportConfig.builder()
+            .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+            .conflictColumns("id")
+            .reuseStagingTables(true)
+            .build();
+
+        BulkImporter upsertImporter = BulkImporter.create(connection)
+            .withConfig(config);
+
+        // When - rows of the first upsert must not be applied again by the second
+        int first = upsertImporter.upsert(JpaUser.class,
+            List.of(new JpaUser(3L, "Charlie", "charlie@example.com", 35, false)));
+        int second = upsertImporter.upsert(JpaUser.class,
+            List.of(new JpaUser(1L, "Alice Updated", "alice.new@example.com", 31, false)));
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(countRows(TABLE_NAME)).isEqualTo(3);
+        assertThat(getUserName(1L)).isEqualTo("Alice Updated");
+        assertThat(getUserName(3L)).isEqualTo("Charlie");
+    }
+
     @Test
     void shouldHandleEmptyList() {
         // Given
@@ -188,10 +219,162 @@ class BulkUpsertTest extends DatabaseIntegrationTest {
         assertThat(affected).isEqualTo(0);
     }
 
+    @Test
+    void shouldReportInsertedAndUpdatedRowsAndPhaseTimes() throws SQLException {
+        // Given
+        BulkImportConfig config = BulkImportConfig.builder()
+            .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+            .conflictColumns("id")
+            .build();
+
+        List<JpaUser> users = List.of(
+            new JpaUser(1L, "Alice Updated", "alice.new@example.com", 31, true), // Existing
+            new JpaUser(3L, "Charlie", "charlie@example.com", 35, false), // New
+            new JpaUser(4L, "Dave", "dave@example.com", 40, true) // New
+        );
+
+        // When
+        ImportResult result = BulkImporter.create(connection).withConfig(config).upsertWithResult(JpaUser.class, users);
+
+        // Then
+        assertThat(result.getOperation()).isEqualTo(ImportResult.Operation.UPSERT);
+        assertThat(result.getRowsInserted()).isEqualTo(2);
+        assertThat(result.getRowsUpdated()).isEqualTo(1);
+        assertThat(result.getRowCount()).isEqualTo(3);
+        assertThat(result.getBytesSent()).isPositive();
+        assertThat(result.getStagingTime()).isPositive();
+        assertThat(result.getCopyTime()).isPositive();
+        assertThat(result.getApplyTime()).isPositive();
+        assertThat(result.getTotalTime()).isGreaterThanOrEqualTo(result.getCopyTime().plus(result.getApplyTime()));
+        assertThat(result.getRowsPerSecond()).isPositive();
+        assertThat(countRows(TABLE_NAME)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldSkipUnchangedRowsWithUpdateIfChanged() throws SQLException {
+        // Given - created_at is left null on both sides
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("UPDATE users SET created_at = NULL");
+        }
+        String aliceVersion = getRowVersion(1L);
+        BulkImportConfig config = BulkImportConfig.builder()
+            .conflictStrategy(ConflictStrategy.UPDATE_IF_CHANGED)
+            .conflictColumns("id")
+            .build();
+        List<JpaUser> users = List.of(
+            new JpaUser(1L, "Alice", "alice@example.com", 30, true), // Unchanged
+            new JpaUser(2L, "Bob Updated", "bob@example.com", 25, true), // Changed
+            new JpaUser(3L, "Charlie", "charlie@example.com", 35, false) // New
+        );
+
+        users.forEach(user -> user.setCreatedAt(null));
+
+        // When
+        ImportResult result = BulkImporter.create(connection).withConfig(config).upsertWithResult(JpaUser.class, users);
+
+        // Then
+        assertThat(result.getRowsInserted()).isEqualTo(1);
+        assertThat(result.getRowsUpdated()).isEqualTo(1);
+        assertThat(result.getRowsUnchanged()).isEqualTo(1);
+        assertThat(getUserName(2L)).isEqualTo("Bob Updated");
+        assertThat(getRowVersion(1L)).isEqualTo(aliceVersion);
+    }
+
+    @Test
+    void shouldRequireConflictColumnsForUpdateIfChanged() {
+        assertThatThrownBy(() -> BulkImportConfig.builder()
+            .conflictStrategy(ConflictStrategy.UPDATE_IF_CHANGED)
+            .build())
+            .isInstanceOf(ConfigurationException.class)
+            .hasMessageContaining("UPDATE_IF_CHANGED");
+    }
+
+    @Nested
+    class Merge {
+
+        private BulkImporter mergeImporter(BulkImportConfig.Builder builder) {
+            return BulkImporter.create(connection).withConfig(builder
+                .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+                .conflictColumns("id")
+                .mergeMode(MergeMode.ENABLED)
+                .build());
+        }
+
+        @Test
+        void shouldUpsertWithoutRewritingUnchangedRows() throws SQLException {
+            // Given - created_at is left null on both sides
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("UPDATE users SET created_at = NULL");
+            }
+            String aliceVersion = getRowVersion(1L);
+            List<JpaUser> users = List.of(
+                new JpaUser(1L, "Alice", "alice@example.com", 30, true), // Unchanged
+                new JpaUser(2L, "Bob Updated", "bob@example.com", 26, true), // Changed
+                new JpaUser(3L, "Charlie", "charlie@example.com", 35, false) // New
+            );
+
+            users.forEach(user -> user.setCreatedAt(null));
+
+            // When
+            ImportResult result = mergeImporter(BulkImportConfig.builder()).upsertWithResult(JpaUser.class, users);
+
+            // Then
+            assertThat(result.getRowCount()).isEqualTo(2);
+            assertThat(result.getRowsInserted()).isEqualTo(1);
+            assertThat(result.getRowsUpdated()).isEqualTo(1);
+            assertThat(result.getRowsDeleted()).isZero();
+            assertThat(result.getRowsUnchanged()).isEqualTo(1);
+            assertThat(countRows(TABLE_NAME)).isEqualTo(3);
+            assertThat(getUserName(2L)).isEqualTo("Bob Updated");
+            assertThat(getUserName(3L)).isEqualTo("Charlie");
+            assertThat(getRowVersion(1L)).isEqualTo(aliceVersion);
+        }
+
+        @Test
+        void shouldDeleteRowsMeetingDeleteCondition() throws SQLException {
+            // Given - inactive users are deleted, and never inserted
+            List<JpaUser> users = List.of(
+                new JpaUser(1L, "Alice", "alice@example.com", 30, false), // Deleted
+                new JpaUser(2L, "Bob Updated", "bob@example.com", 26, true), // Updated
+                new JpaUser(3L, "Charlie", "charlie@example.com", 35, false) // Not inserted
+            );
+
+            // When
+            ImportResult result = mergeImporter(BulkImportConfig.builder().deleteCondition("NOT s.active"))
+                .upsertWithResult(JpaUser.class, users);
+
+            // Then
+            assertThat(result.getRowCount()).isEqualTo(2);
+            assertThat(result.getRowsInserted()).isZero();
+            assertThat(result.getRowsUpdated()).isEqualTo(1);
+            assertThat(result.getRowsDeleted()).isEqualTo(1);
+            assertThat(result.getRowsUnchanged()).isEqualTo(1);
+            assertThat(countRows(TABLE_NAME)).isEqualTo(1);
+            assertThat(connection.getAutoCommit()).isTrue();
+            assertThat(getUserName(2L)).isEqualTo("Bob Updated");
+        }
+
+        @Test
+        void shouldRejectDeleteConditionWithoutMerge() {
+            assertThatThrownBy(() -> BulkImportConfig.builder().deleteCondition("s.deleted").build())
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("deleteCondition");
+        }
+
+    }
+
     private String getUserName(Long id) throws SQLException {
         return getString(TABLE_NAME, "name", "id", id);
     }
 
+    private String getRowVersion(Long id) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT xmin::text FROM users WHERE id = " + id)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
     private String getUserEmail(Long id) throws SQLException {
         return getString(TABLE_NAME, "email", "id", id);
     }
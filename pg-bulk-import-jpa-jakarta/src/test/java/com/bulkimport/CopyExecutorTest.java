@@ -2,6 +2,7 @@ package com.bulkimport;
 
 import com.bulkimport.config.BulkImportConfig;
 import com.bulkimport.config.NullHandling;
+import com.bulkimport.exception.ExecutionException;
 import com.bulkimport.executor.CopyExecutor;
 import com.bulkimport.mapping.TableMapping;
 import com.bulkimport.testutil.PostgresTestContainer;
@@ -23,10 +24,13 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests for CopyExecutor focusing on the stream-only implementation.
@@ -284,6 +288,59 @@ class CopyExecutorTest {
         }
     }
 
+    @Nested
+    class CallerThreadExecution {
+
+        @Test
+        void shouldEncodeRowsOnCallerThread() throws SQLException {
+            // Given
+            Set<Thread> encodingThreads = ConcurrentHashMap.newKeySet();
+            TableMapping<SimpleUser> mapping = TableMapping.<SimpleUser>builder("users")
+                .id("id", user -> {
+                    encodingThreads.add(Thread.currentThread());
+                    return user.getId();
+                })
+                .column("name", SimpleUser::getName)
+                .build();
+            CopyExecutor<SimpleUser> executor = new CopyExecutor<>(
+                connection, mapping, BulkImportConfig.defaults());
+
+            // When
+            long result = executor.copyIn(IntStream.rangeClosed(1, 1000)
+                .mapToObj(i -> new SimpleUser((long) i, "User" + i, null)));
+
+            // Then
+            assertThat(result).isEqualTo(1000);
+            assertThat(encodingThreads).containsExactly(Thread.currentThread());
+        }
+
+        @Test
+        void shouldCancelCopyWhenRowEncodingFails() throws SQLException {
+            // Given
+            TableMapping<SimpleUser> mapping = TableMapping.<SimpleUser>builder("users")
+                .id("id", SimpleUser::getId)
+                .column("name", user -> {
+                    if (user.getId() == 500L) {
+                        throw new IllegalStateException("broken entity");
+                    }
+                    return user.getName();
+                })
+                .build();
+            CopyExecutor<SimpleUser> executor = new CopyExecutor<>(
+                connection, mapping, BulkImportConfig.defaults());
+
+            // When/Then
+            assertThatThrownBy(() -> executor.copyIn(IntStream.rangeClosed(1, 1000)
+                .mapToObj(i -> new SimpleUser((long) i, "User" + i, null))))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("broken entity");
+
+            // The connection is usable again and nothing was inserted
+            assertThat(countRows()).isEqualTo(0);
+            assertThat(executor.copyIn(List.of(new SimpleUser(1L, "Alice", null)))).isEqualTo(1);
+        }
+    }
+
     @Nested
     class NullHandlingConfiguration {
 
@@ -0,0 +1,218 @@
+package com.bulkimport;
+
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.mapping.jpa.JpaEntityMapper;
+import com.bulkimport.reactive.CopySubscriber;
+import com.bulkimport.testutil.DatabaseIntegrationTest;
+import com.bulkimport.testutil.PostgresTestContainer;
+import com.bulkimport.testutil.TestEntities.JpaUser;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.bulkimport.testutil.TestEntities.createUsers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CopySubscriberTest extends DatabaseIntegrationTest {
+
+    private static final String TABLE_NAME = "users";
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        JpaEntityMapper.register();
+        PostgresTestContainer.createUsersTable();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        truncateTable(TABLE_NAME);
+    }
+
+    @Test
+    void shouldImportAllRowsAcrossFlushes() throws Exception {
+        // Given - a publisher that emits only what was requested
+        TestPublisher publisher = new TestPublisher();
+        CopySubscriber<JpaUser> subscriber = CopySubscriber.builder(PostgresTestContainer.getDataSource(), JpaUser.class)
+            .flushRows(100)
+            .bufferSize(64)
+            .build();
+
+        // When
+        publisher.subscribe(subscriber);
+        publisher.emitOnDemand(createUsers(1, 1_050).iterator());
+
+        // Then
+        assertThat(subscriber.getResult().get(30, TimeUnit.SECONDS)).isEqualTo(1_050L);
+        assertThat(subscriber.getRowsImported()).isEqualTo(1_050L);
+        assertThat(countRows(TABLE_NAME)).isEqualTo(1_050);
+        assertThat(publisher.maxOutstanding.get()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    void shouldCommitAfterFlushInterval() throws Exception {
+        // Given
+        TestPublisher publisher = new TestPublisher();
+        CopySubscriber<JpaUser> subscriber = CopySubscriber.builder(PostgresTestContainer.getDataSource(), JpaUser.class)
+            .flushInterval(Duration.ofMillis(100))
+            .build();
+        publisher.subscribe(subscriber);
+
+        // When - a few rows and no completion
+        createUsers(1, 5).forEach(publisher::emit);
+
+        // Then - the rows become visible while the subscriber is still open
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (countRows(TABLE_NAME) < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(countRows(TABLE_NAME)).isEqualTo(5);
+        assertThat(subscriber.getResult()).isNotDone();
+
+        publisher.complete();
+        assertThat(subscriber.getResult().get(10, TimeUnit.SECONDS)).isEqualTo(5L);
+    }
+
+    @Test
+    void shouldRequestNoMoreThanBufferSizeAhead() throws Exception {
+        // Given
+        TestPublisher publisher = new TestPublisher();
+        CopySubscriber<JpaUser> subscriber = CopySubscriber.builder(PostgresTestContainer.getDataSource(), JpaUser.class)
+            .bufferSize(8)
+            .build();
+
+        // When
+        publisher.subscribe(subscriber);
+        Thread.sleep(100);
+
+        // Then
+        assertThat(publisher.requested.get()).isEqualTo(8);
+
+        publisher.complete();
+        assertThat(subscriber.getResult().get(10, TimeUnit.SECONDS)).isZero();
+    }
+
+    @Test
+    void shouldCommitReceivedRowsBeforeReportingUpstreamError() {
+        // Given
+        TestPublisher publisher = new TestPublisher();
+        CopySubscriber<JpaUser> subscriber = CopySubscriber.builder(PostgresTestContainer.getDataSource(), JpaUser.class)
+            .build();
+        publisher.subscribe(subscriber);
+
+        // When
+        createUsers(1, 3).forEach(publisher::emit);
+        publisher.subscriber.onError(new IllegalStateException("upstream failed"));
+
+        // Then
+        assertThatThrownBy(() -> subscriber.getResult().join())
+            .hasCauseInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("upstream failed");
+        assertThat(subscriber.getRowsImported()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldCancelSubscriptionWhenCopyFails() throws SQLException {
+        // Given - a duplicate key
+        importer.insert(JpaUser.class, List.of(new JpaUser(1L, "Existing", "existing@example.com", 1, true)));
+        TestPublisher publisher = new TestPublisher();
+        CopySubscriber<JpaUser> subscriber = CopySubscriber.builder(PostgresTestContainer.getDataSource(), JpaUser.class)
+            .build();
+        publisher.subscribe(subscriber);
+
+        // When
+        createUsers(1, 3).forEach(publisher::emit);
+        publisher.complete();
+
+        // Then
+        assertThatThrownBy(() -> subscriber.getResult().join())
+            .hasCauseInstanceOf(ExecutionException.class)
+            .hasMessageContaining("users");
+        assertThat(publisher.cancelled.get()).isTrue();
+        assertThat(countRows(TABLE_NAME)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectInvalidThresholds() {
+        assertThatThrownBy(() -> CopySubscriber.builder(PostgresTestContainer.getDataSource(), JpaUser.class)
+                .flushRows(0)
+                .build())
+            .isInstanceOf(ConfigurationException.class)
+            .hasMessageContaining("flushRows");
+        assertThatThrownBy(() -> CopySubscriber.builder(PostgresTestContainer.getDataSource(), JpaUser.class)
+                .flushInterval(Duration.ZERO)
+                .build())
+            .isInstanceOf(ConfigurationException.class)
+            .hasMessageContaining("flushInterval");
+    }
+
+    /**
+     * Single-subscriber publisher driven by the test, recording the demand it receives.
+     */
+    private static final class TestPublisher implements Publisher<JpaUser>, Subscription {
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicLong emitted = new AtomicLong();
+        private final AtomicLong maxOutstanding = new AtomicLong();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile Subscriber<? super JpaUser> subscriber;
+        private volatile Iterator<JpaUser> source;
+
+        @Override
+        public void subscribe(Subscriber<? super JpaUser> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            requested.addAndGet(n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled.set(true);
+        }
+
+        synchronized void emitOnDemand(Iterator<JpaUser> rows) {
+            source = rows;
+            drain();
+        }
+
+        void emit(JpaUser user) {
+            emitted.incrementAndGet();
+            subscriber.onNext(user);
+        }
+
+        void complete() {
+            subscriber.onComplete();
+        }
+
+        private void drain() {
+            if (source == null) {
+                return;
+            }
+            maxOutstanding.accumulateAndGet(requested.get() - emitted.get(), Math::max);
+            while (emitted.get() < requested.get() && source.hasNext()) {
+                emit(source.next());
+            }
+            if (!source.hasNext()) {
+                source = null;
+                complete();
+            }
+        }
+    }
+}
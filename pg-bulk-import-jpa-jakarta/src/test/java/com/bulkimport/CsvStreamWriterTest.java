@@ -0,0 +1,221 @@
+package com.bulkimport;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.NullHandling;
+import com.bulkimport.converter.TypeConverter;
+import com.bulkimport.converter.TypeConverterRegistry;
+import com.bulkimport.csv.CsvStreamWriter;
+import com.bulkimport.mapping.TableMapping;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvStreamWriterTest {
+
+    private final TypeConverterRegistry registry = TypeConverterRegistry.getDefault();
+
+    @Test
+    void shouldWriteValuesLikeTheirConverters() throws IOException {
+        // Given - values covered by the encoder's fast paths, including edge cases
+        List<Object> values = Arrays.asList(
+            0, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE,
+            (short) -32768, (byte) 127, 0.1, -0.0, 1e-300, Double.NaN, Double.NEGATIVE_INFINITY, 1.0E7,
+            0.1f, Float.MAX_VALUE, Float.POSITIVE_INFINITY, true, false,
+            new UUID(0L, 0L), UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), new UUID(-1L, -1L),
+            LocalDate.of(2024, 1, 15), LocalDate.of(1, 1, 1), LocalDate.of(12345, 6, 7), LocalDate.of(-44, 3, 15),
+            LocalTime.MIDNIGHT, LocalTime.of(10, 30), LocalTime.of(23, 59, 59, 500_000_000),
+            LocalTime.of(1, 2, 3, 4), LocalTime.of(1, 2, 3, 120_000),
+            LocalDateTime.of(2024, 1, 15, 10, 30, 45, 123_456_000), LocalDateTime.of(2024, 2, 29, 0, 0),
+            OffsetDateTime.of(2024, 1, 15, 10, 30, 0, 0, ZoneOffset.ofHoursMinutes(5, 30)),
+            OffsetDateTime.of(2024, 1, 15, 10, 30, 0, 1, ZoneOffset.ofHoursMinutesSeconds(-1, -2, -3)),
+            ZonedDateTime.of(2024, 7, 1, 12, 0, 0, 0, ZoneId.of("Europe/Berlin")),
+            Instant.EPOCH, Instant.parse("2024-01-15T10:30:45.123Z"), Instant.ofEpochSecond(-1, 999_999_999),
+            Thread.State.RUNNABLE);
+
+        for (Object value : values) {
+            // When
+            String csv = writeSingleColumn(value, BulkImportConfig.defaults(), registry);
+
+            // Then
+            assertThat(csv)
+                .as("CSV for %s (%s)", value, value.getClass().getSimpleName())
+                .isEqualTo(registry.convert(value, NullHandling.EMPTY_STRING) + "\n");
+        }
+    }
+
+    @Test
+    void shouldQuoteOnlyWhenNeeded() throws IOException {
+        assertThat(writeSingleColumn("plain text", BulkImportConfig.defaults(), registry))
+            .isEqualTo("plain text\n");
+        assertThat(writeSingleColumn("back\\slash", BulkImportConfig.defaults(), registry))
+            .isEqualTo("back\\slash\n");
+        assertThat(writeSingleColumn("a,b", BulkImportConfig.defaults(), registry))
+            .isEqualTo("\"a,b\"\n");
+        assertThat(writeSingleColumn("say \"hello\"", BulkImportConfig.defaults(), registry))
+            .isEqualTo("\"say \"\"hello\"\"\"\n");
+        assertThat(writeSingleColumn("line1\r\nline2", BulkImportConfig.defaults(), registry))
+            .isEqualTo("\"line1\r\nline2\"\n");
+    }
+
+    @Test
+    void shouldEncodeTextAsUtf8() throws IOException {
+        // Given - two, three and four byte characters plus an unpaired surrogate
+        String text = "café € 😀 \ud83d";
+
+        // When
+        byte[] bytes = write(singleColumnMapping(), List.<Object>of(text), BulkImportConfig.defaults(), registry);
+
+        // Then
+        assertThat(bytes).isEqualTo((text + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldWriteRowsWithNullsAndFallbackTypes() throws IOException {
+        // Given
+        TableMapping<Object[]> mapping = TableMapping.<Object[]>builder("t")
+            .column("a", row -> row[0])
+            .column("b", row -> row[1])
+            .column("c", row -> row[2])
+            .build();
+        List<Object[]> rows = Arrays.asList(
+            new Object[]{1, null, new BigDecimal("1.50")},
+            new Object[]{"x", 2.5, null});
+        BulkImportConfig config = BulkImportConfig.builder().nullHandling(NullHandling.LITERAL_NULL).build();
+
+        // When
+        String csv = new String(write(mapping, rows, config, registry), StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(csv).isEqualTo("1,\\N,1.50\nx,2.5,\\N\n");
+    }
+
+    @Test
+    void shouldUseRegisteredConverterInsteadOfFastPath() throws IOException {
+        // Given
+        TypeConverterRegistry custom = TypeConverterRegistry.createDefault();
+        custom.register(Boolean.class, new TypeConverter<Boolean>() {
+            @Override
+            public String toCsvValue(Boolean value, NullHandling nullHandling) {
+                return value ? "yes" : "no";
+            }
+
+            @Override
+            public Class<Boolean> supportedType() {
+                return Boolean.class;
+            }
+        });
+
+        // When/Then
+        assertThat(writeSingleColumn(true, BulkImportConfig.defaults(), custom)).isEqualTo("yes\n");
+    }
+
+    @Test
+    void shouldWriteLargeInputsAcrossFlushes() throws IOException {
+        // Given
+        List<Object> values = IntStream.range(0, 50_000)
+            .mapToObj(i -> (Object) ("row-" + i))
+            .collect(Collectors.toList());
+
+        // When
+        String csv = new String(write(singleColumnMapping(), values, BulkImportConfig.defaults(), registry),
+            StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(csv).isEqualTo(values.stream().map(v -> v + "\n").collect(Collectors.joining()));
+    }
+
+    @Test
+    void shouldWritePrimitiveColumnsLikeBoxedColumns() throws IOException {
+        // Given
+        List<double[]> rows = Arrays.asList(
+            new double[]{0, 0.1, 1},
+            new double[]{-42, Double.NaN, 0},
+            new double[]{Integer.MAX_VALUE, 1e-300, 1},
+            new double[]{Integer.MIN_VALUE, Double.NEGATIVE_INFINITY, 0});
+        TableMapping<double[]> primitive = TableMapping.<double[]>builder("t")
+            .intColumn("i", row -> (int) row[0])
+            .longColumn("l", row -> (long) row[0] * 1_000_000L)
+            .doubleColumn("d", row -> row[1])
+            .booleanColumn("b", row -> row[2] == 1)
+            .build();
+        TableMapping<double[]> boxed = TableMapping.<double[]>builder("t")
+            .column("i", row -> (int) row[0])
+            .column("l", row -> (long) row[0] * 1_000_000L)
+            .column("d", row -> row[1])
+            .column("b", row -> row[2] == 1)
+            .build();
+
+        // When
+        byte[] primitiveCsv = write(primitive, rows, BulkImportConfig.defaults(), registry);
+        byte[] boxedCsv = write(boxed, rows, BulkImportConfig.defaults(), registry);
+
+        // Then
+        assertThat(new String(primitiveCsv, StandardCharsets.UTF_8))
+            .startsWith("0,0,0.1,true\n-42,-42000000,NaN,false\n")
+            .isEqualTo(new String(boxedCsv, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldUseRegisteredConverterForPrimitiveColumns() throws IOException {
+        // Given
+        TypeConverterRegistry custom = TypeConverterRegistry.createDefault();
+        custom.register(Integer.class, new TypeConverter<Integer>() {
+            @Override
+            public String toCsvValue(Integer value, NullHandling nullHandling) {
+                return "#" + value;
+            }
+
+            @Override
+            public Class<Integer> supportedType() {
+                return Integer.class;
+            }
+        });
+        TableMapping<Object> mapping = TableMapping.builder("t")
+            .intColumn("value", value -> 7)
+            .build();
+
+        // When
+        byte[] csv = write(mapping, List.of(new Object()), BulkImportConfig.defaults(), custom);
+
+        // Then
+        assertThat(new String(csv, StandardCharsets.UTF_8)).isEqualTo("#7\n");
+    }
+
+    private String writeSingleColumn(Object value, BulkImportConfig config, TypeConverterRegistry registry)
+            throws IOException {
+        return new String(write(singleColumnMapping(), List.of(value), config, registry), StandardCharsets.UTF_8);
+    }
+
+    private static TableMapping<Object> singleColumnMapping() {
+        return TableMapping.builder("t")
+            .column("value", value -> value)
+            .build();
+    }
+
+    private static <T> byte[] write(TableMapping<T> mapping, List<T> rows, BulkImportConfig config,
+                                    TypeConverterRegistry registry) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = new CsvStreamWriter<>(mapping, config, registry).write(rows, out);
+        assertThat(written).isEqualTo(rows.size());
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,346 @@
+package com.bulkimport;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.exception.MappingException;
+import com.bulkimport.mapping.TableMapping;
+import com.bulkimport.mapping.jpa.JpaEntityMapper;
+import com.bulkimport.testutil.DatabaseIntegrationTest;
+import com.bulkimport.testutil.PostgresTestContainer;
+import com.bulkimport.testutil.TestEntities.GraphCustomer;
+import com.bulkimport.testutil.TestEntities.GraphOrder;
+import com.bulkimport.testutil.TestEntities.GraphOrderLine;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImportGraphTest extends DatabaseIntegrationTest {
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        JpaEntityMapper.register();
+        PostgresTestContainer.executeSql(
+            "DROP TABLE IF EXISTS graph_order_lines",
+            "DROP TABLE IF EXISTS graph_orders",
+            "DROP TABLE IF EXISTS graph_customers",
+            """
+            CREATE TABLE graph_customers (
+                id BIGINT PRIMARY KEY,
+                name VARCHAR(255)
+            )
+            """,
+            """
+            CREATE TABLE graph_orders (
+                id BIGINT PRIMARY KEY,
+                customer_ref BIGINT NOT NULL REFERENCES graph_customers (id),
+                product VARCHAR(255)
+            )
+            """,
+            """
+            CREATE TABLE graph_order_lines (
+                id BIGINT PRIMARY KEY,
+                order_id BIGINT REFERENCES graph_orders (id),
+                quantity INTEGER NOT NULL
+            )
+            """
+        );
+    }
+
+    @AfterAll
+    static void tearDownDatabase() throws SQLException {
+        PostgresTestContainer.executeSql(
+            "DROP TABLE IF EXISTS graph_order_lines",
+            "DROP TABLE IF EXISTS graph_orders",
+            "DROP TABLE IF EXISTS graph_customers");
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("TRUNCATE TABLE graph_order_lines, graph_orders, graph_customers");
+        }
+    }
+
+    @Nested
+    class Mapping {
+
+        @Test
+        void shouldMapManyToOneToJoinColumn() {
+            // When
+            TableMapping<GraphOrder> mapping = JpaEntityMapper.<GraphOrder>getInstance().map(GraphOrder.class);
+            GraphOrder order = new GraphOrder(10L, new GraphCustomer(7L, "Alice"), "book");
+
+            // Then
+            assertThat(mapping.getColumnNames()).containsExactly("id", "customer_ref", "product");
+            assertThat(mapping.getColumn("customer_ref").extractValue(order)).isEqualTo(7L);
+            assertThat(mapping.getReferencedTables()).containsExactly("graph_customers");
+        }
+
+        @Test
+        void shouldDeriveDefaultJoinColumnName() {
+            // When
+            TableMapping<GraphOrderLine> mapping = JpaEntityMapper.<GraphOrderLine>getInstance()
+                .map(GraphOrderLine.class);
+            GraphOrderLine line = new GraphOrderLine(1L, null, 3);
+
+            // Then - a missing reference maps to NULL
+            assertThat(mapping.getColumnNames()).containsExactly("id", "order_id", "quantity");
+            assertThat(mapping.getColumn("order_id").extractValue(line)).isNull();
+            assertThat(mapping.getColumn("order_id").isNullable()).isTrue();
+        }
+
+        @Test
+        void shouldReadReferencedIdThroughGetterOfLazyProxy() {
+            // Given - like a JPA reference, the proxy only returns its ID from the getter
+            GraphCustomer proxy = new GraphCustomer() {
+                @Override
+                public Long getId() {
+                    return 42L;
+                }
+            };
+            TableMapping<GraphOrder> mapping = JpaEntityMapper.<GraphOrder>getInstance().map(GraphOrder.class);
+
+            // When
+            Object customerRef = mapping.getColumn("customer_ref").extractValue(new GraphOrder(1L, proxy, "book"));
+
+            // Then
+            assertThat(customerRef).isEqualTo(42L);
+        }
+
+        @Test
+        void shouldRejectReferenceWithoutId() {
+            // Given - the referenced order has no ID and no getter to read one through
+            TableMapping<GraphOrderLine> mapping = JpaEntityMapper.<GraphOrderLine>getInstance()
+                .map(GraphOrderLine.class);
+            GraphOrderLine line = new GraphOrderLine(1L, new GraphOrder(), 3);
+
+            // When / Then
+            assertThatThrownBy(() -> mapping.getColumn("order_id").extractValue(line))
+                .isInstanceOf(MappingException.class)
+                .hasMessageContaining("'order'")
+                .hasMessageContaining("without an ID");
+        }
+
+        @Test
+        void shouldRejectUnsupportedReferencedIdType() {
+            // When / Then
+            assertThatThrownBy(() -> JpaEntityMapper.<ByteKeyedReference>getInstance().map(ByteKeyedReference.class))
+                .isInstanceOf(MappingException.class)
+                .hasMessageContaining("byte");
+        }
+
+        @Test
+        void shouldSkipInverseSideOfRelationship() {
+            // When
+            TableMapping<GraphCustomer> mapping = JpaEntityMapper.<GraphCustomer>getInstance()
+                .map(GraphCustomer.class);
+
+            // Then
+            assertThat(mapping.getColumnNames()).containsExactly("id", "name");
+            assertThat(mapping.getReferencedTables()).isEmpty();
+        }
+    }
+
+    @Nested
+    class Transactional {
+
+        @Test
+        void shouldLoadReferencedTablesFirst() throws SQLException {
+            // Given - the tables are added children first
+            Graph graph = createGraph(100);
+
+            // When
+            List<ImportResult> results = importer.importGraph(ImportGraph.builder()
+                .add(GraphOrderLine.class, graph.lines)
+                .add(GraphOrder.class, graph.orders)
+                .add(GraphCustomer.class, graph.customers)
+                .build());
+
+            // Then
+            assertThat(results).extracting(ImportResult::getTableName)
+                .containsExactly("graph_customers", "graph_orders", "graph_order_lines");
+            assertThat(results).extracting(ImportResult::getRowsInserted).containsExactly(10L, 100L, 200L);
+            assertThat(countRows("graph_order_lines")).isEqualTo(200);
+            assertThat(countJoinedLines()).isEqualTo(200);
+        }
+
+        @Test
+        void shouldRollBackAllTablesWhenOneFails() throws SQLException {
+            // Given - an order references a customer that is not in the graph
+            Graph graph = createGraph(10);
+            graph.orders.add(new GraphOrder(999L, new GraphCustomer(999L, "Unknown"), "ghost"));
+
+            // When / Then
+            assertThatThrownBy(() -> importer.importGraph(ImportGraph.builder()
+                .add(GraphCustomer.class, graph.customers)
+                .add(GraphOrder.class, graph.orders)
+                .add(GraphOrderLine.class, graph.lines)
+                .build()))
+                .isInstanceOf(ExecutionException.class);
+            assertThat(countRows("graph_customers")).isZero();
+            assertThat(countRows("graph_orders")).isZero();
+            assertThat(connection.getAutoCommit()).isTrue();
+        }
+
+        @Test
+        void shouldOrderTablesByExplicitReferences() throws SQLException {
+            // Given - explicit mappings know nothing about the foreign keys
+            TableMapping<long[]> customerMapping = TableMapping.<long[]>builder("graph_customers")
+                .id("id", row -> row[0])
+                .build();
+            TableMapping<long[]> orderMapping = TableMapping.<long[]>builder("graph_orders")
+                .id("id", row -> row[0])
+                .column("customer_ref", row -> row[1])
+                .references("graph_customers")
+                .build();
+            TableMapping<long[]> lineMapping = TableMapping.<long[]>builder("graph_order_lines")
+                .id("id", row -> row[0])
+                .column("order_id", row -> row[1])
+                .column("quantity", row -> (int) row[2])
+                .build();
+
+            // When
+            List<ImportResult> results = importer.importGraph(ImportGraph.builder()
+                .add(lineMapping, List.of(new long[] {1, 1, 5}))
+                .add(orderMapping, List.of(new long[] {1, 1}))
+                .add(customerMapping, List.of(new long[] {1}))
+                .dependsOn("graph_order_lines", "graph_orders")
+                .build());
+
+            // Then
+            assertThat(results).extracting(ImportResult::getTableName)
+                .containsExactly("graph_customers", "graph_orders", "graph_order_lines");
+            assertThat(countJoinedLines()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldRejectCycle() {
+            // Given
+            ImportGraph graph = ImportGraph.builder()
+                .add(GraphCustomer.class, List.of())
+                .add(GraphOrder.class, List.of())
+                .dependsOn("graph_customers", "graph_orders")
+                .build();
+
+            // When / Then
+            assertThatThrownBy(() -> importer.importGraph(graph))
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("graph_customers")
+                .hasMessageContaining("graph_orders");
+        }
+    }
+
+    @Nested
+    class NonTransactional {
+
+        @Test
+        void shouldLoadIndependentTablesInParallel() throws SQLException {
+            // Given
+            Graph graph = createGraph(1_000);
+            BulkImporter parallelImporter = BulkImporter.create(PostgresTestContainer.getDataSource())
+                .withConfig(BulkImportConfig.builder().parallelism(2).build());
+
+            // When
+            List<ImportResult> results = parallelImporter.importGraph(ImportGraph.builder()
+                .add(GraphCustomer.class, graph.customers)
+                .add(GraphOrder.class, graph.orders)
+                .add(GraphOrderLine.class, graph.lines)
+                .transactional(false)
+                .build());
+
+            // Then
+            assertThat(results).extracting(ImportResult::getRowsInserted).containsExactly(100L, 1_000L, 2_000L);
+            assertThat(countJoinedLines()).isEqualTo(2_000);
+        }
+
+        @Test
+        void shouldReportCommittedTablesOnFailure() throws SQLException {
+            // Given - one line references an order that is not in the graph
+            Graph graph = createGraph(10);
+            graph.lines.add(new GraphOrderLine(999L, new GraphOrder(999L, null, "ghost"), 1));
+
+            // When / Then
+            assertThatThrownBy(() -> importer.importGraph(ImportGraph.builder()
+                .add(GraphCustomer.class, graph.customers)
+                .add(GraphOrder.class, graph.orders)
+                .add(GraphOrderLine.class, graph.lines)
+                .transactional(false)
+                .build()))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("'graph_order_lines'")
+                .hasMessageContaining("[graph_customers, graph_orders]");
+            assertThat(countRows("graph_orders")).isEqualTo(10);
+            assertThat(countRows("graph_order_lines")).isZero();
+        }
+    }
+
+    private long countJoinedLines() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("""
+                 SELECT count(*) FROM graph_order_lines l
+                 JOIN graph_orders o ON o.id = l.order_id
+                 JOIN graph_customers c ON c.id = o.customer_ref
+                 """)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * Creates one customer per ten orders and two lines per order.
+     */
+    private static Graph createGraph(int orderCount) {
+        Graph graph = new Graph();
+        for (long i = 1; i <= orderCount / 10; i++) {
+            graph.customers.add(new GraphCustomer(i, "customer-" + i));
+        }
+        for (long i = 1; i <= orderCount; i++) {
+            GraphOrder order = new GraphOrder(i, graph.customers.get((int) ((i - 1) / 10)), "product-" + i);
+            graph.orders.add(order);
+            graph.lines.add(new GraphOrderLine(2 * i - 1, order, 1));
+            graph.lines.add(new GraphOrderLine(2 * i, order, 2));
+        }
+        return graph;
+    }
+
+    @Entity
+    @Table(name = "byte_keyed")
+    static class ByteKeyed {
+        @Id
+        private byte id;
+    }
+
+    @Entity
+    @Table(name = "byte_keyed_references")
+    static class ByteKeyedReference {
+        @Id
+        private Long id;
+
+        @ManyToOne
+        private ByteKeyed keyed;
+    }
+
+    private static final class Graph {
+        final List<GraphCustomer> customers = new ArrayList<>();
+        final List<GraphOrder> orders = new ArrayList<>();
+        final List<GraphOrderLine> lines = new ArrayList<>();
+    }
+}
@@ -7,11 +7,15 @@ import com.bulkimport.mapping.TableMapping;
 import com.bulkimport.mapping.annotation.AnnotationEntityMapper;
 import com.bulkimport.mapping.jpa.JpaEntityMapper;
 import com.bulkimport.testutil.TestEntities.BulkUser;
+import com.bulkimport.testutil.TestEntities.GraphInvoice;
 import com.bulkimport.testutil.TestEntities.JpaUser;
+import com.bulkimport.testutil.TestEntities.Measurement;
 import com.bulkimport.testutil.TestEntities.SimpleUser;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -147,4 +151,71 @@ class MappingTest {
         assertThat(mapping.getSchemaName()).isEqualTo("public");
         assertThat(mapping.getFullTableName()).isEqualTo("public.users");
     }
+
+    @Test
+    void shouldCreatePrimitiveExtractorsForPrimitiveFields() {
+        // Given
+        Measurement measurement = new Measurement(7L, 42, 1L << 40, 0.25, true, 1.5f);
+
+        // When
+        TableMapping<Measurement> mapping = AnnotationEntityMapper.<Measurement>getInstance()
+            .map(Measurement.class);
+
+        // Then
+        assertThat(mapping.getColumnNames())
+            .containsExactly("id", "sample_count", "total_bytes", "ratio", "valid", "weight");
+        assertThat(mapping.getColumn("id").getLongExtractor().applyAsLong(measurement)).isEqualTo(7L);
+        assertThat(mapping.getColumn("sample_count").getIntExtractor().applyAsInt(measurement)).isEqualTo(42);
+        assertThat(mapping.getColumn("total_bytes").getLongExtractor().applyAsLong(measurement)).isEqualTo(1L << 40);
+        assertThat(mapping.getColumn("ratio").getDoubleExtractor().applyAsDouble(measurement)).isEqualTo(0.25);
+        assertThat(mapping.getColumn("valid").getBooleanExtractor().test(measurement)).isTrue();
+
+        // Other types only have the boxed extractor
+        ColumnMapping<Measurement, ?> weight = mapping.getColumn("weight");
+        assertThat(weight.hasPrimitiveExtractor()).isFalse();
+        assertThat(weight.extractValue(measurement)).isEqualTo(1.5f);
+        assertThat(mapping.getColumn("sample_count").extractValue(measurement)).isEqualTo(42);
+    }
+
+    @Test
+    void shouldExtractFieldValuesWithJpaMapper() {
+        // Given
+        JpaUser user = new JpaUser(1L, "John", "john@example.com", 30, true);
+
+        // When
+        TableMapping<JpaUser> mapping = JpaEntityMapper.<JpaUser>getInstance().map(JpaUser.class);
+
+        // Then
+        assertThat(mapping.getColumn("name").extractValue(user)).isEqualTo("John");
+        assertThat(mapping.getColumn("age").extractValue(user)).isEqualTo(30);
+        assertThat(mapping.getColumn("age").hasPrimitiveExtractor()).isFalse();
+        assertThat(mapping.getColumn("created_at").extractValue(user)).isInstanceOf(LocalDateTime.class);
+    }
+
+    @Test
+    void shouldSkipNonInsertableJoinColumnWrittenThroughScalarField() {
+        // Given
+        GraphInvoice invoice = new GraphInvoice(1L, 7L);
+
+        // When
+        TableMapping<GraphInvoice> mapping = JpaEntityMapper.<GraphInvoice>getInstance().map(GraphInvoice.class);
+
+        // Then - the column is mapped once, and the association still orders the import graph
+        assertThat(mapping.getColumnNames()).containsExactly("id", "customer_ref");
+        assertThat(mapping.getColumn("customer_ref").extractValue(invoice)).isEqualTo(7L);
+        assertThat(mapping.getReferencedTables()).containsExactly("graph_customers");
+    }
+
+    @Test
+    void shouldDeriveBoxedExtractorFromPrimitiveExtractor() {
+        // When
+        ColumnMapping<SimpleUser, Long> column = ColumnMapping.<SimpleUser, Long>builder("id", Long.class)
+            .longExtractor(SimpleUser::getId)
+            .build();
+
+        // Then
+        assertThat(column.extractValue(new SimpleUser(5L, "a", "b"))).isEqualTo(5L);
+        assertThat(column.getLongExtractor()).isNotNull();
+        assertThat(column.getIntExtractor()).isNull();
+    }
 }
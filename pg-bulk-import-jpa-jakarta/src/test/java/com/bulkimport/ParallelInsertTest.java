@@ -0,0 +1,232 @@
+package com.bulkimport;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.config.StagingMode;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.exception.ParallelImportException;
+import com.bulkimport.mapping.jpa.JpaEntityMapper;
+import com.bulkimport.testutil.DatabaseIntegrationTest;
+import com.bulkimport.testutil.PostgresTestContainer;
+import com.bulkimport.testutil.TestEntities.JpaUser;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.bulkimport.testutil.TestEntities.createUsers;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelInsertTest extends DatabaseIntegrationTest {
+
+    private static final String TABLE_NAME = "users";
+
+    private BulkImporter parallelImporter;
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        JpaEntityMapper.register();
+        PostgresTestContainer.createUsersTable();
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        truncateTable(TABLE_NAME);
+        parallelImporter = BulkImporter.create(PostgresTestContainer.getDataSource())
+            .withConfig(BulkImportConfig.builder()
+                .parallelism(4)
+                .parallelBatchSize(1_000)
+                .build());
+    }
+
+    @Test
+    void shouldSplitListAcrossConnections() throws SQLException {
+        // Given
+        List<JpaUser> users = createUsers(1, 10_000);
+
+        // When
+        int inserted = parallelImporter.insert(JpaUser.class, users);
+
+        // Then
+        assertThat(inserted).isEqualTo(10_000);
+        assertThat(countRows(TABLE_NAME)).isEqualTo(10_000);
+        // Each chunk is committed in its own transaction
+        assertThat(countTransactions()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldSplitStreamIntoBatches() throws SQLException {
+        // Given
+        Stream<JpaUser> users = createUsers(1, 10_500).stream();
+
+        // When
+        int inserted = parallelImporter.insert(JpaUser.class, users);
+
+        // Then
+        assertThat(inserted).isEqualTo(10_500);
+        assertThat(countRows(TABLE_NAME)).isEqualTo(10_500);
+        assertThat(countTransactions()).isEqualTo(11);
+    }
+
+    @Test
+    void shouldUseOneChunkPerRowForSmallLists() throws SQLException {
+        // When
+        int inserted = parallelImporter.insert(JpaUser.class, createUsers(1, 2));
+
+        // Then
+        assertThat(inserted).isEqualTo(2);
+        assertThat(countTransactions()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReportFailedChunks() throws SQLException {
+        // Given - row 7501 already exists and falls into the last of four chunks
+        importer.insert(JpaUser.class, createUsers(7_501, 7_501));
+        List<JpaUser> users = createUsers(1, 10_000);
+
+        // When/Then
+        assertThatThrownBy(() -> parallelImporter.insert(JpaUser.class, users))
+            .isInstanceOfSatisfying(ParallelImportException.class, e -> {
+                assertThat(e.getChunkCount()).isEqualTo(4);
+                assertThat(e.getRowsImported()).isEqualTo(7_500);
+                assertThat(e.getFailures()).hasSize(1);
+                assertThat(e.getFailures().get(0).getChunkIndex()).isEqualTo(3);
+                assertThat(e.getFailures().get(0).getFirstRow()).isEqualTo(7_500);
+                assertThat(e.getFailures().get(0).getRowCount()).isEqualTo(2_500);
+                assertThat(e.getMessage()).contains("rows 7500-9999");
+            });
+
+        assertThat(countRows(TABLE_NAME)).isEqualTo(7_501);
+    }
+
+    @Test
+    void shouldStopReadingStreamAfterFailure() {
+        // Given - a row in the first batch is invalid
+        Stream<JpaUser> users = IntStream.rangeClosed(1, 100_000)
+            .mapToObj(i -> new JpaUser((long) i, i == 10 ? null : "User " + i, "user" + i + "@example.com", 30, true));
+
+        // When/Then
+        assertThatThrownBy(() -> parallelImporter.insert(JpaUser.class, users))
+            .isInstanceOfSatisfying(ParallelImportException.class, e -> {
+                assertThat(e.getFailures()).extracting(f -> f.getChunkIndex()).containsExactly(0);
+                assertThat(e.getChunkCount()).isLessThan(100);
+            });
+    }
+
+    @Test
+    void shouldAwaitSubmittedChunksWhenStreamFails() throws SQLException {
+        // Given - reading the fourth batch fails
+        IllegalStateException sourceError = new IllegalStateException("source failed");
+        Stream<JpaUser> users = createUsers(1, 10_000).stream()
+            .peek(user -> {
+                if (user.getId() == 3_500L) {
+                    throw sourceError;
+                }
+            });
+
+        // When/Then - the first three batches are committed before the exception is thrown
+        assertThatThrownBy(() -> parallelImporter.insert(JpaUser.class, users))
+            .isInstanceOfSatisfying(ParallelImportException.class, e -> {
+                assertThat(e.getCause()).isSameAs(sourceError);
+                assertThat(e.getRowsImported()).isEqualTo(3_000);
+                assertThat(e.getChunkCount()).isEqualTo(3);
+                assertThat(e.getFailures()).isEmpty();
+                assertThat(e.getMessage()).contains("after reading 3000 rows");
+            });
+        assertThat(countRows(TABLE_NAME)).isEqualTo(3_000);
+    }
+
+    @Test
+    void shouldIgnoreParallelismForSingleConnection() throws SQLException {
+        // Given
+        importer.withConfig(BulkImportConfig.builder().parallelism(4).build());
+
+        // When
+        int inserted = importer.insert(JpaUser.class, createUsers(1, 1_000));
+
+        // Then
+        assertThat(inserted).isEqualTo(1_000);
+        assertThat(countTransactions()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectInvalidParallelism() {
+        assertThatThrownBy(() -> BulkImportConfig.builder().parallelism(0).build())
+            .isInstanceOf(ConfigurationException.class)
+            .hasMessageContaining("parallelism");
+    }
+
+    @Test
+    void shouldUpsertThroughUnloggedStagingTableLoadedInParallel() throws SQLException {
+        // Given - the first half already exists
+        importer.insert(JpaUser.class, createUsers(1, 5_000));
+        BulkImporter stagingImporter = BulkImporter.create(PostgresTestContainer.getDataSource())
+            .withConfig(unloggedStagingConfig().build());
+
+        // When
+        ImportResult result = stagingImporter.upsertWithResult(JpaUser.class, createUsers(1, 10_000));
+
+        // Then
+        assertThat(result.getRowsInserted()).isEqualTo(5_000);
+        assertThat(result.getRowsUpdated()).isEqualTo(5_000);
+        assertThat(result.getBytesSent()).isPositive();
+        assertThat(countRows(TABLE_NAME)).isEqualTo(10_000);
+        assertThat(countStagingTables()).isZero();
+    }
+
+    @Test
+    void shouldDropUnloggedStagingTableWhenApplyFails() throws SQLException {
+        // Given - staging tables have no constraints, so the invalid row only fails the upsert
+        BulkImporter stagingImporter = BulkImporter.create(PostgresTestContainer.getDataSource())
+            .withConfig(unloggedStagingConfig().build());
+        List<JpaUser> users = createUsers(1, 2_000);
+        users.get(1_500).setName(null);
+
+        // When/Then
+        assertThatThrownBy(() -> stagingImporter.upsert(JpaUser.class, users))
+            .isInstanceOf(ExecutionException.class);
+
+        assertThat(countRows(TABLE_NAME)).isZero();
+        assertThat(countStagingTables()).isZero();
+    }
+
+    @Test
+    void shouldRejectUnloggedStagingWithReusedStagingTables() {
+        assertThatThrownBy(() -> unloggedStagingConfig().reuseStagingTables(true).build())
+            .isInstanceOf(ConfigurationException.class)
+            .hasMessageContaining("stagingMode");
+    }
+
+    private static BulkImportConfig.Builder unloggedStagingConfig() {
+        return BulkImportConfig.builder()
+            .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+            .conflictColumns("id")
+            .stagingMode(StagingMode.UNLOGGED)
+            .parallelism(4);
+    }
+
+    private long countStagingTables() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT count(*) FROM pg_class WHERE relname LIKE 'bulk_staging_%'")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private long countTransactions() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT count(DISTINCT xmin::text) FROM users")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.bulkimport;
+
+import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.config.CopyFormat;
+import com.bulkimport.config.CopySource;
+import com.bulkimport.config.NullHandling;
+import com.bulkimport.config.StagingMode;
+import com.bulkimport.exception.ConfigurationException;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.mapping.TableMapping;
+import com.bulkimport.mapping.jpa.JpaEntityMapper;
+import com.bulkimport.testutil.DatabaseIntegrationTest;
+import com.bulkimport.testutil.PostgresTestContainer;
+import com.bulkimport.testutil.TestEntities.JpaUser;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServerCopyTest extends DatabaseIntegrationTest {
+
+    private static final String TABLE_NAME = "users";
+
+    // Files are written and read by the database server, so the paths are on its host
+    private static final String CSV_FILE = "/tmp/bulk_import_server_copy.csv";
+    private static final String QUOTED_CSV_FILE = "/tmp/bulk_import_server_copy_o'brien.csv";
+    private static final String NULL_FILE = "/tmp/bulk_import_server_copy_null.csv";
+    private static final String BINARY_FILE = "/tmp/bulk_import_server_copy.bin";
+
+    private static final TableMapping<JpaUser> USER_MAPPING = TableMapping.<JpaUser>builder(TABLE_NAME)
+        .id("id", JpaUser::getId)
+        .column("name", JpaUser::getName)
+        .column("email", JpaUser::getEmail)
+        .column("age", JpaUser::getAge)
+        .build();
+
+    @BeforeAll
+    static void setUpDatabase() throws SQLException {
+        JpaEntityMapper.register();
+        PostgresTestContainer.createUsersTable();
+        String users = "SELECT i AS id, 'user-' || i AS name, 'user' || i || '@example.com' AS email, 20 + i % 50 AS age"
+            + " FROM generate_series(1, 1000) i";
+        PostgresTestContainer.executeSql(
+            "COPY (" + users + ") TO '" + CSV_FILE + "' WITH (FORMAT csv, HEADER)",
+            "COPY (" + users + " LIMIT 2) TO '" + QUOTED_CSV_FILE.replace("'", "''") + "' WITH (FORMAT csv)",
+            "COPY (SELECT 1, 'Alice', NULL, 31) TO '" + NULL_FILE + "' WITH (FORMAT csv, NULL '\\N')",
+            "COPY (SELECT i::bigint, 'user-' || i, NULL::varchar, i FROM generate_series(1, 10) i)"
+                + " TO '" + BINARY_FILE + "' WITH (FORMAT binary)"
+        );
+    }
+
+    @AfterAll
+    static void tearDownDatabase() throws SQLException {
+        PostgresTestContainer.executeSql("COPY (SELECT 1) TO PROGRAM 'rm -f /tmp/bulk_import_server_copy*'");
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        truncateTable(TABLE_NAME);
+    }
+
+    @Nested
+    class Insert {
+
+        @Test
+        void shouldInsertFromFileWithHeader() throws SQLException {
+            // When
+            ImportResult result = importer.insertFromServer(USER_MAPPING, CopySource.file(CSV_FILE).withHeader());
+
+            // Then - no data passed through the application
+            assertThat(result.getRowsInserted()).isEqualTo(1000);
+            assertThat(result.getBytesSent()).isZero();
+            assertThat(countRows(TABLE_NAME)).isEqualTo(1000);
+            assertThat(getString(TABLE_NAME, "email", "id", 7L)).isEqualTo("user7@example.com");
+        }
+
+        @Test
+        void shouldQuoteFileName() throws SQLException {
+            // When
+            ImportResult result = importer.insertFromServer(USER_MAPPING, CopySource.file(QUOTED_CSV_FILE));
+
+            // Then
+            assertThat(result.getRowsInserted()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldInsertFromProgram() throws SQLException {
+            // When
+            ImportResult result = importer.insertFromServer(USER_MAPPING,
+                CopySource.program("head -n 11 " + CSV_FILE).withHeader());
+
+            // Then
+            assertThat(result.getRowsInserted()).isEqualTo(10);
+            assertThat(countRows(TABLE_NAME)).isEqualTo(10);
+        }
+
+        @Test
+        void shouldInsertBinaryFile() throws SQLException {
+            // Given
+            BulkImportConfig config = BulkImportConfig.builder()
+                .copyFormat(CopyFormat.BINARY)
+                .build();
+
+            // When
+            ImportResult result = importer.withConfig(config).insertFromServer(USER_MAPPING, CopySource.file(BINARY_FILE));
+
+            // Then
+            assertThat(result.getRowsInserted()).isEqualTo(10);
+            assertThat(getString(TABLE_NAME, "email", "id", 3L)).isNull();
+        }
+
+        @Test
+        void shouldRejectHeaderForBinaryFormat() {
+            // Given
+            BulkImportConfig config = BulkImportConfig.builder()
+                .copyFormat(CopyFormat.BINARY)
+                .build();
+
+            // When / Then
+            assertThatThrownBy(() -> importer.withConfig(config)
+                .insertFromServer(USER_MAPPING, CopySource.file(BINARY_FILE).withHeader()))
+                .isInstanceOf(ConfigurationException.class)
+                .hasMessageContaining("copyFormat");
+        }
+
+        @Test
+        void shouldFailForMissingFile() throws SQLException {
+            // When / Then
+            assertThatThrownBy(() -> importer.insertFromServer(USER_MAPPING,
+                CopySource.file("/tmp/bulk_import_server_copy_missing.csv")))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("users");
+            assertThat(countRows(TABLE_NAME)).isZero();
+        }
+    }
+
+    @Nested
+    class UpdateAndUpsert {
+
+        @Test
+        void shouldUpsertFromFileThroughStagingTable() throws SQLException {
+            // Given - half of the rows already exist
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("INSERT INTO users (id, name) SELECT i, 'old-' || i FROM generate_series(1, 500) i");
+            }
+            BulkImportConfig config = BulkImportConfig.builder()
+                .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+                .conflictColumns("id")
+                .build();
+
+            // When
+            ImportResult result = importer.withConfig(config)
+                .upsertFromServer(USER_MAPPING, CopySource.file(CSV_FILE).withHeader());
+
+            // Then
+            assertThat(result.getRowsInserted()).isEqualTo(500);
+            assertThat(result.getRowsUpdated()).isEqualTo(500);
+            assertThat(countRows(TABLE_NAME)).isEqualTo(1000);
+            assertThat(getString(TABLE_NAME, "name", "id", 1L)).isEqualTo("user-1");
+            assertThat(connection.getAutoCommit()).isTrue();
+        }
+
+        @Test
+        void shouldUpsertIntoUnloggedStagingTable() throws SQLException {
+            // Given
+            BulkImportConfig config = BulkImportConfig.builder()
+                .conflictStrategy(ConflictStrategy.UPDATE_ALL)
+                .conflictColumns("id")
+                .stagingMode(StagingMode.UNLOGGED)
+                .build();
+
+            // When
+            ImportResult result = importer.withConfig(config)
+                .upsertFromServer(USER_MAPPING, CopySource.program("cat " + CSV_FILE).withHeader());
+
+            // Then - the staging table is gone
+            assertThat(result.getRowsInserted()).isEqualTo(1000);
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(
+                     "SELECT count(*) FROM pg_class WHERE relname LIKE 'bulk_staging%' AND relpersistence = 'u'")) {
+                rs.next();
+                assertThat(rs.getLong(1)).isZero();
+            }
+        }
+
+        @Test
+        void shouldUpdateWithConfiguredNullHandling() throws SQLException {
+            // Given
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("INSERT INTO users (id, name, email, age) VALUES (1, 'Alice', 'alice@example.com', 30)");
+            }
+            BulkImportConfig config = BulkImportConfig.builder()
+                .nullHandling(NullHandling.LITERAL_NULL)
+                .build();
+
+            // When
+            ImportResult result = importer.withConfig(config).updateFromServer(USER_MAPPING, CopySource.file(NULL_FILE));
+
+            // Then
+            assertThat(result.getRowsUpdated()).isEqualTo(1);
+            assertThat(getString(TABLE_NAME, "email", "id", 1L)).isNull();
+            assertThat(getInteger(TABLE_NAME, "age", "id", 1L)).isEqualTo(31);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.bulkimport;
 
 import com.bulkimport.config.NullHandling;
+import com.bulkimport.converter.ConversionPlan;
 import com.bulkimport.converter.TypeConverter;
 import com.bulkimport.converter.TypeConverterRegistry;
 import com.bulkimport.converter.builtin.BooleanConverter;
@@ -9,6 +10,7 @@ import com.bulkimport.converter.builtin.DateTimeConverters;
 import com.bulkimport.converter.builtin.JsonConverter;
 import com.bulkimport.converter.builtin.NumericConverters;
 import com.bulkimport.converter.builtin.StringConverter;
+import com.bulkimport.mapping.TableMapping;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -46,19 +48,19 @@ class TypeConverterTest {
     }
 
     @Test
-    void shouldReturnRawStringsForFastCsvEscaping() {
-        // Converters return raw values - FastCSV handles CSV escaping
+    void shouldReturnRawStringsForCsvEscaping() {
+        // Converters return raw values - CsvStreamWriter handles CSV escaping
         StringConverter converter = new StringConverter();
 
-        // Commas - returned raw, FastCSV will quote
+        // Commas - returned raw, CsvStreamWriter will quote
         assertThat(converter.toCsvValue("a,b,c", NullHandling.EMPTY_STRING))
             .isEqualTo("a,b,c");
 
-        // Quotes - returned raw, FastCSV will escape
+        // Quotes - returned raw, CsvStreamWriter will escape
         assertThat(converter.toCsvValue("say \"hello\"", NullHandling.EMPTY_STRING))
             .isEqualTo("say \"hello\"");
 
-        // Newlines - returned raw, FastCSV will quote
+        // Newlines - returned raw, CsvStreamWriter will quote
         assertThat(converter.toCsvValue("line1\nline2", NullHandling.EMPTY_STRING))
             .isEqualTo("line1\nline2");
     }
@@ -433,4 +435,69 @@ class TypeConverterTest {
             assertThat(result).isEqualTo("{1,2,3}");
         }
     }
+
+    @Nested
+    class ConversionPlanTests {
+
+        private final TypeConverterRegistry customRegistry = TypeConverterRegistry.createDefault();
+
+        private final TableMapping<Object[]> mapping = TableMapping.<Object[]>builder("t")
+            .column("id", row -> (Long) row[0], Long.class, false)
+            .column("created", row -> (java.util.Date) row[1], java.util.Date.class, true)
+            .column("value", row -> row[2])
+            .build();
+
+        @Test
+        void shouldBindDeclaredTypes() {
+            ConversionPlan plan = customRegistry.getConversionPlan(mapping);
+
+            assertThat(plan.size()).isEqualTo(3);
+            assertThat(plan.converterFor(0, 42L)).isSameAs(customRegistry.getConverter(Long.class));
+            assertThat(plan.converterFor(2, "text")).isSameAs(customRegistry.getConverter(String.class));
+        }
+
+        @Test
+        void shouldResolveSubclassesByRuntimeType() {
+            ConversionPlan plan = customRegistry.getConversionPlan(mapping);
+            java.sql.Timestamp timestamp = java.sql.Timestamp.valueOf("2024-01-15 10:30:00");
+
+            assertThat(plan.converterFor(1, timestamp).toCsvValue(timestamp, NullHandling.EMPTY_STRING))
+                .isEqualTo(customRegistry.convert(timestamp, NullHandling.EMPTY_STRING))
+                .isEqualTo("2024-01-15T10:30:00");
+        }
+
+        @Test
+        void shouldReuseEnumConverter() {
+            assertThat(customRegistry.getConverter(NullHandling.class))
+                .isSameAs(customRegistry.getConverter(Thread.State.class));
+        }
+
+        @Test
+        void shouldCachePlanPerMapping() {
+            assertThat(customRegistry.getConversionPlan(mapping)).isSameAs(customRegistry.getConversionPlan(mapping));
+        }
+
+        @Test
+        void shouldRecompilePlanAfterRegistering() {
+            ConversionPlan before = customRegistry.getConversionPlan(mapping);
+            TypeConverter<Long> converter = new TypeConverter<Long>() {
+                @Override
+                public String toCsvValue(Long value, NullHandling nullHandling) {
+                    return "#" + value;
+                }
+
+                @Override
+                public Class<Long> supportedType() {
+                    return Long.class;
+                }
+            };
+
+            customRegistry.register(Long.class, converter);
+            ConversionPlan after = customRegistry.getConversionPlan(mapping);
+
+            assertThat(after).isNotSameAs(before);
+            assertThat(after.converterFor(0, 42L)).isSameAs(converter);
+            assertThat(customRegistry.convert(42L, NullHandling.EMPTY_STRING)).isEqualTo("#42");
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package com.bulkimport.testutil;
 
+import org.postgresql.ds.PGSimpleDataSource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -46,6 +48,18 @@ public class PostgresTestContainer {
         );
     }
 
+    /**
+     * Creates a non-pooling DataSource for the test database.
+     */
+    public static DataSource getDataSource() {
+        PostgreSQLContainer<?> pg = getInstance();
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(pg.getJdbcUrl());
+        dataSource.setUser(pg.getUsername());
+        dataSource.setPassword(pg.getPassword());
+        return dataSource;
+    }
+
     /**
      * Executes SQL statements on the test database.
      */
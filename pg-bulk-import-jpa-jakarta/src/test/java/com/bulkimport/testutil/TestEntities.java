@@ -7,18 +7,32 @@ import com.bulkimport.mapping.annotation.BulkTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Test entities for integration tests.
  */
 public class TestEntities {
 
+    /**
+     * Creates users with the IDs {@code from} to {@code to}, inclusive.
+     */
+    public static List<JpaUser> createUsers(int from, int to) {
+        return IntStream.rangeClosed(from, to)
+            .mapToObj(i -> new JpaUser((long) i, "User " + i, "user" + i + "@example.com", i % 100, true))
+            .collect(Collectors.toList());
+    }
+
     /**
      * JPA-annotated User entity.
      */
@@ -286,4 +300,134 @@ public class TestEntities {
             return email;
         }
     }
+
+    /**
+     * Annotation-based entity with primitive fields.
+     */
+    @BulkTable(name = "measurements")
+    public static class Measurement {
+        @BulkId
+        private long id;
+
+        private int sampleCount;
+
+        private long totalBytes;
+
+        private double ratio;
+
+        private boolean valid;
+
+        private float weight;
+
+        public Measurement(long id, int sampleCount, long totalBytes, double ratio, boolean valid, float weight) {
+            this.id = id;
+            this.sampleCount = sampleCount;
+            this.totalBytes = totalBytes;
+            this.ratio = ratio;
+            this.valid = valid;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * JPA-annotated customer referenced by {@link GraphOrder}.
+     */
+    @Entity
+    @Table(name = "graph_customers")
+    public static class GraphCustomer {
+        @Id
+        private Long id;
+
+        private String name;
+
+        @OneToMany(mappedBy = "customer")
+        private List<GraphOrder> orders;
+
+        public GraphCustomer() {
+        }
+
+        public GraphCustomer(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+
+    /**
+     * JPA-annotated order with a named join column to its customer.
+     */
+    @Entity
+    @Table(name = "graph_orders")
+    public static class GraphOrder {
+        @Id
+        private Long id;
+
+        @ManyToOne(optional = false)
+        @JoinColumn(name = "customer_ref")
+        private GraphCustomer customer;
+
+        private String product;
+
+        public GraphOrder() {
+        }
+
+        public GraphOrder(Long id, GraphCustomer customer, String product) {
+            this.id = id;
+            this.customer = customer;
+            this.product = product;
+        }
+    }
+
+    /**
+     * JPA-annotated order line with a default join column to its order.
+     */
+    @Entity
+    @Table(name = "graph_order_lines")
+    public static class GraphOrderLine {
+        @Id
+        private Long id;
+
+        @ManyToOne
+        private GraphOrder order;
+
+        private int quantity;
+
+        public GraphOrderLine() {
+        }
+
+        public GraphOrderLine(Long id, GraphOrder order, int quantity) {
+            this.id = id;
+            this.order = order;
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * JPA-annotated invoice that writes its customer's key through a scalar field
+     * and reads the customer through a non-insertable association on the same column.
+     */
+    @Entity
+    @Table(name = "graph_invoices")
+    public static class GraphInvoice {
+        @Id
+        private Long id;
+
+        @Column(name = "customer_ref")
+        private Long customerId;
+
+        @ManyToOne
+        @JoinColumn(name = "customer_ref", insertable = false, updatable = false)
+        private GraphCustomer customer;
+
+        public GraphInvoice() {
+        }
+
+        public GraphInvoice(Long id, Long customerId) {
+            this.id = id;
+            this.customerId = customerId;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package com.bulkimport.mapping.jpa;
 import com.bulkimport.exception.MappingException;
 import com.bulkimport.mapping.ColumnMapping;
 import com.bulkimport.mapping.EntityMapper;
+import com.bulkimport.mapping.FieldAccessors;
 import com.bulkimport.mapping.EntityMapperResolver;
 import com.bulkimport.mapping.TableMapping;
 import com.bulkimport.util.SqlIdentifier;
@@ -10,6 +11,11 @@ import com.bulkimport.util.SqlIdentifier;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 
@@ -17,10 +23,16 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Entity mapper that uses JPA annotations (@Entity, @Table, @Column, @Id).
  *
+ * <p>{@code @ManyToOne} and owning {@code @OneToOne} fields are mapped to their join column,
+ * holding the ID of the referenced entity, and declare the referenced table so that an
+ * import graph loads it first. Collection relationships and the inverse side of a
+ * {@code @OneToOne} are not mapped.</p>
+ *
  * <p>This version uses {@code javax.persistence} (JPA 2.x) for legacy Java 8+ projects.</p>
  *
  * @param <T> the entity type
@@ -73,8 +85,17 @@ public class JpaEntityMapper<T> implements EntityMapper<T> {
         }
 
         for (Field field : mappableFields) {
-            ColumnMapping<T, ?> columnMapping = createColumnMapping(field, entityClass);
-            builder.column(columnMapping);
+            if (isReference(field)) {
+                // A read-only association still orders the import graph, but its
+                // column is written through another field
+                JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+                if (joinColumn == null || joinColumn.insertable()) {
+                    builder.column(createJoinColumnMapping(field, entityClass));
+                }
+                builder.references(resolveFullTableName(field.getType()));
+            } else {
+                builder.column(createColumnMapping(field, entityClass));
+            }
         }
 
         return builder.build();
@@ -104,6 +125,12 @@ public class JpaEntityMapper<T> implements EntityMapper<T> {
         return null;
     }
 
+    private String resolveFullTableName(Class<?> entityClass) {
+        String schemaName = resolveSchemaName(entityClass);
+        String tableName = resolveTableName(entityClass);
+        return schemaName != null ? schemaName + "." + tableName : tableName;
+    }
+
     private List<Field> getMappableFields(Class<?> entityClass) {
         List<Field> fields = new ArrayList<>();
         Class<?> current = entityClass;
@@ -131,6 +158,15 @@ public class JpaEntityMapper<T> implements EntityMapper<T> {
             return false;
         }
 
+        // Collections and the inverse side of relationships have no column in this table
+        if (field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToMany.class)) {
+            return false;
+        }
+        OneToOne oneToOne = field.getAnnotation(OneToOne.class);
+        if (oneToOne != null && !oneToOne.mappedBy().isEmpty()) {
+            return false;
+        }
+
         // Check if explicitly non-insertable
         Column column = field.getAnnotation(Column.class);
         if (column != null && !column.insertable()) {
@@ -140,6 +176,75 @@ public class JpaEntityMapper<T> implements EntityMapper<T> {
         return true;
     }
 
+    private boolean isReference(Field field) {
+        return field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class);
+    }
+
+    /**
+     * Maps a reference to another entity to its join column, whose value is the ID of the
+     * referenced entity. Without {@code @JoinColumn(name)}, the column is named like JPA's
+     * default: the field name, an underscore and the ID column of the referenced entity.
+     * The ID is read through its getter if there is one, so that lazy proxies return it.
+     */
+    @SuppressWarnings("unchecked")
+    private <V> ColumnMapping<T, V> createJoinColumnMapping(Field field, Class<T> entityClass) {
+        Class<Object> referencedClass = (Class<Object>) field.getType();
+        Field idField = getMappableFields(referencedClass).stream()
+            .filter(candidate -> candidate.isAnnotationPresent(Id.class))
+            .findFirst()
+            .orElseThrow(() -> MappingException.missingIdColumn(referencedClass));
+
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        String columnName = joinColumn != null && !joinColumn.name().isEmpty()
+            ? joinColumn.name()
+            : SqlIdentifier.camelToSnake(field.getName()) + "_" + resolveColumnName(idField);
+        boolean nullable = joinColumn != null ? joinColumn.nullable() : isOptional(field);
+
+        Function<T, Object> reference = FieldAccessors.reader(field, entityClass);
+        Function<Object, Object> referencedId = FieldAccessors.propertyReader(idField, referencedClass);
+        Class<V> idType = (Class<V>) boxed(idField.getType(), referencedClass);
+
+        return ColumnMapping.<T, V>builder(columnName, idType)
+            .extractor(entity -> {
+                Object referenced = reference.apply(entity);
+                if (referenced == null) {
+                    return null;
+                }
+                Object id = referencedId.apply(referenced);
+                if (id == null) {
+                    throw MappingException.missingReferenceId(field.getName(), entityClass, referenced.getClass());
+                }
+                return (V) id;
+            })
+            .nullable(nullable)
+            .fieldName(field.getName())
+            .build();
+    }
+
+    private boolean isOptional(Field field) {
+        ManyToOne manyToOne = field.getAnnotation(ManyToOne.class);
+        if (manyToOne != null) {
+            return manyToOne.optional();
+        }
+        return field.getAnnotation(OneToOne.class).optional();
+    }
+
+    private static Class<?> boxed(Class<?> type, Class<?> entityClass) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        throw MappingException.unsupportedIdType(entityClass, type);
+    }
+
     @SuppressWarnings("unchecked")
     private <V> ColumnMapping<T, V> createColumnMapping(Field field, Class<T> entityClass) {
         String columnName = resolveColumnName(field);
@@ -147,16 +252,8 @@ public class JpaEntityMapper<T> implements EntityMapper<T> {
         boolean nullable = resolveNullable(field, isId);
         Class<V> fieldType = (Class<V>) field.getType();
 
-        field.setAccessible(true);
-
-        return ColumnMapping.<T, V>builder(columnName, fieldType)
-            .extractor(entity -> {
-                try {
-                    return (V) field.get(entity);
-                } catch (IllegalAccessException e) {
-                    throw MappingException.fieldAccessError(field.getName(), entityClass, e);
-                }
-            })
+        ColumnMapping.Builder<T, V> builder = ColumnMapping.builder(columnName, fieldType);
+        return FieldAccessors.bind(builder, field, entityClass)
             .id(isId)
             .nullable(nullable)
             .fieldName(field.getName())
@@ -0,0 +1,136 @@
+package com.bulkimport.micrometer;
+
+import com.bulkimport.ImportResult;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.instrumentation.ImportInstrumentation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records bulk operations as Micrometer meters.
+ *
+ * <p>All meters are tagged with {@code table} and {@code operation} ({@code insert},
+ * {@code update}, {@code upsert}, {@code delete} or {@code synchronize}):</p>
+ * <ul>
+ *   <li>{@code bulkimport.operations} - timer of whole operations, tagged with {@code outcome}
+ *       ({@code success} or {@code failure}) and {@code exception}</li>
+ *   <li>{@code bulkimport.phase} - timer per {@code phase}: {@code staging}, {@code copy},
+ *       {@code apply} and {@code cleanup}; inserts only record {@code copy}</li>
+ *   <li>{@code bulkimport.rows} - counter of rows, tagged with {@code action}
+ *       ({@code inserted}, {@code updated}, {@code deleted} or {@code unchanged})</li>
+ *   <li>{@code bulkimport.bytes} - counter of bytes sent with COPY</li>
+ *   <li>{@code bulkimport.active} - gauge of operations currently running</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * BulkImporter importer = BulkImporter.create(dataSource)
+ *     .withInstrumentation(new MicrometerImportInstrumentation(meterRegistry));
+ * }</pre>
+ */
+public class MicrometerImportInstrumentation implements ImportInstrumentation {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<Tags, AtomicInteger> active = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an instrumentation registering its meters in the given registry.
+     *
+     * @param registry the meter registry
+     */
+    public MicrometerImportInstrumentation(MeterRegistry registry) {
+        this.registry = Objects.requireNonNull(registry, "registry cannot be null");
+    }
+
+    @Override
+    public void onStart(ImportResult.Operation operation, String tableName, ConflictStrategy conflictStrategy) {
+        activeCount(tags(operation, tableName)).incrementAndGet();
+    }
+
+    @Override
+    public void onSuccess(ImportResult result) {
+        Tags tags = tags(result.getOperation(), result.getTableName());
+        activeCount(tags).decrementAndGet();
+
+        Timer.builder("bulkimport.operations")
+            .description("Duration of bulk operations")
+            .tags(tags.and("outcome", "success", "exception", "none"))
+            .register(registry)
+            .record(result.getTotalTime());
+
+        if (result.getOperation() != ImportResult.Operation.INSERT) {
+            recordPhase(tags, "staging", result.getStagingTime());
+        }
+        recordPhase(tags, "copy", result.getCopyTime());
+        if (result.getOperation() != ImportResult.Operation.INSERT) {
+            recordPhase(tags, "apply", result.getApplyTime());
+            recordPhase(tags, "cleanup", result.getCleanupTime());
+        }
+
+        countRows(tags, "inserted", result.getRowsInserted());
+        countRows(tags, "updated", result.getRowsUpdated());
+        countRows(tags, "deleted", result.getRowsDeleted());
+        countRows(tags, "unchanged", result.getRowsUnchanged());
+        Counter.builder("bulkimport.bytes")
+            .description("Bytes sent with COPY")
+            .baseUnit("bytes")
+            .tags(tags)
+            .register(registry)
+            .increment(result.getBytesSent());
+    }
+
+    @Override
+    public void onFailure(ImportResult.Operation operation, String tableName, Duration elapsed, Throwable error) {
+        Tags tags = tags(operation, tableName);
+        activeCount(tags).decrementAndGet();
+
+        Timer.builder("bulkimport.operations")
+            .description("Duration of bulk operations")
+            .tags(tags.and("outcome", "failure", "exception", error.getClass().getSimpleName()))
+            .register(registry)
+            .record(elapsed);
+    }
+
+    private void recordPhase(Tags tags, String phase, Duration duration) {
+        Timer.builder("bulkimport.phase")
+            .description("Duration of a phase of bulk operations")
+            .tags(tags.and("phase", phase))
+            .register(registry)
+            .record(duration);
+    }
+
+    private void countRows(Tags tags, String action, long rows) {
+        Counter.builder("bulkimport.rows")
+            .description("Rows written by bulk operations")
+            .baseUnit("rows")
+            .tags(tags.and("action", action))
+            .register(registry)
+            .increment(rows);
+    }
+
+    private AtomicInteger activeCount(Tags tags) {
+        return active.computeIfAbsent(tags, t -> {
+            AtomicInteger count = new AtomicInteger();
+            Gauge.builder("bulkimport.active", count, AtomicInteger::get)
+                .description("Bulk operations currently running")
+                .tags(t)
+                .strongReference(true)
+                .register(registry);
+            return count;
+        });
+    }
+
+    private static Tags tags(ImportResult.Operation operation, String tableName) {
+        return Tags.of("table", tableName, "operation", operation.name().toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,66 @@
+package com.bulkimport.micrometer;
+
+import com.bulkimport.BulkImporter;
+import com.bulkimport.ImportResult;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.mapping.TableMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MicrometerImportInstrumentationTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerImportInstrumentation instrumentation = new MicrometerImportInstrumentation(registry);
+
+    @Test
+    void shouldTrackActiveOperations() {
+        // When
+        instrumentation.onStart(ImportResult.Operation.UPSERT, "users", ConflictStrategy.UPDATE_ALL);
+        instrumentation.onStart(ImportResult.Operation.UPSERT, "users", ConflictStrategy.UPDATE_ALL);
+
+        // Then
+        assertThat(registry.get("bulkimport.active").tag("table", "users").tag("operation", "upsert").gauge().value())
+            .isEqualTo(2);
+
+        instrumentation.onFailure(ImportResult.Operation.UPSERT, "users", Duration.ofMillis(5),
+            new IllegalStateException("failed"));
+        assertThat(registry.get("bulkimport.active").tag("table", "users").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordFailedOperationsThroughImporter() {
+        // Given - a data source that cannot connect
+        DataSource dataSource = (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+            new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                throw new SQLException("connection refused");
+            });
+        BulkImporter importer = BulkImporter.create(dataSource).withInstrumentation(instrumentation);
+        TableMapping<String> mapping = TableMapping.<String>builder("events")
+            .column("name", name -> name)
+            .build();
+
+        // When
+        assertThatThrownBy(() -> importer.insert(mapping, Collections.singletonList("a")))
+            .isInstanceOf(ExecutionException.class);
+
+        // Then
+        assertThat(registry.get("bulkimport.operations")
+            .tag("table", "events")
+            .tag("operation", "insert")
+            .tag("outcome", "failure")
+            .tag("exception", "ExecutionException")
+            .timer().count()).isEqualTo(1);
+        assertThat(registry.get("bulkimport.active").tag("table", "events").gauge().value()).isZero();
+    }
+}
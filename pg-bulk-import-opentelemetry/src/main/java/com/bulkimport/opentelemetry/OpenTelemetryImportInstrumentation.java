@@ -0,0 +1,170 @@
+package com.bulkimport.opentelemetry;
+
+import com.bulkimport.ImportResult;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.instrumentation.ImportInstrumentation;
+import com.bulkimport.instrumentation.ImportPhase;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Traces bulk operations as OpenTelemetry spans.
+ *
+ * <p>Each operation becomes a span named {@code bulkimport.insert}, {@code bulkimport.update},
+ * {@code bulkimport.upsert}, {@code bulkimport.delete} or {@code bulkimport.synchronize}, a child
+ * of the span current when the operation starts. Each
+ * phase becomes a child span of the operation: {@code bulkimport.staging}, {@code bulkimport.copy},
+ * {@code bulkimport.index}, {@code bulkimport.apply} and {@code bulkimport.cleanup}. Spans are
+ * current while they run, so JDBC spans of other instrumentations nest below the phase that
+ * issued them.</p>
+ *
+ * <p>All spans carry {@code db.system} and {@code db.sql.table}. Operation spans also carry
+ * {@code bulkimport.operation}, {@code bulkimport.conflict_strategy} for upserts and synchronizes, and on success
+ * {@code bulkimport.rows_inserted}, {@code bulkimport.rows_updated}, {@code bulkimport.rows_deleted},
+ * {@code bulkimport.rows_unchanged} and {@code bulkimport.bytes_sent}. Failed spans record the
+ * exception and have an error status.</p>
+ *
+ * <pre>{@code
+ * BulkImporter importer = BulkImporter.create(dataSource)
+ *     .withInstrumentation(new OpenTelemetryImportInstrumentation(openTelemetry));
+ * }</pre>
+ */
+public class OpenTelemetryImportInstrumentation implements ImportInstrumentation {
+
+    static final String INSTRUMENTATION_NAME = "com.bulkimport";
+
+    static final AttributeKey<String> DB_SYSTEM = AttributeKey.stringKey("db.system");
+    static final AttributeKey<String> DB_TABLE = AttributeKey.stringKey("db.sql.table");
+    static final AttributeKey<String> OPERATION = AttributeKey.stringKey("bulkimport.operation");
+    static final AttributeKey<String> CONFLICT_STRATEGY = AttributeKey.stringKey("bulkimport.conflict_strategy");
+    static final AttributeKey<Long> ROWS_INSERTED = AttributeKey.longKey("bulkimport.rows_inserted");
+    static final AttributeKey<Long> ROWS_UPDATED = AttributeKey.longKey("bulkimport.rows_updated");
+    static final AttributeKey<Long> ROWS_DELETED = AttributeKey.longKey("bulkimport.rows_deleted");
+    static final AttributeKey<Long> ROWS_UNCHANGED = AttributeKey.longKey("bulkimport.rows_unchanged");
+    static final AttributeKey<Long> BYTES_SENT = AttributeKey.longKey("bulkimport.bytes_sent");
+
+    private final Tracer tracer;
+
+    // Spans of the operation and phase running on each thread, innermost first
+    private final ThreadLocal<Deque<ActiveSpan>> activeSpans = new ThreadLocal<>();
+
+    /**
+     * Creates an instrumentation using the tracer of the given OpenTelemetry instance.
+     *
+     * @param openTelemetry the OpenTelemetry instance
+     */
+    public OpenTelemetryImportInstrumentation(OpenTelemetry openTelemetry) {
+        this(Objects.requireNonNull(openTelemetry, "openTelemetry cannot be null").getTracer(INSTRUMENTATION_NAME));
+    }
+
+    /**
+     * Creates an instrumentation using the given tracer.
+     *
+     * @param tracer the tracer
+     */
+    public OpenTelemetryImportInstrumentation(Tracer tracer) {
+        this.tracer = Objects.requireNonNull(tracer, "tracer cannot be null");
+    }
+
+    @Override
+    public void onStart(ImportResult.Operation operation, String tableName, ConflictStrategy conflictStrategy) {
+        String operationName = operation.name().toLowerCase(Locale.ROOT);
+        Span span = tracer.spanBuilder("bulkimport." + operationName)
+            .setAttribute(DB_SYSTEM, "postgresql")
+            .setAttribute(DB_TABLE, tableName)
+            .setAttribute(OPERATION, operationName)
+            .startSpan();
+        if (conflictStrategy != null) {
+            span.setAttribute(CONFLICT_STRATEGY, conflictStrategy.name());
+        }
+        push(span);
+    }
+
+    @Override
+    public void onPhaseStart(ImportResult.Operation operation, String tableName, ImportPhase phase) {
+        push(tracer.spanBuilder("bulkimport." + phase.name().toLowerCase(Locale.ROOT))
+            .setAttribute(DB_SYSTEM, "postgresql")
+            .setAttribute(DB_TABLE, tableName)
+            .startSpan());
+    }
+
+    @Override
+    public void onPhaseEnd(ImportResult.Operation operation, String tableName, ImportPhase phase,
+                           Duration elapsed, Throwable error) {
+        end(error);
+    }
+
+    @Override
+    public void onSuccess(ImportResult result) {
+        ActiveSpan active = peek();
+        if (active != null) {
+            active.span.setAttribute(ROWS_INSERTED, result.getRowsInserted());
+            active.span.setAttribute(ROWS_UPDATED, result.getRowsUpdated());
+            active.span.setAttribute(ROWS_DELETED, result.getRowsDeleted());
+            active.span.setAttribute(ROWS_UNCHANGED, result.getRowsUnchanged());
+            active.span.setAttribute(BYTES_SENT, result.getBytesSent());
+        }
+        end(null);
+    }
+
+    @Override
+    public void onFailure(ImportResult.Operation operation, String tableName, Duration elapsed, Throwable error) {
+        end(error);
+    }
+
+    private void push(Span span) {
+        Deque<ActiveSpan> spans = activeSpans.get();
+        if (spans == null) {
+            spans = new ArrayDeque<>();
+            activeSpans.set(spans);
+        }
+        spans.push(new ActiveSpan(span, span.makeCurrent()));
+    }
+
+    private ActiveSpan peek() {
+        Deque<ActiveSpan> spans = activeSpans.get();
+        return spans != null ? spans.peek() : null;
+    }
+
+    private void end(Throwable error) {
+        Deque<ActiveSpan> spans = activeSpans.get();
+        if (spans == null || spans.isEmpty()) {
+            return;
+        }
+        ActiveSpan active = spans.pop();
+        if (spans.isEmpty()) {
+            activeSpans.remove();
+        }
+
+        active.scope.close();
+        if (error != null) {
+            active.span.recordException(error);
+            active.span.setStatus(StatusCode.ERROR, error.getClass().getSimpleName());
+        }
+        active.span.end();
+    }
+
+    /**
+     * A started span with the scope that made it current.
+     */
+    private static final class ActiveSpan {
+        private final Span span;
+        private final Scope scope;
+
+        ActiveSpan(Span span, Scope scope) {
+            this.span = span;
+            this.scope = scope;
+        }
+    }
+}
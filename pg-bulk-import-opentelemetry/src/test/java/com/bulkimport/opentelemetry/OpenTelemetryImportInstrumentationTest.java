@@ -0,0 +1,101 @@
+package com.bulkimport.opentelemetry;
+
+import com.bulkimport.BulkImporter;
+import com.bulkimport.ImportResult;
+import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.exception.ExecutionException;
+import com.bulkimport.instrumentation.ImportPhase;
+import com.bulkimport.mapping.TableMapping;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpenTelemetryImportInstrumentationTest {
+
+    private final InMemorySpanExporter exporter = InMemorySpanExporter.create();
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+        .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+        .build();
+    private final OpenTelemetryImportInstrumentation instrumentation =
+        new OpenTelemetryImportInstrumentation(tracerProvider.get("test"));
+
+    private final TableMapping<String> mapping = TableMapping.<String>builder("events")
+        .column("name", name -> name)
+        .build();
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void shouldNestPhaseSpansInOperationSpan() {
+        // Given - an empty upsert result, which the importer returns without touching the database
+        ImportResult result = BulkImporter.create(failingDataSource())
+            .upsertWithResult(mapping, Collections.emptyList());
+
+        // When
+        instrumentation.onStart(ImportResult.Operation.UPSERT, "events", ConflictStrategy.UPDATE_ALL);
+        instrumentation.onPhaseStart(ImportResult.Operation.UPSERT, "events", ImportPhase.STAGING);
+        instrumentation.onPhaseEnd(ImportResult.Operation.UPSERT, "events", ImportPhase.STAGING, Duration.ZERO, null);
+        instrumentation.onPhaseStart(ImportResult.Operation.UPSERT, "events", ImportPhase.COPY);
+        instrumentation.onPhaseEnd(ImportResult.Operation.UPSERT, "events", ImportPhase.COPY, Duration.ZERO, null);
+        instrumentation.onSuccess(result);
+
+        // Then
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        assertThat(spans).extracting(SpanData::getName)
+            .containsExactly("bulkimport.staging", "bulkimport.copy", "bulkimport.upsert");
+
+        SpanData operation = spans.get(2);
+        assertThat(operation.getAttributes().get(OpenTelemetryImportInstrumentation.DB_TABLE)).isEqualTo("events");
+        assertThat(operation.getAttributes().get(OpenTelemetryImportInstrumentation.CONFLICT_STRATEGY))
+            .isEqualTo("UPDATE_ALL");
+        assertThat(operation.getAttributes().get(OpenTelemetryImportInstrumentation.ROWS_INSERTED)).isZero();
+        assertThat(operation.getAttributes().get(OpenTelemetryImportInstrumentation.BYTES_SENT)).isZero();
+        assertThat(spans.subList(0, 2))
+            .allSatisfy(phase -> assertThat(phase.getParentSpanId()).isEqualTo(operation.getSpanId()));
+    }
+
+    @Test
+    void shouldMarkFailedSpansThroughImporter() {
+        // Given
+        BulkImporter importer = BulkImporter.create(failingDataSource()).withInstrumentation(instrumentation);
+
+        // When
+        assertThatThrownBy(() -> importer.insert(mapping, Collections.singletonList("a")))
+            .isInstanceOf(ExecutionException.class);
+
+        // Then - the COPY phase and the insert both failed
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        assertThat(spans).extracting(SpanData::getName)
+            .containsExactly("bulkimport.copy", "bulkimport.insert");
+        assertThat(spans).allSatisfy(span -> {
+            assertThat(span.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+            assertThat(span.getEvents()).extracting(event -> event.getName()).contains("exception");
+        });
+        assertThat(spans.get(0).getParentSpanId()).isEqualTo(spans.get(1).getSpanId());
+    }
+
+    private static DataSource failingDataSource() {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+            new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                throw new SQLException("connection refused");
+            });
+    }
+}
@@ -2,13 +2,19 @@ package com.bulkimport.spring;
 
 import com.bulkimport.BulkImporter;
 import com.bulkimport.config.BulkImportConfig;
+import com.bulkimport.instrumentation.ImportInstrumentation;
+import com.bulkimport.micrometer.MicrometerImportInstrumentation;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 import javax.sql.DataSource;
 
@@ -27,8 +33,14 @@ import javax.sql.DataSource;
  * bulkimport.staging-table-prefix=bulk_staging_
  * bulkimport.null-handling=EMPTY_STRING
  * </pre>
+ *
+ * <p>When pg-bulk-import-micrometer is on the classpath and a MeterRegistry bean exists,
+ * the BulkImporter records its operations as Micrometer metrics.
  */
-@AutoConfiguration
+@AutoConfiguration(afterName = {
+    "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+    "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"
+})
 @ConditionalOnClass({DataSource.class, BulkImporter.class})
 @ConditionalOnProperty(prefix = "bulkimport", name = "enabled", havingValue = "true", matchIfMissing = true)
 @EnableConfigurationProperties(BulkImportProperties.class)
@@ -50,7 +62,20 @@ public class BulkImportAutoConfiguration {
             .conflictStrategy(properties.getConflictStrategy())
             .stagingTablePrefix(properties.getStagingTablePrefix())
             .autoCleanupStaging(properties.isAutoCleanupStaging())
-            .nullHandling(properties.getNullHandling());
+            .reuseStagingTables(properties.isReuseStagingTables())
+            .stagingMode(properties.getStagingMode())
+            .stagingIndexThreshold(properties.getStagingIndexThreshold())
+            .stagingMaintenanceWorkMem(properties.getStagingMaintenanceWorkMem())
+            .analyzeStaging(properties.isAnalyzeStaging())
+            .nullHandling(properties.getNullHandling())
+            .copyFormat(properties.getCopyFormat())
+            .parallelism(properties.getParallelism())
+            .parallelBatchSize(properties.getParallelBatchSize())
+            .commitEveryRows(properties.getCommitEveryRows())
+            .commitEveryBytes(properties.getCommitEveryBytes())
+            .mergeMode(properties.getMergeMode())
+            .deleteCondition(properties.getDeleteCondition())
+            .synchronizeScope(properties.getSynchronizeScope());
 
         if (properties.getConflictColumns() != null) {
             builder.conflictColumns(properties.getConflictColumns());
@@ -76,8 +101,26 @@ public class BulkImportAutoConfiguration {
      */
     @Bean
     @ConditionalOnMissingBean
-    public BulkImporter bulkImporter(DataSource dataSource, BulkImportConfig config) {
-        return BulkImporter.create(dataSource)
+    public BulkImporter bulkImporter(DataSource dataSource, BulkImportConfig config,
+                                     ObjectProvider<ImportInstrumentation> instrumentation) {
+        BulkImporter importer = BulkImporter.create(dataSource)
             .withConfig(config);
+        instrumentation.ifAvailable(importer::withInstrumentation);
+        return importer;
+    }
+
+    /**
+     * Records bulk operations in the application's MeterRegistry.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({MeterRegistry.class, MicrometerImportInstrumentation.class})
+    static class MicrometerInstrumentationConfiguration {
+
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnMissingBean(ImportInstrumentation.class)
+        public MicrometerImportInstrumentation micrometerImportInstrumentation(MeterRegistry meterRegistry) {
+            return new MicrometerImportInstrumentation(meterRegistry);
+        }
     }
 }
@@ -1,6 +1,9 @@
 package com.bulkimport.spring;
 
 import com.bulkimport.config.ConflictStrategy;
+import com.bulkimport.config.CopyFormat;
+import com.bulkimport.config.MergeMode;
+import com.bulkimport.config.StagingMode;
 import com.bulkimport.config.NullHandling;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -50,11 +53,76 @@ public class BulkImportProperties {
      */
     private boolean autoCleanupStaging = true;
 
+    /**
+     * Whether to keep staging tables per database session and reuse them.
+     */
+    private boolean reuseStagingTables = false;
+
+    /**
+     * Kind of staging table used by updates and upserts (UNLOGGED tables are loaded in parallel).
+     */
+    private StagingMode stagingMode = StagingMode.TEMP;
+
+    /**
+     * Staged rows from which the staging table is indexed and analyzed before it is applied.
+     */
+    private long stagingIndexThreshold = 10_000;
+
+    /**
+     * maintenance_work_mem used while the staging table index is built (e.g. 512MB).
+     */
+    private String stagingMaintenanceWorkMem;
+
+    /**
+     * Whether staging tables reaching the index threshold are analyzed.
+     */
+    private boolean analyzeStaging = true;
+
     /**
      * How null values should be represented in CSV.
      */
     private NullHandling nullHandling = NullHandling.EMPTY_STRING;
 
+    /**
+     * Data format used for COPY operations.
+     */
+    private CopyFormat copyFormat = CopyFormat.CSV;
+
+    /**
+     * Number of connections used in parallel for inserts.
+     */
+    private int parallelism = 1;
+
+    /**
+     * Rows per COPY when a stream is inserted in parallel.
+     */
+    private int parallelBatchSize = 100_000;
+
+    /**
+     * Rows after which an insert commits and starts a new COPY (0 disables chunking).
+     */
+    private long commitEveryRows = 0;
+
+    /**
+     * Bytes after which an insert commits and starts a new COPY (0 disables chunking).
+     */
+    private long commitEveryBytes = 0;
+
+    /**
+     * Whether updates and upserts are applied with MERGE (PostgreSQL 15+).
+     */
+    private MergeMode mergeMode = MergeMode.DISABLED;
+
+    /**
+     * SQL condition on the staging row (alias s) under which MERGE deletes the matched row.
+     */
+    private String deleteCondition;
+
+    /**
+     * SQL condition on the target row (alias t) limiting the rows that synchronize deletes.
+     */
+    private String synchronizeScope;
+
     /**
      * Default schema name for tables.
      */
@@ -113,6 +181,46 @@ public class BulkImportProperties {
         this.autoCleanupStaging = autoCleanupStaging;
     }
 
+    public boolean isReuseStagingTables() {
+        return reuseStagingTables;
+    }
+
+    public void setReuseStagingTables(boolean reuseStagingTables) {
+        this.reuseStagingTables = reuseStagingTables;
+    }
+
+    public StagingMode getStagingMode() {
+        return stagingMode;
+    }
+
+    public void setStagingMode(StagingMode stagingMode) {
+        this.stagingMode = stagingMode;
+    }
+
+    public long getStagingIndexThreshold() {
+        return stagingIndexThreshold;
+    }
+
+    public void setStagingIndexThreshold(long stagingIndexThreshold) {
+        this.stagingIndexThreshold = stagingIndexThreshold;
+    }
+
+    public String getStagingMaintenanceWorkMem() {
+        return stagingMaintenanceWorkMem;
+    }
+
+    public void setStagingMaintenanceWorkMem(String stagingMaintenanceWorkMem) {
+        this.stagingMaintenanceWorkMem = stagingMaintenanceWorkMem;
+    }
+
+    public boolean isAnalyzeStaging() {
+        return analyzeStaging;
+    }
+
+    public void setAnalyzeStaging(boolean analyzeStaging) {
+        this.analyzeStaging = analyzeStaging;
+    }
+
     public NullHandling getNullHandling() {
         return nullHandling;
     }
@@ -121,6 +229,70 @@ public class BulkImportProperties {
         this.nullHandling = nullHandling;
     }
 
+    public CopyFormat getCopyFormat() {
+        return copyFormat;
+    }
+
+    public void setCopyFormat(CopyFormat copyFormat) {
+        this.copyFormat = copyFormat;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getParallelBatchSize() {
+        return parallelBatchSize;
+    }
+
+    public void setParallelBatchSize(int parallelBatchSize) {
+        this.parallelBatchSize = parallelBatchSize;
+    }
+
+    public long getCommitEveryRows() {
+        return commitEveryRows;
+    }
+
+    public void setCommitEveryRows(long commitEveryRows) {
+        this.commitEveryRows = commitEveryRows;
+    }
+
+    public long getCommitEveryBytes() {
+        return commitEveryBytes;
+    }
+
+    public void setCommitEveryBytes(long commitEveryBytes) {
+        this.commitEveryBytes = commitEveryBytes;
+    }
+
+    public MergeMode getMergeMode() {
+        return mergeMode;
+    }
+
+    public void setMergeMode(MergeMode mergeMode) {
+        this.mergeMode = mergeMode;
+    }
+
+    public String getDeleteCondition() {
+        return deleteCondition;
+    }
+
+    public void setDeleteCondition(String deleteCondition) {
+        this.deleteCondition = deleteCondition;
+    }
+
+    public String getSynchronizeScope() {
+        return synchronizeScope;
+    }
+
+    public void setSynchronizeScope(String synchronizeScope) {
+        this.synchronizeScope = synchronizeScope;
+    }
+
     public String getSchemaName() {
         return schemaName;
     }
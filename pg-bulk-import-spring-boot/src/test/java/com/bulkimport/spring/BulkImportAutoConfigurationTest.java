@@ -4,7 +4,11 @@ import com.bulkimport.BulkImporter;
 import com.bulkimport.config.BulkImportConfig;
 import com.bulkimport.config.ConflictStrategy;
 import com.bulkimport.config.NullHandling;
+import com.bulkimport.instrumentation.ImportInstrumentation;
+import com.bulkimport.micrometer.MicrometerImportInstrumentation;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
@@ -131,6 +135,27 @@ class BulkImportAutoConfigurationTest {
             });
     }
 
+    @Test
+    void shouldCreateMicrometerInstrumentationWhenMeterRegistryExists() {
+        this.contextRunner
+            .withUserConfiguration(DataSourceConfiguration.class, MeterRegistryConfiguration.class)
+            .run(context -> {
+                assertThat(context).hasSingleBean(ImportInstrumentation.class);
+                assertThat(context).getBean(ImportInstrumentation.class)
+                    .isInstanceOf(MicrometerImportInstrumentation.class);
+            });
+    }
+
+    @Test
+    void shouldNotCreateInstrumentationWithoutMeterRegistry() {
+        this.contextRunner
+            .withUserConfiguration(DataSourceConfiguration.class)
+            .run(context -> {
+                assertThat(context).doesNotHaveBean(ImportInstrumentation.class);
+                assertThat(context).hasSingleBean(BulkImporter.class);
+            });
+    }
+
     @Test
     void shouldFailToStartWithoutDataSource() {
         this.contextRunner
@@ -150,6 +175,14 @@ class BulkImportAutoConfigurationTest {
         }
     }
 
+    @Configuration
+    static class MeterRegistryConfiguration {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
     @Configuration
     static class CustomConfigConfiguration {
         @Bean